@@ -0,0 +1,154 @@
+package Backend.OpenEducation.Benchmarks;
+
+import Backend.OpenEducation.Model.Course;
+import Backend.OpenEducation.Model.Material;
+import Backend.OpenEducation.Model.MaterialType;
+import Backend.OpenEducation.Model.Module;
+import Backend.OpenEducation.dto.MaterialDTO;
+import Backend.OpenEducation.dto.ModuleDTO;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Builds in-memory course catalogs and repository stubs shared by the benchmarks.
+ */
+final class CatalogFixtures {
+
+    private static final MaterialType[] MATERIAL_TYPES = MaterialType.values();
+
+    private CatalogFixtures() {
+    }
+
+    /**
+     * Creates courses with consecutive IDs starting at 1.
+     *
+     * @param count the number of courses
+     * @return the courses, ordered by ID
+     */
+    static List<Course> courses(int count) {
+        List<Course> courses = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            Course course = new Course("Course " + id, "Description of course " + id + " covering the essentials of the topic.");
+            course.setId(id);
+            courses.add(course);
+        }
+        return courses;
+    }
+
+    /**
+     * Creates materials for the given course.
+     *
+     * @param course the course the materials belong to
+     * @param count the number of materials
+     * @return the materials
+     */
+    static List<Material> materials(Course course, int count) {
+        List<Material> materials = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            String title = "Material " + course.getId() + "-" + i;
+            materials.add(new Material(title, "Reading and exercises for " + title,
+                    "https://cdn.example.org/materials/" + course.getId() + "/" + i,
+                    course, MATERIAL_TYPES[i % MATERIAL_TYPES.length]));
+        }
+        return materials;
+    }
+
+    /**
+     * Creates modules for the given course.
+     *
+     * @param course the course the modules belong to
+     * @param count the number of modules
+     * @return the modules, in lesson order
+     */
+    static List<Module> modules(Course course, int count) {
+        List<Module> modules = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            String title = "Module " + course.getId() + "-" + i;
+            modules.add(new Module(title, "Lesson content of " + title, i, course, null,
+                    "https://video.example.org/" + course.getId() + "/" + i));
+        }
+        return modules;
+    }
+
+    /**
+     * Creates material projections for the given course.
+     *
+     * @param courseId the ID of the course the materials belong to
+     * @param count the number of materials
+     * @return the materials
+     */
+    static List<MaterialDTO> materialDTOs(long courseId, int count) {
+        List<MaterialDTO> materials = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            String title = "Material " + courseId + "-" + i;
+            materials.add(new MaterialDTO(courseId * count + i, courseId, title, "Reading and exercises for " + title,
+                    "https://cdn.example.org/materials/" + courseId + "/" + i, MATERIAL_TYPES[i % MATERIAL_TYPES.length]));
+        }
+        return materials;
+    }
+
+    /**
+     * Creates module projections for the given course.
+     *
+     * @param courseId the ID of the course the modules belong to
+     * @param count the number of modules
+     * @return the modules, in lesson order
+     */
+    static List<ModuleDTO> moduleDTOs(long courseId, int count) {
+        List<ModuleDTO> modules = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            String title = "Module " + courseId + "-" + i;
+            modules.add(new ModuleDTO(courseId * count + i, courseId, title, "Lesson content of " + title,
+                    "https://video.example.org/" + courseId + "/" + i, i));
+        }
+        return modules;
+    }
+
+    /**
+     * Creates a repository stub answering {@code findDTOsByCourseIdIn} from an in-memory map.
+     * Any other repository method throws {@link UnsupportedOperationException}.
+     *
+     * @param repositoryType the repository interface
+     * @param childrenByCourse the children of each course, keyed by course ID
+     * @return the repository stub
+     */
+    static <T, C> T byCourseIdRepository(Class<T> repositoryType, Map<Long, List<C>> childrenByCourse) {
+        return stub(repositoryType, "findDTOsByCourseIdIn", args -> {
+            List<C> children = new ArrayList<>();
+            for (Object courseId : (Collection<?>) args[0]) {
+                children.addAll(childrenByCourse.getOrDefault(courseId, List.of()));
+            }
+            return children;
+        });
+    }
+
+    /**
+     * Creates a stub of the given interface implementing a single method.
+     *
+     * @param type the interface to stub
+     * @param methodName the name of the implemented method
+     * @param answer computes the result from the call arguments
+     * @return the stub
+     */
+    static <T> T stub(Class<T> type, String methodName, Function<Object[], Object> answer) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (self, method, args) -> {
+            if (method.getName().equals(methodName)) {
+                return answer.apply(args);
+            }
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> self == args[0];
+                    case "hashCode" -> System.identityHashCode(self);
+                    default -> type.getSimpleName() + " stub";
+                };
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+        return type.cast(proxy);
+    }
+}
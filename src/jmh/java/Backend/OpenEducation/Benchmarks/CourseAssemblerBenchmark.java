@@ -0,0 +1,80 @@
+package Backend.OpenEducation.Benchmarks;
+
+import Backend.OpenEducation.Model.Course;
+import Backend.OpenEducation.Repository.MaterialRepository;
+import Backend.OpenEducation.Repository.ModuleRepository;
+import Backend.OpenEducation.Services.CourseAssembler;
+import Backend.OpenEducation.dto.CourseDTO;
+import Backend.OpenEducation.dto.MaterialDTO;
+import Backend.OpenEducation.dto.ModuleDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the mapping of Course entities to CourseDTO graphs by {@link CourseAssembler},
+ * the code path behind CourseServiceImpl.convertToDTO and the course listing.
+ * Repositories are in-memory stubs, so only grouping and mapping are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CourseAssemblerBenchmark {
+
+    @Param({"20", "500", "5000"})
+    private int courseCount;
+
+    @Param({"10"})
+    private int childrenPerCourse;
+
+    private List<Course> courses;
+
+    private CourseAssembler courseAssembler;
+
+    @Setup
+    public void setUp() {
+        courses = CatalogFixtures.courses(courseCount);
+        Map<Long, List<MaterialDTO>> materials = new HashMap<>();
+        Map<Long, List<ModuleDTO>> modules = new HashMap<>();
+        for (Course course : courses) {
+            materials.put(course.getId(), CatalogFixtures.materialDTOs(course.getId(), childrenPerCourse));
+            modules.put(course.getId(), CatalogFixtures.moduleDTOs(course.getId(), childrenPerCourse));
+        }
+        courseAssembler = new CourseAssembler(
+                CatalogFixtures.byCourseIdRepository(MaterialRepository.class, materials),
+                CatalogFixtures.byCourseIdRepository(ModuleRepository.class, modules),
+                500);
+    }
+
+    /**
+     * Maps a single course, as done by getCourseById on a cache miss.
+     */
+    @Benchmark
+    public CourseDTO toDTO() {
+        return courseAssembler.toDTO(courses.get(0));
+    }
+
+    /**
+     * Maps the whole catalog, as done when the course listing is rebuilt.
+     */
+    @Benchmark
+    public List<CourseDTO> toDTOs() {
+        return courseAssembler.toDTOs(courses);
+    }
+}
@@ -0,0 +1,136 @@
+package Backend.OpenEducation.Benchmarks;
+
+import Backend.OpenEducation.Config.CacheConfig;
+import Backend.OpenEducation.Config.LocalCacheProperties;
+import Backend.OpenEducation.Repository.CourseRepository;
+import Backend.OpenEducation.Repository.MaterialRepository;
+import Backend.OpenEducation.Repository.ModuleRepository;
+import Backend.OpenEducation.Services.CourseAssembler;
+import Backend.OpenEducation.Services.CourseIdFilter;
+import Backend.OpenEducation.Services.CourseLookupCache;
+import Backend.OpenEducation.Services.CourseService;
+import Backend.OpenEducation.Services.CourseServiceImpl;
+import Backend.OpenEducation.Services.CourseSnapshotStore;
+import Backend.OpenEducation.dto.CourseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures getCourseById through the same course lookup cache and Caffeine cache manager
+ * the application uses, on the hit path, the miss path and without caching at all.
+ * The repositories are in-memory stubs, so a miss costs the load and the cache write only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class CourseCacheBenchmark {
+
+    // Number of courses kept warm in the cache for the hit path
+    private static final int HOT_COURSES = 1_000;
+
+    private CourseService uncachedService;
+
+    private CourseService cachedService;
+
+    // IDs past the hot set, so every call on the miss path loads a course not cached yet
+    private final AtomicLong nextMissId = new AtomicLong(HOT_COURSES);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // A cache of size 0 keeps nothing, so every call loads the course
+        uncachedService = courseService(cacheManager(0));
+        cachedService = courseService(cacheManager(10_000));
+
+        for (long id = 1; id <= HOT_COURSES; id++) {
+            cachedService.getCourseById(id);
+        }
+    }
+
+    /**
+     * Reads a course that is already cached.
+     */
+    @Benchmark
+    public CourseDTO hit() {
+        return cachedService.getCourseById(ThreadLocalRandom.current().nextLong(1, HOT_COURSES + 1));
+    }
+
+    /**
+     * Reads a course that is not cached yet, which loads, maps and stores it.
+     */
+    @Benchmark
+    public CourseDTO miss() {
+        return cachedService.getCourseById(nextMissId.incrementAndGet());
+    }
+
+    /**
+     * Reads a course without going through the cache, as a baseline for both paths.
+     */
+    @Benchmark
+    public CourseDTO uncached() {
+        return uncachedService.getCourseById(ThreadLocalRandom.current().nextLong(1, HOT_COURSES + 1));
+    }
+
+    private static CourseService courseService(CacheManager cacheManager) {
+        CourseServiceImpl service = new CourseServiceImpl();
+        CourseRepository courseRepository = courseRepository();
+        ReflectionTestUtils.setField(service, "courseRepository", courseRepository);
+        ReflectionTestUtils.setField(service, "courseAssembler", courseAssembler());
+        ReflectionTestUtils.setField(service, "courseSnapshotStore",
+                new CourseSnapshotStore(Path.of("course-snapshot.bin"), false, new ObjectMapper(), cacheManager));
+        ReflectionTestUtils.setField(service, "courseLookupCache", new CourseLookupCache(cacheManager, Runnable::run,
+                new SimpleMeterRegistry(), Duration.ofMinutes(25), 1.0));
+        // Every ID exists here, the filter of unknown IDs would only add its lookup
+        ReflectionTestUtils.setField(service, "courseIdFilter", new CourseIdFilter(courseRepository,
+                new SimpleMeterRegistry(), false, 0.01, 1, Duration.ofSeconds(30)));
+        return service;
+    }
+
+    private static CourseRepository courseRepository() {
+        return CatalogFixtures.stub(CourseRepository.class, "findDTOById",
+                args -> Optional.of(new CourseDTO((Long) args[0], "Course " + args[0], "Description of course " + args[0])));
+    }
+
+    private static CourseAssembler courseAssembler() {
+        // Courses have no children here: mapping cost is covered by CourseAssemblerBenchmark
+        return new CourseAssembler(
+                CatalogFixtures.stub(MaterialRepository.class, "findDTOsByCourseIdIn", args -> List.of()),
+                CatalogFixtures.stub(ModuleRepository.class, "findDTOsByCourseIdIn", args -> List.of()),
+                500);
+    }
+
+    private static CacheManager cacheManager(long maximumSize) {
+        LocalCacheProperties.CacheSpec spec = new LocalCacheProperties.CacheSpec();
+        spec.setMaximumSize(maximumSize);
+        spec.setExpireAfterWrite(Duration.ofMinutes(30));
+        LocalCacheProperties properties = new LocalCacheProperties();
+        properties.setCaches(Map.of("courses", spec));
+        return new CacheConfig().cacheManager(properties);
+    }
+}
@@ -0,0 +1,78 @@
+package Backend.OpenEducation.Benchmarks;
+
+import Backend.OpenEducation.Model.Course;
+import Backend.OpenEducation.dto.CourseDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures Jackson serialization of CourseDTO graphs of growing size,
+ * using an ObjectMapper configured the way Spring MVC configures its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CourseDtoSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int childrenPerCourse;
+
+    @Param({"1", "100"})
+    private int courseCount;
+
+    private ObjectMapper objectMapper;
+
+    private List<CourseDTO> courseDTOs;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        courseDTOs = new ArrayList<>(courseCount);
+        for (Course course : CatalogFixtures.courses(courseCount)) {
+            CourseDTO courseDTO = new CourseDTO();
+            courseDTO.setId(course.getId());
+            courseDTO.setName(course.getTitle());
+            courseDTO.setDescription(course.getDescription());
+            courseDTO.setMaterials(CatalogFixtures.materialDTOs(course.getId(), childrenPerCourse));
+            courseDTO.setModules(CatalogFixtures.moduleDTOs(course.getId(), childrenPerCourse));
+            courseDTOs.add(courseDTO);
+        }
+    }
+
+    /**
+     * Serializes the courses to a byte array, as a buffered response body would.
+     */
+    @Benchmark
+    public byte[] writeValueAsBytes() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(courseDTOs);
+    }
+
+    /**
+     * Serializes the courses straight to a stream, leaving out the cost of buffering.
+     */
+    @Benchmark
+    public void writeToStream() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), courseDTOs);
+    }
+}
@@ -0,0 +1,225 @@
+package Backend.OpenEducation.Benchmarks;
+
+import Backend.OpenEducation.Model.Course;
+import Backend.OpenEducation.Model.Material;
+import Backend.OpenEducation.Repository.MaterialRepository;
+import Backend.OpenEducation.Repository.ModuleRepository;
+import Backend.OpenEducation.Services.CourseAssembler;
+import Backend.OpenEducation.dto.CourseDTO;
+import Backend.OpenEducation.dto.MaterialDTO;
+import Backend.OpenEducation.dto.ModuleDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.hibernate5.SpringBeanContainer;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the repository queries behind the course listing against an embedded H2 database
+ * running in MySQL mode, from the keyset page query to the assembly of a full page of DTOs.
+ * Each query runs in its own persistence context, as it would outside a request transaction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryQueryBenchmark {
+
+    // Same JPQL as CourseRepository.findDTOsAfter
+    private static final String COURSES_AFTER =
+            "SELECT new Backend.OpenEducation.dto.CourseDTO(c.courseID, c.title, c.description, c.subject.subjectId) "
+                    + "FROM Course c WHERE c.courseID > :afterId ORDER BY c.courseID ASC";
+
+    // Same JPQL as ModuleRepository.findDTOsByCourseIdIn
+    private static final String MODULES_BY_COURSE_IDS =
+            "SELECT new Backend.OpenEducation.dto.ModuleDTO(m.moduleId, m.course.courseID, m.title, m.content, m.videoUrl, m.order) "
+                    + "FROM Module m WHERE m.course.courseID IN :courseIds ORDER BY m.order, m.moduleId";
+
+    // Entity query the material projection replaced, kept as a baseline
+    private static final String MATERIAL_ENTITIES_BY_COURSE_IDS =
+            "SELECT m FROM Material m WHERE m.course.courseID IN :courseIds";
+
+    @Param({"1000", "10000"})
+    private int courseCount;
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    @Param({"5"})
+    private int childrenPerCourse;
+
+    // Loads modules concurrently with materials, as with openeducation.course-assembler.parallel=true
+    @Param({"false", "true"})
+    private boolean parallel;
+
+    private ExecutorService lookupExecutor;
+
+    private LocalContainerEntityManagerFactoryBean entityManagerFactoryBean;
+
+    private EntityManager sharedEntityManager;
+
+    private MaterialRepository materialRepository;
+
+    private CourseAssembler courseAssembler;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        entityManagerFactoryBean = entityManagerFactory();
+        EntityManagerFactory entityManagerFactory = entityManagerFactoryBean.getObject();
+        sharedEntityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        seed(entityManagerFactory);
+
+        // Only the material repository is built from its interface: the course and module
+        // repositories declare derived queries that do not match the entity model yet
+        materialRepository = new JpaRepositoryFactory(sharedEntityManager).getRepository(MaterialRepository.class);
+        ModuleRepository moduleRepository = CatalogFixtures.stub(ModuleRepository.class, "findDTOsByCourseIdIn",
+                args -> modulesByCourseIds((Collection<?>) args[0]));
+        lookupExecutor = parallel ? Executors.newFixedThreadPool(4) : null;
+        courseAssembler = new CourseAssembler(materialRepository, moduleRepository, 500,
+                lookupExecutor, new JpaTransactionManager(entityManagerFactory));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (lookupExecutor != null) {
+            lookupExecutor.shutdownNow();
+        }
+        entityManagerFactoryBean.destroy();
+    }
+
+    /**
+     * Loads a page of courses with the keyset query, starting at a random position.
+     */
+    @Benchmark
+    public List<CourseDTO> keysetPage() {
+        return coursesAfter(randomAfterId());
+    }
+
+    /**
+     * Loads the materials of a page of courses with a single IN-list projection query.
+     */
+    @Benchmark
+    public List<MaterialDTO> materialsByCourseIds() {
+        return materialRepository.findDTOsByCourseIdIn(courseIds(coursesAfter(randomAfterId())));
+    }
+
+    /**
+     * Loads the material entities of a page of courses, as done before the projections,
+     * including the eager loads of their courses.
+     */
+    @Benchmark
+    public List<Material> materialEntitiesByCourseIds() {
+        return sharedEntityManager.createQuery(MATERIAL_ENTITIES_BY_COURSE_IDS, Material.class)
+                .setParameter("courseIds", courseIds(coursesAfter(randomAfterId())))
+                .getResultList();
+    }
+
+    /**
+     * Loads the modules of a page of courses with a single IN-list projection query.
+     */
+    @Benchmark
+    public List<ModuleDTO> modulesByCourseIds() {
+        return modulesByCourseIds(courseIds(coursesAfter(randomAfterId())));
+    }
+
+    /**
+     * Loads a page of courses and assembles their DTOs, as the paginated listing does.
+     */
+    @Benchmark
+    public List<CourseDTO> assemblePage() {
+        return courseAssembler.assemble(coursesAfter(randomAfterId()));
+    }
+
+    private long randomAfterId() {
+        return ThreadLocalRandom.current().nextLong(0, Math.max(1, courseCount - pageSize));
+    }
+
+    private List<CourseDTO> coursesAfter(long afterId) {
+        return sharedEntityManager.createQuery(COURSES_AFTER, CourseDTO.class)
+                .setParameter("afterId", afterId)
+                .setMaxResults(pageSize)
+                .getResultList();
+    }
+
+    private List<ModuleDTO> modulesByCourseIds(Collection<?> courseIds) {
+        return sharedEntityManager.createQuery(MODULES_BY_COURSE_IDS, ModuleDTO.class)
+                .setParameter("courseIds", courseIds)
+                .getResultList();
+    }
+
+    private static List<Long> courseIds(List<CourseDTO> courses) {
+        List<Long> courseIds = new ArrayList<>(courses.size());
+        for (CourseDTO course : courses) {
+            courseIds.add(course.getId());
+        }
+        return courseIds;
+    }
+
+    private void seed(EntityManagerFactory entityManagerFactory) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            for (int i = 1; i <= courseCount; i++) {
+                Course course = new Course("Course " + i, "Description of course " + i);
+                entityManager.persist(course);
+                CatalogFixtures.materials(course, childrenPerCourse).forEach(entityManager::persist);
+                CatalogFixtures.modules(course, childrenPerCourse).forEach(entityManager::persist);
+                if (i % 500 == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+            entityManager.getTransaction().commit();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private static LocalContainerEntityManagerFactoryBean entityManagerFactory() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:benchmarks;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan("Backend.OpenEducation.Model");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(Map.of(
+                AvailableSettings.HBM2DDL_AUTO, "create-drop",
+                AvailableSettings.STATEMENT_BATCH_SIZE, 50,
+                AvailableSettings.ORDER_INSERTS, true,
+                // Lets Hibernate instantiate the entity listeners, which use constructor injection
+                AvailableSettings.BEAN_CONTAINER, new SpringBeanContainer(new DefaultListableBeanFactory())));
+        factoryBean.afterPropertiesSet();
+        return factoryBean;
+    }
+}
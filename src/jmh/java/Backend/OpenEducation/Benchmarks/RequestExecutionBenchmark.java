@@ -0,0 +1,113 @@
+package Backend.OpenEducation.Benchmarks;
+
+import Backend.OpenEducation.Config.ConcurrencyLimitedDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test comparing request throughput on the platform thread pool Tomcat uses by default
+ * with the virtual-thread execution mode ({@code spring.threads.virtual.enabled=true}).
+ * <p>
+ * Each simulated request looks up a course, its materials and its modules, holding a pooled
+ * connection for each query, then blocks while its response is written to a slow client.
+ * With fast clients both modes are bound by the connection pool. With slow clients the
+ * 200 platform request threads become the bottleneck, as they sit idle during the write,
+ * while virtual threads keep the pool busy; {@link ConcurrencyLimitedDataSource} keeps
+ * the number of connections in use at the pool size. Scores are in requests per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestExecutionBenchmark {
+
+    private static final int REQUESTS = 2_000;
+
+    // Tomcat's default server.tomcat.threads.max
+    private static final int PLATFORM_THREADS = 200;
+
+    // Queries per request: the course, its materials and its modules
+    private static final int QUERIES_PER_REQUEST = 3;
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    // Hikari's default maximum-pool-size
+    @Param({"10"})
+    private int poolSize;
+
+    @Param({"1"})
+    private long queryMillis;
+
+    @Param({"20", "100"})
+    private long responseWriteMillis;
+
+    private ExecutorService executor;
+
+    private DataSource dataSource;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = threads.equals("virtual")
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(PLATFORM_THREADS);
+        Connection connection = CatalogFixtures.stub(Connection.class, "close", args -> null);
+        DataSource pool = CatalogFixtures.stub(DataSource.class, "getConnection", args -> connection);
+        dataSource = new ConcurrencyLimitedDataSource(pool, poolSize, Duration.ofSeconds(30));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Serves a burst of concurrent requests and waits for all of them to complete.
+     */
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void serveRequests() throws Exception {
+        List<Callable<Void>> requests = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            requests.add(this::handleRequest);
+        }
+        for (Future<Void> response : executor.invokeAll(requests)) {
+            response.get();
+        }
+    }
+
+    private Void handleRequest() throws Exception {
+        for (int query = 0; query < QUERIES_PER_REQUEST; query++) {
+            try (Connection ignored = dataSource.getConnection()) {
+                Thread.sleep(queryMillis);
+            }
+        }
+        Thread.sleep(responseWriteMillis);
+        return null;
+    }
+}
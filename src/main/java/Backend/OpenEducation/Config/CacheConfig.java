@@ -0,0 +1,57 @@
+package Backend.OpenEducation.Config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Configures the local Caffeine cache tier used by {@code @Cacheable} methods.
+ * Each cache is bounded in size and time to live, and records statistics so that
+ * Spring Boot publishes its hit, miss and eviction counts to the Micrometer registry.
+ * The "courses" cache is asynchronous: it also holds the loads in progress, which
+ * {@link Backend.OpenEducation.Services.CourseLookupCache} shares between concurrent callers.
+ */
+@Configuration
+@EnableConfigurationProperties(LocalCacheProperties.class)
+public class CacheConfig {
+
+    private static final String COURSES = "courses";
+
+    /**
+     * Creates the cache manager.
+     * Puts and evictions are deferred until the surrounding transaction commits,
+     * so a rolled back update never leaves its value in the cache.
+     *
+     * @param properties the cache settings
+     * @return the transaction-aware cache manager
+     */
+    @Bean
+    public CacheManager cacheManager(LocalCacheProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+        cacheManager.setCaffeine(caffeine(properties.getDefaults()));
+        properties.getCaches().forEach((name, spec) ->
+                cacheManager.registerCustomCache(name, caffeine(spec).build()));
+        cacheManager.registerCustomCache(COURSES,
+                caffeine(properties.getCaches().getOrDefault(COURSES, properties.getDefaults())).buildAsync());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    /**
+     * Creates a Caffeine builder from the given settings.
+     *
+     * @param spec the size and expiry limits
+     * @return the Caffeine builder
+     */
+    static Caffeine<Object, Object> caffeine(LocalCacheProperties.CacheSpec spec) {
+        return Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize())
+                .expireAfterWrite(spec.getExpireAfterWrite())
+                .recordStats();
+    }
+}
@@ -0,0 +1,64 @@
+package Backend.OpenEducation.Config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Bounded pool of threads used by {@link Backend.OpenEducation.Services.CourseAssembler}
+ * to load modules concurrently with materials ({@code openeducation.course-assembler.parallel=true}).
+ * <p>
+ * Each task runs with the security context and the read routing hint of the thread that
+ * submitted it. When all threads are busy and the queue is full, the submitting thread runs
+ * the lookup itself, which degrades to sequential loading instead of failing the request.
+ * The pool is deliberately not exposed as an {@link Executor} bean, which would replace
+ * the application task executor Spring Boot provides for {@code @Async} methods.
+ */
+@Component
+@ConditionalOnProperty(name = "openeducation.course-assembler.parallel", havingValue = "true")
+public class CourseLookupExecutor implements DisposableBean {
+
+    private final ThreadPoolTaskExecutor executor;
+
+    /**
+     * Constructs and starts a new CourseLookupExecutor.
+     *
+     * @param threads the number of lookup threads
+     * @param queueCapacity the number of lookups waiting for a thread
+     */
+    @Autowired
+    public CourseLookupExecutor(@Value("${openeducation.course-assembler.lookup-threads:8}") int threads,
+                                @Value("${openeducation.course-assembler.lookup-queue-capacity:100}") int queueCapacity) {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("course-lookup-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setTaskDecorator(task ->
+                DelegatingSecurityContextRunnable.create(QueryCounter.propagate(ReadRoutingContext.propagate(task)), null));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+    }
+
+    /**
+     * Gets the executor running the lookups.
+     *
+     * @return the executor
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
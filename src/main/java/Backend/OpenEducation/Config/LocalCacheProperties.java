@@ -0,0 +1,101 @@
+package Backend.OpenEducation.Config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the local (in-JVM) cache tier.
+ * Every cache is bounded; caches without their own entry use the defaults.
+ */
+@ConfigurationProperties(prefix = "openeducation.cache")
+public class LocalCacheProperties {
+
+    private CacheSpec defaults = new CacheSpec();
+
+    private Map<String, CacheSpec> caches = new LinkedHashMap<>();
+
+    /**
+     * Gets the settings used by caches that have no entry of their own.
+     *
+     * @return the default cache settings
+     */
+    public CacheSpec getDefaults() {
+        return defaults;
+    }
+
+    /**
+     * Sets the settings used by caches that have no entry of their own.
+     *
+     * @param defaults the default cache settings
+     */
+    public void setDefaults(CacheSpec defaults) {
+        this.defaults = defaults;
+    }
+
+    /**
+     * Gets the settings of each named cache.
+     *
+     * @return the cache settings keyed by cache name
+     */
+    public Map<String, CacheSpec> getCaches() {
+        return caches;
+    }
+
+    /**
+     * Sets the settings of each named cache.
+     *
+     * @param caches the cache settings keyed by cache name
+     */
+    public void setCaches(Map<String, CacheSpec> caches) {
+        this.caches = caches;
+    }
+
+    /**
+     * Size and expiry limits of a single cache.
+     */
+    public static class CacheSpec {
+
+        private long maximumSize = 1_000;
+
+        private Duration expireAfterWrite = Duration.ofMinutes(10);
+
+        /**
+         * Gets the maximum number of entries kept in the cache.
+         *
+         * @return the maximum number of entries
+         */
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        /**
+         * Sets the maximum number of entries kept in the cache.
+         *
+         * @param maximumSize the maximum number of entries
+         */
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        /**
+         * Gets how long an entry lives after it was written.
+         *
+         * @return the time to live of an entry
+         */
+        public Duration getExpireAfterWrite() {
+            return expireAfterWrite;
+        }
+
+        /**
+         * Sets how long an entry lives after it was written.
+         *
+         * @param expireAfterWrite the time to live of an entry
+         */
+        public void setExpireAfterWrite(Duration expireAfterWrite) {
+            this.expireAfterWrite = expireAfterWrite;
+        }
+    }
+}
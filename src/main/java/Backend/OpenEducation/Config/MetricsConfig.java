@@ -0,0 +1,113 @@
+package Backend.OpenEducation.Config;
+
+import Backend.OpenEducation.Services.CourseResponseCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Instruments the hot paths of the application on top of the Spring Boot defaults.
+ * <p>
+ * Service methods are timed through their {@code @Timed} annotation, and repository methods by
+ * Spring Data's invocation timer; both publish percentile histograms (see the {@code management.*}
+ * settings). This configuration adds the number of SQL statements per request, the hit ratio of
+ * every cache, and caps the tags that could grow with the traffic.
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    /**
+     * Name of the gauge of the hit ratio of each cache, tagged with the cache name.
+     */
+    public static final String CACHE_HIT_RATIO = "cache.hit.ratio";
+
+    /**
+     * Name of the course response cache in cache metrics.
+     */
+    public static final String COURSE_RESPONSE_CACHE = "course-responses";
+
+    private final MeterRegistry meterRegistry;
+
+    private final ObjectProvider<SqlBudget> sqlBudget;
+
+    /**
+     * Constructs a new MetricsConfig.
+     *
+     * @param meterRegistry the registry the request metrics are published to
+     * @param sqlBudget the budget requests are held to, if {@link SqlBudgetConfig} is enabled
+     */
+    public MetricsConfig(MeterRegistry meterRegistry, ObjectProvider<SqlBudget> sqlBudget) {
+        this.meterRegistry = meterRegistry;
+        this.sqlBudget = sqlBudget;
+    }
+
+    /**
+     * Counts the statements Hibernate prepares into the query count of the current request.
+     *
+     * @return the customizer registering the statement inspector
+     */
+    @Bean
+    public HibernatePropertiesCustomizer queryCountingCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountingStatementInspector());
+    }
+
+    /**
+     * Publishes the hit ratio of every cache of the cache manager and of the course response cache,
+     * along with the usual Caffeine metrics of the latter.
+     * Caches are bound once the application has started, so caches created later on demand are not covered.
+     *
+     * @param cacheManager the cache manager of the {@code @Cacheable} methods
+     * @param courseResponseCache the cache of serialized course details
+     * @return the binder of the cache metrics
+     */
+    @Bean
+    public MeterBinder cacheHitRatioMetrics(CacheManager cacheManager, CourseResponseCache courseResponseCache) {
+        return registry -> {
+            for (String name : cacheManager.getCacheNames()) {
+                Cache cache = cacheManager.getCache(name);
+                if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+                    bindHitRatio(registry, name, caffeine);
+                }
+            }
+            CaffeineCacheMetrics.monitor(registry, courseResponseCache.getNativeCache(), COURSE_RESPONSE_CACHE);
+            bindHitRatio(registry, COURSE_RESPONSE_CACHE, courseResponseCache.getNativeCache());
+        };
+    }
+
+    /**
+     * Caps the number of URI tag values of the per-request query metrics, like Spring Boot does
+     * for {@code http.server.requests}. Values over the cap are dropped rather than published.
+     * Static, so that the registry can be configured with it before this configuration exists.
+     *
+     * @param maxUriTags the maximum number of URI tag values
+     * @return the meter filter
+     */
+    @Bean
+    public static MeterFilter queryCountUriTagLimit(@Value("${management.metrics.web.server.max-uri-tags:100}") int maxUriTags) {
+        return MeterFilter.maximumAllowableTags("openeducation.http.server", "uri", maxUriTags, MeterFilter.deny());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new QueryCountInterceptor(meterRegistry, sqlBudget.getIfAvailable()));
+    }
+
+    private static void bindHitRatio(MeterRegistry registry, String name, com.github.benmanes.caffeine.cache.Cache<?, ?> cache) {
+        Gauge.builder(CACHE_HIT_RATIO, cache, c -> c.stats().hitRate())
+                .description("Share of the lookups served from the cache since startup")
+                .tag("cache", name)
+                .register(registry);
+    }
+}
@@ -0,0 +1,115 @@
+package Backend.OpenEducation.Config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Set;
+
+/**
+ * Records how many SQL statements each request issued, as the {@value #METRIC_NAME} histogram.
+ * <p>
+ * The histogram is tagged with the HTTP method and the URI pattern the request was mapped to,
+ * never the raw URI, so the number of series is bounded by the number of routes. Requests that
+ * matched no route share the {@code UNKNOWN} URI, and non-standard methods the {@code OTHER} method.
+ * Statements issued after the handler returned, such as those of a streamed response, are not counted.
+ * <p>
+ * When a {@link SqlBudget} is configured, each request is held to it, and the time its statements
+ * took to execute is recorded as the {@value #DATABASE_TIME_METRIC_NAME} timer.
+ */
+public class QueryCountInterceptor implements AsyncHandlerInterceptor {
+
+    /**
+     * Name of the histogram of SQL statements per request.
+     */
+    public static final String METRIC_NAME = "openeducation.http.server.queries";
+
+    /**
+     * Name of the timer of the database time per request, recorded while the SQL budget is enabled.
+     */
+    public static final String DATABASE_TIME_METRIC_NAME = "openeducation.http.server.database.time";
+
+    private static final Set<String> STANDARD_METHODS =
+            Set.of("GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS", "TRACE");
+
+    private final MeterRegistry meterRegistry;
+
+    private final SqlBudget budget;
+
+    /**
+     * Constructs a new QueryCountInterceptor that only counts statements.
+     *
+     * @param meterRegistry the registry the histogram is published to
+     */
+    public QueryCountInterceptor(MeterRegistry meterRegistry) {
+        this(meterRegistry, null);
+    }
+
+    /**
+     * Constructs a new QueryCountInterceptor.
+     *
+     * @param meterRegistry the registry the histogram is published to
+     * @param budget the budget requests are held to, or null to only count their statements
+     */
+    public QueryCountInterceptor(MeterRegistry meterRegistry, SqlBudget budget) {
+        this.meterRegistry = meterRegistry;
+        this.budget = budget;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (budget == null) {
+            QueryCounter.start();
+        } else {
+            QueryCounter.start(method(request) + " " + uri(request), budget);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The request goes on on another thread; its statements are not attributed
+        QueryCounter.stop();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        QueryCounter.Usage usage = QueryCounter.stop();
+        if (usage == null) {
+            return;
+        }
+        String method = method(request);
+        String uri = uri(request);
+        DistributionSummary.builder(METRIC_NAME)
+                .description("SQL statements issued per request")
+                .baseUnit("statements")
+                .tag("method", method)
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(1_000.0)
+                .register(meterRegistry)
+                .record(usage.statements());
+        if (budget != null) {
+            Timer.builder(DATABASE_TIME_METRIC_NAME)
+                    .description("Time spent executing SQL statements per request")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(usage.databaseTime());
+        }
+    }
+
+    private static String method(HttpServletRequest request) {
+        return STANDARD_METHODS.contains(request.getMethod()) ? request.getMethod() : "OTHER";
+    }
+
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? "UNKNOWN" : pattern.toString();
+    }
+}
@@ -0,0 +1,158 @@
+package Backend.OpenEducation.Config;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-thread count of the SQL statements issued while serving a request, and of the time
+ * the database took to execute them.
+ * <p>
+ * Started and stopped around each request by {@link QueryCountInterceptor}, and incremented by
+ * {@link QueryCountingStatementInspector} for every statement Hibernate prepares. Execution time
+ * is only measured when the request is held to a {@link SqlBudget}, by {@link SqlTimingSessionListener}.
+ * Lookups handed to another thread add to the count of the request that submitted them.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<Count> COUNT = new ThreadLocal<>();
+
+    // The last statement prepared on this thread, kept only while a budget is enforced
+    private static final ThreadLocal<String> LAST_STATEMENT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    /**
+     * The statements of a request.
+     *
+     * @param statements the number of statements prepared
+     * @param databaseTime the time the database took to execute them, zero if it was not measured
+     */
+    public record Usage(int statements, Duration databaseTime) {
+    }
+
+    /**
+     * The running count of a request, shared with the threads it hands lookups to.
+     */
+    static final class Count {
+
+        final String request;
+
+        final SqlBudget budget;
+
+        final AtomicInteger statements = new AtomicInteger();
+
+        final AtomicLong databaseNanos = new AtomicLong();
+
+        // Set once the request went over its budget, so that it is reported once
+        final AtomicBoolean overBudget = new AtomicBoolean();
+
+        Count(String request, SqlBudget budget) {
+            this.request = request;
+            this.budget = budget;
+        }
+    }
+
+    /**
+     * Starts counting the statements of the current thread from zero, without a budget.
+     */
+    public static void start() {
+        start(null, null);
+    }
+
+    /**
+     * Starts counting the statements of the current thread from zero.
+     *
+     * @param request the request being served, as reported when it goes over its budget
+     * @param budget the budget of the request, or null to only count its statements
+     */
+    public static void start(String request, SqlBudget budget) {
+        COUNT.set(new Count(request, budget));
+    }
+
+    /**
+     * Stops counting the statements of the current thread.
+     *
+     * @return the statements counted since counting started, or null if counting was not started
+     */
+    public static Usage stop() {
+        Count count = COUNT.get();
+        COUNT.remove();
+        LAST_STATEMENT.remove();
+        return count == null ? null
+                : new Usage(count.statements.get(), Duration.ofNanos(count.databaseNanos.get()));
+    }
+
+    /**
+     * Counts one statement about to be prepared, if the current thread is counting.
+     *
+     * @param sql the statement
+     * @throws Backend.OpenEducation.Exception.SqlBudgetExceededException if the statement
+     *         goes over a budget that fails requests
+     */
+    public static void statementPrepared(String sql) {
+        Count count = COUNT.get();
+        if (count == null) {
+            return;
+        }
+        int statements = count.statements.incrementAndGet();
+        if (count.budget != null) {
+            LAST_STATEMENT.set(sql);
+            count.budget.onStatement(count, statements);
+        }
+    }
+
+    /**
+     * Adds the execution time of a statement, if the current thread is held to a budget.
+     *
+     * @param nanos the time the database took to execute the statement
+     */
+    public static void statementExecuted(long nanos) {
+        Count count = COUNT.get();
+        if (count == null || count.budget == null) {
+            return;
+        }
+        count.databaseNanos.addAndGet(nanos);
+        count.budget.onExecuted(count, LAST_STATEMENT.get(), nanos);
+    }
+
+    /**
+     * Gets the number of statements counted so far on the current thread.
+     *
+     * @return the number of statements, or -1 if the current thread is not counting
+     */
+    public static int current() {
+        Count count = COUNT.get();
+        return count == null ? -1 : count.statements.get();
+    }
+
+    /**
+     * Wraps a task handed to another thread so that its statements are counted
+     * with those of the thread submitting it.
+     *
+     * @param task the task to wrap
+     * @return the task, counting into the submitting thread's count if it has one
+     */
+    public static Runnable propagate(Runnable task) {
+        Count count = COUNT.get();
+        if (count == null) {
+            return task;
+        }
+        return () -> {
+            Count previous = COUNT.get();
+            COUNT.set(count);
+            try {
+                task.run();
+            } finally {
+                LAST_STATEMENT.remove();
+                if (previous == null) {
+                    COUNT.remove();
+                } else {
+                    COUNT.set(previous);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,16 @@
+package Backend.OpenEducation.Config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts every SQL statement Hibernate prepares into the {@link QueryCounter} of the current thread,
+ * which holds the request to its {@link SqlBudget} if it has one. The statement itself is left unchanged.
+ */
+public class QueryCountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryCounter.statementPrepared(sql);
+        return sql;
+    }
+}
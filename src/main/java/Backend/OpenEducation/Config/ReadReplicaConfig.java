@@ -0,0 +1,122 @@
+package Backend.OpenEducation.Config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Splits database traffic between the primary and a pool of read replicas
+ * ({@code openeducation.datasource.replica.enabled=true}).
+ * <p>
+ * The application DataSource becomes a {@link ReadReplicaRoutingDataSource} over two Hikari pools,
+ * named {@code primary} and {@code replica} so that their pool metrics are told apart.
+ * Flyway migrates through the primary pool directly. When replica routing is disabled,
+ * Spring Boot configures the single primary pool as usual.
+ */
+@Configuration
+@ConditionalOnProperty(name = "openeducation.datasource.replica.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+public class ReadReplicaConfig implements WebMvcConfigurer {
+
+    private final ReplicaDataSourceProperties replicaProperties;
+
+    /**
+     * Constructs a new ReadReplicaConfig.
+     *
+     * @param replicaProperties the replica settings
+     */
+    public ReadReplicaConfig(ReplicaDataSourceProperties replicaProperties) {
+        this.replicaProperties = replicaProperties;
+    }
+
+    /**
+     * Creates the pool of the primary, from the {@code spring.datasource} settings or the
+     * connection details of a Docker Compose service.
+     *
+     * @param properties the primary settings
+     * @param connectionDetails the connection details of the primary, if provided by a service connection
+     * @return the primary pool
+     */
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public DataSource primaryDataSource(DataSourceProperties properties,
+                                        ObjectProvider<JdbcConnectionDetails> connectionDetails) {
+        JdbcConnectionDetails details = connectionDetails.getIfAvailable();
+        HikariDataSource primary = details == null
+                ? properties.initializeDataSourceBuilder().type(HikariDataSource.class).build()
+                : DataSourceBuilder.create(properties.getClassLoader()).type(HikariDataSource.class)
+                        .driverClassName(details.getDriverClassName())
+                        .url(details.getJdbcUrl())
+                        .username(details.getUsername())
+                        .password(details.getPassword())
+                        .build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    /**
+     * Creates the pool of the replicas. Credentials default to those of the primary.
+     *
+     * @param properties the primary settings
+     * @param connectionDetails the connection details of the primary, if provided by a service connection
+     * @return the replica pool
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "openeducation.datasource.replica.hikari")
+    public DataSource replicaDataSource(DataSourceProperties properties,
+                                        ObjectProvider<JdbcConnectionDetails> connectionDetails) {
+        if (replicaProperties.getUrl() == null) {
+            throw new IllegalStateException("openeducation.datasource.replica.url must be set when replica routing is enabled");
+        }
+        JdbcConnectionDetails details = connectionDetails.getIfAvailable();
+        String username = replicaProperties.getUsername() != null ? replicaProperties.getUsername()
+                : details != null ? details.getUsername() : properties.determineUsername();
+        String password = replicaProperties.getPassword() != null ? replicaProperties.getPassword()
+                : details != null ? details.getPassword() : properties.determinePassword();
+        HikariDataSource replica = DataSourceBuilder.create(properties.getClassLoader()).type(HikariDataSource.class)
+                .url(replicaProperties.getUrl())
+                .username(username)
+                .password(password)
+                .build();
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    /**
+     * Creates the application DataSource, routing read-only transactions to the replicas.
+     *
+     * @param primary the primary pool
+     * @param replica the replica pool
+     * @param meterRegistry the registry the routing counters are published to
+     * @return the routing DataSource
+     */
+    @Bean
+    @Primary
+    public ReadReplicaRoutingDataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                                   @Qualifier("replicaDataSource") DataSource replica,
+                                                   MeterRegistry meterRegistry) {
+        return new ReadReplicaRoutingDataSource(primary, replica, meterRegistry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ReadYourWritesInterceptor(replicaProperties.getReadYourWritesWindow()));
+    }
+}
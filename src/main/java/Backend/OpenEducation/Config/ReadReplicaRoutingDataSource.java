@@ -0,0 +1,115 @@
+package Backend.OpenEducation.Config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * DataSource sending read-only transactions to the replica pool and everything else to the primary.
+ * <p>
+ * Connections are only taken from a pool when the first statement runs, once the transaction
+ * manager has marked the connection read-only or not, so the route follows
+ * {@code @Transactional(readOnly = true)}. A read-only connection still goes to the primary when
+ * the current thread is pinned to it by {@link ReadRoutingContext}, and when the replica pool
+ * cannot hand out a connection. Each decision is counted in
+ * {@code openeducation.datasource.read.route}, tagged with the pool that served it.
+ */
+public final class ReadReplicaRoutingDataSource extends LazyConnectionDataSourceProxy {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+
+    private final DataSource replica;
+
+    /**
+     * Constructs a new ReadReplicaRoutingDataSource.
+     *
+     * @param primary the pool of the primary, serving writes
+     * @param replica the pool of the replicas, serving read-only transactions
+     * @param meterRegistry the registry the routing counters are published to
+     */
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, MeterRegistry meterRegistry) {
+        super(primary);
+        this.primary = primary;
+        this.replica = replica;
+        setReadOnlyDataSource(new ReadOnlyRoute(
+                routeCounter(meterRegistry, "replica", "replica"),
+                routeCounter(meterRegistry, "primary", "read-your-writes"),
+                routeCounter(meterRegistry, "primary", "replica-unavailable")));
+    }
+
+    /**
+     * Gets the pool of the primary.
+     *
+     * @return the primary DataSource
+     */
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    /**
+     * Gets the pool of the replicas.
+     *
+     * @return the replica DataSource
+     */
+    public DataSource getReplica() {
+        return replica;
+    }
+
+    private static Counter routeCounter(MeterRegistry meterRegistry, String pool, String reason) {
+        return Counter.builder("openeducation.datasource.read.route")
+                .description("Connections handed to read-only transactions, by the pool serving them")
+                .tag("pool", pool)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Chooses the pool of a read-only connection.
+     */
+    private final class ReadOnlyRoute extends AbstractDataSource {
+
+        private final Counter toReplica;
+
+        private final Counter pinned;
+
+        private final Counter fallback;
+
+        ReadOnlyRoute(Counter toReplica, Counter pinned, Counter fallback) {
+            this.toReplica = toReplica;
+            this.pinned = pinned;
+            this.fallback = fallback;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (ReadRoutingContext.isPinnedToPrimary()) {
+                pinned.increment();
+                return primary.getConnection();
+            }
+            Connection connection;
+            try {
+                connection = replica.getConnection();
+            } catch (SQLException e) {
+                ReadReplicaRoutingDataSource.logger.warn("Replica pool unavailable, reading from the primary: {}", e.getMessage());
+                fallback.increment();
+                return primary.getConnection();
+            }
+            toReplica.increment();
+            return connection;
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            throw new UnsupportedOperationException("Read-only connections use the credentials of their pool");
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package Backend.OpenEducation.Config;
+
+/**
+ * Per-thread hint telling {@link ReadReplicaRoutingDataSource} to serve read-only transactions
+ * from the primary instead of a replica.
+ * <p>
+ * Set for the duration of a request by {@link ReadYourWritesInterceptor} when the client has
+ * written recently, so it reads its own writes even while the replicas lag behind.
+ */
+public final class ReadRoutingContext {
+
+    private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+
+    private ReadRoutingContext() {
+    }
+
+    /**
+     * Sends the read-only transactions of the current thread to the primary.
+     */
+    public static void pinToPrimary() {
+        PRIMARY_PINNED.set(Boolean.TRUE);
+    }
+
+    /**
+     * Lets the read-only transactions of the current thread go to the replicas again.
+     */
+    public static void clear() {
+        PRIMARY_PINNED.remove();
+    }
+
+    /**
+     * Tells whether the read-only transactions of the current thread must go to the primary.
+     *
+     * @return true if the current thread is pinned to the primary
+     */
+    public static boolean isPinnedToPrimary() {
+        return PRIMARY_PINNED.get() != null;
+    }
+
+    /**
+     * Wraps a task handed to another thread so that it runs with the routing hint of the
+     * thread submitting it.
+     *
+     * @param task the task to wrap
+     * @return the task, pinned to the primary if the submitting thread is
+     */
+    public static Runnable propagate(Runnable task) {
+        if (!isPinnedToPrimary()) {
+            return task;
+        }
+        return () -> {
+            boolean wasPinned = isPinnedToPrimary();
+            pinToPrimary();
+            try {
+                task.run();
+            } finally {
+                if (!wasPinned) {
+                    clear();
+                }
+            }
+        };
+    }
+}
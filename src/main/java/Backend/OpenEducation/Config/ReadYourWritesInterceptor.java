@@ -0,0 +1,95 @@
+package Backend.OpenEducation.Config;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Gives each client read-your-writes consistency while reads are served by lagging replicas.
+ * <p>
+ * A request that may write (any method but GET, HEAD and OPTIONS) reads from the primary, and
+ * its response sets the {@value #COOKIE_NAME} cookie to the end of the read-your-writes window.
+ * Until then, the reads of that client are pinned to the primary as well. The window is short,
+ * and a cookie claiming a later end is ignored, so a client cannot pin itself for longer.
+ */
+public class ReadYourWritesInterceptor implements HandlerInterceptor {
+
+    /**
+     * Name of the cookie holding when the client may read from the replicas again, in epoch milliseconds.
+     */
+    public static final String COOKIE_NAME = "OE-Read-Primary-Until";
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final Duration window;
+
+    private final Clock clock;
+
+    /**
+     * Constructs a new ReadYourWritesInterceptor.
+     *
+     * @param window how long a client reads from the primary after a write
+     */
+    public ReadYourWritesInterceptor(Duration window) {
+        this(window, Clock.systemUTC());
+    }
+
+    /**
+     * Constructs a new ReadYourWritesInterceptor reading the time from the given clock.
+     *
+     * @param window how long a client reads from the primary after a write
+     * @param clock the clock
+     */
+    public ReadYourWritesInterceptor(Duration window, Clock clock) {
+        this.window = window;
+        this.clock = clock;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        long now = clock.millis();
+        if (!SAFE_METHODS.contains(request.getMethod())) {
+            ReadRoutingContext.pinToPrimary();
+            ResponseCookie cookie = ResponseCookie.from(COOKIE_NAME, Long.toString(now + window.toMillis()))
+                    .path("/")
+                    .maxAge(window)
+                    .httpOnly(true)
+                    .sameSite("Lax")
+                    .build();
+            response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+        } else if (wroteRecently(request, now)) {
+            ReadRoutingContext.pinToPrimary();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReadRoutingContext.clear();
+    }
+
+    private boolean wroteRecently(HttpServletRequest request, long now) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    long until = Long.parseLong(cookie.getValue());
+                    return until > now && until <= now + window.toMillis();
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,115 @@
+package Backend.OpenEducation.Config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the read replica pool.
+ * The pool itself is tuned under {@code openeducation.datasource.replica.hikari},
+ * like the primary pool under {@code spring.datasource.hikari}.
+ */
+@ConfigurationProperties(prefix = "openeducation.datasource.replica")
+public class ReplicaDataSourceProperties {
+
+    private boolean enabled;
+
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    /**
+     * Tells whether read-only transactions are sent to the replicas.
+     *
+     * @return true if replica routing is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether read-only transactions are sent to the replicas.
+     *
+     * @param enabled true to enable replica routing
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Gets the JDBC URL of the replicas. A load-balanced Connector/J URL spreads the pool over several replicas.
+     *
+     * @return the JDBC URL
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * Sets the JDBC URL of the replicas.
+     *
+     * @param url the JDBC URL
+     */
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    /**
+     * Gets the user name of the replicas.
+     *
+     * @return the user name, or null to use the one of the primary
+     */
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * Sets the user name of the replicas.
+     *
+     * @param username the user name
+     */
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    /**
+     * Gets the password of the replicas.
+     *
+     * @return the password, or null to use the one of the primary
+     */
+    public String getPassword() {
+        return password;
+    }
+
+    /**
+     * Sets the password of the replicas.
+     *
+     * @param password the password
+     */
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    /**
+     * Gets how long a client reads from the primary after a write.
+     * Should exceed the usual replication lag.
+     *
+     * @return the read-your-writes window
+     */
+    public Duration getReadYourWritesWindow() {
+        return readYourWritesWindow;
+    }
+
+    /**
+     * Sets how long a client reads from the primary after a write.
+     *
+     * @param readYourWritesWindow the read-your-writes window
+     */
+    public void setReadYourWritesWindow(Duration readYourWritesWindow) {
+        this.readYourWritesWindow = readYourWritesWindow;
+    }
+}
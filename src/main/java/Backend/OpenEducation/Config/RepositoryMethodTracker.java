@@ -0,0 +1,63 @@
+package Backend.OpenEducation.Config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Remembers which repository method the current thread is in, so that a slow statement
+ * can be reported with the repository method that issued it.
+ * Added to every repository proxy by {@link SqlBudgetConfig}.
+ */
+public class RepositoryMethodTracker implements MethodInterceptor {
+
+    /**
+     * A repository method.
+     *
+     * @param repository the simple name of the repository interface
+     * @param method the name of the method
+     */
+    public record RepositoryMethod(String repository, String method) {
+
+        @Override
+        public String toString() {
+            return repository + "." + method;
+        }
+    }
+
+    private static final ThreadLocal<RepositoryMethod> CURRENT = new ThreadLocal<>();
+
+    private final String repository;
+
+    /**
+     * Constructs a new RepositoryMethodTracker for the given repository.
+     *
+     * @param repositoryInterface the repository interface
+     */
+    public RepositoryMethodTracker(Class<?> repositoryInterface) {
+        this.repository = repositoryInterface.getSimpleName();
+    }
+
+    /**
+     * Gets the repository method the current thread is in.
+     *
+     * @return the innermost repository method being invoked, or null if there is none
+     */
+    public static RepositoryMethod current() {
+        return CURRENT.get();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        RepositoryMethod previous = CURRENT.get();
+        CURRENT.set(new RepositoryMethod(repository, invocation.getMethod().getName()));
+        try {
+            return invocation.proceed();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package Backend.OpenEducation.Config;
+
+import Backend.OpenEducation.Exception.SqlBudgetExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds each request to a budget of SQL statements and database time, and reports slow statements.
+ * <p>
+ * Checked as statements are prepared and executed, so a request going over its budget is caught at
+ * the statement that crossed it: with the {@link SqlBudgetProperties.Action#FAIL FAIL} action that
+ * statement, and every one after it, fails with a {@link SqlBudgetExceededException}; with
+ * {@link SqlBudgetProperties.Action#LOG LOG}, a warning carries its stack trace, once per request.
+ * Database time is only known once a statement has run, so going over the time budget fails the
+ * next statement.
+ * <p>
+ * A statement taking longer than the slow statement threshold is logged with the repository method
+ * that issued it, and counted in {@value #SLOW_STATEMENTS} by repository and method.
+ */
+public class SqlBudget {
+
+    /**
+     * Name of the counter of requests that went over their budget.
+     */
+    public static final String EXCEEDED = "openeducation.sql.budget.exceeded";
+
+    /**
+     * Name of the counter of slow statements, tagged with the repository and method that issued them.
+     */
+    public static final String SLOW_STATEMENTS = "openeducation.sql.slow";
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlBudget.class);
+
+    private final int maxStatements;
+
+    private final long maxDatabaseNanos;
+
+    private final boolean failRequests;
+
+    private final long slowStatementNanos;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Counter exceeded;
+
+    /**
+     * Constructs a new SqlBudget.
+     *
+     * @param properties the budget settings
+     * @param meterRegistry the registry the budget counters are published to
+     */
+    public SqlBudget(SqlBudgetProperties properties, MeterRegistry meterRegistry) {
+        this.maxStatements = properties.getMaxStatements();
+        this.maxDatabaseNanos = properties.getMaxDatabaseTime().toNanos();
+        this.failRequests = properties.getAction() == SqlBudgetProperties.Action.FAIL;
+        this.slowStatementNanos = properties.getSlowStatementThreshold().toNanos();
+        this.meterRegistry = meterRegistry;
+        this.exceeded = Counter.builder(EXCEEDED)
+                .description("Requests that issued more SQL statements or spent more database time than their budget")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Checks a request about to prepare another statement against its budget.
+     *
+     * @param count the count of the request
+     * @param statements the number of statements of the request, including this one
+     * @throws SqlBudgetExceededException if the request is over its budget and requests are failed
+     */
+    void onStatement(QueryCounter.Count count, int statements) {
+        long databaseNanos = count.databaseNanos.get();
+        if (statements > maxStatements || databaseNanos > maxDatabaseNanos) {
+            overBudget(count, statements, databaseNanos);
+        }
+    }
+
+    /**
+     * Reports a slow statement and, when requests are only logged, a request whose database time
+     * just went over its budget.
+     *
+     * @param count the count of the request
+     * @param sql the statement, or null if unknown
+     * @param nanos the execution time of the statement
+     */
+    void onExecuted(QueryCounter.Count count, String sql, long nanos) {
+        if (nanos >= slowStatementNanos) {
+            RepositoryMethodTracker.RepositoryMethod origin = RepositoryMethodTracker.current();
+            Counter.builder(SLOW_STATEMENTS)
+                    .description("SQL statements slower than the slow statement threshold")
+                    .tag("repository", origin == null ? "none" : origin.repository())
+                    .tag("method", origin == null ? "none" : origin.method())
+                    .register(meterRegistry)
+                    .increment();
+            logger.warn("Slow SQL statement in {} ({} ms) serving {}: {}", origin == null ? "no repository method" : origin,
+                    TimeUnit.NANOSECONDS.toMillis(nanos), count.request, sql);
+        }
+        long databaseNanos = count.databaseNanos.get();
+        if (!failRequests && databaseNanos > maxDatabaseNanos) {
+            overBudget(count, count.statements.get(), databaseNanos);
+        }
+    }
+
+    private void overBudget(QueryCounter.Count count, int statements, long databaseNanos) {
+        boolean first = count.overBudget.compareAndSet(false, true);
+        if (!first && !failRequests) {
+            return;
+        }
+        String message = String.format("%s went over its SQL budget: %d statements (max %d), %d ms of database time (max %d ms)",
+                count.request, statements, maxStatements,
+                TimeUnit.NANOSECONDS.toMillis(databaseNanos), TimeUnit.NANOSECONDS.toMillis(maxDatabaseNanos));
+        SqlBudgetExceededException exception = new SqlBudgetExceededException(message);
+        if (first) {
+            exceeded.increment();
+            logger.warn(message, exception);
+        }
+        if (failRequests) {
+            throw exception;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package Backend.OpenEducation.Config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Holds every request to a budget of SQL statements and database time
+ * ({@code openeducation.sql-budget.enabled=true}), meant for tests and staging.
+ * <p>
+ * Statements are counted by the statement inspector registered by {@link MetricsConfig}. This
+ * configuration adds the timing of their execution, and tracks the repository method issuing them.
+ * When the budget is disabled none of these are registered, and counting costs one thread-local
+ * lookup per statement.
+ */
+@Configuration
+@ConditionalOnProperty(name = "openeducation.sql-budget.enabled", havingValue = "true")
+@EnableConfigurationProperties(SqlBudgetProperties.class)
+public class SqlBudgetConfig {
+
+    /**
+     * Creates the budget requests are held to.
+     *
+     * @param properties the budget settings
+     * @param meterRegistry the registry the budget counters are published to
+     * @return the SQL budget
+     */
+    @Bean
+    public SqlBudget sqlBudget(SqlBudgetProperties properties, MeterRegistry meterRegistry) {
+        return new SqlBudget(properties, meterRegistry);
+    }
+
+    /**
+     * Times the statements executed by every Hibernate session.
+     *
+     * @return the customizer registering the session listener
+     */
+    @Bean
+    public HibernatePropertiesCustomizer sqlTimingCustomizer() {
+        return properties -> properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlTimingSessionListener.class.getName());
+    }
+
+    /**
+     * Tracks the repository method each statement is issued from.
+     *
+     * @return the post-processor adding a {@link RepositoryMethodTracker} to every repository
+     */
+    @Bean
+    public static BeanPostProcessor repositoryMethodTracking() {
+        return new BeanPostProcessor() {
+
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) ->
+                                    proxyFactory.addAdvice(new RepositoryMethodTracker(repositoryInformation.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,128 @@
+package Backend.OpenEducation.Config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the per-request SQL budget.
+ */
+@ConfigurationProperties(prefix = "openeducation.sql-budget")
+public class SqlBudgetProperties {
+
+    /**
+     * What to do when a request goes over its budget.
+     */
+    public enum Action {
+
+        /**
+         * Log a warning with the stack trace of the statement that went over the budget.
+         */
+        LOG,
+
+        /**
+         * Fail the request with a {@link Backend.OpenEducation.Exception.SqlBudgetExceededException}.
+         */
+        FAIL
+    }
+
+    private boolean enabled;
+
+    private int maxStatements = 50;
+
+    private Duration maxDatabaseTime = Duration.ofSeconds(1);
+
+    private Action action = Action.LOG;
+
+    private Duration slowStatementThreshold = Duration.ofMillis(200);
+
+    /**
+     * Tells whether requests are held to the budget.
+     *
+     * @return true if the budget is enforced
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether requests are held to the budget.
+     *
+     * @param enabled true to enforce the budget
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Gets the number of statements a request may issue.
+     *
+     * @return the maximum number of statements per request
+     */
+    public int getMaxStatements() {
+        return maxStatements;
+    }
+
+    /**
+     * Sets the number of statements a request may issue.
+     *
+     * @param maxStatements the maximum number of statements per request
+     */
+    public void setMaxStatements(int maxStatements) {
+        this.maxStatements = maxStatements;
+    }
+
+    /**
+     * Gets the time a request may spend executing statements.
+     *
+     * @return the maximum database time per request
+     */
+    public Duration getMaxDatabaseTime() {
+        return maxDatabaseTime;
+    }
+
+    /**
+     * Sets the time a request may spend executing statements.
+     *
+     * @param maxDatabaseTime the maximum database time per request
+     */
+    public void setMaxDatabaseTime(Duration maxDatabaseTime) {
+        this.maxDatabaseTime = maxDatabaseTime;
+    }
+
+    /**
+     * Gets what to do when a request goes over its budget.
+     *
+     * @return the action
+     */
+    public Action getAction() {
+        return action;
+    }
+
+    /**
+     * Sets what to do when a request goes over its budget.
+     *
+     * @param action the action
+     */
+    public void setAction(Action action) {
+        this.action = action;
+    }
+
+    /**
+     * Gets the execution time from which a statement is reported as slow.
+     *
+     * @return the slow statement threshold
+     */
+    public Duration getSlowStatementThreshold() {
+        return slowStatementThreshold;
+    }
+
+    /**
+     * Sets the execution time from which a statement is reported as slow.
+     *
+     * @param slowStatementThreshold the slow statement threshold
+     */
+    public void setSlowStatementThreshold(Duration slowStatementThreshold) {
+        this.slowStatementThreshold = slowStatementThreshold;
+    }
+}
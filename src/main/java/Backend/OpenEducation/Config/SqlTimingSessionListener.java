@@ -0,0 +1,37 @@
+package Backend.OpenEducation.Config;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Times the statements and batches executed by a Hibernate session, and adds their time to the
+ * {@link QueryCounter} of the current thread.
+ * <p>
+ * Hibernate creates one listener per session, from {@code hibernate.session.events.auto}; it is only
+ * registered while the SQL budget is enabled. The time covers the execution of the statement,
+ * not the reading of its result set.
+ */
+public class SqlTimingSessionListener implements SessionEventListener {
+
+    // A session is used by one thread at a time
+    private long executionStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        QueryCounter.statementExecuted(System.nanoTime() - executionStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        QueryCounter.statementExecuted(System.nanoTime() - executionStart);
+    }
+}
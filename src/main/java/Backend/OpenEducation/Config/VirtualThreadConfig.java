@@ -0,0 +1,75 @@
+package Backend.OpenEducation.Config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Support beans for the virtual-thread execution mode ({@code spring.threads.virtual.enabled=true}).
+ * <p>
+ * In that mode Spring Boot runs Tomcat requests, {@code @Async} methods and scheduled tasks
+ * on virtual threads. This configuration adds what the platform thread pool used to provide
+ * implicitly: a bound on concurrent JDBC work, and a way to see virtual threads pinned
+ * to their carrier.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    /**
+     * Creates the monitor reporting virtual threads pinned to their carrier thread.
+     *
+     * @param meterRegistry the registry the pinning timer is published to
+     * @param threshold the minimum duration of a pinning to report
+     * @return the pinning monitor
+     */
+    @Bean
+    @ConditionalOnProperty(name = "openeducation.virtual-threads.pinning-monitor.enabled", matchIfMissing = true)
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${openeducation.virtual-threads.pinning-monitor.threshold:20ms}") Duration threshold) {
+        return new VirtualThreadPinningMonitor(meterRegistry, threshold);
+    }
+
+    /**
+     * Wraps the application DataSource so that no more threads hold a connection
+     * than the connection pool has connections.
+     * With replica routing, each pool is wrapped with its own size, and the routing
+     * DataSource above them is left as it is.
+     * Declared static so that it is registered before the DataSource is created.
+     *
+     * @param environment the environment holding the pool settings
+     * @return the post-processor wrapping the DataSource
+     */
+    @Bean
+    @ConditionalOnProperty(name = "openeducation.virtual-threads.connection-guard.enabled", matchIfMissing = true)
+    public static BeanPostProcessor connectionGuardPostProcessor(Environment environment) {
+        int maximumPoolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+        Duration acquireTimeout = environment.getProperty("openeducation.virtual-threads.connection-guard.acquire-timeout",
+                Duration.class, Duration.ofMillis(
+                        environment.getProperty("spring.datasource.hikari.connection-timeout", Long.class, 30_000L)));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConcurrencyLimitedDataSource)
+                        && !(bean instanceof ReadReplicaRoutingDataSource)) {
+                    // Hikari reports -1 until started when no size is configured
+                    int poolSize = bean instanceof HikariDataSource hikari && hikari.getMaximumPoolSize() > 0
+                            ? hikari.getMaximumPoolSize() : maximumPoolSize;
+                    return new ConcurrencyLimitedDataSource(dataSource, poolSize, acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+}
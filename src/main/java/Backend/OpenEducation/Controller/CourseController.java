@@ -1,21 +1,38 @@
 package Backend.OpenEducation.Controllers;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import Backend.OpenEducation.Exception.CourseNotFoundException;
+import Backend.OpenEducation.Services.CatalogService;
+import Backend.OpenEducation.Services.CourseResponseCache;
 import Backend.OpenEducation.Services.CourseService;
+import Backend.OpenEducation.Services.CourseViewCounter;
+import Backend.OpenEducation.Services.OffHeapCatalog;
+import Backend.OpenEducation.Services.PopularityService;
 import Backend.OpenEducation.dto.CourseDTO;
+import Backend.OpenEducation.dto.CoursePage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 /**
  * REST controller for managing courses.
- * Provides endpoints for creating and retrieving courses.
+ * Provides endpoints for creating, listing and retrieving courses.
  */
 @RestController
 @RequestMapping("/api/v1/courses")
@@ -28,14 +45,99 @@ public class CourseController {
     // Service layer for handling course-related operations
     private final CourseService courseService;
 
+    // Records course views for the subject popularity ranking
+    private final PopularityService popularityService;
+
+    // Counts course detail views, written behind the reads
+    private final CourseViewCounter courseViewCounter;
+
+    // Writer used to serialize rows of the NDJSON stream one by one
+    private final ObjectWriter rowWriter;
+
+    // Course details already serialized, and compressed, at their current version
+    private final CourseResponseCache courseResponseCache;
+
+    // Service layer for handling the catalog outline
+    private final CatalogService catalogService;
+
+    /**
+     * Media type of the newline-delimited JSON course stream.
+     */
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    /**
+     * Response header carrying the cursor of the next page of courses.
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     /**
      * Constructs a new CourseController with the specified CourseService.
      *
      * @param courseService the course service
+     * @param popularityService the popularity service
+     * @param courseViewCounter the course view counter
+     * @param objectMapper the object mapper used to serialize streamed courses
+     * @param courseResponseCache the cache of serialized course details
+     * @param catalogService the catalog service
      */
     @Autowired
-    public CourseController(CourseService courseService) {
+    public CourseController(CourseService courseService, PopularityService popularityService,
+                            CourseViewCounter courseViewCounter, ObjectMapper objectMapper,
+                            CourseResponseCache courseResponseCache, CatalogService catalogService) {
         this.courseService = courseService;
+        this.popularityService = popularityService;
+        this.courseViewCounter = courseViewCounter;
+        this.rowWriter = objectMapper.writerFor(CourseDTO.class);
+        this.courseResponseCache = courseResponseCache;
+        this.catalogService = catalogService;
+    }
+
+    /**
+     * Lists courses ordered by ID, one page at a time.
+     * The cursor of the next page is returned in the {@value #NEXT_CURSOR_HEADER} header
+     * and is absent on the last page.
+     *
+     * @param cursor the opaque cursor of the page to fetch, or null for the first page
+     * @param limit the page size, capped at the configured maximum
+     * @return the page of courses with HTTP status 200 (OK)
+     */
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<CourseDTO>> getCourses(@RequestParam(required = false) String cursor,
+                                                      @RequestParam(required = false) Integer limit) {
+        logger.info("Listing courses, cursor: {}, limit: {}", cursor, limit);
+        CoursePage page = courseService.getCoursePage(cursor, limit);
+        HttpHeaders headers = new HttpHeaders();
+        if (page.getNextCursor() != null) {
+            headers.add(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return new ResponseEntity<>(page.getItems(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * Streams every course as newline-delimited JSON, writing rows as they are read.
+     *
+     * @param response the HTTP response to write the stream to
+     * @throws IOException if writing to the response fails
+     */
+    @GetMapping(produces = APPLICATION_NDJSON_VALUE)
+    public void streamCourses(HttpServletResponse response) throws IOException {
+        logger.info("Streaming all courses");
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(APPLICATION_NDJSON_VALUE);
+        OutputStream out = response.getOutputStream();
+        try {
+            courseService.streamAllCourses(course -> {
+                try {
+                    out.write(rowWriter.writeValueAsBytes(course));
+                    out.write('\n');
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        out.flush();
     }
 
     /**
@@ -53,15 +155,113 @@ public class CourseController {
 
     /**
      * Retrieves a course by its ID.
+     * The response carries a strong ETag and a Last-Modified header taken from the version of
+     * the course, which changes with the course, its modules and its materials. A request whose
+     * If-None-Match or If-Modified-Since header still matches is answered with 304 (Not Modified).
+     * Such revalidations are not counted as views, so clients polling a course do not inflate its popularity.
+     * <p>
+     * The validators and the body are taken from the JSON bytes cached for the course, which a
+     * committed change of the course drops, and written gzip-compressed when the client accepts it,
+     * so a hot course costs no query and is neither assembled nor serialized again.
      * 
      * @param id the ID of the course to retrieve
-     * @return the course as a DTO with HTTP status 200 (OK) if found
+     * @param acceptEncoding the content codings accepted by the client, if any
+     * @param request the current request, checked for conditional headers
+     * @return the course as JSON with HTTP status 200 (OK) if found, or null once a 304 (Not Modified) is set
      * @throws CourseNotFoundException if the course is not found
      */
-    @GetMapping("/{id}")
-    public ResponseEntity<CourseDTO> getCourseById(@PathVariable Long id) {
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getCourseById(@PathVariable Long id,
+                                                @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                                WebRequest request) {
         logger.info("Fetching course with ID: {}", id);
-        CourseDTO courseDTO = courseService.getCourseById(id);
-        return new ResponseEntity<>(courseDTO, HttpStatus.OK);
+        CourseResponseCache.Payload payload = courseResponseCache.get(id, () -> courseService.getCourseById(id));
+        if (payload.version() != null) {
+            long lastModified = payload.lastModified() == null ? -1 : payload.lastModified().toEpochMilli();
+            if (request.checkNotModified(eTag(id, payload.version()), lastModified)) {
+                return null;
+            }
+        }
+        courseViewCounter.recordView(id);
+        popularityService.recordView(payload.subjectId());
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+        if (payload.version() != null) {
+            headers.setETag(eTag(id, payload.version()));
+        }
+        if (payload.lastModified() != null) {
+            headers.setLastModified(payload.lastModified());
+        }
+        byte[] body = payload.json();
+        if (payload.gzip() != null && acceptsGzip(acceptEncoding)) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            body = payload.gzip();
+        }
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    /**
+     * Retrieves the ID, title and position of every module of a course, for navigation.
+     * Served from the off-heap catalog, so a change shows up after a few seconds, and not counted as a view.
+     *
+     * @param id the ID of the course
+     * @return the modules of the course, in their order within the course, with HTTP status 200 (OK)
+     * @throws CourseNotFoundException if the course is not in the catalog
+     */
+    @GetMapping("/{id}/modules")
+    public ResponseEntity<List<OffHeapCatalog.ModuleEntry>> getModules(@PathVariable Long id) {
+        logger.info("Fetching modules of course with ID: {}", id);
+        return new ResponseEntity<>(catalogService.getModulesOfCourse(id), HttpStatus.OK);
+    }
+
+    /**
+     * Tells whether an Accept-Encoding header accepts gzip with a non-zero quality,
+     * either by name or, when gzip is not listed, through the * wildcard.
+     *
+     * @param acceptEncoding the Accept-Encoding header, or null if absent
+     * @return true if the body may be sent gzip-compressed
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean gzip = null;
+        boolean wildcard = false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase("gzip") || name.equalsIgnoreCase("x-gzip")) {
+                gzip = hasNonZeroQuality(parts);
+            } else if (name.equals("*")) {
+                wildcard = hasNonZeroQuality(parts);
+            }
+        }
+        return gzip != null ? gzip : wildcard;
+    }
+
+    private static boolean hasNonZeroQuality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim()) > 0;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Builds the strong entity tag of a version of a course.
+     *
+     * @param id the ID of the course
+     * @param version the version of the course
+     * @return the quoted entity tag
+     */
+    private static String eTag(Long id, long version) {
+        return "\"" + id + "-" + version + "\"";
     }
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package Backend.OpenEducation.Controllers;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import Backend.OpenEducation.Services.CourseImportService;
+import Backend.OpenEducation.dto.ImportReportDTO;
+
+/**
+ * REST controller for bulk course imports.
+ * The payload is read as a stream, so partner catalogs of any size can be imported in one request.
+ */
+@RestController
+@RequestMapping("/api/v1/courses/import")
+public class CourseImportController {
+
+    // Logger for logging important information and errors
+    private static final Logger logger = LoggerFactory.getLogger(CourseImportController.class);
+
+    // Service layer for handling bulk imports
+    private final CourseImportService courseImportService;
+
+    /**
+     * Constructs a new CourseImportController with the specified CourseImportService.
+     *
+     * @param courseImportService the course import service
+     */
+    @Autowired
+    public CourseImportController(CourseImportService courseImportService) {
+        this.courseImportService = courseImportService;
+    }
+
+    /**
+     * Imports courses with their nested modules and materials from a JSON array
+     * or newline-delimited JSON payload.
+     *
+     * @param payload the request body
+     * @return the import report with HTTP status 200 (OK), even if some rows were rejected
+     * @throws IOException if the payload cannot be read
+     */
+    @PostMapping(consumes = {MediaType.APPLICATION_JSON_VALUE, CourseController.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ImportReportDTO> importJson(InputStream payload) throws IOException {
+        logger.info("Starting JSON course import");
+        return new ResponseEntity<>(courseImportService.importJson(payload), HttpStatus.OK);
+    }
+
+    /**
+     * Imports courses with their nested modules and materials from a CSV payload.
+     *
+     * @param payload the request body
+     * @return the import report with HTTP status 200 (OK), even if some rows were rejected
+     * @throws IOException if the payload cannot be read
+     */
+    @PostMapping(consumes = "text/csv")
+    public ResponseEntity<ImportReportDTO> importCsv(InputStream payload) throws IOException {
+        logger.info("Starting CSV course import");
+        return new ResponseEntity<>(courseImportService.importCsv(payload), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,54 @@
+package Backend.OpenEducation.Controllers;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import Backend.OpenEducation.Services.SearchService;
+import Backend.OpenEducation.dto.SearchHitDTO;
+
+/**
+ * REST controller for full-text search.
+ * Provides a single ranked search endpoint over courses, modules and subjects.
+ */
+@RestController
+@RequestMapping("/api/v1/search")
+public class SearchController {
+
+    // Logger for logging important information and errors
+    private static final Logger logger = LoggerFactory.getLogger(SearchController.class);
+
+    // Service layer for handling search operations
+    private final SearchService searchService;
+
+    /**
+     * Constructs a new SearchController with the specified SearchService.
+     *
+     * @param searchService the search service
+     */
+    @Autowired
+    public SearchController(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    /**
+     * Searches courses, modules and subjects by keywords.
+     *
+     * @param query the free-text query
+     * @param type the kind of entity to return (COURSE, MODULE or SUBJECT), or all kinds if absent
+     * @param limit the maximum number of results
+     * @return the results, most relevant first, with HTTP status 200 (OK)
+     */
+    @GetMapping
+    public ResponseEntity<List<SearchHitDTO>> search(@RequestParam("q") String query,
+                                                     @RequestParam(required = false) SearchHitDTO.Type type,
+                                                     @RequestParam(required = false) Integer limit) {
+        logger.info("Searching for: {}", query);
+        return new ResponseEntity<>(searchService.search(query, type, limit), HttpStatus.OK);
+    }
+}
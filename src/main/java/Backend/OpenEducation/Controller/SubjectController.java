@@ -0,0 +1,137 @@
+package Backend.OpenEducation.Controllers;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import Backend.OpenEducation.Model.MaterialType;
+import Backend.OpenEducation.Services.CatalogService;
+import Backend.OpenEducation.Services.MaterialService;
+import Backend.OpenEducation.Services.OffHeapCatalog;
+import Backend.OpenEducation.Services.PopularityService;
+import Backend.OpenEducation.Services.SubjectStatsService;
+import Backend.OpenEducation.dto.MaterialDTO;
+import Backend.OpenEducation.dto.MaterialPage;
+import Backend.OpenEducation.dto.PopularSubjectDTO;
+import Backend.OpenEducation.dto.SubjectCourseCount;
+
+/**
+ * REST controller for subjects.
+ * Provides the per-subject course counts used by dashboards, the popularity ranking,
+ * the courses and the materials of a subject.
+ */
+@RestController
+@RequestMapping("/api/v1/subjects")
+public class SubjectController {
+
+    // Logger for logging important information and errors
+    private static final Logger logger = LoggerFactory.getLogger(SubjectController.class);
+
+    // Service layer for handling subject statistics
+    private final SubjectStatsService subjectStatsService;
+
+    // Service layer for handling subject popularity
+    private final PopularityService popularityService;
+
+    // Service layer for handling materials
+    private final MaterialService materialService;
+
+    // Service layer for handling the catalog outline
+    private final CatalogService catalogService;
+
+    /**
+     * Constructs a new SubjectController with the specified services.
+     *
+     * @param subjectStatsService the subject statistics service
+     * @param popularityService the popularity service
+     * @param materialService the material service
+     * @param catalogService the catalog service
+     */
+    @Autowired
+    public SubjectController(SubjectStatsService subjectStatsService, PopularityService popularityService,
+                             MaterialService materialService, CatalogService catalogService) {
+        this.subjectStatsService = subjectStatsService;
+        this.popularityService = popularityService;
+        this.materialService = materialService;
+        this.catalogService = catalogService;
+    }
+
+    /**
+     * Retrieves the most popular subjects, recent views and enrollments weighing more than older ones.
+     *
+     * @param limit the maximum number of subjects
+     * @return the subjects, most popular first, with HTTP status 200 (OK)
+     */
+    @GetMapping("/popular")
+    public ResponseEntity<List<PopularSubjectDTO>> getPopularSubjects(@RequestParam(required = false) Integer limit) {
+        logger.info("Fetching popular subjects");
+        return new ResponseEntity<>(popularityService.findPopularSubjects(limit), HttpStatus.OK);
+    }
+
+    /**
+     * Retrieves the number of courses of every subject with at least one course.
+     *
+     * @return the course counts, ordered by subject name, with HTTP status 200 (OK)
+     */
+    @GetMapping("/course-counts")
+    public ResponseEntity<List<SubjectCourseCount>> getCourseCounts() {
+        logger.info("Fetching course counts of all subjects");
+        return new ResponseEntity<>(subjectStatsService.getCourseCounts(), HttpStatus.OK);
+    }
+
+    /**
+     * Retrieves the number of courses of a subject.
+     *
+     * @param id the ID of the subject
+     * @return the course count of the subject with HTTP status 200 (OK)
+     */
+    @GetMapping("/{id}/course-count")
+    public ResponseEntity<SubjectCourseCount> getCourseCount(@PathVariable Long id) {
+        logger.info("Fetching course count of subject with ID: {}", id);
+        return new ResponseEntity<>(subjectStatsService.getCourseCount(id), HttpStatus.OK);
+    }
+
+    /**
+     * Retrieves the ID and title of every course of a subject, for navigation.
+     * Served from the off-heap catalog, so a course change shows up after a few seconds.
+     *
+     * @param id the ID of the subject
+     * @return the courses of the subject, ordered by ID, with HTTP status 200 (OK)
+     */
+    @GetMapping("/{id}/courses")
+    public ResponseEntity<List<OffHeapCatalog.CourseEntry>> getCourses(@PathVariable Long id) {
+        logger.info("Fetching courses of subject with ID: {}", id);
+        return new ResponseEntity<>(catalogService.getCoursesOfSubject(id), HttpStatus.OK);
+    }
+
+    /**
+     * Retrieves one page of the materials of a subject, ordered by ID.
+     * The cursor of the next page is returned in the {@value CourseController#NEXT_CURSOR_HEADER}
+     * header and is absent on the last page.
+     *
+     * @param id the ID of the subject
+     * @param type the type of the materials to return, or null for all types
+     * @param cursor the opaque cursor of the page to fetch, or null for the first page
+     * @param limit the page size, capped at the configured maximum
+     * @return the page of materials with HTTP status 200 (OK)
+     */
+    @GetMapping("/{id}/materials")
+    public ResponseEntity<List<MaterialDTO>> getMaterials(@PathVariable Long id,
+                                                          @RequestParam(required = false) MaterialType type,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @RequestParam(required = false) Integer limit) {
+        logger.info("Listing materials of subject with ID: {}, type: {}, cursor: {}", id, type, cursor);
+        MaterialPage page = materialService.getMaterialsBySubject(id, type, cursor, limit);
+        HttpHeaders headers = new HttpHeaders();
+        if (page.getNextCursor() != null) {
+            headers.add(CourseController.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return new ResponseEntity<>(page.getItems(), headers, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,38 @@
+package Backend.OpenEducation.Event;
+
+import java.util.List;
+
+/**
+ * Application event published by the change feed once it has published, one by one, the course
+ * changes read by a poll, so that listeners reloading courses from the database can do it for the
+ * whole batch at once.
+ * <p>
+ * Published outside any transaction, and only for polls that read changes made on other nodes.
+ */
+public class CourseChangeBatchEvent {
+
+    private final List<CourseChangedEvent> changes;
+
+    /**
+     * Constructs a new CourseChangeBatchEvent.
+     *
+     * @param changes the changes read by the poll, at most one per course, in feed order
+     */
+    public CourseChangeBatchEvent(List<CourseChangedEvent> changes) {
+        this.changes = List.copyOf(changes);
+    }
+
+    /**
+     * Gets the changes read by the poll.
+     *
+     * @return the changes, at most one per course, in feed order
+     */
+    public List<CourseChangedEvent> getChanges() {
+        return changes;
+    }
+
+    @Override
+    public String toString() {
+        return "CourseChangeBatchEvent{changes=" + changes.size() + "}";
+    }
+}
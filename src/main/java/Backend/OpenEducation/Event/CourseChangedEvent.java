@@ -0,0 +1,93 @@
+package Backend.OpenEducation.Event;
+
+/**
+ * Application event published when a course is created, updated or deleted.
+ * Listeners that maintain derived read models should react to it after the
+ * publishing transaction commits.
+ * <p>
+ * Changes made on other nodes are published again on this one, outside any
+ * transaction, as they are read from the change feed.
+ */
+public class CourseChangedEvent {
+
+    /**
+     * The kind of change made to the course.
+     */
+    public enum ChangeType {
+        // The course was created
+        CREATED,
+        // The course or one of its modules or materials was updated
+        UPDATED,
+        // The course was deleted
+        DELETED
+    }
+
+    /**
+     * Where the change was made.
+     */
+    public enum Origin {
+        // The change was made on this node
+        LOCAL,
+        // The change was made on another node and read from the change feed
+        FEED
+    }
+
+    private final long courseId;
+    private final ChangeType type;
+    private final Origin origin;
+
+    /**
+     * Constructs a new CourseChangedEvent for a change made on this node.
+     *
+     * @param courseId the ID of the changed course
+     * @param type the kind of change
+     */
+    public CourseChangedEvent(long courseId, ChangeType type) {
+        this(courseId, type, Origin.LOCAL);
+    }
+
+    /**
+     * Constructs a new CourseChangedEvent.
+     *
+     * @param courseId the ID of the changed course
+     * @param type the kind of change
+     * @param origin where the change was made
+     */
+    public CourseChangedEvent(long courseId, ChangeType type, Origin origin) {
+        this.courseId = courseId;
+        this.type = type;
+        this.origin = origin;
+    }
+
+    /**
+     * Gets the ID of the changed course.
+     *
+     * @return the ID of the course
+     */
+    public long getCourseId() {
+        return courseId;
+    }
+
+    /**
+     * Gets the kind of change.
+     *
+     * @return the change type
+     */
+    public ChangeType getType() {
+        return type;
+    }
+
+    /**
+     * Gets where the change was made.
+     *
+     * @return the origin of the change
+     */
+    public Origin getOrigin() {
+        return origin;
+    }
+
+    @Override
+    public String toString() {
+        return "CourseChangedEvent{courseId=" + courseId + ", type=" + type + ", origin=" + origin + "}";
+    }
+}
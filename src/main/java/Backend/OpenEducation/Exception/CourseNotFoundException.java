@@ -13,4 +13,15 @@ public class CourseNotFoundException extends RuntimeException {
     public CourseNotFoundException(String message) {
         super(message);
     }
+
+    /**
+     * Constructs a new CourseNotFoundException with the specified detail message,
+     * optionally without filling in its stack trace, for IDs rejected without a lookup.
+     *
+     * @param message the detail message
+     * @param writableStackTrace whether the stack trace is filled in
+     */
+    public CourseNotFoundException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
 }
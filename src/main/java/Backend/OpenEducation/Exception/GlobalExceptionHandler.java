@@ -22,4 +22,48 @@ public class GlobalExceptionHandler {
     public ResponseEntity<String> handleCourseNotFoundException(CourseNotFoundException ex) {
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.NOT_FOUND);
     }
+
+    /**
+     * Handles ModuleNotFoundException.
+     * 
+     * @param ex the exception thrown when a module is not found
+     * @return a response entity with the error message and HTTP status 404 (Not Found)
+     */
+    @ExceptionHandler(ModuleNotFoundException.class)
+    public ResponseEntity<String> handleModuleNotFoundException(ModuleNotFoundException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Handles SubjectNotFoundException.
+     * 
+     * @param ex the exception thrown when a subject is not found
+     * @return a response entity with the error message and HTTP status 404 (Not Found)
+     */
+    @ExceptionHandler(SubjectNotFoundException.class)
+    public ResponseEntity<String> handleSubjectNotFoundException(SubjectNotFoundException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Handles InvalidCursorException.
+     * 
+     * @param ex the exception thrown when a pagination cursor cannot be decoded
+     * @return a response entity with the error message and HTTP status 400 (Bad Request)
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<String> handleInvalidCursorException(InvalidCursorException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles SqlBudgetExceededException.
+     * 
+     * @param ex the exception thrown when a request goes over its SQL budget
+     * @return a response entity with the error message and HTTP status 500 (Internal Server Error)
+     */
+    @ExceptionHandler(SqlBudgetExceededException.class)
+    public ResponseEntity<String> handleSqlBudgetExceededException(SqlBudgetExceededException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+    }
 }
@@ -0,0 +1,16 @@
+package Backend.OpenEducation.Exception;
+
+/**
+ * Custom exception thrown when a module is not found.
+ */
+public class ModuleNotFoundException extends RuntimeException {
+
+    /**
+     * Constructs a new ModuleNotFoundException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public ModuleNotFoundException(String message) {
+        super(message);
+    }
+}
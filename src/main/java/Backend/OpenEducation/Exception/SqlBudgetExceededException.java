@@ -0,0 +1,17 @@
+package Backend.OpenEducation.Exception;
+
+/**
+ * Custom exception thrown when a request issues more SQL statements, or spends more time
+ * in the database, than its budget allows.
+ */
+public class SqlBudgetExceededException extends RuntimeException {
+
+    /**
+     * Constructs a new SqlBudgetExceededException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public SqlBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package Backend.OpenEducation.Exception;
+
+/**
+ * Custom exception thrown when a subject is not found.
+ */
+public class SubjectNotFoundException extends RuntimeException {
+
+    /**
+     * Constructs a new SubjectNotFoundException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public SubjectNotFoundException(String message) {
+        super(message);
+    }
+}
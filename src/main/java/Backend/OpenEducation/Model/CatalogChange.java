@@ -0,0 +1,73 @@
+package Backend.OpenEducation.Model;
+
+import java.time.Instant;
+
+import Backend.OpenEducation.Event.CourseChangedEvent;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * A committed change to a course, in the outbox read by every node to invalidate its caches.
+ * Written in the same transaction as the change itself, so a change is published if and only if it commits.
+ *
+ * @author Sassi Hamdi
+ * @version 1.0
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "catalog_change")
+public class CatalogChange {
+
+    /**
+     * Position of the change in the feed, increasing in insertion order.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private long id;
+
+    /**
+     * The changed course.
+     */
+    @Column(name = "course_id", nullable = false)
+    private long courseId;
+
+    /**
+     * The kind of change, stored as its ordinal: new kinds must be added last.
+     */
+    @Column(name = "change_type", nullable = false)
+    private CourseChangedEvent.ChangeType changeType;
+
+    /**
+     * The node that made the change, which has already applied it.
+     */
+    @Column(name = "origin", nullable = false, length = 64)
+    private String origin;
+
+    /**
+     * When the change was recorded.
+     */
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    /**
+     * Constructor to create a change of the feed.
+     *
+     * @param courseId   The changed course.
+     * @param changeType The kind of change.
+     * @param origin     The node that made the change.
+     */
+    public CatalogChange(long courseId, CourseChangedEvent.ChangeType changeType, String origin) {
+        this.courseId = courseId;
+        this.changeType = changeType;
+        this.origin = origin;
+        this.createdAt = Instant.now();
+    }
+}
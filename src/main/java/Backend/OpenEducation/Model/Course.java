@@ -1,7 +1,10 @@
 package Backend.OpenEducation.Model;
 
+import Backend.OpenEducation.Services.SearchIndexEntityListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
+import java.time.Instant;
+import java.time.LocalDate;
 import lombok.*;
 
 /**
@@ -18,13 +21,15 @@ import lombok.*;
 @AllArgsConstructor
 @Data
 @Table(name = "course")
+@EntityListeners(SearchIndexEntityListener.class)
 public class Course {
 
     /**
      * The unique identifier for the course.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "course_seq")
+    @SequenceGenerator(name = "course_seq", sequenceName = "course_seq", allocationSize = 50)
     @Column(name = "courseID")
     private long courseID;
 
@@ -56,6 +61,45 @@ public class Course {
     private Subject subject;
 
 
+    /**
+     * The difficulty level of the course (e.g., beginner, intermediate, advanced).
+     */
+    @Column(name = "level", length = 32)
+    private String level;
+
+
+    /**
+     * The date the course starts.
+     */
+    @Column(name = "start_date")
+    private LocalDate startDate;
+
+
+    /**
+     * The duration of the course, in hours.
+     */
+    @Column(name = "duration")
+    private Integer duration;
+
+
+    /**
+     * The version of the course, incremented whenever the course, one of its modules or one of its materials changes.
+     * Used for optimistic locking and as the entity tag of the course resource.
+     */
+    @Version
+    @Setter(AccessLevel.NONE)
+    @Column(name = "version", nullable = false)
+    private long version;
+
+
+    /**
+     * When the course or one of its modules was last changed.
+     */
+    @Setter(AccessLevel.NONE)
+    @Column(name = "last_modified", nullable = false)
+    private Instant lastModified;
+
+
     /**
      * Constructs a new Course with the specified title, description, and enrolled students.
      *
@@ -68,15 +112,55 @@ public class Course {
     }
 
 
+    /**
+     * Constructs a new Course with the specified title, description, and start date.
+     *
+     * @param title            The title of the course.
+     * @param description      A brief description of the course.
+     * @param startDate        The date the course starts.
+     */
+    public Course(String title, String description, LocalDate startDate) {
+        this(title, description);
+        this.startDate = startDate;
+    }
+
+
+    /**
+     * Sets the unique identifier of the course.
+     *
+     * @param id The ID to set.
+     */
     public void setId(@NotNull Long id) {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'setId'");
+        this.courseID = id;
     }
 
 
+    /**
+     * Gets the unique identifier of the course.
+     *
+     * @return The ID of the course.
+     */
     public Long getId() {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'getId'");
+        return courseID;
+    }
+
+
+    /**
+     * Records a change to one of the modules of the course.
+     * Makes the course dirty, so that its version is incremented when the change is flushed.
+     */
+    public void markModified() {
+        this.lastModified = Instant.now();
+    }
+
+
+    /**
+     * Stamps the time of the change before the course is written.
+     */
+    @PrePersist
+    @PreUpdate
+    void updateLastModified() {
+        this.lastModified = Instant.now();
     }
 
 }
@@ -0,0 +1,37 @@
+package Backend.OpenEducation.Model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of times the details of a course were read.
+ * Written behind the reads, in batches, by the course view counter.
+ *
+ * @author Sassi Hamdi
+ * @version 1.0
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "course_view_count")
+public class CourseViewCount {
+
+    /**
+     * The course the views belong to.
+     */
+    @Id
+    @Column(name = "course_id")
+    private long courseId;
+
+    /**
+     * The number of views of the course.
+     */
+    @Column(name = "view_count", nullable = false)
+    private long viewCount;
+}
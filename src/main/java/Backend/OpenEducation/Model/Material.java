@@ -25,7 +25,8 @@ public class Material {
      * The unique identifier for the material.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "material_seq")
+    @SequenceGenerator(name = "material_seq", sequenceName = "material_seq", allocationSize = 50)
     @Column(name = "materialID")
     private long materialId;
 
@@ -73,6 +74,35 @@ public class Material {
     private Course course;
 
 
+    /**
+     * The subject of the course of the material, copied from the course so that the
+     * materials of a subject are read without joining the course table.
+     * Set from the course on every write, and by the course service when a course changes subject.
+     */
+    @Setter(AccessLevel.NONE)
+    @Column(name = "subjectId")
+    private Long subjectId;
+
+
+    /**
+     * The version of the material, used for optimistic locking.
+     */
+    @Version
+    @Setter(AccessLevel.NONE)
+    @Column(name = "version", nullable = false)
+    private long version;
+
+
+    /**
+     * The module (lesson) this material belongs to, if any.
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "moduleId")
+    private Module module;
+
+
     /**
      * Constructs a new Material with the specified title, description, URL, and associated course.
      *
@@ -88,4 +118,15 @@ public class Material {
         this.course = course;
         this.type = type ;
     }
+
+
+    /**
+     * Copies the subject of the course before the material is written.
+     */
+    @PrePersist
+    @PreUpdate
+    void syncSubjectId() {
+        Subject subject = course == null ? null : course.getSubject();
+        this.subjectId = subject == null ? null : subject.getSubjectId();
+    }
 }
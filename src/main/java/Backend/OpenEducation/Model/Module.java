@@ -1,5 +1,6 @@
 package Backend.OpenEducation.Model;
 
+import Backend.OpenEducation.Services.SearchIndexEntityListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -21,10 +22,13 @@ import java.util.List;
 @NoArgsConstructor
 @Entity
 @Table(name = "module")
+@EntityListeners(SearchIndexEntityListener.class)
 public class Module {
 
+    @Getter
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "module_seq")
+    @SequenceGenerator(name = "module_seq", sequenceName = "module_seq", allocationSize = 50)
     @Column(name = "moduleId")
     private long moduleId;
 
@@ -51,7 +55,7 @@ public class Module {
      * URL to an associated video (if any).
      */
     @Getter
-    @Column(name = "video_url", columnDefinition = "VIDEO")
+    @Column(name = "video_url")
     private String videoUrl;
 
 
@@ -66,12 +70,22 @@ public class Module {
     /**
      * Course to which this module belongs (many-to-one relationship).
      */
+    @Getter
     @ManyToOne
     @JoinColumn(name = "courseID")
     private Course course; // Many modules belong to one course
 
 
 
+    /**
+     * The version of the module, used for optimistic locking.
+     */
+    @Getter
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
+
     @OneToMany(mappedBy = "module", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Material> associatedMaterials; // One module/lesson can have multiple materials
 
@@ -93,4 +107,64 @@ public class Module {
         this.course = course;
         this.associatedMaterials = associatedMaterials;
     }
+
+
+    /**
+     * Sets the unique identifier of the module.
+     *
+     * @param id The ID to set.
+     */
+    public void setId(@NotNull Long id) {
+        this.moduleId = id;
+    }
+
+
+    /**
+     * Gets the unique identifier of the module.
+     *
+     * @return The ID of the module.
+     */
+    public Long getId() {
+        return moduleId;
+    }
+
+
+    /**
+     * Sets the name (title) of the module.
+     *
+     * @param name The name to set.
+     */
+    public void setName(String name) {
+        this.title = name;
+    }
+
+
+    /**
+     * Gets the name (title) of the module.
+     *
+     * @return The name of the module.
+     */
+    public String getName() {
+        return title;
+    }
+
+
+    /**
+     * Sets the description (content) of the module.
+     *
+     * @param description The description to set.
+     */
+    public void setDescription(String description) {
+        this.content = description;
+    }
+
+
+    /**
+     * Gets the description (content) of the module.
+     *
+     * @return The description of the module.
+     */
+    public String getDescription() {
+        return content;
+    }
 }
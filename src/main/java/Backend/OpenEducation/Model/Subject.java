@@ -1,5 +1,6 @@
 package Backend.OpenEducation.Model;
 
+import Backend.OpenEducation.Services.SearchIndexEntityListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -15,13 +16,16 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @Table(name = "subject")
+@EntityListeners(SearchIndexEntityListener.class)
 public class Subject {
 
     /**
      * Unique identifier for the subject.
      */
+    @Getter
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "subject_seq")
+    @SequenceGenerator(name = "subject_seq", sequenceName = "subject_seq", allocationSize = 50)
     @Column(name = "subjectId")
     private long subjectId;
 
@@ -48,7 +52,7 @@ public class Subject {
     /**
      * List of associated courses related to this subject.
      */
-    @OneToMany(mappedBy = "Subject", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToMany(mappedBy = "subject", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Course> associatedCourses;
 
 
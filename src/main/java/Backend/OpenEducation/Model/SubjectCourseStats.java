@@ -0,0 +1,38 @@
+package Backend.OpenEducation.Model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Materialized number of courses per subject.
+ * Updated in the same transaction as the course that is created, moved or deleted,
+ * so reading the count of a subject never scans the course table.
+ *
+ * @author Sassi Hamdi
+ * @version 1.0
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "subject_course_stats")
+public class SubjectCourseStats {
+
+    /**
+     * The subject the count belongs to.
+     */
+    @Id
+    @Column(name = "subject_id")
+    private long subjectId;
+
+    /**
+     * The number of courses of the subject.
+     */
+    @Column(name = "course_count", nullable = false)
+    private long courseCount;
+}
@@ -0,0 +1,54 @@
+package Backend.OpenEducation.Model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Accumulated views, enrollments and time-decayed popularity score of a subject.
+ * <p>
+ * The score uses forward decay: an event at time t adds {@code weight * e^(lambda * t)},
+ * so older events weigh exponentially less than newer ones, and the ranking never needs
+ * to rewrite existing rows as time passes. The score is stored as its natural logarithm,
+ * which keeps it finite however far t is from the epoch.
+ *
+ * @author Sassi Hamdi
+ * @version 1.0
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "subject_popularity", indexes = @Index(name = "idx_subject_popularity_score", columnList = "score_log DESC"))
+public class SubjectPopularity {
+
+    /**
+     * The subject the counts belong to.
+     */
+    @Id
+    @Column(name = "subject_id")
+    private long subjectId;
+
+    /**
+     * Total number of views of the subject and its courses.
+     */
+    @Column(name = "view_count", nullable = false)
+    private long viewCount;
+
+    /**
+     * Total number of enrollments in the courses of the subject.
+     */
+    @Column(name = "enrollment_count", nullable = false)
+    private long enrollmentCount;
+
+    /**
+     * Natural logarithm of the forward-decayed popularity score.
+     */
+    @Column(name = "score_log", nullable = false)
+    private double scoreLog;
+}
@@ -0,0 +1,64 @@
+package Backend.OpenEducation.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import Backend.OpenEducation.Model.CatalogChange;
+
+/**
+ * Repository interface for the outbox of course changes.
+ *
+ * @author Sassi Hamdi
+ * @version v1.0.0
+ */
+@Repository
+public interface CatalogChangeRepository extends JpaRepository<CatalogChange, Long> {
+
+    /**
+     * Finds the next changes of the feed after the given position, seeking on the primary key.
+     *
+     * @param afterId Position of the last change read.
+     * @param limit   Maximum number of changes to return.
+     * @return List of the changes after {@code afterId}, in feed order.
+     */
+    @Query("SELECT c FROM CatalogChange c WHERE c.id > :afterId ORDER BY c.id ASC")
+    List<CatalogChange> findAfter(@Param("afterId") long afterId, Limit limit);
+
+    /**
+     * Finds changes by their positions in the feed.
+     * Used to pick up changes committed after changes that follow them in the feed.
+     *
+     * @param ids Positions of the changes.
+     * @return List of the changes found, in feed order.
+     */
+    @Query("SELECT c FROM CatalogChange c WHERE c.id IN :ids ORDER BY c.id ASC")
+    List<CatalogChange> findByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Finds the position of the last change of the feed.
+     *
+     * @return The position of the last change, or null if the feed is empty.
+     */
+    @Query("SELECT MAX(c.id) FROM CatalogChange c")
+    Long findLastId();
+
+    /**
+     * Deletes the changes recorded before the given time.
+     *
+     * @param before Time before which changes are deleted.
+     * @return The number of changes deleted.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM CatalogChange c WHERE c.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") Instant before);
+}
@@ -1,14 +1,26 @@
 package Backend.OpenEducation.Repository;
 
 import java.time.LocalDate;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import Backend.OpenEducation.Model.Course;
-import Backend.OpenEducation.Model.Subject;
+import Backend.OpenEducation.dto.CatalogRow;
+import Backend.OpenEducation.dto.CourseDTO;
+import Backend.OpenEducation.dto.SearchDocument;
+import Backend.OpenEducation.dto.SubjectCourseCount;
+import jakarta.persistence.QueryHint;
 
 /**
  * Repository interface for managing Course entities.
@@ -21,13 +33,108 @@ import Backend.OpenEducation.Model.Subject;
 public interface CourseRepository extends JpaRepository<Course, Long>{
 
 
+    /**
+     * Finds a course by ID as a DTO, without its materials and modules.
+     * Selects only the DTO columns and the version, so no entity is loaded or managed.
+     *
+     * @param id ID of the course.
+     * @return The course, if it exists.
+     */
+    @Query("SELECT new Backend.OpenEducation.dto.CourseDTO(c.courseID, c.title, c.description, c.subject.subjectId, "
+            + "c.version, c.lastModified) FROM Course c WHERE c.courseID = :id")
+    Optional<CourseDTO> findDTOById(@Param("id") long id);
+
+
+    /**
+     * Finds several courses by ID as DTOs in a single query, without their materials and modules.
+     * IDs of courses that no longer exist are skipped.
+     *
+     * @param ids IDs of the courses.
+     * @return The courses found, in no particular order.
+     */
+    @Query("SELECT new Backend.OpenEducation.dto.CourseDTO(c.courseID, c.title, c.description, c.subject.subjectId, "
+            + "c.version, c.lastModified) FROM Course c WHERE c.courseID IN :ids")
+    List<CourseDTO> findDTOsByIdIn(@Param("ids") Collection<Long> ids);
+
+
+    /**
+     * Finds the next page of courses after the given ID (keyset pagination), as DTOs without
+     * their materials and modules.
+     * Seeks on the primary key, so the cost does not depend on how deep the page is.
+     *
+     * @param afterId ID of the last course of the previous page, or 0 for the first page.
+     * @param limit   Maximum number of courses to return.
+     * @return List of courses with an ID greater than {@code afterId}, ordered by ID.
+     */
+    @Query("SELECT new Backend.OpenEducation.dto.CourseDTO(c.courseID, c.title, c.description, c.subject.subjectId) "
+            + "FROM Course c WHERE c.courseID > :afterId ORDER BY c.courseID ASC")
+    List<CourseDTO> findDTOsAfter(@Param("afterId") long afterId, Limit limit);
+
+
+    /**
+     * Finds all courses as DTOs without their materials and modules, ordered by ID.
+     * The version of each course is read too, so the catalog can be saved with it.
+     *
+     * @return List of all courses, ordered by ID.
+     */
+    @Query("SELECT new Backend.OpenEducation.dto.CourseDTO(c.courseID, c.title, c.description, c.subject.subjectId, "
+            + "c.version, c.lastModified) FROM Course c ORDER BY c.courseID ASC")
+    List<CourseDTO> findAllDTOs();
+
+
+    /**
+     * Finds the IDs of all courses, reading only the primary key.
+     * Used to find the courses deleted since the catalog was saved.
+     *
+     * @return List of the IDs of all courses.
+     */
+    @Query("SELECT c.courseID FROM Course c")
+    List<Long> findAllIds();
+
+
+    /**
+     * Finds the IDs of the courses changed since the given time, including changes to their modules.
+     * Seeks on the last change index.
+     *
+     * @param since Time from which changes are returned.
+     * @return List of the IDs of the courses changed since then.
+     */
+    @Query("SELECT c.courseID FROM Course c WHERE c.lastModified >= :since")
+    List<Long> findIdsModifiedSince(@Param("since") Instant since);
+
+
+    /**
+     * Finds the ID, subject ID and title of every course, for the off-heap catalog.
+     * Courses without a subject are included.
+     *
+     * @return The catalog rows of all courses.
+     */
+    @Query("SELECT new Backend.OpenEducation.dto.CatalogRow(c.courseID, s.subjectId, c.title) FROM Course c LEFT JOIN c.subject s")
+    List<CatalogRow> findCatalogRows();
+
+
+    /**
+     * Streams the ID, title and description of every course, for the search index.
+     * Reads no entity, so the subject of each course is not loaded.
+     * Must be consumed inside a transaction and closed after use.
+     *
+     * @return Stream of the search documents of all courses.
+     */
+    @Query("SELECT new Backend.OpenEducation.dto.SearchDocument(c.courseID, c.title, c.description) FROM Course c")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<SearchDocument> streamSearchDocuments();
+
+
       /**
      * Finds courses by title or description containing specified keywords.
      *
      * @param keyword1 First keyword to search for in title or description.
      * @param keyword2 Second keyword to search for in title or description.
      * @return List of matching courses.
+     * @deprecated Leading-wildcard LIKE scans the whole table; use
+     *             {@link Backend.OpenEducation.Services.SearchService} instead.
      */
+    @Deprecated
     List<Course> findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(String keyword1, String keyword2);
 
 
@@ -70,20 +177,14 @@ public interface CourseRepository extends JpaRepository<Course, Long>{
 
 
       /**
-     * Counts the number of courses per subject.
+     * Counts the number of courses per subject with a GROUP BY in the database.
+     * Scans the course table: serve reads from the materialized counts of
+     * {@link SubjectCourseStatsRepository} and use this query to rebuild them.
      *
-     * @return Map with subjects as keys and course counts as values.
+     * @return List of course counts, one per subject with at least one course.
      */
-    Map<Subject, Long> countCoursesBySubject();
-
+    @Query("SELECT new Backend.OpenEducation.dto.SubjectCourseCount(s.subjectId, s.subjectName, COUNT(c)) "
+            + "FROM Course c JOIN c.subject s GROUP BY s.subjectId, s.subjectName")
+    List<SubjectCourseCount> countCoursesBySubject();
 
-
-
-     /**
-     * Finds courses by tags (keywords) containing the specified tag.
-     *
-     * @param tag Tag to search for in course tags.
-     * @return List of courses matching the specified tag.
-     */
-    List<Course> findByTagsContainingIgnoreCase(String tag);
 }
@@ -0,0 +1,16 @@
+package Backend.OpenEducation.Repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import Backend.OpenEducation.Model.CourseViewCount;
+
+/**
+ * Repository interface for the number of views of each course.
+ *
+ * @author Sassi Hamdi
+ * @version v1.0.0
+ */
+@Repository
+public interface CourseViewCountRepository extends JpaRepository<CourseViewCount, Long>, CourseViewCountRepositoryCustom {
+}
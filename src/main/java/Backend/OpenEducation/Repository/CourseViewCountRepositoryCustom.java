@@ -0,0 +1,17 @@
+package Backend.OpenEducation.Repository;
+
+import java.util.Map;
+
+/**
+ * Batch write operations of {@link CourseViewCountRepository}.
+ */
+public interface CourseViewCountRepositoryCustom {
+
+    /**
+     * Adds views to each course, creating rows as needed.
+     * Sent to the database as a single JDBC batch of upserts.
+     *
+     * @param viewsByCourse the number of views to add, per course ID
+     */
+    void addViews(Map<Long, Long> viewsByCourse);
+}
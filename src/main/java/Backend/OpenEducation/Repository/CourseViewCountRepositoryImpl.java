@@ -0,0 +1,42 @@
+package Backend.OpenEducation.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * JDBC implementation of the batch writes of {@link CourseViewCountRepository}.
+ */
+public class CourseViewCountRepositoryImpl implements CourseViewCountRepositoryCustom {
+
+    private static final String UPSERT =
+            "INSERT INTO course_view_count (course_id, view_count) VALUES (?, ?) "
+                    + "ON DUPLICATE KEY UPDATE view_count = view_count + VALUES(view_count)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructs a new CourseViewCountRepositoryImpl.
+     *
+     * @param jdbcTemplate the JDBC template
+     */
+    @Autowired
+    public CourseViewCountRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void addViews(Map<Long, Long> viewsByCourse) {
+        if (viewsByCourse.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<Long, Long>> rows = new ArrayList<>(viewsByCourse.entrySet());
+        jdbcTemplate.batchUpdate(UPSERT, rows, rows.size(), (statement, row) -> {
+            statement.setLong(1, row.getKey());
+            statement.setLong(2, row.getValue());
+        });
+    }
+}
@@ -3,20 +3,53 @@ package Backend.OpenEducation.Repository;
 import Backend.OpenEducation.Model.Course;
 import Backend.OpenEducation.Model.Material;
 import Backend.OpenEducation.Model.MaterialType;
+import Backend.OpenEducation.dto.MaterialDTO;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface MaterialRepository extends JpaRepository<Material, Long> {
 
-    // Custom query to find materials by subject ID
-    @Query("SELECT m FROM Material m WHERE m.course.subject.subjectId = :subjectId")
+    // Custom query to find materials by subject ID, on the subject copied to each material: no join with the course
+    @Query("SELECT m FROM Material m WHERE m.subjectId = :subjectId")
     List<Material> findBySubjectId(@Param("subjectId") long subjectId);
 
+    // Finds the materials of a course, in creation order
+    @Query("SELECT m FROM Material m WHERE m.course.courseID = :courseId ORDER BY m.materialId")
+    List<Material> findByCourseId(@Param("courseId") long courseId);
+
+    // Next page of the materials of a subject after the given material ID (keyset pagination), as DTOs
+    @Query("SELECT new Backend.OpenEducation.dto.MaterialDTO(m.materialId, m.course.courseID, m.title, m.description, m.url, m.type) "
+            + "FROM Material m WHERE m.subjectId = :subjectId AND m.materialId > :afterId ORDER BY m.materialId")
+    List<MaterialDTO> findDTOsBySubjectAfter(@Param("subjectId") long subjectId,
+                                             @Param("afterId") long afterId,
+                                             Limit limit);
+
+    // Same as findDTOsBySubjectAfter, restricted to one type of material
+    @Query("SELECT new Backend.OpenEducation.dto.MaterialDTO(m.materialId, m.course.courseID, m.title, m.description, m.url, m.type) "
+            + "FROM Material m WHERE m.subjectId = :subjectId AND m.type = :type AND m.materialId > :afterId ORDER BY m.materialId")
+    List<MaterialDTO> findDTOsBySubjectAndTypeAfter(@Param("subjectId") long subjectId,
+                                                    @Param("type") MaterialType type,
+                                                    @Param("afterId") long afterId,
+                                                    Limit limit);
+
+    // Copies the new subject of a course to its materials, in the transaction that moves the course
+    @Modifying
+    @Query("UPDATE Material m SET m.subjectId = :subjectId WHERE m.course.courseID = :courseId")
+    int updateSubjectIdByCourseId(@Param("courseId") long courseId, @Param("subjectId") Long subjectId);
+
+    // Loads the materials of a whole batch of courses in a single round trip, selecting only the DTO columns
+    @Query("SELECT new Backend.OpenEducation.dto.MaterialDTO(m.materialId, m.course.courseID, m.title, m.description, m.url, m.type) "
+            + "FROM Material m WHERE m.course.courseID IN :courseIds ORDER BY m.materialId")
+    List<MaterialDTO> findDTOsByCourseIdIn(@Param("courseIds") Collection<Long> courseIds);
+
     // Derived query methods
     List<Material> findByTitle(String title);
     List<Material> findByCourse(Course course);
@@ -1,13 +1,21 @@
 package Backend.OpenEducation.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import Backend.OpenEducation.Model.Module;
+import Backend.OpenEducation.dto.CatalogRow;
+import Backend.OpenEducation.dto.ModuleDTO;
+import Backend.OpenEducation.dto.SearchDocument;
+import jakarta.persistence.QueryHint;
 
 /**
  * Repository interface for managing Module entities.
@@ -21,40 +29,46 @@ public interface ModuleRepository extends JpaRepository<Module, Long> {
      * @param courseId ID of the course.
      * @return List of modules related to the specified course.
      */
-    List<Module> findByCourseId(long courseId);
+    @Query("SELECT m FROM Module m WHERE m.course.courseID = :courseId")
+    List<Module> findByCourseId(@Param("courseId") long courseId);
 
     /**
-     * Finds modules by title or description containing specified keywords.
+     * Finds the modules of several courses in a single query, selecting only the DTO columns.
      *
-     * @param keyword1 First keyword to search for in title or description.
-     * @param keyword2 Second keyword to search for in title or description.
-     * @return List of matching modules.
+     * @param courseIds IDs of the courses.
+     * @return List of modules related to any of the specified courses, in lesson order.
      */
-    List<Module> findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(String keyword1, String keyword2);
+    @Query("SELECT new Backend.OpenEducation.dto.ModuleDTO(m.moduleId, m.course.courseID, m.title, m.content, m.videoUrl, m.order) "
+            + "FROM Module m WHERE m.course.courseID IN :courseIds ORDER BY m.order, m.moduleId")
+    List<ModuleDTO> findDTOsByCourseIdIn(@Param("courseIds") Collection<Long> courseIds);
 
     /**
-     * Finds modules by the associated course ID, ordered by sequence (ascending).
+     * Finds the ID, course ID, title and position of every module, for the off-heap catalog.
      *
-     * @param courseId ID of the course.
-     * @return List of modules ordered by sequence.
+     * @return The catalog rows of all modules.
      */
-    List<Module> findByCourseIdOrderBySequenceAsc(long courseId);
+    @Query("SELECT new Backend.OpenEducation.dto.CatalogRow(m.moduleId, m.course.courseID, m.title, m.order) FROM Module m")
+    List<CatalogRow> findCatalogRows();
 
     /**
-     * Finds modules by the associated course ID, ordered by duration (descending).
+     * Finds modules by the associated course ID, ordered by sequence (ascending).
      *
      * @param courseId ID of the course.
-     * @return List of modules ordered by duration.
+     * @return List of modules ordered by sequence.
      */
-    List<Module> findByCourseIdOrderByDurationDesc(long courseId);
+    @Query("SELECT m FROM Module m WHERE m.course.courseID = :courseId ORDER BY m.order ASC")
+    List<Module> findByCourseIdOrderBySequenceAsc(@Param("courseId") long courseId);
 
     /**
      * Finds modules by a custom native SQL query based on title.
      *
      * @param keyword Title keyword to search for.
      * @return List of modules matching the specified title.
+     * @deprecated Leading-wildcard LIKE scans the whole table; use
+     *             {@link Backend.OpenEducation.Services.SearchService} instead.
      */
-    @Query(value = "SELECT * FROM modules WHERE title LIKE %:keyword%", nativeQuery = true)
+    @Deprecated
+    @Query(value = "SELECT * FROM module WHERE title LIKE %:keyword%", nativeQuery = true)
     List<Module> findModulesByTitleNative(@Param("keyword") String keyword);
 
     /**
@@ -63,7 +77,18 @@ public interface ModuleRepository extends JpaRepository<Module, Long> {
      * @param courseId ID of the course.
      * @return List of modules ordered by sequence.
      */
-    @Query("SELECT m FROM Module m WHERE m.course.id = :courseId ORDER BY m.sequence ASC")
+    @Query("SELECT m FROM Module m WHERE m.course.courseID = :courseId ORDER BY m.order ASC")
     List<Module> findModulesByCourseIdOrderedBySequence(@Param("courseId") long courseId);
+
+    /**
+     * Streams the ID, title and content of every module, for the search index.
+     * Reads no entity, so the course of each module is not loaded.
+     * Must be consumed inside a transaction and closed after use.
+     *
+     * @return Stream of the search documents of all modules.
+     */
+    @Query("SELECT new Backend.OpenEducation.dto.SearchDocument(m.moduleId, m.title, m.content) FROM Module m")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<SearchDocument> streamSearchDocuments();
 }
 
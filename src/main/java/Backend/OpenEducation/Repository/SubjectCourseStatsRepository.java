@@ -0,0 +1,62 @@
+package Backend.OpenEducation.Repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import Backend.OpenEducation.Model.SubjectCourseStats;
+import Backend.OpenEducation.dto.SubjectCourseCount;
+import jakarta.persistence.LockModeType;
+
+/**
+ * Repository interface for the materialized per-subject course counts.
+ *
+ * @author Sassi Hamdi
+ * @version v1.0.0
+ */
+@Repository
+public interface SubjectCourseStatsRepository extends JpaRepository<SubjectCourseStats, Long> {
+
+
+    /**
+     * Adds a delta to the course count of a subject, creating its row if needed.
+     * A single atomic upsert, so concurrent course writes never lose an update.
+     *
+     * @param subjectId ID of the subject.
+     * @param delta     Number of courses added (positive) or removed (negative).
+     * @return Number of rows affected.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO subject_course_stats (subject_id, course_count) VALUES (:subjectId, :delta) "
+            + "ON DUPLICATE KEY UPDATE course_count = course_count + :delta", nativeQuery = true)
+    int addToCourseCount(@Param("subjectId") long subjectId, @Param("delta") long delta);
+
+
+    /**
+     * Locks every course count row, and the gaps between them, until the end of the transaction.
+     * Course writes upsert their count in their own transaction, so they wait for the lock
+     * and cannot commit in the middle of a rebuild.
+     *
+     * @return List of all course count rows.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT st FROM SubjectCourseStats st")
+    List<SubjectCourseStats> lockAll();
+
+
+    /**
+     * Reads the course count of every subject with at least one course, ordered by subject name.
+     * Costs one row per subject, whatever the number of courses.
+     *
+     * @return List of course counts.
+     */
+    @Query("SELECT new Backend.OpenEducation.dto.SubjectCourseCount(s.subjectId, s.subjectName, st.courseCount) "
+            + "FROM SubjectCourseStats st JOIN Subject s ON s.subjectId = st.subjectId "
+            + "WHERE st.courseCount > 0 ORDER BY s.subjectName")
+    List<SubjectCourseCount> findCourseCounts();
+}
@@ -0,0 +1,34 @@
+package Backend.OpenEducation.Repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import Backend.OpenEducation.Model.SubjectPopularity;
+import Backend.OpenEducation.dto.PopularSubjectDTO;
+
+/**
+ * Repository interface for the accumulated popularity of subjects.
+ *
+ * @author Sassi Hamdi
+ * @version v1.0.0
+ */
+@Repository
+public interface SubjectPopularityRepository extends JpaRepository<SubjectPopularity, Long>, SubjectPopularityRepositoryCustom {
+
+
+    /**
+     * Finds the most popular subjects.
+     * Walks the score index from its highest entry, so the cost depends on the limit only.
+     * The score of each returned DTO is the logarithm of the forward-decayed score.
+     *
+     * @param limit Maximum number of subjects to return.
+     * @return List of subjects, most popular first.
+     */
+    @Query("SELECT new Backend.OpenEducation.dto.PopularSubjectDTO(s.subjectId, s.subjectName, p.viewCount, p.enrollmentCount, p.scoreLog) "
+            + "FROM SubjectPopularity p JOIN Subject s ON s.subjectId = p.subjectId ORDER BY p.scoreLog DESC")
+    List<PopularSubjectDTO> findTop(Limit limit);
+}
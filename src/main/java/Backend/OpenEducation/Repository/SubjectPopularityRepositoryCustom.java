@@ -0,0 +1,28 @@
+package Backend.OpenEducation.Repository;
+
+import java.util.List;
+
+/**
+ * Batch write operations of {@link SubjectPopularityRepository}.
+ */
+public interface SubjectPopularityRepositoryCustom {
+
+    /**
+     * Adds the popularity accumulated since the last flush to each subject, creating rows as needed.
+     * Sent to the database as a single JDBC batch of upserts.
+     *
+     * @param deltas the increments, at most one per subject
+     */
+    void addDeltas(List<PopularityDelta> deltas);
+
+    /**
+     * Popularity accumulated by a subject since the last flush.
+     *
+     * @param subjectId   ID of the subject
+     * @param views       number of views
+     * @param enrollments number of enrollments
+     * @param scoreLog    natural logarithm of the forward-decayed score of those events
+     */
+    record PopularityDelta(long subjectId, long views, long enrollments, double scoreLog) {
+    }
+}
@@ -0,0 +1,47 @@
+package Backend.OpenEducation.Repository;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * JDBC implementation of the batch writes of {@link SubjectPopularityRepository}.
+ * Upserts go through JdbcTemplate rather than the entity manager, so a flush never
+ * loads the rows it updates.
+ */
+public class SubjectPopularityRepositoryImpl implements SubjectPopularityRepositoryCustom {
+
+    // Scores are added in log space: log(e^a + e^b) = max(a, b) + log(1 + e^-|a - b|)
+    private static final String UPSERT =
+            "INSERT INTO subject_popularity (subject_id, view_count, enrollment_count, score_log) VALUES (?, ?, ?, ?) "
+                    + "ON DUPLICATE KEY UPDATE "
+                    + "view_count = view_count + VALUES(view_count), "
+                    + "enrollment_count = enrollment_count + VALUES(enrollment_count), "
+                    + "score_log = GREATEST(score_log, VALUES(score_log)) + LN(1 + EXP(-ABS(score_log - VALUES(score_log))))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructs a new SubjectPopularityRepositoryImpl.
+     *
+     * @param jdbcTemplate the JDBC template
+     */
+    @Autowired
+    public SubjectPopularityRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void addDeltas(List<PopularityDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT, deltas, deltas.size(), (statement, delta) -> {
+            statement.setLong(1, delta.subjectId());
+            statement.setLong(2, delta.views());
+            statement.setLong(3, delta.enrollments());
+            statement.setDouble(4, delta.scoreLog());
+        });
+    }
+}
@@ -1,11 +1,18 @@
 package Backend.OpenEducation.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import Backend.OpenEducation.Model.Subject;
+import Backend.OpenEducation.dto.CatalogRow;
+import Backend.OpenEducation.dto.SearchDocument;
+import jakarta.persistence.QueryHint;
 
 /**
  * Repository interface for managing Subject entities.
@@ -19,29 +26,27 @@ public interface SubjectRepository extends JpaRepository<Subject, Long> {
      * @param keyword1 First keyword to search for in name or description.
      * @param keyword2 Second keyword to search for in name or description.
      * @return List of matching subjects.
+     * @deprecated Leading-wildcard LIKE scans the whole table; use
+     *             {@link Backend.OpenEducation.Services.SearchService} instead.
      */
-    List<Subject> findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(String keyword1, String keyword2);
+    @Deprecated
+    List<Subject> findBySubjectNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(String keyword1, String keyword2);
 
     /**
-     * Finds subjects by category (e.g., science, arts, technology).
+     * Streams the ID, name and description of every subject, for the search index.
+     * Must be consumed inside a transaction and closed after use.
      *
-     * @param category Category to search for.
-     * @return List of subjects matching the specified category.
+     * @return Stream of the search documents of all subjects.
      */
-    List<Subject> findByCategory(String category);
+    @Query("SELECT new Backend.OpenEducation.dto.SearchDocument(s.subjectId, s.subjectName, s.description) FROM Subject s")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<SearchDocument> streamSearchDocuments();
 
     /**
-     * Finds popular subjects based on custom criteria (e.g., enrollment count, ratings).
+     * Finds the ID and name of every subject, for the off-heap catalog.
      *
-     * @return List of popular subjects.
+     * @return The catalog rows of all subjects.
      */
-    List<Subject> findPopularSubjects();
-
-    /**
-     * Finds subjects by tags (keywords) containing the specified tag.
-     *
-     * @param tag Tag to search for in subject tags.
-     * @return List of subjects matching the specified tag.
-     */
-    List<Subject> findByTagsContainingIgnoreCase(String tag);
+    @Query("SELECT new Backend.OpenEducation.dto.CatalogRow(s.subjectId, s.subjectName) FROM Subject s")
+    List<CatalogRow> findCatalogRows();
 }
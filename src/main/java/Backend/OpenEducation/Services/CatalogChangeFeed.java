@@ -0,0 +1,232 @@
+package Backend.OpenEducation.Services;
+
+import Backend.OpenEducation.Config.ReadRoutingContext;
+import Backend.OpenEducation.Event.CourseChangeBatchEvent;
+import Backend.OpenEducation.Event.CourseChangedEvent;
+import Backend.OpenEducation.Model.CatalogChange;
+import Backend.OpenEducation.Repository.CatalogChangeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Change feed keeping the caches of every node in step with the courses changed on the others.
+ * <p>
+ * Each committed course change, including a change to one of its modules, is recorded in the
+ * {@code catalog_change} outbox table by the transaction making it. Every node polls the table from
+ * the primary, in batches, and publishes the changes made by other nodes as {@link CourseChangedEvent}s
+ * of origin {@link CourseChangedEvent.Origin#FEED}, after evicting them from the "courses" cache, so
+ * its read models update as they do for local changes, then publishes them together as a
+ * {@link CourseChangeBatchEvent}, for the read models that reload courses to do it in bulk: a bulk
+ * import on another node arrives as a few large batches. A change is therefore seen everywhere within
+ * the poll interval, plus replica lag for the reads that follow, with only MySQL shared between nodes.
+ * <p>
+ * Positions of the feed are assigned at insert but become visible at commit, so a change can appear
+ * after changes that follow it. The positions skipped by a poll are checked again on the next polls,
+ * until they show up or the gap timeout expires, as they do for rolled back transactions.
+ */
+@Component
+public class CatalogChangeFeed {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogChangeFeed.class);
+
+    private final CatalogChangeRepository catalogChangeRepository;
+
+    private final CacheManager cacheManager;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final boolean enabled;
+
+    private final int batchSize;
+
+    private final Duration gapTimeout;
+
+    private final Duration retention;
+
+    // Identifies the changes made on this node, already applied locally
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Counter appliedChanges;
+
+    private final Timer lag;
+
+    // Serializes polls; held around the queries, so not a monitor, which would pin a virtual thread
+    private final ReentrantLock pollLock = new ReentrantLock();
+
+    // Position of the last change read, or -1 before the first poll
+    private long lastId = -1;
+
+    // Skipped positions, with when they were first skipped
+    private final Map<Long, Instant> gaps = new HashMap<>();
+
+    /**
+     * Constructs a new CatalogChangeFeed.
+     *
+     * @param catalogChangeRepository the repository of the outbox
+     * @param cacheManager the cache manager holding the "courses" cache
+     * @param eventPublisher the publisher of the changes read from the feed
+     * @param meterRegistry the registry the lag of the feed is published to
+     * @param enabled whether changes are recorded and polled
+     * @param batchSize the maximum number of changes read per poll
+     * @param gapTimeout how long a skipped position is waited for
+     * @param retention how long changes are kept in the outbox
+     */
+    @Autowired
+    public CatalogChangeFeed(CatalogChangeRepository catalogChangeRepository,
+                             CacheManager cacheManager,
+                             ApplicationEventPublisher eventPublisher,
+                             MeterRegistry meterRegistry,
+                             @Value("${openeducation.change-feed.enabled:true}") boolean enabled,
+                             @Value("${openeducation.change-feed.batch-size:500}") int batchSize,
+                             @Value("${openeducation.change-feed.gap-timeout:PT1M}") Duration gapTimeout,
+                             @Value("${openeducation.change-feed.retention:PT1H}") Duration retention) {
+        this.catalogChangeRepository = catalogChangeRepository;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.gapTimeout = gapTimeout;
+        this.retention = retention;
+        this.appliedChanges = Counter.builder("openeducation.change-feed.applied")
+                .description("Course changes made on other nodes and applied to the caches of this one")
+                .register(meterRegistry);
+        this.lag = Timer.builder("openeducation.change-feed.lag")
+                .description("Time from a course change being recorded to it being applied on another node")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a course change made on this node in the outbox, in the transaction making it.
+     *
+     * @param event the course change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onCourseChanged(CourseChangedEvent event) {
+        if (event.getOrigin() == CourseChangedEvent.Origin.LOCAL) {
+            record(event.getCourseId(), event.getType());
+        }
+    }
+
+    /**
+     * Records a course change in the outbox without publishing it on this node.
+     * Must be called in the transaction making the change.
+     *
+     * @param courseId the ID of the changed course
+     * @param type the kind of change
+     */
+    public void record(long courseId, CourseChangedEvent.ChangeType type) {
+        if (enabled) {
+            catalogChangeRepository.save(new CatalogChange(courseId, type, nodeId));
+        }
+    }
+
+    /**
+     * Reads the next changes of the feed and applies those made by other nodes.
+     * Starts from the end of the feed: the caches of a starting node hold nothing older.
+     */
+    @Scheduled(fixedDelayString = "${openeducation.change-feed.poll-interval:PT1S}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        pollLock.lock();
+        // Replicas may not have the latest changes yet, nor the courses they point to
+        ReadRoutingContext.pinToPrimary();
+        try {
+            if (lastId < 0) {
+                Long last = catalogChangeRepository.findLastId();
+                lastId = last == null ? 0 : last;
+                return;
+            }
+            Instant now = Instant.now();
+            List<CatalogChange> changes = new ArrayList<>();
+            if (!gaps.isEmpty()) {
+                changes.addAll(catalogChangeRepository.findByIdIn(gaps.keySet()));
+            }
+            for (CatalogChange change : catalogChangeRepository.findAfter(lastId, Limit.of(batchSize))) {
+                // Large jumps come from the auto-increment itself, not from transactions in flight
+                if (change.getId() - lastId - 1 <= batchSize) {
+                    for (long skipped = lastId + 1; skipped < change.getId(); skipped++) {
+                        gaps.put(skipped, now);
+                    }
+                }
+                lastId = change.getId();
+                changes.add(change);
+            }
+            changes.forEach(change -> gaps.remove(change.getId()));
+            gaps.values().removeIf(skippedAt -> skippedAt.plus(gapTimeout).isBefore(now));
+            apply(changes, now);
+        } finally {
+            ReadRoutingContext.clear();
+            pollLock.unlock();
+        }
+    }
+
+    /**
+     * Deletes the changes every node has had time to read.
+     */
+    @Scheduled(fixedDelayString = "${openeducation.change-feed.purge-interval:PT10M}")
+    public void purge() {
+        if (!enabled) {
+            return;
+        }
+        int deleted = catalogChangeRepository.deleteCreatedBefore(Instant.now().minus(retention));
+        if (deleted > 0) {
+            logger.info("Purged {} course changes from the change feed", deleted);
+        }
+    }
+
+    /**
+     * Applies the changes made by other nodes, once per course, in feed order, then as a batch.
+     */
+    private void apply(List<CatalogChange> changes, Instant now) {
+        Map<Long, CatalogChange> latest = new LinkedHashMap<>();
+        for (CatalogChange change : changes) {
+            if (!change.getOrigin().equals(nodeId)) {
+                latest.remove(change.getCourseId());
+                latest.put(change.getCourseId(), change);
+            }
+        }
+        if (latest.isEmpty()) {
+            return;
+        }
+        Cache courses = cacheManager.getCache("courses");
+        List<CourseChangedEvent> events = new ArrayList<>(latest.size());
+        for (CatalogChange change : latest.values()) {
+            if (courses != null) {
+                courses.evict(change.getCourseId());
+            }
+            CourseChangedEvent event = new CourseChangedEvent(change.getCourseId(), change.getChangeType(),
+                    CourseChangedEvent.Origin.FEED);
+            eventPublisher.publishEvent(event);
+            events.add(event);
+            lag.record(Duration.between(change.getCreatedAt(), now));
+        }
+        eventPublisher.publishEvent(new CourseChangeBatchEvent(events));
+        appliedChanges.increment(latest.size());
+        logger.debug("Applied {} course changes from the change feed, up to position {}", latest.size(), lastId);
+    }
+}
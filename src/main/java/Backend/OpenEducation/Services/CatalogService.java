@@ -0,0 +1,28 @@
+package Backend.OpenEducation.Services;
+
+import java.util.List;
+
+/**
+ * Service interface for the catalog outline: the courses of each subject and the modules of each course,
+ * by title and in order. Served from the {@link OffHeapCatalog}, refreshed seconds after a course change.
+ */
+public interface CatalogService {
+
+    /**
+     * Retrieves the courses of a subject.
+     *
+     * @param subjectId the ID of the subject
+     * @return the courses of the subject, ordered by ID
+     * @throws Backend.OpenEducation.Exception.SubjectNotFoundException if the subject is not in the catalog
+     */
+    List<OffHeapCatalog.CourseEntry> getCoursesOfSubject(Long subjectId);
+
+    /**
+     * Retrieves the modules of a course.
+     *
+     * @param courseId the ID of the course
+     * @return the modules of the course, in their order within the course
+     * @throws Backend.OpenEducation.Exception.CourseNotFoundException if the course is not in the catalog
+     */
+    List<OffHeapCatalog.ModuleEntry> getModulesOfCourse(Long courseId);
+}
@@ -0,0 +1,49 @@
+package Backend.OpenEducation.Services;
+
+import java.util.List;
+
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import Backend.OpenEducation.Exception.CourseNotFoundException;
+import Backend.OpenEducation.Exception.SubjectNotFoundException;
+
+/**
+ * Service implementation for the catalog outline.
+ * Reads the current off-heap catalog only, so it never touches the database or the "courses" cache.
+ */
+@Service
+@Timed("openeducation.service")
+public class CatalogServiceImpl implements CatalogService {
+
+    private final OffHeapCatalogStore catalogStore;
+
+    /**
+     * Constructs a new CatalogServiceImpl.
+     *
+     * @param catalogStore the holder of the current catalog
+     */
+    @Autowired
+    public CatalogServiceImpl(OffHeapCatalogStore catalogStore) {
+        this.catalogStore = catalogStore;
+    }
+
+    @Override
+    public List<OffHeapCatalog.CourseEntry> getCoursesOfSubject(Long subjectId) {
+        OffHeapCatalog catalog = catalogStore.getCatalog();
+        if (catalog.findSubject(subjectId).isEmpty()) {
+            throw new SubjectNotFoundException("Subject not found with ID: " + subjectId);
+        }
+        return catalog.coursesOfSubject(subjectId);
+    }
+
+    @Override
+    public List<OffHeapCatalog.ModuleEntry> getModulesOfCourse(Long courseId) {
+        OffHeapCatalog catalog = catalogStore.getCatalog();
+        if (catalog.findCourse(courseId).isEmpty()) {
+            throw new CourseNotFoundException("Course not found with ID: " + courseId);
+        }
+        return catalog.modulesOfCourse(courseId);
+    }
+}
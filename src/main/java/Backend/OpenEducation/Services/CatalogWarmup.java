@@ -0,0 +1,71 @@
+package Backend.OpenEducation.Services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the in-memory copies of the catalog once the application is ready, one after the other.
+ * <p>
+ * Each of them reads the whole catalog. Loaded together at startup they would hold as many
+ * connections and scan the same tables at once, so they are loaded in turn, the cheapest and most
+ * read first. Their scheduled rebuilds start one interval later. A copy that fails to load is logged
+ * and left to build itself on first use, or at its next scheduled rebuild.
+ */
+@Component
+public class CatalogWarmup {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogWarmup.class);
+
+    private final CourseCatalogSnapshot courseCatalogSnapshot;
+
+    private final CourseIdFilter courseIdFilter;
+
+    private final OffHeapCatalogStore offHeapCatalogStore;
+
+    private final SearchServiceImpl searchService;
+
+    /**
+     * Constructs a new CatalogWarmup.
+     *
+     * @param courseCatalogSnapshot the catalog snapshot behind the course list
+     * @param courseIdFilter the filter of existing course IDs
+     * @param offHeapCatalogStore the off-heap catalog outline
+     * @param searchService the search service holding the search index
+     */
+    @Autowired
+    public CatalogWarmup(CourseCatalogSnapshot courseCatalogSnapshot,
+                         CourseIdFilter courseIdFilter,
+                         OffHeapCatalogStore offHeapCatalogStore,
+                         SearchServiceImpl searchService) {
+        this.courseCatalogSnapshot = courseCatalogSnapshot;
+        this.courseIdFilter = courseIdFilter;
+        this.offHeapCatalogStore = offHeapCatalogStore;
+        this.searchService = searchService;
+    }
+
+    /**
+     * Loads every copy of the catalog in turn.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long start = System.nanoTime();
+        // Usually restored from the local file, without a full scan
+        load("course catalog snapshot", courseCatalogSnapshot::refresh);
+        load("course ID filter", courseIdFilter::rebuild);
+        load("off-heap catalog", offHeapCatalogStore::rebuild);
+        load("search index", searchService::rebuild);
+        logger.info("Loaded the catalog in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static void load(String name, Runnable loader) {
+        try {
+            loader.run();
+        } catch (RuntimeException e) {
+            logger.warn("Cannot load the {} at startup, retrying at its next rebuild", name, e);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package Backend.OpenEducation.Services;
+
+import Backend.OpenEducation.dto.CourseDTO;
+import Backend.OpenEducation.dto.MaterialDTO;
+import Backend.OpenEducation.dto.ModuleDTO;
+import Backend.OpenEducation.Model.Course;
+import Backend.OpenEducation.Repository.MaterialRepository;
+import Backend.OpenEducation.Repository.ModuleRepository;
+import Backend.OpenEducation.Config.CourseLookupExecutor;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+/**
+ * Builds {@link CourseDTO} graphs for batches of courses.
+ * Materials and modules are loaded with one IN-list query per chunk of courses,
+ * so the number of round trips depends on the batch size, not on the number of courses.
+ * Those queries select {@link MaterialDTO} and {@link ModuleDTO} projections, so no
+ * material or module entity is loaded, and no association is walked when serializing.
+ * <p>
+ * When a lookup executor is configured, the module query of a chunk runs on that executor
+ * while the material query runs on the calling thread, so a chunk costs the slower of the
+ * two queries rather than their sum. The module query then runs in its own read-only
+ * transaction. Callers already inside a transaction hold a connection, and are served
+ * sequentially so they never wait on the pool for a second one.
+ */
+@Component
+@Timed("openeducation.service")
+public class CourseAssembler {
+
+    private final MaterialRepository materialRepository;
+
+    private final ModuleRepository moduleRepository;
+
+    // Maximum number of course IDs bound into a single IN-list query
+    private final int batchSize;
+
+    // Runs the module lookups concurrently with the material lookups, or null to run them in turn
+    private final Executor lookupExecutor;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    /**
+     * Constructs a new CourseAssembler that loads materials and modules one after the other.
+     *
+     * @param materialRepository the material repository
+     * @param moduleRepository the module repository
+     * @param batchSize the maximum number of courses loaded per query
+     */
+    public CourseAssembler(MaterialRepository materialRepository,
+                           ModuleRepository moduleRepository,
+                           int batchSize) {
+        this(materialRepository, moduleRepository, batchSize, (Executor) null, null);
+    }
+
+    /**
+     * Constructs a new CourseAssembler, loading materials and modules concurrently
+     * when the course lookup executor is enabled.
+     *
+     * @param materialRepository the material repository
+     * @param moduleRepository the module repository
+     * @param batchSize the maximum number of courses loaded per query
+     * @param lookupExecutor the course lookup executor, if parallel assembly is enabled
+     * @param transactionManager the transaction manager used by the concurrent lookups
+     */
+    @Autowired
+    public CourseAssembler(MaterialRepository materialRepository,
+                           ModuleRepository moduleRepository,
+                           @Value("${openeducation.course-assembler.batch-size:500}") int batchSize,
+                           ObjectProvider<CourseLookupExecutor> lookupExecutor,
+                           PlatformTransactionManager transactionManager) {
+        this(materialRepository, moduleRepository, batchSize,
+                Optional.ofNullable(lookupExecutor.getIfAvailable()).map(CourseLookupExecutor::getExecutor).orElse(null),
+                transactionManager);
+    }
+
+    /**
+     * Constructs a new CourseAssembler.
+     *
+     * @param materialRepository the material repository
+     * @param moduleRepository the module repository
+     * @param batchSize the maximum number of courses loaded per query
+     * @param lookupExecutor the executor running module lookups concurrently, or null to run them in turn
+     * @param transactionManager the transaction manager used by the concurrent lookups
+     */
+    public CourseAssembler(MaterialRepository materialRepository,
+                           ModuleRepository moduleRepository,
+                           int batchSize,
+                           Executor lookupExecutor,
+                           PlatformTransactionManager transactionManager) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        this.materialRepository = materialRepository;
+        this.moduleRepository = moduleRepository;
+        this.batchSize = batchSize;
+        this.lookupExecutor = lookupExecutor;
+        if (lookupExecutor != null) {
+            this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+            this.readOnlyTransaction.setReadOnly(true);
+        } else {
+            this.readOnlyTransaction = null;
+        }
+    }
+
+    /**
+     * Gets the maximum number of courses loaded per query.
+     *
+     * @return the batch size
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Tells whether materials and modules are loaded concurrently.
+     *
+     * @return true if a lookup executor is configured
+     */
+    public boolean isParallel() {
+        return lookupExecutor != null;
+    }
+
+    /**
+     * Converts a single Course entity to a CourseDTO.
+     *
+     * @param course the course entity
+     * @return the course as a DTO
+     */
+    public CourseDTO toDTO(Course course) {
+        return assemble(toShell(course));
+    }
+
+    /**
+     * Converts a list of Course entities to CourseDTOs, preserving their order.
+     *
+     * @param courses the course entities
+     * @return the courses as DTOs
+     */
+    public List<CourseDTO> toDTOs(List<Course> courses) {
+        List<CourseDTO> courseDTOs = new ArrayList<>(courses.size());
+        for (Course course : courses) {
+            courseDTOs.add(toShell(course));
+        }
+        return assemble(courseDTOs);
+    }
+
+    /**
+     * Fills in the materials and modules of a course DTO loaded without them.
+     *
+     * @param courseDTO the course, as selected by a course projection
+     * @return the same course, with its materials and modules
+     */
+    public CourseDTO assemble(CourseDTO courseDTO) {
+        assembleChunk(List.of(courseDTO));
+        return courseDTO;
+    }
+
+    /**
+     * Fills in the materials and modules of course DTOs loaded without them.
+     *
+     * @param courseDTOs the courses, as selected by a course projection
+     * @return the same courses, in the same order, with their materials and modules
+     */
+    public List<CourseDTO> assemble(List<CourseDTO> courseDTOs) {
+        for (int from = 0; from < courseDTOs.size(); from += batchSize) {
+            int to = Math.min(from + batchSize, courseDTOs.size());
+            assembleChunk(courseDTOs.subList(from, to));
+        }
+        return courseDTOs;
+    }
+
+    /**
+     * Loads the materials and modules of a chunk of courses and sets them on their DTOs.
+     *
+     * @param chunk the courses of the chunk, at most {@code batchSize} of them
+     */
+    private void assembleChunk(List<CourseDTO> chunk) {
+        Set<Long> courseIds = new LinkedHashSet<>();
+        for (CourseDTO courseDTO : chunk) {
+            courseIds.add(courseDTO.getId());
+        }
+
+        Map<Long, List<MaterialDTO>> materialsByCourse;
+        Map<Long, List<ModuleDTO>> modulesByCourse;
+        if (isParallel() && !TransactionSynchronizationManager.isActualTransactionActive()) {
+            CompletableFuture<Map<Long, List<ModuleDTO>>> modules = CompletableFuture.supplyAsync(
+                    () -> readOnlyTransaction.execute(status -> loadModules(courseIds)), lookupExecutor);
+            materialsByCourse = loadMaterials(courseIds);
+            modulesByCourse = join(modules);
+        } else {
+            materialsByCourse = loadMaterials(courseIds);
+            modulesByCourse = loadModules(courseIds);
+        }
+
+        for (CourseDTO courseDTO : chunk) {
+            courseDTO.setMaterials(materialsByCourse.getOrDefault(courseDTO.getId(), Collections.emptyList()));
+            courseDTO.setModules(modulesByCourse.getOrDefault(courseDTO.getId(), Collections.emptyList()));
+        }
+    }
+
+    private static CourseDTO toShell(Course course) {
+        Long subjectId = course.getSubject() == null ? null : course.getSubject().getSubjectId();
+        return new CourseDTO(course.getId(), course.getTitle(), course.getDescription(), subjectId,
+                course.getVersion(), course.getLastModified());
+    }
+
+    private Map<Long, List<MaterialDTO>> loadMaterials(Set<Long> courseIds) {
+        return materialRepository.findDTOsByCourseIdIn(courseIds).stream()
+                .collect(Collectors.groupingBy(MaterialDTO::getCourseId));
+    }
+
+    private Map<Long, List<ModuleDTO>> loadModules(Set<Long> courseIds) {
+        return moduleRepository.findDTOsByCourseIdIn(courseIds).stream()
+                .collect(Collectors.groupingBy(ModuleDTO::getCourseId));
+    }
+
+    /**
+     * Waits for a concurrent lookup and rethrows its failure as thrown by the repository.
+     */
+    private static <T> T join(CompletableFuture<T> lookup) {
+        try {
+            return lookup.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,601 @@
+package Backend.OpenEducation.Services;
+
+import Backend.OpenEducation.dto.CourseDTO;
+import Backend.OpenEducation.Event.CourseChangeBatchEvent;
+import Backend.OpenEducation.Event.CourseChangedEvent;
+import Backend.OpenEducation.Repository.CourseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Versioned, in-memory snapshot of the whole course catalog, served by
+ * {@link CourseService#getAllCourses()}.
+ * <p>
+ * The snapshot is loaded by {@link CatalogWarmup} once the application is ready, and rebuilt from
+ * the database every rebuild interval; rebuilds never overlap. Between rebuilds it is updated
+ * incrementally: a committed course change marks that course as changed, and a background task
+ * reloads the changed courses in batches, outside of any lock, then replaces them in the catalog and
+ * bumps the version, so the writer does not wait for the reload and a burst of changes costs a few
+ * queries. A deleted course is dropped at once. The list handed to readers is copied from the catalog at
+ * most once per version, when it is first read, so a burst of changes costs one copy. Changes made on
+ * other nodes are reloaded a batch of the change feed at a time.
+ * Concurrent readers of a catalog not built yet wait for a single load.
+ * <p>
+ * When the {@link CourseSnapshotStore} restored the catalog saved by the previous run, the first
+ * build starts from it instead of the database, and the first scheduled run only reconciles it:
+ * the courses modified since its watermark are reloaded and the deleted ones dropped.
+ */
+@Component
+public class CourseCatalogSnapshot {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseCatalogSnapshot.class);
+
+    private final CourseRepository courseRepository;
+
+    private final CourseAssembler courseAssembler;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final CourseSnapshotStore snapshotStore;
+
+    private final Executor executor;
+
+    // Margin taken before the watermark, for clock skew and changes committed after they were stamped
+    private final Duration reconcileOverlap;
+
+    // Number of stale courses above which reconciling costs more than a full rebuild
+    private final int reconcileMaxChanges;
+
+    // Share of the catalog a batch of the change feed may change before the catalog is rebuilt instead
+    private final double batchRebuildFraction;
+
+    // Courses by ID, changed in place under the write lock; null until first loaded
+    private volatile NavigableMap<Long, CourseDTO> catalog;
+
+    // Bumped after every change of the catalog
+    private final AtomicLong version = new AtomicLong();
+
+    // List of the courses, copied from the catalog at the version it was read
+    private volatile CourseList courseList;
+
+    // First load of the catalog, shared by the callers that need it before it is built
+    private final AtomicReference<CompletableFuture<Void>> firstLoad = new AtomicReference<>();
+
+    // Serializes the changes of the catalog; held only to apply them, never during a query
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    // Serializes rebuilds and reconciliations, so none drops the changes another one is tracking
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    // Courses changed on this node and not reloaded yet
+    private final Set<Long> changed = ConcurrentHashMap.newKeySet();
+
+    // Whether a background reload of the changed courses is queued or running
+    private final AtomicBoolean reloadScheduled = new AtomicBoolean();
+
+    // Whether a background rebuild is queued and not started yet
+    private final AtomicBoolean rebuildRequested = new AtomicBoolean();
+
+    // Courses changed while a full rebuild was loading, reloaded before the rebuild is published
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    // Deleted courses, never put back by a reload that started before their deletion. IDs are not reused
+    private final Set<Long> deleted = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean rebuilding;
+
+    // Whether the snapshot was restored from the file and not reconciled with the database yet
+    private volatile boolean restored;
+
+    /**
+     * Constructs a new CourseCatalogSnapshot.
+     *
+     * @param courseRepository the course repository
+     * @param courseAssembler the assembler building course DTOs
+     * @param transactionManager the transaction manager
+     * @param snapshotStore the store of the catalog saved on local disk
+     * @param executor the executor reloading changed courses in the background
+     * @param reconcileOverlap how long before the watermark of a restored catalog changes are reloaded
+     * @param reconcileMaxChanges the number of stale courses above which a restored catalog is rebuilt instead
+     * @param batchRebuildFraction the share of the catalog a batch of the change feed may change before it is rebuilt instead
+     */
+    @Autowired
+    public CourseCatalogSnapshot(CourseRepository courseRepository,
+                                 CourseAssembler courseAssembler,
+                                 PlatformTransactionManager transactionManager,
+                                 CourseSnapshotStore snapshotStore,
+                                 @Qualifier("applicationTaskExecutor") Executor executor,
+                                 @Value("${openeducation.course-snapshot.reconcile-overlap:PT1M}") Duration reconcileOverlap,
+                                 @Value("${openeducation.course-snapshot.reconcile-max-changes:10000}") int reconcileMaxChanges,
+                                 @Value("${openeducation.catalog-snapshot.batch-rebuild-fraction:0.25}") double batchRebuildFraction) {
+        this.courseRepository = courseRepository;
+        this.courseAssembler = courseAssembler;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.snapshotStore = snapshotStore;
+        this.executor = executor;
+        this.reconcileOverlap = reconcileOverlap;
+        this.reconcileMaxChanges = reconcileMaxChanges;
+        this.batchRebuildFraction = batchRebuildFraction;
+    }
+
+    /**
+     * Gets all courses of the current snapshot, ordered by ID.
+     * Callers arriving before the catalog is built wait for one shared load, from the restored file if there is one.
+     *
+     * @return an unmodifiable list of all courses
+     */
+    public List<CourseDTO> getCourses() {
+        NavigableMap<Long, CourseDTO> courses = catalog;
+        if (courses == null) {
+            loadFirst();
+            courses = catalog;
+        }
+        // Read before copying: a copy taking in later changes is only tagged older than it is
+        long currentVersion = version.get();
+        CourseList list = courseList;
+        if (list == null || list.version() != currentVersion) {
+            list = new CourseList(currentVersion, List.copyOf(courses.values()));
+            courseList = list;
+        }
+        return list.courses();
+    }
+
+    /**
+     * Gets the version of the current snapshot.
+     * The version increases every time the snapshot changes.
+     *
+     * @return the snapshot version, or 0 if the snapshot has not been built yet
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Refreshes the snapshot: loads it if it was not read yet, reconciles the catalog restored from the
+     * file on the first run, and rebuilds it in full from the database on every later run, which also
+     * repairs a change event that was missed.
+     */
+    @Scheduled(initialDelayString = "${openeducation.catalog-snapshot.rebuild-interval:PT10M}",
+            fixedDelayString = "${openeducation.catalog-snapshot.rebuild-interval:PT10M}")
+    public void refresh() {
+        if (catalog == null) {
+            // A catalog just loaded from the database needs no rebuild yet
+            loadFirst();
+            if (!restored) {
+                return;
+            }
+        }
+        rebuildLock.lock();
+        try {
+            if (restored) {
+                reconcile();
+            } else {
+                rebuild();
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the whole snapshot from the database, then saves it for the next run.
+     * A caller arriving while another rebuild runs waits for it, then rebuilds again: the running
+     * rebuild may have read the catalog before the changes the caller wants to see.
+     */
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            rebuildNow();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the whole snapshot in the background, for changes that publish no event per course.
+     * Requests made before the queued rebuild starts share it, so back-to-back imports cost one
+     * rebuild, plus the one already running if any.
+     */
+    public void requestRebuild() {
+        if (!rebuildRequested.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                // Cleared first: a request made from now on may not be seen by this rebuild
+                rebuildRequested.set(false);
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    logger.warn("Cannot rebuild the course catalog snapshot, leaving it to the next refresh", e);
+                }
+            });
+        } catch (RuntimeException e) {
+            rebuildRequested.set(false);
+            logger.warn("Cannot rebuild the course catalog snapshot in the background, leaving it to the next refresh", e);
+        }
+    }
+
+    /**
+     * Rebuilds the whole snapshot, with the rebuild lock held.
+     */
+    private void rebuildNow() {
+        writeLock.lock();
+        try {
+            rebuilding = true;
+            changedDuringRebuild.clear();
+        } finally {
+            writeLock.unlock();
+        }
+        Instant watermark = Instant.now();
+        NavigableMap<Long, CourseDTO> courses = new ConcurrentSkipListMap<>();
+        try {
+            readOnlyTransaction.executeWithoutResult(status ->
+                    courseAssembler.assemble(courseRepository.findAllDTOs())
+                            .forEach(course -> courses.put(course.getId(), course)));
+            // Courses changed meanwhile are reloaded until none is left, then the catalog is swapped in
+            while (true) {
+                for (Iterator<Long> changed = changedDuringRebuild.iterator(); changed.hasNext(); ) {
+                    long courseId = changed.next();
+                    changed.remove();
+                    apply(courses, courseId, loadCourse(courseId));
+                }
+                writeLock.lock();
+                try {
+                    if (changedDuringRebuild.isEmpty()) {
+                        rebuilding = false;
+                        restored = false;
+                        catalog = courses;
+                        version.incrementAndGet();
+                        break;
+                    }
+                } finally {
+                    writeLock.unlock();
+                }
+            }
+        } catch (RuntimeException ex) {
+            rebuilding = false;
+            throw ex;
+        }
+        logger.info("Rebuilt course catalog snapshot with {} courses, version {}", courses.size(), getVersion());
+        snapshotStore.release();
+        snapshotStore.save(watermark, courses.values());
+    }
+
+    /**
+     * Loads the catalog the first time, from the restored file if there is one and from the database
+     * otherwise. Concurrent callers wait for the same load; a failed load is retried by the next caller.
+     */
+    private void loadFirst() {
+        CompletableFuture<Void> load = new CompletableFuture<>();
+        CompletableFuture<Void> running = firstLoad.compareAndExchange(null, load);
+        if (running != null) {
+            try {
+                running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+            return;
+        }
+        try {
+            if (catalog == null && !restore()) {
+                rebuild();
+            }
+            load.complete(null);
+        } catch (RuntimeException e) {
+            firstLoad.set(null);
+            load.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Publishes the catalog of the file restored at startup, without touching the database.
+     * Does nothing if there is no such file or a snapshot was already published.
+     *
+     * @return true if the catalog was restored from the file
+     */
+    private boolean restore() {
+        Optional<CourseSnapshotFile> file = snapshotStore.getRestored();
+        if (file.isEmpty() || catalog != null) {
+            return false;
+        }
+        NavigableMap<Long, CourseDTO> courses = new ConcurrentSkipListMap<>();
+        file.get().readAll().forEach(course -> courses.put(course.getId(), course));
+        writeLock.lock();
+        try {
+            if (catalog != null) {
+                return false;
+            }
+            restored = true;
+            catalog = courses;
+            version.incrementAndGet();
+        } finally {
+            writeLock.unlock();
+        }
+        logger.info("Restored course catalog snapshot with {} courses, watermark {}",
+                courses.size(), file.get().getWatermark());
+        return true;
+    }
+
+    /**
+     * Reconciles the catalog restored from the file with the database: reloads the courses modified
+     * since its watermark, and any missing from it, drops the deleted ones, then saves it for the next run.
+     * The stale courses are loaded in batches outside the write lock and put in under it at once; changes
+     * committed meanwhile are applied to the same catalog, so none is lost. With more stale courses than
+     * the threshold, the catalog is rebuilt in full instead. Runs with the rebuild lock held.
+     */
+    private void reconcile() {
+        Optional<CourseSnapshotFile> file = snapshotStore.getRestored();
+        if (file.isEmpty()) {
+            rebuildNow();
+            return;
+        }
+        Instant watermark = Instant.now();
+        Set<Long> modified = new HashSet<>();
+        Set<Long> existing = new HashSet<>();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            modified.addAll(courseRepository.findIdsModifiedSince(file.get().getWatermark().minus(reconcileOverlap)));
+            existing.addAll(courseRepository.findAllIds());
+        });
+        NavigableMap<Long, CourseDTO> courses = catalog;
+        Set<Long> stale = new HashSet<>(modified);
+        for (Long courseId : courses.keySet()) {
+            if (!existing.contains(courseId)) {
+                stale.add(courseId);
+            }
+        }
+        for (Long courseId : existing) {
+            if (!courses.containsKey(courseId)) {
+                stale.add(courseId);
+            }
+        }
+        if (stale.size() > reconcileMaxChanges) {
+            logger.info("Course catalog snapshot has {} stale courses, rebuilding it in full", stale.size());
+            rebuildNow();
+            return;
+        }
+        // Deleted courses are reloaded too: one created meanwhile is then kept
+        List<CourseDTO> loaded = loadCourses(List.copyOf(stale));
+        writeLock.lock();
+        try {
+            Set<Long> missing = new HashSet<>(stale);
+            for (CourseDTO course : loaded) {
+                missing.remove(course.getId());
+                apply(courses, course.getId(), course);
+            }
+            for (Long courseId : missing) {
+                apply(courses, courseId, null);
+            }
+            restored = false;
+            version.incrementAndGet();
+        } finally {
+            writeLock.unlock();
+        }
+        stale.forEach(snapshotStore::invalidate);
+        logger.info("Reconciled course catalog snapshot with the database: {} courses, {} reloaded or dropped, version {}",
+                courses.size(), stale.size(), getVersion());
+        snapshotStore.save(watermark, courses.values());
+    }
+
+    /**
+     * Loads courses with their materials and modules, one batch of IDs per query.
+     *
+     * @return the courses found; deleted ones are missing
+     */
+    private List<CourseDTO> loadCourses(List<Long> courseIds) {
+        if (courseIds.isEmpty()) {
+            return List.of();
+        }
+        int batchSize = courseAssembler.getBatchSize();
+        List<CourseDTO> courses = new ArrayList<>(courseIds.size());
+        for (int from = 0; from < courseIds.size(); from += batchSize) {
+            List<Long> batch = courseIds.subList(from, Math.min(from + batchSize, courseIds.size()));
+            courses.addAll(readOnlyTransaction.execute(status ->
+                    courseAssembler.assemble(courseRepository.findDTOsByIdIn(batch))));
+        }
+        return courses;
+    }
+
+    /**
+     * Applies a committed course change to the snapshot.
+     * A deleted course is dropped at once; a created or updated one is reloaded in the background, so
+     * the committing thread does not wait for it, and shows in the snapshot once reloaded.
+     * Changes read from the change feed are left to {@link #onCourseChangeBatch}.
+     *
+     * @param event the course change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        if (event.getOrigin() == CourseChangedEvent.Origin.FEED) {
+            return;
+        }
+        long courseId = event.getCourseId();
+        boolean deletion = event.getType() == CourseChangedEvent.ChangeType.DELETED;
+        if (deletion) {
+            deleted.add(courseId);
+        }
+        writeLock.lock();
+        try {
+            if (rebuilding) {
+                changedDuringRebuild.add(courseId);
+            }
+            NavigableMap<Long, CourseDTO> courses = catalog;
+            // Before the first build, the build itself picks up the change
+            if (courses == null) {
+                return;
+            }
+            if (deletion) {
+                apply(courses, courseId, null);
+                version.incrementAndGet();
+                return;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        changed.add(courseId);
+        scheduleReload();
+    }
+
+    /**
+     * Applies the changes of one poll of the change feed to the snapshot: the changed courses are
+     * loaded in batches outside the write lock, and put in under it at once. A bulk import on another
+     * node arrives this way, a few hundred courses at a time; a batch changing a large share of the
+     * catalog, as the first batches of an import into a small catalog do, rebuilds it instead.
+     *
+     * @param batch the changes read by the poll
+     */
+    @EventListener
+    public void onCourseChangeBatch(CourseChangeBatchEvent batch) {
+        Set<Long> courseIds = new HashSet<>();
+        for (CourseChangedEvent event : batch.getChanges()) {
+            if (event.getType() == CourseChangedEvent.ChangeType.DELETED) {
+                deleted.add(event.getCourseId());
+            }
+            courseIds.add(event.getCourseId());
+        }
+        NavigableMap<Long, CourseDTO> courses = catalog;
+        if (courses != null && courseIds.size() > courses.size() * batchRebuildFraction) {
+            rebuild();
+            return;
+        }
+        reload(courseIds);
+    }
+
+    /**
+     * Starts a background reload of the changed courses, unless one is already queued or running.
+     */
+    private void scheduleReload() {
+        if (!reloadScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this::reloadChanged);
+        } catch (RuntimeException e) {
+            reloadScheduled.set(false);
+            logger.warn("Cannot reload changed courses in the background, leaving them to the next rebuild", e);
+        }
+    }
+
+    /**
+     * Reloads the changed courses until none is left, taking in those changed meanwhile.
+     */
+    private void reloadChanged() {
+        try {
+            while (!changed.isEmpty()) {
+                Set<Long> courseIds = new HashSet<>();
+                for (Iterator<Long> ids = changed.iterator(); ids.hasNext(); ) {
+                    courseIds.add(ids.next());
+                    ids.remove();
+                }
+                reload(courseIds);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Cannot reload changed courses, leaving them to the next rebuild", e);
+        } finally {
+            reloadScheduled.set(false);
+        }
+        // A change made after the loop ended but before the flag was cleared found the reload running
+        if (!changed.isEmpty()) {
+            scheduleReload();
+        }
+    }
+
+    /**
+     * Reloads courses in batches outside the write lock, and puts them in under it at once; those not
+     * found are dropped.
+     */
+    private void reload(Set<Long> courseIds) {
+        Set<Long> toLoad = new HashSet<>(courseIds);
+        toLoad.removeAll(deleted);
+        // Before the first build, the build itself picks up the changes
+        List<CourseDTO> loaded = catalog == null ? List.of() : loadCourses(List.copyOf(toLoad));
+        writeLock.lock();
+        try {
+            if (rebuilding) {
+                changedDuringRebuild.addAll(courseIds);
+            }
+            NavigableMap<Long, CourseDTO> courses = catalog;
+            if (courses == null) {
+                return;
+            }
+            Set<Long> missing = new HashSet<>(courseIds);
+            for (CourseDTO course : loaded) {
+                missing.remove(course.getId());
+                apply(courses, course.getId(), course);
+            }
+            for (Long courseId : missing) {
+                apply(courses, courseId, null);
+            }
+            version.incrementAndGet();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Loads a single course with its materials and modules.
+     *
+     * @return the course, or null if it no longer exists
+     */
+    private CourseDTO loadCourse(long courseId) {
+        return readOnlyTransaction.execute(status ->
+                courseRepository.findDTOById(courseId).map(courseAssembler::assemble).orElse(null));
+    }
+
+    /**
+     * Puts a reloaded course into the given catalog, or removes it if it no longer exists.
+     * A reload older than the copy already there, or of a course deleted since, is dropped:
+     * concurrent changes of a course may finish loading in any order.
+     */
+    private void apply(NavigableMap<Long, CourseDTO> courses, long courseId, CourseDTO course) {
+        if (course == null || deleted.contains(courseId)) {
+            courses.remove(courseId);
+            return;
+        }
+        CourseDTO previous = courses.get(courseId);
+        if (previous != null && previous.getVersion() != null && course.getVersion() != null
+                && previous.getVersion() > course.getVersion()) {
+            return;
+        }
+        courses.put(courseId, course);
+    }
+
+    /**
+     * List of the courses of the catalog at a version.
+     */
+    private record CourseList(long version, List<CourseDTO> courses) {
+    }
+}
@@ -0,0 +1,56 @@
+package Backend.OpenEducation.Services;
+
+import Backend.OpenEducation.Exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque continuation cursors of the keyset listings of courses and of
+ * the materials of a subject. A cursor wraps the ID of the last row of a page, so clients cannot
+ * depend on its format.
+ */
+final class CourseCursor {
+
+    private static final String PREFIX = "c1:";
+
+    private CourseCursor() {
+    }
+
+    /**
+     * Encodes the ID of the last course of a page into a cursor.
+     *
+     * @param lastId the ID of the last course returned
+     * @return the opaque cursor
+     */
+    static String encode(long lastId) {
+        byte[] raw = (PREFIX + lastId).getBytes(StandardCharsets.US_ASCII);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /**
+     * Decodes a cursor back into the ID to seek after.
+     *
+     * @param cursor the opaque cursor, or null for the first page
+     * @return the ID to seek after, 0 for the first page
+     * @throws InvalidCursorException if the cursor was not produced by {@link #encode(long)}
+     */
+    static long decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0L;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (!raw.startsWith(PREFIX)) {
+                throw new InvalidCursorException("Invalid cursor: " + cursor);
+            }
+            long lastId = Long.parseLong(raw.substring(PREFIX.length()));
+            if (lastId < 0) {
+                throw new InvalidCursorException("Invalid cursor: " + cursor);
+            }
+            return lastId;
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package Backend.OpenEducation.Services;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter of course IDs: tells for sure that a course does not exist, and with a small
+ * false positive rate that it may exist.
+ * <p>
+ * The bits are set with atomic operations, so IDs can be added while other threads test them.
+ * IDs cannot be removed; the filter is rebuilt instead.
+ */
+public final class CourseIdBloomFilter {
+
+    private final AtomicLongArray bits;
+
+    private final long bitCount;
+
+    private final int hashCount;
+
+    private CourseIdBloomFilter(long bitCount, int hashCount) {
+        this.bits = new AtomicLongArray((int) ((bitCount + 63) >>> 6));
+        this.bitCount = (long) bits.length() << 6;
+        this.hashCount = hashCount;
+    }
+
+    /**
+     * Creates a filter sized for the given number of IDs and false positive rate.
+     *
+     * @param expectedIds the number of IDs the filter is expected to hold
+     * @param falsePositiveRate the rate of IDs not added but reported as possibly present, once full
+     * @return an empty filter
+     */
+    public static CourseIdBloomFilter create(int expectedIds, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1: " + falsePositiveRate);
+        }
+        int ids = Math.max(expectedIds, 1);
+        long bitCount = Math.max(64, (long) Math.ceil(-ids * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+        int hashCount = Math.max(1, (int) Math.round((double) bitCount / ids * Math.log(2)));
+        return new CourseIdBloomFilter(bitCount, hashCount);
+    }
+
+    /**
+     * Adds a course ID.
+     *
+     * @param courseId the ID of the course
+     */
+    public void add(long courseId) {
+        long hash = mix(courseId);
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = bitIndex(hash1 + i * hash2);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long value = bits.get(word);
+            while ((value & mask) == 0 && !bits.compareAndSet(word, value, value | mask)) {
+                value = bits.get(word);
+            }
+        }
+    }
+
+    /**
+     * Tells whether a course ID may have been added.
+     *
+     * @param courseId the ID of the course
+     * @return false if the ID was never added, true if it probably was
+     */
+    public boolean mightContain(long courseId) {
+        long hash = mix(courseId);
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = bitIndex(hash1 + i * hash2);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the size of the filter.
+     *
+     * @return the number of bits of the filter
+     */
+    public long bitCount() {
+        return bitCount;
+    }
+
+    private long bitIndex(int combinedHash) {
+        // Flipped rather than negated, so that every bit stays reachable
+        return (combinedHash < 0 ? ~combinedHash : combinedHash) % bitCount;
+    }
+
+    /**
+     * Spreads the bits of a sequential ID over the whole hash (the SplitMix64 finalizer).
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -0,0 +1,211 @@
+package Backend.OpenEducation.Services;
+
+import Backend.OpenEducation.Config.ReadRoutingContext;
+import Backend.OpenEducation.Event.CourseChangedEvent;
+import Backend.OpenEducation.Exception.CourseNotFoundException;
+import Backend.OpenEducation.Repository.CourseRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Rejects the IDs of courses that do not exist without querying the database, so that clients
+ * requesting unknown IDs over and over cost no SQL.
+ * <p>
+ * A {@link CourseIdBloomFilter} of the existing course IDs is read from the primary by
+ * {@link CatalogWarmup} once the application is ready, and again every rebuild interval; courses
+ * created on this node, by an import or on another node through the change feed, are added to it
+ * once committed. Deleted courses stay in
+ * the filter until the next rebuild, so a short-lived negative cache holds them, as well as the IDs
+ * the filter lets through but the database does not find. A created course is dropped from the
+ * negative cache. Until the filter is first built, every ID is let through.
+ */
+@Component
+public class CourseIdFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseIdFilter.class);
+
+    // Smallest number of IDs a filter is sized for, so an empty catalog can grow until the next rebuild
+    private static final int MIN_EXPECTED_IDS = 1_024;
+
+    private final CourseRepository courseRepository;
+
+    private final boolean enabled;
+
+    private final double falsePositiveRate;
+
+    private final AtomicReference<CourseIdBloomFilter> current = new AtomicReference<>();
+
+    // IDs added while a rebuild runs, added to the new filter once it is swapped in
+    private volatile Set<Long> addedDuringRebuild;
+
+    private final Cache<Long, Boolean> missing;
+
+    private final Counter filteredIds;
+
+    private final Counter missingIds;
+
+    // Serializes rebuilds; held around the query, so not a monitor, which would pin a virtual thread
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    /**
+     * Constructs a new CourseIdFilter.
+     *
+     * @param courseRepository the course repository
+     * @param meterRegistry the registry the rejected IDs are counted in
+     * @param enabled whether unknown IDs are rejected
+     * @param falsePositiveRate the rate of unknown IDs the filter lets through to the database
+     * @param negativeCacheSize the number of missing IDs remembered
+     * @param negativeCacheTtl how long a missing ID is remembered
+     */
+    @Autowired
+    public CourseIdFilter(CourseRepository courseRepository,
+                          MeterRegistry meterRegistry,
+                          @Value("${openeducation.course-id-filter.enabled:true}") boolean enabled,
+                          @Value("${openeducation.course-id-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                          @Value("${openeducation.course-id-filter.negative-cache.maximum-size:100000}") long negativeCacheSize,
+                          @Value("${openeducation.course-id-filter.negative-cache.ttl:PT30S}") Duration negativeCacheTtl) {
+        this.courseRepository = courseRepository;
+        this.enabled = enabled;
+        this.falsePositiveRate = falsePositiveRate;
+        this.missing = Caffeine.newBuilder()
+                .maximumSize(negativeCacheSize)
+                .expireAfterWrite(negativeCacheTtl)
+                .build();
+        this.filteredIds = Counter.builder("openeducation.course-id-filter.rejected")
+                .description("Course lookups answered as not found without querying the database")
+                .tag("reason", "filter")
+                .register(meterRegistry);
+        this.missingIds = Counter.builder("openeducation.course-id-filter.rejected")
+                .description("Course lookups answered as not found without querying the database")
+                .tag("reason", "negative-cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rejects a course ID known not to exist.
+     *
+     * @param courseId the ID of the course
+     * @throws CourseNotFoundException if the course does not exist, without a stack trace
+     */
+    public void requireMayExist(long courseId) {
+        if (!enabled) {
+            return;
+        }
+        CourseIdBloomFilter filter = current.get();
+        if (filter != null && !filter.mightContain(courseId)) {
+            filteredIds.increment();
+            throw notFound(courseId);
+        }
+        if (missing.getIfPresent(courseId) != null) {
+            missingIds.increment();
+            throw notFound(courseId);
+        }
+    }
+
+    /**
+     * Remembers a course ID the database did not find, for the lifetime of the negative cache.
+     *
+     * @param courseId the ID of the course
+     */
+    public void recordMissing(long courseId) {
+        if (enabled) {
+            missing.put(courseId, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Adds a committed course to the filter, and forgets it was missing.
+     *
+     * @param courseId the ID of the course
+     */
+    public void add(long courseId) {
+        if (!enabled) {
+            return;
+        }
+        Set<Long> pending = addedDuringRebuild;
+        if (pending != null) {
+            pending.add(courseId);
+        }
+        CourseIdBloomFilter filter = current.get();
+        if (filter != null) {
+            filter.add(courseId);
+        }
+        missing.invalidate(courseId);
+    }
+
+    /**
+     * Rebuilds the filter from the IDs of the courses on the primary and swaps it in.
+     * A Bloom filter cannot forget an ID, so this is how deleted courses leave it; the new filter is
+     * also sized for the current number of courses, keeping its false positive rate as the catalog grows.
+     */
+    @Scheduled(initialDelayString = "${openeducation.course-id-filter.rebuild-interval:PT1H}",
+            fixedDelayString = "${openeducation.course-id-filter.rebuild-interval:PT1H}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        rebuildLock.lock();
+        try {
+            // Courses committed from now on may be missing from the IDs loaded below
+            Set<Long> pending = ConcurrentHashMap.newKeySet();
+            addedDuringRebuild = pending;
+            List<Long> ids;
+            // Replicas may not have the latest courses yet
+            ReadRoutingContext.pinToPrimary();
+            try {
+                ids = courseRepository.findAllIds();
+            } finally {
+                ReadRoutingContext.clear();
+            }
+            CourseIdBloomFilter filter = CourseIdBloomFilter.create(Math.max(ids.size() * 2, MIN_EXPECTED_IDS),
+                    falsePositiveRate);
+            ids.forEach(filter::add);
+            // Added before the swap, so no course committed during the load is ever rejected
+            pending.forEach(filter::add);
+            current.set(filter);
+            // Courses added between the loop above and the swap only reached the previous filter
+            addedDuringRebuild = null;
+            pending.forEach(filter::add);
+            logger.info("Rebuilt course ID filter: {} courses in {} bits", ids.size(), filter.bitCount());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Adds a created course to the filter once committed, and remembers a deleted one as missing.
+     * Applies to changes made on other nodes as well, once read from the change feed.
+     *
+     * @param event the course change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        if (event.getType() == CourseChangedEvent.ChangeType.CREATED) {
+            add(event.getCourseId());
+        } else if (event.getType() == CourseChangedEvent.ChangeType.DELETED) {
+            recordMissing(event.getCourseId());
+        }
+    }
+
+    private static CourseNotFoundException notFound(long courseId) {
+        // Rejections are frequent and cheap, a stack trace would cost more than the check
+        return new CourseNotFoundException("Course not found with ID: " + courseId, false);
+    }
+}
@@ -0,0 +1,174 @@
+package Backend.OpenEducation.Services;
+
+import Backend.OpenEducation.dto.CourseImportDTO;
+import Backend.OpenEducation.Model.MaterialType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * Streams courses out of a CSV import payload, one course (with its children) at a time.
+ * <p>
+ * The first line is a header and is skipped. Every other line starts with a record kind:
+ * <pre>
+ * record,title,description,order,url,type
+ * COURSE,Java Basics,Learn Java,,,
+ * MODULE,Variables,Module content,1,https://video.example/1,
+ * MATERIAL,Cheat sheet,Syntax summary,,https://files.example/1.pdf,PDF
+ * </pre>
+ * MODULE and MATERIAL lines belong to the closest COURSE line above them. For modules the
+ * description column holds the content and the url column holds the video URL.
+ * Fields may be quoted with double quotes; a doubled quote inside a quoted field is a literal quote.
+ */
+class CourseImportCsvReader implements Iterator<CourseImportServiceImpl.ParsedRow> {
+
+    private static final int TITLE = 1;
+    private static final int DESCRIPTION = 2;
+    private static final int ORDER = 3;
+    private static final int URL = 4;
+    private static final int TYPE = 5;
+
+    private final BufferedReader reader;
+
+    private List<String> pendingLine;
+
+    private int lineNumber;
+
+    /**
+     * Constructs a new CourseImportCsvReader and skips the header line.
+     *
+     * @param reader the reader of the CSV payload
+     */
+    CourseImportCsvReader(BufferedReader reader) {
+        this.reader = reader;
+        readLine();
+        pendingLine = readLine();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return pendingLine != null;
+    }
+
+    @Override
+    public CourseImportServiceImpl.ParsedRow next() {
+        if (pendingLine == null) {
+            throw new NoSuchElementException();
+        }
+        List<String> courseLine = pendingLine;
+        int courseLineNumber = lineNumber;
+        CourseImportDTO course = new CourseImportDTO();
+        String error = null;
+        if (!"COURSE".equals(kind(courseLine))) {
+            error = "Line " + courseLineNumber + ": expected a COURSE record but found " + kind(courseLine);
+        } else {
+            course.setTitle(field(courseLine, TITLE));
+            course.setDescription(field(courseLine, DESCRIPTION));
+        }
+
+        // Attach every child line up to the next COURSE record
+        while ((pendingLine = readLine()) != null && !"COURSE".equals(kind(pendingLine))) {
+            try {
+                addChild(course, pendingLine);
+            } catch (IllegalArgumentException ex) {
+                if (error == null) {
+                    error = "Line " + lineNumber + ": " + ex.getMessage();
+                }
+            }
+        }
+        return new CourseImportServiceImpl.ParsedRow(course, error);
+    }
+
+    private void addChild(CourseImportDTO course, List<String> line) {
+        switch (kind(line)) {
+            case "MODULE" -> {
+                CourseImportDTO.ModuleRow module = new CourseImportDTO.ModuleRow();
+                module.setTitle(field(line, TITLE));
+                module.setContent(field(line, DESCRIPTION));
+                String order = field(line, ORDER);
+                module.setOrder(order == null ? course.getModules().size() + 1 : Integer.parseInt(order));
+                module.setVideoUrl(field(line, URL));
+                course.getModules().add(module);
+            }
+            case "MATERIAL" -> {
+                CourseImportDTO.MaterialRow material = new CourseImportDTO.MaterialRow();
+                material.setTitle(field(line, TITLE));
+                material.setDescription(field(line, DESCRIPTION));
+                material.setUrl(field(line, URL));
+                String type = field(line, TYPE);
+                material.setType(type == null ? null : MaterialType.valueOf(type.toUpperCase(Locale.ROOT)));
+                course.getMaterials().add(material);
+            }
+            default -> throw new IllegalArgumentException("unknown record kind " + kind(line));
+        }
+    }
+
+    private static String kind(List<String> line) {
+        String kind = field(line, 0);
+        return kind == null ? "" : kind.toUpperCase(Locale.ROOT);
+    }
+
+    private static String field(List<String> line, int index) {
+        if (index >= line.size()) {
+            return null;
+        }
+        String value = line.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Reads and splits the next non-blank line, or returns null at the end of the payload.
+     */
+    private List<String> readLine() {
+        try {
+            String line;
+            do {
+                line = reader.readLine();
+                lineNumber++;
+            } while (line != null && line.isBlank());
+            return line == null ? null : split(line);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Splits a CSV line into fields, honouring double-quoted fields.
+     *
+     * @param line the line to split
+     * @return the fields of the line
+     */
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
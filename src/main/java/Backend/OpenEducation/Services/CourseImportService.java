@@ -0,0 +1,31 @@
+package Backend.OpenEducation.Services;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import Backend.OpenEducation.dto.ImportReportDTO;
+
+/**
+ * Service interface for bulk importing courses with their modules and materials.
+ */
+public interface CourseImportService {
+
+    /**
+     * Imports courses from a JSON payload: either a single JSON array or a stream of
+     * newline-delimited JSON objects, each shaped like {@link Backend.OpenEducation.dto.CourseImportDTO}.
+     *
+     * @param payload the JSON payload, read as a stream
+     * @return the import report, including the errors of rejected rows
+     * @throws IOException if the payload cannot be read
+     */
+    ImportReportDTO importJson(InputStream payload) throws IOException;
+
+    /**
+     * Imports courses from a CSV payload of COURSE, MODULE and MATERIAL records.
+     *
+     * @param payload the CSV payload, read as a stream
+     * @return the import report, including the errors of rejected rows
+     * @throws IOException if the payload cannot be read
+     */
+    ImportReportDTO importCsv(InputStream payload) throws IOException;
+}
@@ -0,0 +1,316 @@
+package Backend.OpenEducation.Services;
+
+import Backend.OpenEducation.dto.CourseImportDTO;
+import Backend.OpenEducation.dto.ImportReportDTO;
+import Backend.OpenEducation.Event.CourseChangedEvent;
+import Backend.OpenEducation.Model.Course;
+import Backend.OpenEducation.Model.Material;
+import Backend.OpenEducation.Model.Module;
+import Backend.OpenEducation.Repository.CourseRepository;
+import Backend.OpenEducation.Repository.MaterialRepository;
+import Backend.OpenEducation.Repository.ModuleRepository;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Service implementation for bulk importing courses.
+ * <p>
+ * Rows are read from the payload as a stream and written in chunks, one transaction per chunk,
+ * so Hibernate can send the inserts as JDBC batches with pooled ID allocation.
+ * When a chunk fails, its rows are retried one by one so that a bad row is reported
+ * without aborting the rest of the import.
+ */
+@Service
+@Timed("openeducation.service")
+public class CourseImportServiceImpl implements CourseImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseImportServiceImpl.class);
+
+    private final CourseRepository courseRepository;
+
+    private final ModuleRepository moduleRepository;
+
+    private final MaterialRepository materialRepository;
+
+    private final CourseCatalogSnapshot courseCatalogSnapshot;
+
+    private final CatalogChangeFeed catalogChangeFeed;
+
+    private final CourseIdFilter courseIdFilter;
+
+    private final OffHeapCatalogStore offHeapCatalogStore;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectReader jsonReader;
+
+    private final int chunkSize;
+
+    private final Counter importedRows;
+
+    private final Counter failedRows;
+
+    private final Timer chunkTimer;
+
+    private final DistributionSummary throughput;
+
+    /**
+     * Constructs a new CourseImportServiceImpl.
+     *
+     * @param courseRepository the course repository
+     * @param moduleRepository the module repository
+     * @param materialRepository the material repository
+     * @param courseCatalogSnapshot the catalog snapshot rebuilt in the background after an import
+     * @param catalogChangeFeed the change feed the imported courses are recorded in, for the other nodes
+     * @param courseIdFilter the filter of course IDs the imported courses are added to, once committed
+     * @param offHeapCatalogStore the off-heap catalog marked stale after an import
+     * @param transactionManager the transaction manager
+     * @param objectMapper the object mapper used to read JSON payloads
+     * @param meterRegistry the registry receiving the import metrics
+     * @param chunkSize the number of courses committed per transaction
+     */
+    @Autowired
+    public CourseImportServiceImpl(CourseRepository courseRepository,
+                                   ModuleRepository moduleRepository,
+                                   MaterialRepository materialRepository,
+                                   CourseCatalogSnapshot courseCatalogSnapshot,
+                                   CatalogChangeFeed catalogChangeFeed,
+                                   CourseIdFilter courseIdFilter,
+                                   OffHeapCatalogStore offHeapCatalogStore,
+                                   PlatformTransactionManager transactionManager,
+                                   ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${openeducation.import.chunk-size:500}") int chunkSize) {
+        this.courseRepository = courseRepository;
+        this.moduleRepository = moduleRepository;
+        this.materialRepository = materialRepository;
+        this.courseCatalogSnapshot = courseCatalogSnapshot;
+        this.catalogChangeFeed = catalogChangeFeed;
+        this.courseIdFilter = courseIdFilter;
+        this.offHeapCatalogStore = offHeapCatalogStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jsonReader = objectMapper.readerFor(CourseImportDTO.class);
+        this.chunkSize = chunkSize;
+        this.importedRows = Counter.builder("openeducation.import.rows")
+                .description("Courses processed by bulk imports")
+                .tag("outcome", "imported")
+                .register(meterRegistry);
+        this.failedRows = Counter.builder("openeducation.import.rows")
+                .description("Courses processed by bulk imports")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("openeducation.import.chunk")
+                .description("Time to write and commit one chunk of imported courses")
+                .register(meterRegistry);
+        this.throughput = DistributionSummary.builder("openeducation.import.throughput")
+                .description("Courses imported per second, per import")
+                .baseUnit("rows/s")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Imports courses from a JSON array or newline-delimited JSON payload.
+     * A syntax error cannot be skipped in a JSON stream, so it stops the import
+     * after the rows read so far have been written.
+     *
+     * @param payload the JSON payload
+     * @return the import report
+     * @throws IOException if the payload cannot be read
+     */
+    @Override
+    public ImportReportDTO importJson(InputStream payload) throws IOException {
+        try (MappingIterator<CourseImportDTO> courses = jsonReader.readValues(payload)) {
+            Iterator<ParsedRow> rows = new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return courses.hasNext();
+                }
+
+                @Override
+                public ParsedRow next() {
+                    return new ParsedRow(courses.next(), null);
+                }
+            };
+            return importRows(rows);
+        }
+    }
+
+    /**
+     * Imports courses from a CSV payload.
+     *
+     * @param payload the CSV payload
+     * @return the import report
+     * @throws IOException if the payload cannot be read
+     */
+    @Override
+    public ImportReportDTO importCsv(InputStream payload) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(payload, StandardCharsets.UTF_8))) {
+            return importRows(new CourseImportCsvReader(reader));
+        }
+    }
+
+    /**
+     * Validates the rows as they are read and writes them chunk by chunk.
+     */
+    private ImportReportDTO importRows(Iterator<ParsedRow> rows) {
+        long start = System.nanoTime();
+        ImportReportDTO report = new ImportReportDTO();
+        List<NumberedRow> chunk = new ArrayList<>(chunkSize);
+        long rowNumber = 0;
+        while (true) {
+            ParsedRow row;
+            try {
+                if (!rows.hasNext()) {
+                    break;
+                }
+                row = rows.next();
+            } catch (RuntimeException ex) {
+                report.addError(rowNumber + 1, null, "Unreadable payload, import stopped: " + rootMessage(ex));
+                break;
+            }
+            rowNumber++;
+            String problem = row.error() != null ? row.error() : validate(row.course());
+            if (problem != null) {
+                report.addError(rowNumber, row.course().getTitle(), problem);
+                continue;
+            }
+            chunk.add(new NumberedRow(rowNumber, row.course()));
+            if (chunk.size() == chunkSize) {
+                writeChunk(chunk, report);
+                chunk.clear();
+            }
+        }
+        writeChunk(chunk, report);
+
+        long durationMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        report.setDurationMillis(durationMillis);
+        report.setRowsPerSecond(report.getImported() * 1000.0 / durationMillis);
+        importedRows.increment(report.getImported());
+        failedRows.increment(report.getFailed());
+        throughput.record(report.getRowsPerSecond());
+        logger.info("Imported {} courses, rejected {}, in {} ms ({} rows/s)",
+                report.getImported(), report.getFailed(), durationMillis, Math.round(report.getRowsPerSecond()));
+        if (report.getImported() > 0) {
+            // Both rebuilt off the request thread, so back-to-back imports cost one rebuild
+            courseCatalogSnapshot.requestRebuild();
+            offHeapCatalogStore.markStale();
+        }
+        return report;
+    }
+
+    /**
+     * Writes a chunk in a single transaction, falling back to one transaction per row if it fails.
+     */
+    private void writeChunk(List<NumberedRow> chunk, ImportReportDTO report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            List<Long> ids = chunkTimer.record(() -> transactionTemplate.execute(status ->
+                    chunk.stream().map(row -> persist(row.course())).toList()));
+            ids.forEach(courseIdFilter::add);
+            report.setImported(report.getImported() + chunk.size());
+        } catch (RuntimeException chunkFailure) {
+            logger.warn("Import chunk of {} courses failed, retrying row by row: {}", chunk.size(), rootMessage(chunkFailure));
+            for (NumberedRow row : chunk) {
+                try {
+                    courseIdFilter.add(transactionTemplate.execute(status -> persist(row.course())));
+                    report.setImported(report.getImported() + 1);
+                } catch (RuntimeException rowFailure) {
+                    report.addError(row.number(), row.course().getTitle(), rootMessage(rowFailure));
+                }
+            }
+        }
+    }
+
+    /**
+     * Maps an imported course and its children to entities and saves them.
+     * The course is recorded in the change feed rather than published: the catalog of this node is rebuilt once, in the background, at the end.
+     *
+     * @return the ID of the saved course
+     */
+    private Long persist(CourseImportDTO row) {
+        Course course = courseRepository.save(new Course(row.getTitle(), row.getDescription()));
+        List<Module> modules = new ArrayList<>(row.getModules().size());
+        for (CourseImportDTO.ModuleRow module : row.getModules()) {
+            modules.add(new Module(module.getTitle(), module.getContent(), module.getOrder(), course, null, module.getVideoUrl()));
+        }
+        List<Material> materials = new ArrayList<>(row.getMaterials().size());
+        for (CourseImportDTO.MaterialRow material : row.getMaterials()) {
+            materials.add(new Material(material.getTitle(), material.getDescription(), material.getUrl(), course, material.getType()));
+        }
+        moduleRepository.saveAll(modules);
+        materialRepository.saveAll(materials);
+        catalogChangeFeed.record(course.getId(), CourseChangedEvent.ChangeType.CREATED);
+        return course.getId();
+    }
+
+    /**
+     * Checks the constraints that can be verified without the database.
+     *
+     * @return the problem found, or null if the row is valid
+     */
+    private static String validate(CourseImportDTO course) {
+        if (isBlank(course.getTitle())) {
+            return "Course title is required";
+        }
+        if (isBlank(course.getDescription())) {
+            return "Course description is required";
+        }
+        for (CourseImportDTO.ModuleRow module : course.getModules()) {
+            if (isBlank(module.getTitle())) {
+                return "Module title is required";
+            }
+        }
+        for (CourseImportDTO.MaterialRow material : course.getMaterials()) {
+            if (isBlank(material.getTitle())) {
+                return "Material title is required";
+            }
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static String rootMessage(Throwable ex) {
+        Throwable cause = NestedExceptionUtils.getMostSpecificCause(ex);
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+
+    /**
+     * A course read from the payload, or the reason it could not be read.
+     *
+     * @param course the course read, never null
+     * @param error why the row is invalid, or null if it was read successfully
+     */
+    record ParsedRow(CourseImportDTO course, String error) {
+    }
+
+    private record NumberedRow(long number, CourseImportDTO course) {
+    }
+}
@@ -0,0 +1,228 @@
+package Backend.OpenEducation.Services;
+
+import Backend.OpenEducation.dto.CourseDTO;
+import Backend.OpenEducation.Exception.CourseNotFoundException;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Policy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Loads course details through the "courses" cache so that a hot course costs one load, however many
+ * requests want it at once.
+ * <p>
+ * The cache holds the loads in progress as well as the loaded courses: the first caller missing a course
+ * loads it on its own thread, and concurrent callers wait for that load and share its result, or its
+ * failure. An entry is fresh for a while and then stale until the cache expires it; a stale course is
+ * still served, while a single reload runs in the background. Shortly before an entry turns stale, a
+ * read may also trigger that reload early, with a probability growing as the end of its freshness
+ * nears and with the time a load takes (XFetch), so a hot course is usually reloaded before any caller
+ * sees it stale. Evictions and puts made through the cache manager apply to the same entries, and a
+ * reload never replaces an entry evicted or put while it ran.
+ */
+@Component
+public class CourseLookupCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseLookupCache.class);
+
+    /**
+     * Failure of a load, handed to the callers that waited for it.
+     *
+     * @param error the exception or error thrown by the loader
+     */
+    private record LoadFailure(Throwable error) {
+    }
+
+    private final AsyncCache<Object, Object> courses;
+
+    // Absent if the cache does not expire its entries, which are then always fresh
+    private final Optional<Policy.FixedExpiration<Object, Object>> expiration;
+
+    private final Executor executor;
+
+    private final long freshForNanos;
+
+    private final double earlyRefreshBeta;
+
+    // Moving average of the time a load takes, the scale of the early refresh
+    private final AtomicLong loadNanos = new AtomicLong();
+
+    // Courses being reloaded in the background
+    private final Set<Object> refreshing = ConcurrentHashMap.newKeySet();
+
+    private final Counter earlyRefreshes;
+
+    private final Counter staleRefreshes;
+
+    /**
+     * Constructs a new CourseLookupCache.
+     *
+     * @param cacheManager the cache manager holding the "courses" cache, which must be asynchronous
+     * @param executor the executor reloading stale courses
+     * @param meterRegistry the registry the background reloads are counted in
+     * @param freshFor how long a loaded course is served without being reloaded
+     * @param earlyRefreshBeta how eagerly a course is reloaded before it turns stale, 0 to never do so
+     */
+    @Autowired
+    public CourseLookupCache(CacheManager cacheManager,
+                             @Qualifier("applicationTaskExecutor") Executor executor,
+                             MeterRegistry meterRegistry,
+                             @Value("${openeducation.course-lookup.fresh-for:PT25M}") Duration freshFor,
+                             @Value("${openeducation.course-lookup.early-refresh-beta:1.0}") double earlyRefreshBeta) {
+        this.courses = asyncCache(cacheManager.getCache("courses"));
+        this.expiration = courses.synchronous().policy().expireAfterWrite();
+        this.executor = executor;
+        this.freshForNanos = freshFor.toNanos();
+        this.earlyRefreshBeta = earlyRefreshBeta;
+        this.earlyRefreshes = Counter.builder("openeducation.course-lookup.refreshes")
+                .description("Courses reloaded in the background while served from the cache")
+                .tag("reason", "early")
+                .register(meterRegistry);
+        this.staleRefreshes = Counter.builder("openeducation.course-lookup.refreshes")
+                .description("Courses reloaded in the background while served from the cache")
+                .tag("reason", "stale")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Gets a course from the cache, loading it on a miss, or waiting for the load already in progress.
+     *
+     * @param courseId the ID of the course
+     * @param loader loads the course; called on this thread on a miss, and in the background to reload it
+     * @return the course
+     * @throws CourseNotFoundException if the loader does not find the course
+     */
+    public CourseDTO get(Long courseId, Function<Long, CourseDTO> loader) {
+        // Looked up first to record the hit or miss in the statistics of the cache
+        CompletableFuture<Object> entry = courses.getIfPresent(courseId);
+        if (entry == null) {
+            CompletableFuture<Object> load = new CompletableFuture<>();
+            entry = courses.asMap().putIfAbsent(courseId, load);
+            if (entry == null) {
+                return load(courseId, loader, load);
+            }
+        }
+        if (entry.isDone() && !(entry.getNow(null) instanceof LoadFailure)) {
+            refreshIfStale(courseId, loader, entry);
+        }
+        Object course = entry.join();
+        if (course instanceof LoadFailure failure) {
+            if (failure.error() instanceof Error error) {
+                throw error;
+            }
+            throw (RuntimeException) failure.error();
+        }
+        return (CourseDTO) course;
+    }
+
+    /**
+     * Runs the load this caller registered and completes it for the callers waiting on it.
+     * A failed load is dropped from the cache, so the next caller loads again, and handed to the waiting
+     * callers as a value: Caffeine would log every course not found as a failure.
+     */
+    private CourseDTO load(Long courseId, Function<Long, CourseDTO> loader, CompletableFuture<Object> load) {
+        long start = System.nanoTime();
+        CourseDTO course;
+        try {
+            course = loader.apply(courseId);
+        } catch (RuntimeException | Error e) {
+            courses.asMap().remove(courseId, load);
+            load.complete(new LoadFailure(e));
+            throw e;
+        }
+        recordLoadTime(System.nanoTime() - start);
+        load.complete(course);
+        return course;
+    }
+
+    /**
+     * Starts a background reload of a course once it is stale, or early as it nears being stale.
+     */
+    private void refreshIfStale(Long courseId, Function<Long, CourseDTO> loader, CompletableFuture<Object> entry) {
+        if (expiration.isEmpty()) {
+            return;
+        }
+        long age = expiration.get().ageOf(courseId, TimeUnit.NANOSECONDS).orElse(0L);
+        boolean stale = age >= freshForNanos;
+        if (!stale && !refreshEarly(age)) {
+            return;
+        }
+        if (!refreshing.add(courseId)) {
+            return;
+        }
+        (stale ? staleRefreshes : earlyRefreshes).increment();
+        try {
+            executor.execute(() -> refresh(courseId, loader, entry));
+        } catch (RuntimeException e) {
+            refreshing.remove(courseId);
+            logger.warn("Cannot reload course {} in the background", courseId, e);
+        }
+    }
+
+    /**
+     * Decides whether to reload a fresh course early: the closer it is to stale, and the longer a load
+     * takes, the likelier the reload, so concurrent readers of a hot course rarely all find it stale.
+     */
+    private boolean refreshEarly(long age) {
+        if (earlyRefreshBeta <= 0) {
+            return false;
+        }
+        // 1 - nextDouble() is in (0, 1], so its logarithm is finite
+        double gap = loadNanos.get() * earlyRefreshBeta * -Math.log(1.0 - ThreadLocalRandom.current().nextDouble());
+        return age + gap >= freshForNanos;
+    }
+
+    /**
+     * Reloads a course and replaces the entry it was read from, unless the entry was evicted or replaced
+     * meanwhile, by a change to the course for instance. A course found deleted is evicted.
+     */
+    private void refresh(Long courseId, Function<Long, CourseDTO> loader, CompletableFuture<Object> entry) {
+        try {
+            long start = System.nanoTime();
+            CourseDTO course = loader.apply(courseId);
+            recordLoadTime(System.nanoTime() - start);
+            courses.asMap().replace(courseId, entry, CompletableFuture.completedFuture(course));
+        } catch (CourseNotFoundException e) {
+            courses.asMap().remove(courseId, entry);
+        } catch (RuntimeException e) {
+            logger.warn("Cannot reload course {}, serving it stale until it expires", courseId, e);
+        } finally {
+            refreshing.remove(courseId);
+        }
+    }
+
+    private void recordLoadTime(long nanos) {
+        loadNanos.accumulateAndGet(nanos, (average, sample) -> average == 0 ? sample : average + (sample - average) / 8);
+    }
+
+    private static AsyncCache<Object, Object> asyncCache(Cache cache) {
+        if (cache instanceof TransactionAwareCacheDecorator decorator) {
+            cache = decorator.getTargetCache();
+        }
+        if (!(cache instanceof CaffeineCache caffeineCache)) {
+            throw new IllegalStateException("The \"courses\" cache is not a Caffeine cache: " + cache);
+        }
+        return caffeineCache.getAsyncCache();
+    }
+}
@@ -0,0 +1,164 @@
+package Backend.OpenEducation.Services;
+
+import Backend.OpenEducation.dto.CourseDTO;
+import Backend.OpenEducation.Event.CourseChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache of course details already serialized to JSON, and gzip-compressed when large enough,
+ * so a repeated read of a course costs a copy of its bytes instead of assembling,
+ * serializing and compressing the same DTO again.
+ * <p>
+ * Entries are keyed by course ID and hold the version of the course they were serialized at, which
+ * gives the validators of the response, so a conditional request for a cached course costs no query.
+ * An entry is served until a {@link CourseChangedEvent} for the course drops it, so it is only as
+ * fresh as the events: writes to a course, its modules and its materials through the services publish
+ * one on commit, and changes made on other nodes arrive through the change feed, while a write that
+ * bypasses the services is served stale until the entry is evicted. A course serialized while a
+ * change was being committed is not kept, as it may predate the change. The cache is bounded by the
+ * total size of its payloads, and Caffeine's frequency-based admission keeps the most-read courses.
+ */
+@Component
+public class CourseResponseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseResponseCache.class);
+
+    private final ObjectMapper objectMapper;
+
+    // Payloads shorter than this are not worth compressing
+    private final int minCompressSize;
+
+    private final Cache<Long, Payload> payloads;
+
+    // Bumped on every committed course change, before its payload is dropped
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * A course serialized at one version.
+     *
+     * @param version the version of the course, or null if the DTO carried none
+     * @param lastModified when the course was last changed, or null if unknown
+     * @param subjectId the ID of the subject of the course, or null if it has none
+     * @param json the course serialized to JSON
+     * @param gzip the JSON compressed with gzip, or null if it is too short to be worth compressing
+     */
+    public record Payload(Long version, Instant lastModified, Long subjectId, byte[] json, byte[] gzip) {
+
+        /**
+         * Gets the number of bytes held by the payload.
+         *
+         * @return the size of the JSON and gzip bytes
+         */
+        int size() {
+            return json.length + (gzip == null ? 0 : gzip.length);
+        }
+    }
+
+    /**
+     * Constructs a new CourseResponseCache.
+     *
+     * @param objectMapper the object mapper serializing courses
+     * @param maximumSize the total size of the cached payloads
+     * @param minCompressSize the size from which a payload is also kept gzip-compressed
+     */
+    @Autowired
+    public CourseResponseCache(ObjectMapper objectMapper,
+                               @Value("${openeducation.course-response-cache.maximum-size:64MB}") DataSize maximumSize,
+                               @Value("${openeducation.course-response-cache.min-compress-size:1KB}") DataSize minCompressSize) {
+        this.objectMapper = objectMapper;
+        this.minCompressSize = (int) minCompressSize.toBytes();
+        this.payloads = Caffeine.newBuilder()
+                .maximumWeight(maximumSize.toBytes())
+                .weigher((Long id, Payload payload) -> payload.size())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Gets a serialized course, serializing and caching it on a miss.
+     *
+     * @param courseId the ID of the course
+     * @param loader loads the course on a miss
+     * @return the serialized course
+     */
+    public Payload get(long courseId, Supplier<CourseDTO> loader) {
+        Payload payload = payloads.getIfPresent(courseId);
+        if (payload != null) {
+            return payload;
+        }
+        long seenInvalidations = invalidations.get();
+        payload = serialize(loader.get());
+        if (payload.version() != null) {
+            payloads.put(courseId, payload);
+            // A change committed while the course was loading may be missing from it, and its eviction was missed
+            if (invalidations.get() != seenInvalidations) {
+                payloads.asMap().remove(courseId, payload);
+            }
+        }
+        return payload;
+    }
+
+    /**
+     * Gets the underlying Caffeine cache, for its metrics.
+     *
+     * @return the cache of payloads by course ID
+     */
+    public Cache<Long, Payload> getNativeCache() {
+        return payloads;
+    }
+
+    /**
+     * Drops the cached payload of a course once a change to it is committed.
+     *
+     * @param event the course change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        invalidations.incrementAndGet();
+        payloads.invalidate(event.getCourseId());
+    }
+
+    /**
+     * Serializes a course to JSON, and to gzip if it is large enough.
+     */
+    private Payload serialize(CourseDTO courseDTO) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(courseDTO);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Cannot serialize course " + courseDTO.getId(), e);
+        }
+        byte[] gzip = json.length >= minCompressSize ? gzip(json) : null;
+        logger.debug("Serialized course {} at version {}: {} bytes", courseDTO.getId(), courseDTO.getVersion(), json.length);
+        return new Payload(courseDTO.getVersion(), courseDTO.getLastModified(), courseDTO.getSubjectId(), json, gzip);
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -1,10 +1,12 @@
 package Backend.OpenEducation.Services;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import Backend.OpenEducation.Model.Material;
 import Backend.OpenEducation.Model.Module;
 import Backend.OpenEducation.dto.CourseDTO;
+import Backend.OpenEducation.dto.CoursePage;
 
 /**
  * Service interface for managing courses.
@@ -37,6 +39,26 @@ public interface CourseService {
     List<CourseDTO> getAllCourses();
 
 
+    /**
+     * Retrieves one page of courses ordered by ID, using keyset pagination.
+     *
+     * @param cursor the opaque cursor returned with the previous page, or null for the first page
+     * @param limit the requested page size, or null for the default; capped at the configured maximum
+     * @return the page of courses and the cursor of the next page
+     */
+    CoursePage getCoursePage(String cursor, Integer limit);
+
+
+    /**
+     * Streams all courses ordered by ID to the given consumer as they are read.
+     * Memory use is bounded by the assembler batch size, not by the size of the catalog, and each
+     * batch is read in its own transaction, so none is held open while the consumer runs.
+     *
+     * @param consumer the consumer receiving each course
+     */
+    void streamAllCourses(Consumer<CourseDTO> consumer);
+
+
     /**
      * Updates an existing course.
      *
@@ -1,28 +1,42 @@
 package Backend.OpenEducation.Services;
 
 import Backend.OpenEducation.dto.CourseDTO;
+import Backend.OpenEducation.dto.CoursePage;
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import Backend.OpenEducation.Model.Course;
 import Backend.OpenEducation.Model.Material;
 import Backend.OpenEducation.Model.Module;
+import Backend.OpenEducation.Model.Subject;
 import Backend.OpenEducation.Repository.CourseRepository;
+import Backend.OpenEducation.Repository.SubjectRepository;
 import Backend.OpenEducation.Exception.CourseNotFoundException;
+import Backend.OpenEducation.Exception.SubjectNotFoundException;
+import Backend.OpenEducation.Event.CourseChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 /**
  * Service implementation for managing courses.
  */
 @Service
+@Timed("openeducation.service")
 public class CourseServiceImpl implements CourseService {
 
     private static final Logger logger = LoggerFactory.getLogger(CourseServiceImpl.class);
@@ -35,6 +49,39 @@ public class CourseServiceImpl implements CourseService {
 
     @Autowired
     private ModuleService moduleService;   
+
+    @Autowired
+    private CourseAssembler courseAssembler;
+
+    @Autowired
+    private CourseCatalogSnapshot courseCatalogSnapshot;
+
+    @Autowired
+    private CourseSnapshotStore courseSnapshotStore;
+
+    @Autowired
+    private CourseLookupCache courseLookupCache;
+
+    @Autowired
+    private CourseIdFilter courseIdFilter;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private SubjectRepository subjectRepository;
+
+    @Autowired
+    private SubjectStatsService subjectStatsService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${openeducation.courses.page.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${openeducation.courses.page.max-size:100}")
+    private int maxPageSize;
     
 
     /**
@@ -42,6 +89,7 @@ public class CourseServiceImpl implements CourseService {
      *
      * @param courseDTO the course data transfer object
      * @return the created course as a DTO
+     * @throws SubjectNotFoundException if the subject of the course is not found
      */
     @Override
     @Transactional
@@ -50,38 +98,111 @@ public class CourseServiceImpl implements CourseService {
         Course course = new Course();
         course.setTitle(courseDTO.getName());
         course.setDescription(courseDTO.getDescription());
+        course.setSubject(findSubject(courseDTO.getSubjectId()));
         Course savedCourse = courseRepository.save(course);
+        subjectStatsService.recordCourseAdded(courseDTO.getSubjectId());
+        eventPublisher.publishEvent(new CourseChangedEvent(savedCourse.getId(), CourseChangedEvent.ChangeType.CREATED));
         return convertToDTO(savedCourse);
     }
 
     /**
-     * Retrieves a course by its ID.
+     * Retrieves a course by its ID, through the "courses" cache.
+     * Concurrent misses of the same course wait for a single load, and a stale course is reloaded in the background.
+     * IDs known not to exist are rejected without a lookup.
      *
      * @param id the ID of the course
      * @return the course as a DTO
      * @throws CourseNotFoundException if the course is not found
      */
     @Override
-    @Cacheable(value = "courses", key = "#id")
     public CourseDTO getCourseById(@NotNull Long id) {
+        courseIdFilter.requireMayExist(id);
+        return courseLookupCache.get(id, this::loadCourse);
+    }
+
+    /**
+     * Loads a course missing from the cache.
+     * Right after startup, courses not changed since the previous run are served from the catalog it saved.
+     */
+    private CourseDTO loadCourse(Long id) {
         logger.info("Retrieving course with ID: {}", id);
-        Optional<Course> course = courseRepository.findById(id);
-        return course.map(this::convertToDTO)
-                     .orElseThrow(() -> new CourseNotFoundException("Course not found with ID: " + id));
+        Optional<CourseDTO> restored = courseSnapshotStore.find(id);
+        if (restored.isPresent()) {
+            return restored.get();
+        }
+        Optional<CourseDTO> course = courseRepository.findDTOById(id);
+        return course.map(courseAssembler::assemble)
+                     .orElseThrow(() -> missingCourse(id));
+    }
+
+    /**
+     * Remembers a course the database did not find, so the next lookups of its ID are rejected without a query.
+     */
+    private CourseNotFoundException missingCourse(Long id) {
+        courseIdFilter.recordMissing(id);
+        return new CourseNotFoundException("Course not found with ID: " + id);
     }
 
     /**
      * Retrieves all courses.
+     * Served from the versioned catalog snapshot, which is kept apart from the per-ID "courses" cache.
      *
      * @return a list of all courses as DTOs
      */
     @Override
-    @Cacheable(value = "courses")
     public List<CourseDTO> getAllCourses() {
         logger.info("Retrieving all courses");
-        return courseRepository.findAll().stream()
-                               .map(this::convertToDTO)
-                               .collect(Collectors.toList());
+        return courseCatalogSnapshot.getCourses();
+    }
+
+    /**
+     * Retrieves one page of courses ordered by ID, using keyset pagination.
+     * One extra row is fetched to find out whether a next page exists.
+     *
+     * @param cursor the opaque cursor returned with the previous page, or null for the first page
+     * @param limit the requested page size, or null for the default
+     * @return the page of courses and the cursor of the next page
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CoursePage getCoursePage(String cursor, Integer limit) {
+        long afterId = CourseCursor.decode(cursor);
+        int pageSize = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+        logger.info("Retrieving {} courses after ID: {}", pageSize, afterId);
+        List<CourseDTO> courses = courseRepository.findDTOsAfter(afterId, Limit.of(pageSize + 1));
+        String nextCursor = null;
+        if (courses.size() > pageSize) {
+            courses = courses.subList(0, pageSize);
+            nextCursor = CourseCursor.encode(courses.get(pageSize - 1).getId());
+        }
+        return new CoursePage(courseAssembler.assemble(courses), nextCursor);
+    }
+
+    /**
+     * Streams all courses ordered by ID.
+     * Courses are read with keyset pagination, one batch at a time, each batch read and assembled in its
+     * own short read-only transaction; no transaction or connection is held while the consumer runs,
+     * so a slow consumer does not pin a pooled connection. Only one batch of courses is held in memory.
+     *
+     * @param consumer the consumer receiving each course
+     */
+    @Override
+    public void streamAllCourses(Consumer<CourseDTO> consumer) {
+        logger.info("Streaming all courses");
+        int batchSize = courseAssembler.getBatchSize();
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        long afterId = 0;
+        List<CourseDTO> batch;
+        do {
+            long lastId = afterId;
+            batch = readOnlyTransaction.execute(status ->
+                    courseAssembler.assemble(courseRepository.findDTOsAfter(lastId, Limit.of(batchSize))));
+            batch.forEach(consumer);
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == batchSize);
     }
 
     /**
@@ -91,21 +212,28 @@ public class CourseServiceImpl implements CourseService {
      * @param courseDTO the course data transfer object with updated information
      * @return the updated course as a DTO
      * @throws CourseNotFoundException if the course is not found
+     * @throws SubjectNotFoundException if the new subject of the course is not found
      */
     @Override
     @Transactional
+    @CachePut(value = "courses", key = "#id")
     public CourseDTO updateCourse(@NotNull Long id, @Valid CourseDTO courseDTO) {
         logger.info("Updating course with ID: {}", id);
-        if (courseRepository.existsById(id)) {
-            Course course = new Course();
-            course.setId(id);
-            course.setTitle(courseDTO.getName());
-            course.setDescription(courseDTO.getDescription());
-            Course updatedCourse = courseRepository.save(course);
-            return convertToDTO(updatedCourse);
-        } else {
-            throw new CourseNotFoundException("Course not found with ID: " + id);
+        Course course = courseRepository.findById(id)
+                .orElseThrow(() -> new CourseNotFoundException("Course not found with ID: " + id));
+        Long previousSubjectId = subjectIdOf(course);
+        course.setTitle(courseDTO.getName());
+        course.setDescription(courseDTO.getDescription());
+        course.setSubject(findSubject(courseDTO.getSubjectId()));
+        if (!Objects.equals(previousSubjectId, courseDTO.getSubjectId())) {
+            subjectStatsService.recordCourseMoved(previousSubjectId, courseDTO.getSubjectId());
+            // Before the flush below, which then increments the version once for the course and its materials
+            materialService.updateSubjectOfCourse(id, courseDTO.getSubjectId());
         }
+        // Flushed now so the cached DTO carries the incremented version
+        Course updatedCourse = courseRepository.saveAndFlush(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(id, CourseChangedEvent.ChangeType.UPDATED));
+        return convertToDTO(updatedCourse);
     }
 
     /**
@@ -116,13 +244,14 @@ public class CourseServiceImpl implements CourseService {
      */
     @Override
     @Transactional
+    @CacheEvict(value = "courses", key = "#id")
     public void deleteCourse(@NotNull Long id) {
         logger.info("Deleting course with ID: {}", id);
-        if (courseRepository.existsById(id)) {
-            courseRepository.deleteById(id);
-        } else {
-            throw new CourseNotFoundException("Course not found with ID: " + id);
-        }
+        Course course = courseRepository.findById(id)
+                .orElseThrow(() -> new CourseNotFoundException("Course not found with ID: " + id));
+        courseRepository.delete(course);
+        subjectStatsService.recordCourseRemoved(subjectIdOf(course));
+        eventPublisher.publishEvent(new CourseChangedEvent(id, CourseChangedEvent.ChangeType.DELETED));
     }
 
     /**
@@ -149,6 +278,26 @@ public class CourseServiceImpl implements CourseService {
         return moduleService.findByCourseId(courseId);
     }
 
+
+    /**
+     * Loads the subject a course is assigned to.
+     *
+     * @param subjectId the ID of the subject, or null for a course without subject
+     * @return the subject, or null if no ID was given
+     * @throws SubjectNotFoundException if the subject is not found
+     */
+    private Subject findSubject(Long subjectId) {
+        if (subjectId == null) {
+            return null;
+        }
+        return subjectRepository.findById(subjectId)
+                .orElseThrow(() -> new SubjectNotFoundException("Subject not found with ID: " + subjectId));
+    }
+
+    private static Long subjectIdOf(Course course) {
+        return course.getSubject() == null ? null : course.getSubject().getSubjectId();
+    }
+
     /**
      * Converts a Course entity to a CourseDTO.
      *
@@ -156,12 +305,6 @@ public class CourseServiceImpl implements CourseService {
      * @return the course as a DTO
      */
     private CourseDTO convertToDTO(Course course) {
-        CourseDTO courseDTO = new CourseDTO();
-        courseDTO.setId(course.getId());
-        courseDTO.setName(course.getTitle());
-        courseDTO.setDescription(course.getDescription());
-        courseDTO.setMaterials(materialService.findByCourseId(course.getId()));
-        courseDTO.setModules(moduleService.findByCourseId(course.getId()));
-        return courseDTO;
+        return courseAssembler.toDTO(course);
     }
 }
@@ -0,0 +1,277 @@
+package Backend.OpenEducation.Services;
+
+import Backend.OpenEducation.dto.CourseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+
+/**
+ * Course catalog saved to local disk, so a restarted node can serve courses before its caches are warm.
+ * <p>
+ * The file starts with a fixed header holding a format version, the watermark of the catalog and a
+ * CRC32C checksum of the rest of the file. It is followed by an index of the courses, sorted by ID
+ * and holding the version and last change time of each course, and by the JSON of each course as
+ * sent to clients. The file is memory-mapped read-only: opening it only checks the
+ * checksum, and a course is found by binary search and deserialized on its own.
+ * <p>
+ * Any course changed after the watermark may be missing or out of date in the file.
+ */
+public final class CourseSnapshotFile {
+
+    /**
+     * Version of the file format, bumped whenever the layout or the JSON of the courses changes.
+     */
+    public static final int FORMAT_VERSION = 1;
+
+    // "OECS"
+    private static final int MAGIC = 0x4F454353;
+
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+
+    // Header: magic, format version, watermark seconds and nanos, course count, body size, body checksum
+    private static final int HEADER_SIZE = 40;
+    private static final long HEADER_FORMAT_VERSION = 4;
+    private static final long HEADER_WATERMARK_SECONDS = 8;
+    private static final long HEADER_WATERMARK_NANOS = 16;
+    private static final long HEADER_COURSE_COUNT = 20;
+    private static final long HEADER_BODY_SIZE = 24;
+    private static final long HEADER_CHECKSUM = 32;
+
+    // Index entry: course ID, version, last change seconds and nanos, length and offset of its JSON in the payload
+    private static final int ENTRY_SIZE = 40;
+    private static final long ENTRY_VERSION = 8;
+    private static final long ENTRY_LAST_MODIFIED_SECONDS = 16;
+    private static final long ENTRY_LAST_MODIFIED_NANOS = 24;
+    private static final long ENTRY_LENGTH = 28;
+    private static final long ENTRY_OFFSET = 32;
+
+    // Version of a course read without it, and nanos of a course read without its last change time
+    private static final long NO_VERSION = Long.MIN_VALUE;
+    private static final int NO_LAST_MODIFIED = -1;
+
+    private final Instant watermark;
+
+    private final MemorySegment index;
+
+    private final MemorySegment payload;
+
+    private final int courseCount;
+
+    private final ObjectMapper objectMapper;
+
+    private CourseSnapshotFile(Instant watermark, MemorySegment index, MemorySegment payload, int courseCount,
+                               ObjectMapper objectMapper) {
+        this.watermark = watermark;
+        this.index = index;
+        this.payload = payload;
+        this.courseCount = courseCount;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes a catalog to a file, replacing it atomically: a reader opening the file sees either the
+     * previous catalog or the new one in full.
+     *
+     * @param file the file to write
+     * @param watermark the time from which changes may be missing from the courses
+     * @param courses the courses
+     * @param objectMapper the object mapper serializing the courses
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path file, Instant watermark, Collection<CourseDTO> courses,
+                             ObjectMapper objectMapper) throws IOException {
+        List<CourseDTO> sorted = new ArrayList<>(courses);
+        sorted.sort(Comparator.comparing(CourseDTO::getId));
+        byte[][] json = new byte[sorted.size()][];
+        long payloadSize = 0;
+        for (int i = 0; i < json.length; i++) {
+            json[i] = objectMapper.writeValueAsBytes(sorted.get(i));
+            payloadSize += json[i].length;
+        }
+        long indexSize = (long) json.length * ENTRY_SIZE;
+
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                 Arena arena = Arena.ofConfined()) {
+                MemorySegment segment = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                        HEADER_SIZE + indexSize + payloadSize, arena);
+                MemorySegment body = segment.asSlice(HEADER_SIZE);
+                long offset = 0;
+                for (int i = 0; i < json.length; i++) {
+                    CourseDTO course = sorted.get(i);
+                    long entry = (long) i * ENTRY_SIZE;
+                    body.set(LONG, entry, course.getId());
+                    body.set(LONG, entry + ENTRY_VERSION, course.getVersion() == null ? NO_VERSION : course.getVersion());
+                    Instant lastModified = course.getLastModified();
+                    body.set(LONG, entry + ENTRY_LAST_MODIFIED_SECONDS, lastModified == null ? 0 : lastModified.getEpochSecond());
+                    body.set(INT, entry + ENTRY_LAST_MODIFIED_NANOS, lastModified == null ? NO_LAST_MODIFIED : lastModified.getNano());
+                    body.set(INT, entry + ENTRY_LENGTH, json[i].length);
+                    body.set(LONG, entry + ENTRY_OFFSET, offset);
+                    MemorySegment.copy(json[i], 0, body, ValueLayout.JAVA_BYTE, indexSize + offset, json[i].length);
+                    offset += json[i].length;
+                }
+                segment.set(INT, 0, MAGIC);
+                segment.set(INT, HEADER_FORMAT_VERSION, FORMAT_VERSION);
+                segment.set(LONG, HEADER_WATERMARK_SECONDS, watermark.getEpochSecond());
+                segment.set(INT, HEADER_WATERMARK_NANOS, watermark.getNano());
+                segment.set(INT, HEADER_COURSE_COUNT, json.length);
+                segment.set(LONG, HEADER_BODY_SIZE, body.byteSize());
+                segment.set(INT, HEADER_CHECKSUM, checksum(body));
+                segment.force();
+            }
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Opens and memory-maps a catalog file.
+     * The mapping is released once the returned object is no longer reachable.
+     *
+     * @param file the file to open
+     * @param objectMapper the object mapper deserializing the courses
+     * @return the catalog, or empty if there is no such file
+     * @throws IOException if the file cannot be read, or is corrupt or of another format version
+     */
+    public static Optional<CourseSnapshotFile> open(Path file, ObjectMapper objectMapper) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        MemorySegment segment;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException("Course snapshot " + file + " is truncated");
+            }
+            segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), Arena.ofAuto());
+        }
+        if (segment.get(INT, 0) != MAGIC) {
+            throw new IOException(file + " is not a course snapshot");
+        }
+        int formatVersion = segment.get(INT, HEADER_FORMAT_VERSION);
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IOException("Course snapshot " + file + " has format version " + formatVersion
+                    + ", expected " + FORMAT_VERSION);
+        }
+        MemorySegment body = segment.asSlice(HEADER_SIZE);
+        if (segment.get(LONG, HEADER_BODY_SIZE) != body.byteSize()
+                || segment.get(INT, HEADER_CHECKSUM) != checksum(body)) {
+            throw new IOException("Course snapshot " + file + " is corrupt");
+        }
+        int courseCount = segment.get(INT, HEADER_COURSE_COUNT);
+        long indexSize = (long) courseCount * ENTRY_SIZE;
+        if (courseCount < 0 || indexSize > body.byteSize()) {
+            throw new IOException("Course snapshot " + file + " is corrupt");
+        }
+        Instant watermark = Instant.ofEpochSecond(segment.get(LONG, HEADER_WATERMARK_SECONDS),
+                segment.get(INT, HEADER_WATERMARK_NANOS));
+        return Optional.of(new CourseSnapshotFile(watermark, body.asSlice(0, indexSize), body.asSlice(indexSize),
+                courseCount, objectMapper));
+    }
+
+    /**
+     * Gets the watermark of the catalog: courses changed from then on may be missing or out of date.
+     *
+     * @return the watermark
+     */
+    public Instant getWatermark() {
+        return watermark;
+    }
+
+    /**
+     * Gets the number of courses in the catalog.
+     *
+     * @return the number of courses
+     */
+    public int courseCount() {
+        return courseCount;
+    }
+
+    /**
+     * Finds a course by its ID.
+     *
+     * @param courseId the ID of the course
+     * @return the course as saved, or empty if it is not in the catalog
+     */
+    public Optional<CourseDTO> find(long courseId) {
+        int low = 0;
+        int high = courseCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long id = index.get(LONG, (long) middle * ENTRY_SIZE);
+            if (id < courseId) {
+                low = middle + 1;
+            } else if (id > courseId) {
+                high = middle - 1;
+            } else {
+                return Optional.of(read(middle));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Reads every course of the catalog.
+     *
+     * @return the courses, ordered by ID
+     */
+    public List<CourseDTO> readAll() {
+        List<CourseDTO> courses = new ArrayList<>(courseCount);
+        for (int i = 0; i < courseCount; i++) {
+            courses.add(read(i));
+        }
+        return courses;
+    }
+
+    private CourseDTO read(int position) {
+        long entry = (long) position * ENTRY_SIZE;
+        byte[] json = payload.asSlice(index.get(LONG, entry + ENTRY_OFFSET), index.get(INT, entry + ENTRY_LENGTH))
+                .toArray(ValueLayout.JAVA_BYTE);
+        CourseDTO course;
+        try {
+            course = objectMapper.readValue(json, CourseDTO.class);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read course at position " + position + " of the course snapshot", e);
+        }
+        // Sent as headers rather than in the body, so kept in the index
+        long version = index.get(LONG, entry + ENTRY_VERSION);
+        course.setVersion(version == NO_VERSION ? null : version);
+        int nanos = index.get(INT, entry + ENTRY_LAST_MODIFIED_NANOS);
+        course.setLastModified(nanos == NO_LAST_MODIFIED ? null
+                : Instant.ofEpochSecond(index.get(LONG, entry + ENTRY_LAST_MODIFIED_SECONDS), nanos));
+        return course;
+    }
+
+    private static int checksum(MemorySegment body) {
+        CRC32C crc = new CRC32C();
+        long position = 0;
+        while (position < body.byteSize()) {
+            long length = Math.min(body.byteSize() - position, Integer.MAX_VALUE);
+            ByteBuffer chunk = body.asSlice(position, length).asByteBuffer();
+            crc.update(chunk);
+            position += length;
+        }
+        return (int) crc.getValue();
+    }
+}
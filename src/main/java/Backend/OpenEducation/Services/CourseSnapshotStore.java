@@ -0,0 +1,159 @@
+package Backend.OpenEducation.Services;
+
+import Backend.OpenEducation.dto.CourseDTO;
+import Backend.OpenEducation.Event.CourseChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Keeps the course catalog on local disk across restarts.
+ * <p>
+ * At startup the {@link CourseSnapshotFile} saved by the previous run is memory-mapped, and course
+ * details missing from the "courses" cache are served from it instead of the database. The
+ * {@link CourseCatalogSnapshot} restores the catalog from it as well, then reconciles it with the
+ * database in the background: the courses changed after its watermark are reported here and are no
+ * longer served from the file. The file is rewritten after the reconciliation and every full
+ * rebuild of the catalog, and the one mapped at startup is released at the first full rebuild.
+ */
+@Component
+public class CourseSnapshotStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseSnapshotStore.class);
+
+    private final Path file;
+
+    private final boolean enabled;
+
+    private final ObjectMapper objectMapper;
+
+    private final CacheManager cacheManager;
+
+    private final AtomicReference<CourseSnapshotFile> restored = new AtomicReference<>();
+
+    // Courses changed since the restored file was written, never served from it
+    private final Set<Long> changed = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructs a new CourseSnapshotStore and maps the file saved by the previous run, if it is valid.
+     *
+     * @param file the snapshot file
+     * @param enabled whether the catalog is saved to and restored from the file
+     * @param objectMapper the object mapper serializing the courses
+     * @param cacheManager the cache manager holding the "courses" cache
+     */
+    @Autowired
+    public CourseSnapshotStore(@Value("${openeducation.course-snapshot.file:data/course-snapshot.bin}") Path file,
+                               @Value("${openeducation.course-snapshot.enabled:true}") boolean enabled,
+                               ObjectMapper objectMapper,
+                               CacheManager cacheManager) {
+        this.file = file;
+        this.enabled = enabled;
+        this.objectMapper = objectMapper;
+        this.cacheManager = cacheManager;
+        if (enabled) {
+            try {
+                CourseSnapshotFile.open(file, objectMapper).ifPresent(snapshot -> {
+                    restored.set(snapshot);
+                    logger.info("Restored course snapshot {} with {} courses, watermark {}",
+                            file, snapshot.courseCount(), snapshot.getWatermark());
+                });
+            } catch (IOException e) {
+                logger.warn("Ignoring course snapshot {}, the catalog will be loaded from the database", file, e);
+            }
+        }
+    }
+
+    /**
+     * Gets the file restored at startup, until the catalog is first rebuilt in full.
+     *
+     * @return the restored file, or empty if there is none or it was released
+     */
+    public Optional<CourseSnapshotFile> getRestored() {
+        return Optional.ofNullable(restored.get());
+    }
+
+    /**
+     * Finds a course in the file restored at startup, unless it changed since the file was written.
+     *
+     * @param courseId the ID of the course
+     * @return the course, or empty if it has to be loaded from the database
+     */
+    public Optional<CourseDTO> find(long courseId) {
+        CourseSnapshotFile snapshot = restored.get();
+        if (snapshot == null || changed.contains(courseId)) {
+            return Optional.empty();
+        }
+        return snapshot.find(courseId);
+    }
+
+    /**
+     * Stops serving a course from the restored file, and evicts the copy the "courses" cache may have taken from it.
+     * Called for each course the reconciliation finds changed after the watermark.
+     *
+     * @param courseId the ID of the course
+     */
+    public void invalidate(long courseId) {
+        if (changed.add(courseId)) {
+            Cache courses = cacheManager.getCache("courses");
+            if (courses != null) {
+                courses.evict(courseId);
+            }
+        }
+    }
+
+    /**
+     * Saves the catalog for the next run.
+     * Failures are logged: the next run then reconciles from an older file, or loads from the database.
+     *
+     * @param watermark the time the catalog started loading, or reconciling
+     * @param courses the courses of the catalog
+     */
+    public void save(Instant watermark, Collection<CourseDTO> courses) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            CourseSnapshotFile.write(file, watermark, courses, objectMapper);
+            logger.info("Saved course snapshot {} with {} courses, watermark {}", file, courses.size(), watermark);
+        } catch (IOException e) {
+            logger.warn("Cannot save course snapshot {}", file, e);
+        }
+    }
+
+    /**
+     * Releases the file restored at startup, once the catalog has been rebuilt in full from the database.
+     */
+    public void release() {
+        if (restored.getAndSet(null) != null) {
+            changed.clear();
+            logger.info("Released the course snapshot restored at startup");
+        }
+    }
+
+    /**
+     * Stops serving a course from the restored file once a change to it is committed.
+     *
+     * @param event the course change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        changed.add(event.getCourseId());
+    }
+}
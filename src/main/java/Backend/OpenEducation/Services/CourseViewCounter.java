@@ -0,0 +1,197 @@
+package Backend.OpenEducation.Services;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import Backend.OpenEducation.Repository.CourseViewCountRepository;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Write-behind counter of course detail views.
+ * <p>
+ * Recording a view increments an in-memory {@link LongAdder}, without locking or I/O.
+ * The counts are flushed to the database as one batch of upserts on a schedule and when
+ * the application stops. In between, a checkpoint appends the counts recorded since the
+ * previous checkpoint to a local {@link CourseViewJournal}, which is replayed at startup:
+ * a crash loses at most one checkpoint interval of views. Views flushed to the database
+ * just before a crash that prevented the journal from being emptied are counted twice.
+ */
+@Component
+public class CourseViewCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseViewCounter.class);
+
+    private final CourseViewCountRepository viewCountRepository;
+
+    private final TransactionTemplate transaction;
+
+    // Null when journaling is disabled
+    private final CourseViewJournal journal;
+
+    // Views not yet flushed to the database, per course
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    // Views already appended to the journal since it was last emptied; guarded by writeLock
+    private final Map<Long, Long> journaled = new HashMap<>();
+
+    // Serializes checkpoints and flushes; recording a view never takes it
+    private final Object writeLock = new Object();
+
+    /**
+     * Constructs a new CourseViewCounter.
+     *
+     * @param viewCountRepository the course view count repository
+     * @param transactionManager the transaction manager
+     * @param journalEnabled whether views are journaled between flushes
+     * @param journalPath the path of the journal file
+     * @throws IOException if the journal cannot be opened or replayed
+     */
+    @Autowired
+    public CourseViewCounter(CourseViewCountRepository viewCountRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${openeducation.course-views.journal.enabled:true}") boolean journalEnabled,
+                             @Value("${openeducation.course-views.journal.path:data/course-views.journal}") Path journalPath)
+            throws IOException {
+        this(viewCountRepository, transactionManager, journalEnabled ? new CourseViewJournal(journalPath) : null);
+    }
+
+    /**
+     * Constructs a new CourseViewCounter, replaying the views left in the journal.
+     *
+     * @param viewCountRepository the course view count repository
+     * @param transactionManager the transaction manager
+     * @param journal the journal of unflushed views, or null to disable journaling
+     * @throws IOException if the journal cannot be replayed
+     */
+    public CourseViewCounter(CourseViewCountRepository viewCountRepository,
+                             PlatformTransactionManager transactionManager,
+                             CourseViewJournal journal) throws IOException {
+        this.viewCountRepository = viewCountRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.journal = journal;
+        if (journal != null) {
+            Map<Long, Long> replayed = journal.replay();
+            replayed.forEach((courseId, views) -> counter(courseId).add(views));
+            journaled.putAll(replayed);
+            if (!replayed.isEmpty()) {
+                logger.info("Replayed unflushed views of {} courses from {}", replayed.size(), journal.getPath());
+            }
+        }
+    }
+
+    /**
+     * Records a view of the details of a course.
+     *
+     * @param courseId the ID of the course
+     */
+    public void recordView(long courseId) {
+        counter(courseId).increment();
+    }
+
+    /**
+     * Gets the number of views of a course not yet flushed to the database.
+     *
+     * @param courseId the ID of the course
+     * @return the number of pending views
+     */
+    public long getPendingViews(long courseId) {
+        LongAdder counter = pending.get(courseId);
+        return counter == null ? 0L : counter.sum();
+    }
+
+    /**
+     * Appends the views recorded since the previous checkpoint to the journal.
+     */
+    @Scheduled(fixedDelayString = "${openeducation.course-views.journal.interval:PT1S}")
+    public void checkpoint() {
+        if (journal == null) {
+            return;
+        }
+        synchronized (writeLock) {
+            Map<Long, Long> unjournaled = new HashMap<>();
+            pending.forEach((courseId, counter) -> {
+                long views = counter.sum() - journaled.getOrDefault(courseId, 0L);
+                if (views > 0) {
+                    unjournaled.put(courseId, views);
+                }
+            });
+            try {
+                journal.append(unjournaled);
+            } catch (IOException ex) {
+                logger.warn("Failed to journal views of {} courses, will retry", unjournaled.size(), ex);
+                return;
+            }
+            unjournaled.forEach((courseId, views) -> journaled.merge(courseId, views, Long::sum));
+        }
+    }
+
+    /**
+     * Writes the pending views to the database and empties the journal.
+     * A failed write puts the views back, to be retried by the next flush.
+     */
+    @Scheduled(fixedDelayString = "${openeducation.course-views.flush-interval:PT30S}")
+    public void flush() {
+        synchronized (writeLock) {
+            Map<Long, Long> flushed = new HashMap<>();
+            pending.forEach((courseId, counter) -> {
+                long views = counter.sumThenReset();
+                if (views > 0) {
+                    flushed.put(courseId, views);
+                }
+            });
+            if (flushed.isEmpty()) {
+                return;
+            }
+            try {
+                transaction.executeWithoutResult(status -> viewCountRepository.addViews(flushed));
+            } catch (RuntimeException ex) {
+                flushed.forEach((courseId, views) -> counter(courseId).add(views));
+                logger.warn("Failed to flush views of {} courses, will retry", flushed.size(), ex);
+                return;
+            }
+            logger.debug("Flushed views of {} courses", flushed.size());
+            if (journal != null) {
+                try {
+                    journal.truncate();
+                    journaled.clear();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException("Failed to empty the course view journal " + journal.getPath(), ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the pending views to the database before the application stops.
+     * Views that could not be written stay in the journal, to be replayed at the next start.
+     *
+     * @throws IOException if the journal cannot be closed
+     */
+    @PreDestroy
+    public void close() throws IOException {
+        checkpoint();
+        flush();
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    private LongAdder counter(long courseId) {
+        LongAdder counter = pending.get(courseId);
+        return counter != null ? counter : pending.computeIfAbsent(courseId, id -> new LongAdder());
+    }
+}
@@ -0,0 +1,110 @@
+package Backend.OpenEducation.Services;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Local append-only journal of course views not yet written to the database.
+ * <p>
+ * Each record is a course ID and a number of views, 16 bytes in all. Records are forced
+ * to disk as they are appended, so a crash only loses the views recorded since the last
+ * append. A record torn by a crash is ignored when the journal is replayed.
+ * Not thread-safe: callers serialize access.
+ */
+public class CourseViewJournal implements Closeable {
+
+    private static final int RECORD_SIZE = 2 * Long.BYTES;
+
+    private final Path path;
+
+    private final FileChannel channel;
+
+    /**
+     * Opens the journal, creating the file and its directory if needed.
+     *
+     * @param path the path of the journal file
+     * @throws IOException if the journal cannot be opened
+     */
+    public CourseViewJournal(Path path) throws IOException {
+        this.path = path;
+        Path directory = path.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        // Drops a record torn by a crash, so new records are appended on a record boundary
+        channel.truncate(channel.size() - channel.size() % RECORD_SIZE);
+        channel.position(channel.size());
+    }
+
+    /**
+     * Gets the path of the journal file.
+     *
+     * @return the path of the journal file
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Reads the views recorded in the journal.
+     *
+     * @return the number of views per course ID
+     * @throws IOException if the journal cannot be read
+     */
+    public Map<Long, Long> replay() throws IOException {
+        Map<Long, Long> viewsByCourse = new HashMap<>();
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * 1024);
+        long position = 0;
+        while (channel.read(buffer, position) > 0) {
+            buffer.flip();
+            while (buffer.remaining() >= RECORD_SIZE) {
+                viewsByCourse.merge(buffer.getLong(), buffer.getLong(), Long::sum);
+                position += RECORD_SIZE;
+            }
+            buffer.clear();
+        }
+        return viewsByCourse;
+    }
+
+    /**
+     * Appends views to the journal and forces them to disk.
+     *
+     * @param viewsByCourse the number of views per course ID
+     * @throws IOException if the journal cannot be written
+     */
+    public void append(Map<Long, Long> viewsByCourse) throws IOException {
+        if (viewsByCourse.isEmpty()) {
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(viewsByCourse.size() * RECORD_SIZE);
+        viewsByCourse.forEach((courseId, views) -> buffer.putLong(courseId).putLong(views));
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+
+    /**
+     * Empties the journal, once its views are written to the database.
+     *
+     * @throws IOException if the journal cannot be truncated
+     */
+    public void truncate() throws IOException {
+        channel.truncate(0);
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -3,9 +3,33 @@ package Backend.OpenEducation.Services;
 import java.util.List;
 
 import Backend.OpenEducation.Model.Material;
+import Backend.OpenEducation.Model.MaterialType;
+import Backend.OpenEducation.dto.MaterialPage;
 
 public interface MaterialService {
 
     List<Material> findByCourseId(Long courseId);
 
+    /**
+     * Retrieves one page of the materials of a subject ordered by ID, using keyset pagination.
+     *
+     * @param subjectId the ID of the subject
+     * @param type the type of the materials to return, or null for all types
+     * @param cursor the opaque cursor returned with the previous page, or null for the first page
+     * @param limit the requested page size, or null for the default
+     * @return the page of materials and the cursor of the next page
+     * @throws Backend.OpenEducation.Exception.SubjectNotFoundException if the subject is not found
+     */
+    MaterialPage getMaterialsBySubject(Long subjectId, MaterialType type, String cursor, Integer limit);
+
+    /**
+     * Copies the new subject of a course to its materials, which counts as a change to the course.
+     * Must be called in the transaction that moves the course, before the course is flushed, so its
+     * version is incremented once.
+     *
+     * @param courseId the ID of the course
+     * @param subjectId the ID of the new subject, or null if the course has none
+     */
+    void updateSubjectOfCourse(Long courseId, Long subjectId);
+
 }
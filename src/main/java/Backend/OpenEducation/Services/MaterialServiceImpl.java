@@ -0,0 +1,158 @@
+package Backend.OpenEducation.Services;
+
+import java.util.List;
+
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import Backend.OpenEducation.Event.CourseChangedEvent;
+import Backend.OpenEducation.Exception.SubjectNotFoundException;
+import Backend.OpenEducation.Model.Material;
+import Backend.OpenEducation.Model.MaterialType;
+import Backend.OpenEducation.Repository.CourseRepository;
+import Backend.OpenEducation.Repository.MaterialRepository;
+import Backend.OpenEducation.Repository.SubjectRepository;
+import Backend.OpenEducation.dto.MaterialDTO;
+import Backend.OpenEducation.dto.MaterialPage;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Service implementation for managing materials.
+ */
+@Service
+@Timed("openeducation.service")
+public class MaterialServiceImpl implements MaterialService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MaterialServiceImpl.class);
+
+    private final MaterialRepository materialRepository;
+
+    private final SubjectRepository subjectRepository;
+
+    private final CourseRepository courseRepository;
+
+    private final CacheManager cacheManager;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final int defaultPageSize;
+
+    private final int maxPageSize;
+
+    /**
+     * Constructs a new MaterialServiceImpl.
+     *
+     * @param materialRepository the material repository
+     * @param subjectRepository the subject repository
+     * @param courseRepository the course repository
+     * @param cacheManager the cache manager holding the "courses" cache
+     * @param eventPublisher the publisher of the changes of the courses of changed materials
+     * @param defaultPageSize the page size used when none is requested
+     * @param maxPageSize the largest page size a client may request
+     */
+    @Autowired
+    public MaterialServiceImpl(MaterialRepository materialRepository,
+                               SubjectRepository subjectRepository,
+                               CourseRepository courseRepository,
+                               CacheManager cacheManager,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${openeducation.materials.page.default-size:20}") int defaultPageSize,
+                               @Value("${openeducation.materials.page.max-size:100}") int maxPageSize) {
+        this.materialRepository = materialRepository;
+        this.subjectRepository = subjectRepository;
+        this.courseRepository = courseRepository;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Retrieves the materials of a course.
+     *
+     * @param courseId the ID of the course
+     * @return the materials of the course, in creation order
+     */
+    @Override
+    public List<Material> findByCourseId(@NotNull Long courseId) {
+        logger.info("Retrieving materials for course ID: {}", courseId);
+        return materialRepository.findByCourseId(courseId);
+    }
+
+    /**
+     * Retrieves one page of the materials of a subject ordered by ID, using keyset pagination.
+     * Reads one range of the subject index of the material table, without joining the courses.
+     * One extra row is fetched to find out whether a next page exists, and the subject is only
+     * looked up when the first page is empty, to tell an unknown subject from an empty one.
+     *
+     * @param subjectId the ID of the subject
+     * @param type the type of the materials to return, or null for all types
+     * @param cursor the opaque cursor returned with the previous page, or null for the first page
+     * @param limit the requested page size, or null for the default
+     * @return the page of materials and the cursor of the next page
+     * @throws SubjectNotFoundException if the subject is not found
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public MaterialPage getMaterialsBySubject(@NotNull Long subjectId, MaterialType type, String cursor, Integer limit) {
+        long afterId = CourseCursor.decode(cursor);
+        int pageSize = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+        logger.info("Retrieving {} materials of subject ID: {} after ID: {}", pageSize, subjectId, afterId);
+        List<MaterialDTO> materials = type == null
+                ? materialRepository.findDTOsBySubjectAfter(subjectId, afterId, Limit.of(pageSize + 1))
+                : materialRepository.findDTOsBySubjectAndTypeAfter(subjectId, type, afterId, Limit.of(pageSize + 1));
+        if (materials.isEmpty() && afterId == 0 && !subjectRepository.existsById(subjectId)) {
+            throw new SubjectNotFoundException("Subject not found with ID: " + subjectId);
+        }
+        String nextCursor = null;
+        if (materials.size() > pageSize) {
+            materials = materials.subList(0, pageSize);
+            nextCursor = CourseCursor.encode(materials.get(pageSize - 1).getId());
+        }
+        return new MaterialPage(materials, nextCursor);
+    }
+
+    /**
+     * Copies the new subject of a course to its materials, and counts it as a change to the course.
+     *
+     * @param courseId the ID of the course
+     * @param subjectId the ID of the new subject, or null if the course has none
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void updateSubjectOfCourse(@NotNull Long courseId, Long subjectId) {
+        int updated = materialRepository.updateSubjectIdByCourseId(courseId, subjectId);
+        logger.info("Moved {} materials of course ID: {} to subject ID: {}", updated, courseId, subjectId);
+        if (updated > 0) {
+            markCourseModified(courseId);
+        }
+    }
+
+    /**
+     * Counts a change to the materials of a course as a change to the course: the version of the
+     * course is incremented when the transaction is flushed, and its cached copy is evicted once it commits.
+     *
+     * @param courseId the ID of the course of the changed materials
+     */
+    private void markCourseModified(Long courseId) {
+        // Already loaded by the transaction changing the course, if any
+        courseRepository.findById(courseId).ifPresent(course -> {
+            course.markModified();
+            Cache courses = cacheManager.getCache("courses");
+            if (courses != null) {
+                courses.evict(courseId);
+            }
+            eventPublisher.publishEvent(new CourseChangedEvent(courseId, CourseChangedEvent.ChangeType.UPDATED));
+        });
+    }
+}
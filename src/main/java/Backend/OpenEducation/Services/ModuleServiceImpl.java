@@ -1,9 +1,18 @@
 package Backend.OpenEducation.Services;
 
 import Backend.OpenEducation.dto.ModuleDTO;
+import Backend.OpenEducation.Event.CourseChangedEvent;
+import Backend.OpenEducation.Exception.ModuleNotFoundException;
+import Backend.OpenEducation.Model.Course;
 import Backend.OpenEducation.Model.Module;
 import Backend.OpenEducation.Repository.ModuleRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
@@ -17,15 +26,23 @@ import java.util.stream.Collectors;
  * Service implementation for managing modules.
  */
 @Service
+@Timed("openeducation.service")
 public class ModuleServiceImpl implements ModuleService {
 
     private static final Logger logger = LoggerFactory.getLogger(ModuleServiceImpl.class);
 
     private final ModuleRepository moduleRepository;
 
+    private final CacheManager cacheManager;
+
+    private final ApplicationEventPublisher eventPublisher;
+
     @Autowired
-    public ModuleServiceImpl(ModuleRepository moduleRepository) {
+    public ModuleServiceImpl(ModuleRepository moduleRepository, CacheManager cacheManager,
+                             ApplicationEventPublisher eventPublisher) {
         this.moduleRepository = moduleRepository;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -85,16 +102,13 @@ public class ModuleServiceImpl implements ModuleService {
     @Transactional
     public ModuleDTO updateModule(@NotNull Long id, @Valid ModuleDTO moduleDTO) {
         logger.info("Updating module with ID: {}", id);
-        if (moduleRepository.existsById(id)) {
-            Module module = new Module();
-            module.setId(id);
-            module.setName(moduleDTO.getName());
-            module.setDescription(moduleDTO.getDescription());
-            Module updatedModule = moduleRepository.save(module);
-            return convertToDTO(updatedModule);
-        } else {
-            throw new ModuleNotFoundException("Module not found with ID: " + id);
-        }
+        Module module = moduleRepository.findById(id)
+                .orElseThrow(() -> new ModuleNotFoundException("Module not found with ID: " + id));
+        module.setName(moduleDTO.getName());
+        module.setDescription(moduleDTO.getDescription());
+        Module updatedModule = moduleRepository.save(module);
+        markCourseModified(updatedModule.getCourse());
+        return convertToDTO(updatedModule);
     }
 
     /**
@@ -107,11 +121,28 @@ public class ModuleServiceImpl implements ModuleService {
     @Transactional
     public void deleteModule(@NotNull Long id) {
         logger.info("Deleting module with ID: {}", id);
-        if (moduleRepository.existsById(id)) {
-            moduleRepository.deleteById(id);
-        } else {
-            throw new ModuleNotFoundException("Module not found with ID: " + id);
+        Module module = moduleRepository.findById(id)
+                .orElseThrow(() -> new ModuleNotFoundException("Module not found with ID: " + id));
+        moduleRepository.delete(module);
+        markCourseModified(module.getCourse());
+    }
+
+    /**
+     * Counts a change to a module as a change to its course: the version of the course is
+     * incremented with the module, and its cached copy is evicted once the transaction commits.
+     *
+     * @param course the course of the changed module, or null if it has none
+     */
+    private void markCourseModified(Course course) {
+        if (course == null) {
+            return;
+        }
+        course.markModified();
+        Cache courses = cacheManager.getCache("courses");
+        if (courses != null) {
+            courses.evict(course.getId());
         }
+        eventPublisher.publishEvent(new CourseChangedEvent(course.getId(), CourseChangedEvent.ChangeType.UPDATED));
     }
 
     /**
@@ -121,10 +152,8 @@ public class ModuleServiceImpl implements ModuleService {
      * @return the module as a DTO
      */
     private ModuleDTO convertToDTO(Module module) {
-        ModuleDTO moduleDTO = new ModuleDTO();
-        moduleDTO.setId(module.getId());
-        moduleDTO.setName(module.getName());
-        moduleDTO.setDescription(module.getDescription());
-        return moduleDTO;
+        Long courseId = module.getCourse() == null ? null : module.getCourse().getId();
+        return new ModuleDTO(module.getId(), courseId, module.getName(), module.getDescription(),
+                module.getVideoUrl(), module.getOrder());
     }
 }
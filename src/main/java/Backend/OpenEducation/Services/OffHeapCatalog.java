@@ -0,0 +1,420 @@
+package Backend.OpenEducation.Services;
+
+import Backend.OpenEducation.dto.CatalogRow;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Immutable, off-heap snapshot of the catalog outline: subjects, courses and modules with their
+ * titles, and the order of the modules of each course.
+ * <p>
+ * The whole catalog is laid out in a single {@link MemorySegment}, one fixed-size record per
+ * subject, course and module, sorted so that an ID is found by binary search and the courses of a
+ * subject, or the modules of a course, are a contiguous range. Titles are stored once, as UTF-8
+ * bytes. The catalog therefore costs a handful of heap objects whatever its size, and the garbage
+ * collector never traces it; only the entries returned by lookups are allocated on the heap.
+ * <p>
+ * The memory is owned by an automatic arena: it is released once the catalog is no longer reachable,
+ * so a catalog replaced by a newer one stays valid for the readers still holding it.
+ */
+public final class OffHeapCatalog {
+
+    // Subject record: id, name offset and length, first index and count in the subject-course table
+    private static final long SUBJECT_SIZE = 24;
+    private static final long SUBJECT_NAME_OFFSET = 8;
+    private static final long SUBJECT_NAME_LENGTH = 12;
+    private static final long SUBJECT_FIRST_COURSE = 16;
+    private static final long SUBJECT_COURSE_COUNT = 20;
+
+    // Course record: id, subject ID, title offset and length, first index and count in the module table
+    private static final long COURSE_SIZE = 32;
+    private static final long COURSE_SUBJECT_ID = 8;
+    private static final long COURSE_TITLE_OFFSET = 16;
+    private static final long COURSE_TITLE_LENGTH = 20;
+    private static final long COURSE_FIRST_MODULE = 24;
+    private static final long COURSE_MODULE_COUNT = 28;
+
+    // Module record: id, title offset and length, position, padding
+    private static final long MODULE_SIZE = 24;
+    private static final long MODULE_TITLE_OFFSET = 8;
+    private static final long MODULE_TITLE_LENGTH = 12;
+    private static final long MODULE_POSITION = 16;
+
+    // Subject ID of a course without a subject, and title length of a missing title
+    private static final long NO_SUBJECT = Long.MIN_VALUE;
+    private static final int NO_TITLE = -1;
+
+    private final long version;
+
+    private final MemorySegment segment;
+
+    private final MemorySegment subjects;
+
+    private final MemorySegment courses;
+
+    private final MemorySegment modules;
+
+    // Course indexes, grouped by subject and ordered by course ID within a subject
+    private final MemorySegment subjectCourses;
+
+    private final MemorySegment titles;
+
+    private final int subjectCount;
+
+    private final int courseCount;
+
+    private final int moduleCount;
+
+    /**
+     * A subject of the catalog.
+     *
+     * @param id the ID of the subject
+     * @param name the name of the subject
+     */
+    public record SubjectEntry(long id, String name) {
+    }
+
+    /**
+     * A course of the catalog.
+     *
+     * @param id the ID of the course
+     * @param subjectId the ID of the subject of the course, or null if it has none
+     * @param title the title of the course
+     */
+    public record CourseEntry(long id, Long subjectId, String title) {
+    }
+
+    /**
+     * A module of a course of the catalog.
+     *
+     * @param id the ID of the module
+     * @param title the title of the module
+     * @param position the position of the module within its course
+     */
+    public record ModuleEntry(long id, String title, int position) {
+    }
+
+    private OffHeapCatalog(long version, MemorySegment segment, int subjectCount, int courseCount,
+                           int moduleCount, int subjectCourseCount) {
+        this.version = version;
+        this.segment = segment;
+        this.subjectCount = subjectCount;
+        this.courseCount = courseCount;
+        this.moduleCount = moduleCount;
+        long offset = 0;
+        this.subjects = segment.asSlice(offset, subjectCount * SUBJECT_SIZE);
+        offset += subjects.byteSize();
+        this.courses = segment.asSlice(offset, courseCount * COURSE_SIZE);
+        offset += courses.byteSize();
+        this.modules = segment.asSlice(offset, moduleCount * MODULE_SIZE);
+        offset += modules.byteSize();
+        this.subjectCourses = segment.asSlice(offset, (long) subjectCourseCount * Integer.BYTES);
+        offset = align(offset + subjectCourses.byteSize());
+        this.titles = segment.asSlice(offset);
+    }
+
+    /**
+     * Builds a catalog from its rows. Courses of a subject missing from the subjects are kept,
+     * but are not listed under any subject; modules of a course missing from the courses are dropped.
+     *
+     * @param version the version of the catalog
+     * @param subjectRows the subjects
+     * @param courseRows the courses, with the ID of their subject as parent
+     * @param moduleRows the modules, with the ID of their course as parent
+     * @return the catalog
+     */
+    public static OffHeapCatalog build(long version, List<CatalogRow> subjectRows,
+                                       List<CatalogRow> courseRows, List<CatalogRow> moduleRows) {
+        List<CatalogRow> sortedSubjects = new ArrayList<>(subjectRows);
+        sortedSubjects.sort(Comparator.comparingLong(CatalogRow::getId));
+        List<CatalogRow> sortedCourses = new ArrayList<>(courseRows);
+        sortedCourses.sort(Comparator.comparingLong(CatalogRow::getId));
+        long[] subjectIds = sortedSubjects.stream().mapToLong(CatalogRow::getId).toArray();
+        long[] courseIds = sortedCourses.stream().mapToLong(CatalogRow::getId).toArray();
+
+        // Modules grouped by the index of their course, then in their order within the course
+        List<PlacedModule> sortedModules = new ArrayList<>(moduleRows.size());
+        for (CatalogRow module : moduleRows) {
+            int courseIndex = module.getParentId() == null ? -1 : Arrays.binarySearch(courseIds, module.getParentId());
+            if (courseIndex >= 0) {
+                sortedModules.add(new PlacedModule(courseIndex, module));
+            }
+        }
+        sortedModules.sort(Comparator.comparingInt(PlacedModule::courseIndex)
+                .thenComparingInt(placed -> placed.row().getPosition())
+                .thenComparingLong(placed -> placed.row().getId()));
+
+        // Course indexes grouped by subject; the sort is stable, so courses stay ordered by ID
+        List<Integer> coursesBySubject = new ArrayList<>();
+        for (int index = 0; index < courseIds.length; index++) {
+            Long subjectId = sortedCourses.get(index).getParentId();
+            if (subjectId != null && Arrays.binarySearch(subjectIds, subjectId) >= 0) {
+                coursesBySubject.add(index);
+            }
+        }
+        coursesBySubject.sort(Comparator.comparingLong(index -> sortedCourses.get(index).getParentId()));
+
+        byte[][] subjectTitles = encode(sortedSubjects.stream().map(CatalogRow::getTitle).toList());
+        byte[][] courseTitles = encode(sortedCourses.stream().map(CatalogRow::getTitle).toList());
+        byte[][] moduleTitles = encode(sortedModules.stream().map(placed -> placed.row().getTitle()).toList());
+        long titleSize = size(subjectTitles) + size(courseTitles) + size(moduleTitles);
+        if (titleSize > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Catalog titles exceed 2 GB: " + titleSize + " bytes");
+        }
+        long tableSize = sortedSubjects.size() * SUBJECT_SIZE + sortedCourses.size() * COURSE_SIZE
+                + sortedModules.size() * MODULE_SIZE + (long) coursesBySubject.size() * Integer.BYTES;
+        MemorySegment segment = Arena.ofAuto().allocate(align(tableSize) + titleSize, Long.BYTES);
+        OffHeapCatalog catalog = new OffHeapCatalog(version, segment, sortedSubjects.size(), sortedCourses.size(),
+                sortedModules.size(), coursesBySubject.size());
+
+        int titleOffset = 0;
+        int subjectCourse = 0;
+        for (int index = 0; index < subjectIds.length; index++) {
+            int first = subjectCourse;
+            while (subjectCourse < coursesBySubject.size()
+                    && sortedCourses.get(coursesBySubject.get(subjectCourse)).getParentId() == subjectIds[index]) {
+                catalog.subjectCourses.setAtIndex(ValueLayout.JAVA_INT, subjectCourse, coursesBySubject.get(subjectCourse));
+                subjectCourse++;
+            }
+            long base = index * SUBJECT_SIZE;
+            catalog.subjects.set(ValueLayout.JAVA_LONG, base, subjectIds[index]);
+            titleOffset = catalog.writeTitle(subjectTitles[index], titleOffset,
+                    catalog.subjects, base + SUBJECT_NAME_OFFSET, base + SUBJECT_NAME_LENGTH);
+            catalog.subjects.set(ValueLayout.JAVA_INT, base + SUBJECT_FIRST_COURSE, first);
+            catalog.subjects.set(ValueLayout.JAVA_INT, base + SUBJECT_COURSE_COUNT, subjectCourse - first);
+        }
+
+        int module = 0;
+        for (int index = 0; index < courseIds.length; index++) {
+            int first = module;
+            while (module < sortedModules.size() && sortedModules.get(module).courseIndex() == index) {
+                CatalogRow row = sortedModules.get(module).row();
+                long base = module * MODULE_SIZE;
+                catalog.modules.set(ValueLayout.JAVA_LONG, base, row.getId());
+                titleOffset = catalog.writeTitle(moduleTitles[module], titleOffset,
+                        catalog.modules, base + MODULE_TITLE_OFFSET, base + MODULE_TITLE_LENGTH);
+                catalog.modules.set(ValueLayout.JAVA_INT, base + MODULE_POSITION, row.getPosition());
+                module++;
+            }
+            Long subjectId = sortedCourses.get(index).getParentId();
+            long base = index * COURSE_SIZE;
+            catalog.courses.set(ValueLayout.JAVA_LONG, base, courseIds[index]);
+            catalog.courses.set(ValueLayout.JAVA_LONG, base + COURSE_SUBJECT_ID, subjectId == null ? NO_SUBJECT : subjectId);
+            titleOffset = catalog.writeTitle(courseTitles[index], titleOffset,
+                    catalog.courses, base + COURSE_TITLE_OFFSET, base + COURSE_TITLE_LENGTH);
+            catalog.courses.set(ValueLayout.JAVA_INT, base + COURSE_FIRST_MODULE, first);
+            catalog.courses.set(ValueLayout.JAVA_INT, base + COURSE_MODULE_COUNT, module - first);
+        }
+        return catalog;
+    }
+
+    /**
+     * Gets the version of the catalog.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the size of the off-heap memory holding the catalog.
+     *
+     * @return the size in bytes
+     */
+    public long byteSize() {
+        return segment.byteSize();
+    }
+
+    /**
+     * Gets the number of subjects.
+     *
+     * @return the number of subjects
+     */
+    public int subjectCount() {
+        return subjectCount;
+    }
+
+    /**
+     * Gets the number of courses.
+     *
+     * @return the number of courses
+     */
+    public int courseCount() {
+        return courseCount;
+    }
+
+    /**
+     * Gets the number of modules.
+     *
+     * @return the number of modules
+     */
+    public int moduleCount() {
+        return moduleCount;
+    }
+
+    /**
+     * Finds a subject by ID.
+     *
+     * @param subjectId the ID of the subject
+     * @return the subject, if it is in the catalog
+     */
+    public Optional<SubjectEntry> findSubject(long subjectId) {
+        int index = search(subjects, SUBJECT_SIZE, subjectCount, subjectId);
+        if (index < 0) {
+            return Optional.empty();
+        }
+        long base = index * SUBJECT_SIZE;
+        return Optional.of(new SubjectEntry(subjectId, title(subjects, base + SUBJECT_NAME_OFFSET, base + SUBJECT_NAME_LENGTH)));
+    }
+
+    /**
+     * Finds a course by ID.
+     *
+     * @param courseId the ID of the course
+     * @return the course, if it is in the catalog
+     */
+    public Optional<CourseEntry> findCourse(long courseId) {
+        int index = search(courses, COURSE_SIZE, courseCount, courseId);
+        return index < 0 ? Optional.empty() : Optional.of(courseAt(index));
+    }
+
+    /**
+     * Gets the courses of a subject, ordered by ID.
+     *
+     * @param subjectId the ID of the subject
+     * @return the courses of the subject, empty if the subject is not in the catalog
+     */
+    public List<CourseEntry> coursesOfSubject(long subjectId) {
+        int index = search(subjects, SUBJECT_SIZE, subjectCount, subjectId);
+        if (index < 0) {
+            return List.of();
+        }
+        long base = index * SUBJECT_SIZE;
+        int first = subjects.get(ValueLayout.JAVA_INT, base + SUBJECT_FIRST_COURSE);
+        int count = subjects.get(ValueLayout.JAVA_INT, base + SUBJECT_COURSE_COUNT);
+        List<CourseEntry> entries = new ArrayList<>(count);
+        for (int i = first; i < first + count; i++) {
+            entries.add(courseAt(subjectCourses.getAtIndex(ValueLayout.JAVA_INT, i)));
+        }
+        return entries;
+    }
+
+    /**
+     * Gets the modules of a course, in their order within the course.
+     *
+     * @param courseId the ID of the course
+     * @return the modules of the course, empty if the course is not in the catalog
+     */
+    public List<ModuleEntry> modulesOfCourse(long courseId) {
+        int index = search(courses, COURSE_SIZE, courseCount, courseId);
+        if (index < 0) {
+            return List.of();
+        }
+        long courseBase = index * COURSE_SIZE;
+        int first = courses.get(ValueLayout.JAVA_INT, courseBase + COURSE_FIRST_MODULE);
+        int count = courses.get(ValueLayout.JAVA_INT, courseBase + COURSE_MODULE_COUNT);
+        List<ModuleEntry> entries = new ArrayList<>(count);
+        for (int i = first; i < first + count; i++) {
+            long base = i * MODULE_SIZE;
+            entries.add(new ModuleEntry(modules.get(ValueLayout.JAVA_LONG, base),
+                    title(modules, base + MODULE_TITLE_OFFSET, base + MODULE_TITLE_LENGTH),
+                    modules.get(ValueLayout.JAVA_INT, base + MODULE_POSITION)));
+        }
+        return entries;
+    }
+
+    private CourseEntry courseAt(int index) {
+        long base = index * COURSE_SIZE;
+        long subjectId = courses.get(ValueLayout.JAVA_LONG, base + COURSE_SUBJECT_ID);
+        return new CourseEntry(courses.get(ValueLayout.JAVA_LONG, base),
+                subjectId == NO_SUBJECT ? null : subjectId,
+                title(courses, base + COURSE_TITLE_OFFSET, base + COURSE_TITLE_LENGTH));
+    }
+
+    /**
+     * Decodes the title referenced by the offset and length fields of a record.
+     */
+    private String title(MemorySegment table, long offsetField, long lengthField) {
+        int length = table.get(ValueLayout.JAVA_INT, lengthField);
+        if (length == NO_TITLE) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        MemorySegment.copy(titles, ValueLayout.JAVA_BYTE, table.get(ValueLayout.JAVA_INT, offsetField), bytes, 0, length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Finds the index of the record with the given ID in a table sorted by ID.
+     *
+     * @return the index of the record, or -1 if there is none
+     */
+    private static int search(MemorySegment table, long recordSize, int count, long id) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midId = table.get(ValueLayout.JAVA_LONG, mid * recordSize);
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private static long align(long size) {
+        return (size + Long.BYTES - 1) & -Long.BYTES;
+    }
+
+    /**
+     * Appends a title to the title area and sets the offset and length fields of its record.
+     *
+     * @return the offset of the next title
+     */
+    private int writeTitle(byte[] title, int offset, MemorySegment table, long offsetField, long lengthField) {
+        table.set(ValueLayout.JAVA_INT, offsetField, offset);
+        if (title == null) {
+            table.set(ValueLayout.JAVA_INT, lengthField, NO_TITLE);
+            return offset;
+        }
+        MemorySegment.copy(title, 0, titles, ValueLayout.JAVA_BYTE, offset, title.length);
+        table.set(ValueLayout.JAVA_INT, lengthField, title.length);
+        return offset + title.length;
+    }
+
+    private static byte[][] encode(List<String> titles) {
+        byte[][] encoded = new byte[titles.size()][];
+        for (int i = 0; i < encoded.length; i++) {
+            String title = titles.get(i);
+            encoded[i] = title == null ? null : title.getBytes(StandardCharsets.UTF_8);
+        }
+        return encoded;
+    }
+
+    private static long size(byte[][] titles) {
+        long size = 0;
+        for (byte[] title : titles) {
+            size += title == null ? 0 : title.length;
+        }
+        return size;
+    }
+
+    /**
+     * A module row with the index of its course, while the catalog is being built.
+     */
+    private record PlacedModule(int courseIndex, CatalogRow row) {
+    }
+}
@@ -0,0 +1,174 @@
+package Backend.OpenEducation.Services;
+
+import Backend.OpenEducation.dto.CatalogRow;
+import Backend.OpenEducation.Event.CourseChangedEvent;
+import Backend.OpenEducation.Repository.CourseRepository;
+import Backend.OpenEducation.Repository.ModuleRepository;
+import Backend.OpenEducation.Repository.SubjectRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Holds the current {@link OffHeapCatalog} and replaces it when the catalog changes.
+ * <p>
+ * The catalog is first built by {@link CatalogWarmup} once the application is ready. A committed course change, including a change
+ * to one of its modules, marks the catalog as stale, and the next refresh rebuilds it from three
+ * narrow queries and swaps the new copy in atomically; readers keep using the copy they hold until
+ * they are done with it. Subject changes publish no event, and are picked up by the periodic rebuild.
+ * A bulk import, which publishes no event either, marks the catalog stale once done.
+ * <p>
+ * Only the outline endpoints read this catalog, which answered them from the database before. The
+ * course list and course details are still served from the full course DTOs held on the heap
+ * by {@link CourseCatalogSnapshot} and the "courses" cache, so this copy adds to the heap footprint
+ * of the catalog rather than replacing part of it.
+ */
+@Component
+public class OffHeapCatalogStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(OffHeapCatalogStore.class);
+
+    private final SubjectRepository subjectRepository;
+
+    private final CourseRepository courseRepository;
+
+    private final ModuleRepository moduleRepository;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final AtomicReference<OffHeapCatalog> current = new AtomicReference<>();
+
+    private final AtomicBoolean stale = new AtomicBoolean();
+
+    // Serializes rebuilds, so versions are published in order
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    /**
+     * Constructs a new OffHeapCatalogStore.
+     *
+     * @param subjectRepository the subject repository
+     * @param courseRepository the course repository
+     * @param moduleRepository the module repository
+     * @param transactionManager the transaction manager
+     * @param meterRegistry the registry the size of the catalog is published to
+     */
+    @Autowired
+    public OffHeapCatalogStore(SubjectRepository subjectRepository,
+                               CourseRepository courseRepository,
+                               ModuleRepository moduleRepository,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry) {
+        this.subjectRepository = subjectRepository;
+        this.courseRepository = courseRepository;
+        this.moduleRepository = moduleRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Gauge.builder("openeducation.catalog.off-heap.size", current, ref -> ref.get() == null ? 0 : ref.get().byteSize())
+                .description("Off-heap memory held by the current catalog")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Gets the current catalog. Callers arriving before the first build has finished wait for a
+     * single build, made by the first of them unless the warm-up is already running it.
+     *
+     * @return the current catalog
+     */
+    public OffHeapCatalog getCatalog() {
+        OffHeapCatalog catalog = current.get();
+        if (catalog != null) {
+            return catalog;
+        }
+        rebuildLock.lock();
+        try {
+            // Built by the caller or the warm-up that held the lock before
+            catalog = current.get();
+            if (catalog == null) {
+                catalog = build();
+            }
+            return catalog;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the catalog from the database and swaps it in.
+     * Scheduled hourly for subject changes, which publish no event, and for courses renamed by a bulk update.
+     */
+    @Scheduled(initialDelayString = "${openeducation.catalog.rebuild-interval:PT1H}",
+            fixedDelayString = "${openeducation.catalog.rebuild-interval:PT1H}")
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            build();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Marks the catalog as stale, so that the next refresh rebuilds it.
+     * For changes that publish no course event, such as a bulk import.
+     */
+    public void markStale() {
+        stale.set(true);
+    }
+
+    /**
+     * Builds the next version of the catalog and swaps it in. Must hold the rebuild lock.
+     */
+    private OffHeapCatalog build() {
+        // Changes committed from now on are not guaranteed to be in the rows loaded below
+        stale.set(false);
+        OffHeapCatalog previous = current.get();
+        long version = previous == null ? 1L : previous.getVersion() + 1;
+        OffHeapCatalog catalog = readOnlyTransaction.execute(status -> {
+            List<CatalogRow> subjects = subjectRepository.findCatalogRows();
+            List<CatalogRow> courses = courseRepository.findCatalogRows();
+            List<CatalogRow> modules = moduleRepository.findCatalogRows();
+            return OffHeapCatalog.build(version, subjects, courses, modules);
+        });
+        current.set(catalog);
+        logger.info("Rebuilt off-heap catalog version {}: {} subjects, {} courses, {} modules in {} bytes",
+                version, catalog.subjectCount(), catalog.courseCount(), catalog.moduleCount(), catalog.byteSize());
+        return catalog;
+    }
+
+    /**
+     * Rebuilds the catalog if a change was committed since the last build.
+     */
+    @Scheduled(fixedDelayString = "${openeducation.catalog.refresh-interval:PT5S}")
+    public void refreshIfStale() {
+        if (stale.get() && current.get() != null) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Marks the catalog as stale once a course change is committed.
+     * Changes come a few at a time and a rebuild reads the whole catalog, so they are batched until the next refresh.
+     *
+     * @param event the course change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        markStale();
+    }
+}
@@ -0,0 +1,33 @@
+package Backend.OpenEducation.Services;
+
+import java.util.List;
+
+import Backend.OpenEducation.dto.PopularSubjectDTO;
+
+/**
+ * Service interface for recording views and enrollments and ranking subjects by popularity.
+ */
+public interface PopularityService {
+
+    /**
+     * Records a view of a subject, or of one of its courses.
+     *
+     * @param subjectId the ID of the subject, or null if the viewed course has none
+     */
+    void recordView(Long subjectId);
+
+    /**
+     * Records an enrollment in a course of a subject.
+     *
+     * @param subjectId the ID of the subject, or null if the course has none
+     */
+    void recordEnrollment(Long subjectId);
+
+    /**
+     * Retrieves the most popular subjects, recent activity weighing more than older activity.
+     *
+     * @param limit the maximum number of subjects, or null for the default
+     * @return the subjects, most popular first
+     */
+    List<PopularSubjectDTO> findPopularSubjects(Integer limit);
+}
@@ -0,0 +1,246 @@
+package Backend.OpenEducation.Services;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import Backend.OpenEducation.Repository.SubjectPopularityRepository;
+import Backend.OpenEducation.Repository.SubjectPopularityRepositoryCustom.PopularityDelta;
+import Backend.OpenEducation.dto.PopularSubjectDTO;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Service implementation for subject popularity.
+ * <p>
+ * Views and enrollments are counted in memory, in one pair of {@link LongAdder}s per subject,
+ * so recording an event never contends on a lock or touches the database. The counts are
+ * flushed periodically as one batch of upserts, after which the top subjects are reloaded
+ * into an immutable in-memory ranking. Reading the ranking is a list copy.
+ * <p>
+ * Scores decay exponentially with the configured half-life, using forward decay relative to
+ * a fixed epoch: changing the half-life makes the stored scores incomparable with new ones.
+ */
+@Service
+@Timed("openeducation.service")
+public class PopularityServiceImpl implements PopularityService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PopularityServiceImpl.class);
+
+    // Landmark of the forward decay; stored scores are relative to it and it must never change
+    static final Instant EPOCH = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final SubjectPopularityRepository popularityRepository;
+
+    private final TransactionTemplate transaction;
+
+    private final Clock clock;
+
+    // Decay rate per second, ln(2) / half-life
+    private final double decayRate;
+
+    private final long viewWeight;
+
+    private final long enrollmentWeight;
+
+    private final int topK;
+
+    private final int defaultLimit;
+
+    // Events recorded since the last flush, per subject
+    private final Map<Long, Counters> pending = new ConcurrentHashMap<>();
+
+    private volatile List<PopularSubjectDTO> ranking;
+
+    /**
+     * Constructs a new PopularityServiceImpl.
+     *
+     * @param popularityRepository the subject popularity repository
+     * @param transactionManager the transaction manager
+     * @param halfLife the time after which an event weighs half as much
+     * @param viewWeight the weight of a view
+     * @param enrollmentWeight the weight of an enrollment
+     * @param topK the number of subjects kept in the in-memory ranking
+     * @param defaultLimit the number of subjects returned when no limit is given
+     */
+    @Autowired
+    public PopularityServiceImpl(SubjectPopularityRepository popularityRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${openeducation.popularity.half-life:P7D}") Duration halfLife,
+                                 @Value("${openeducation.popularity.view-weight:1}") long viewWeight,
+                                 @Value("${openeducation.popularity.enrollment-weight:5}") long enrollmentWeight,
+                                 @Value("${openeducation.popularity.top-k:100}") int topK,
+                                 @Value("${openeducation.popularity.default-limit:10}") int defaultLimit) {
+        this(popularityRepository, transactionManager, Clock.systemUTC(), halfLife, viewWeight, enrollmentWeight, topK, defaultLimit);
+    }
+
+    /**
+     * Constructs a new PopularityServiceImpl reading the time from the given clock.
+     *
+     * @param popularityRepository the subject popularity repository
+     * @param transactionManager the transaction manager
+     * @param clock the clock events are timed with
+     * @param halfLife the time after which an event weighs half as much
+     * @param viewWeight the weight of a view
+     * @param enrollmentWeight the weight of an enrollment
+     * @param topK the number of subjects kept in the in-memory ranking
+     * @param defaultLimit the number of subjects returned when no limit is given
+     */
+    public PopularityServiceImpl(SubjectPopularityRepository popularityRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 Clock clock,
+                                 Duration halfLife,
+                                 long viewWeight,
+                                 long enrollmentWeight,
+                                 int topK,
+                                 int defaultLimit) {
+        if (halfLife.isNegative() || halfLife.isZero()) {
+            throw new IllegalArgumentException("Half-life must be positive: " + halfLife);
+        }
+        if (viewWeight <= 0 || enrollmentWeight <= 0 || topK <= 0 || defaultLimit <= 0) {
+            throw new IllegalArgumentException("Popularity weights and limits must be positive");
+        }
+        this.popularityRepository = popularityRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.decayRate = Math.log(2) / (halfLife.toMillis() / 1000.0);
+        this.viewWeight = viewWeight;
+        this.enrollmentWeight = enrollmentWeight;
+        this.topK = topK;
+        this.defaultLimit = defaultLimit;
+    }
+
+    /**
+     * Records a view of a subject, or of one of its courses.
+     *
+     * @param subjectId the ID of the subject, or null if the viewed course has none
+     */
+    @Override
+    public void recordView(Long subjectId) {
+        if (subjectId != null) {
+            counters(subjectId).views.increment();
+        }
+    }
+
+    /**
+     * Records an enrollment in a course of a subject.
+     *
+     * @param subjectId the ID of the subject, or null if the course has none
+     */
+    @Override
+    public void recordEnrollment(Long subjectId) {
+        if (subjectId != null) {
+            counters(subjectId).enrollments.increment();
+        }
+    }
+
+    /**
+     * Retrieves the most popular subjects from the in-memory ranking.
+     * Only the very first call before the ranking has been loaded reads the database.
+     *
+     * @param limit the maximum number of subjects, or null for the default
+     * @return the subjects, most popular first
+     */
+    @Override
+    public List<PopularSubjectDTO> findPopularSubjects(Integer limit) {
+        List<PopularSubjectDTO> current = ranking;
+        if (current == null) {
+            refreshRanking();
+            current = ranking;
+        }
+        int size = limit == null ? defaultLimit : Math.max(1, limit);
+        return current.subList(0, Math.min(size, current.size()));
+    }
+
+    /**
+     * Writes the events recorded since the last flush and reloads the ranking.
+     * A failed write puts the events back, to be retried by the next flush.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${openeducation.popularity.flush-interval:PT10S}")
+    public void flush() {
+        writePending();
+        refreshRanking();
+    }
+
+    /**
+     * Writes the events recorded since the last flush before the application stops.
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        writePending();
+    }
+
+    private void writePending() {
+        double scoreLogOffset = decayRate * secondsSinceEpoch();
+        List<PopularityDelta> deltas = new ArrayList<>();
+        pending.forEach((subjectId, counters) -> {
+            long views = counters.views.sumThenReset();
+            long enrollments = counters.enrollments.sumThenReset();
+            if (views == 0 && enrollments == 0) {
+                return;
+            }
+            double weight = (double) views * viewWeight + (double) enrollments * enrollmentWeight;
+            deltas.add(new PopularityDelta(subjectId, views, enrollments, Math.log(weight) + scoreLogOffset));
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            transaction.executeWithoutResult(status -> popularityRepository.addDeltas(deltas));
+            logger.debug("Flushed popularity of {} subjects", deltas.size());
+        } catch (RuntimeException ex) {
+            for (PopularityDelta delta : deltas) {
+                Counters counters = counters(delta.subjectId());
+                counters.views.add(delta.views());
+                counters.enrollments.add(delta.enrollments());
+            }
+            logger.warn("Failed to flush popularity of {} subjects, will retry", deltas.size(), ex);
+        }
+    }
+
+    private void refreshRanking() {
+        double scoreLogOffset = decayRate * secondsSinceEpoch();
+        List<PopularSubjectDTO> top = popularityRepository.findTop(Limit.of(topK));
+        List<PopularSubjectDTO> decayed = new ArrayList<>(top.size());
+        for (PopularSubjectDTO subject : top) {
+            decayed.add(new PopularSubjectDTO(subject.getSubjectId(), subject.getSubjectName(),
+                    subject.getViewCount(), subject.getEnrollmentCount(),
+                    Math.exp(subject.getScore() - scoreLogOffset)));
+        }
+        ranking = List.copyOf(decayed);
+    }
+
+    private double secondsSinceEpoch() {
+        return Duration.between(EPOCH, clock.instant()).toMillis() / 1000.0;
+    }
+
+    private Counters counters(long subjectId) {
+        Counters counters = pending.get(subjectId);
+        return counters != null ? counters : pending.computeIfAbsent(subjectId, id -> new Counters());
+    }
+
+    /**
+     * Striped counters of the events of one subject.
+     */
+    private static final class Counters {
+
+        private final LongAdder views = new LongAdder();
+
+        private final LongAdder enrollments = new LongAdder();
+    }
+}
@@ -0,0 +1,233 @@
+package Backend.OpenEducation.Services;
+
+import Backend.OpenEducation.dto.SearchHitDTO;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over courses, modules and subjects, ranked with BM25.
+ * <p>
+ * Every document has a title and a body; title terms are counted twice so that title
+ * matches rank above body matches. The last query term also matches as a prefix,
+ * which keeps the old "containing" behaviour for partially typed words.
+ * The index is safe for concurrent use: searches share a read lock, updates take the write lock.
+ */
+class SearchIndex {
+
+    // BM25 term-frequency saturation and length normalization parameters
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final int TITLE_BOOST = 2;
+
+    // Shortest last query term that is also expanded as a prefix
+    private static final int MIN_PREFIX_LENGTH = 2;
+
+    private final NavigableMap<String, Map<DocumentKey, Integer>> postings = new TreeMap<>();
+
+    private final Map<DocumentKey, IndexedDocument> documents = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long totalLength;
+
+    /**
+     * Adds a document to the index, replacing any previous version of it.
+     *
+     * @param type the kind of entity
+     * @param id the ID of the entity
+     * @param title the title (or name) of the entity
+     * @param body the description or content of the entity, may be null
+     */
+    void put(SearchHitDTO.Type type, long id, String title, String body) {
+        DocumentKey key = new DocumentKey(type, id);
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        for (String term : tokenize(title)) {
+            termFrequencies.merge(term, TITLE_BOOST, Integer::sum);
+        }
+        for (String term : tokenize(body)) {
+            termFrequencies.merge(term, 1, Integer::sum);
+        }
+        int length = termFrequencies.values().stream().mapToInt(Integer::intValue).sum();
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+            documents.put(key, new IndexedDocument(title, length, termFrequencies));
+            termFrequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(key, frequency));
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a document from the index, if present.
+     *
+     * @param type the kind of entity
+     * @param id the ID of the entity
+     */
+    void remove(SearchHitDTO.Type type, long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(new DocumentKey(type, id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the number of indexed documents.
+     *
+     * @return the number of documents
+     */
+    int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Searches the index and returns the best matching documents.
+     *
+     * @param query the free-text query
+     * @param type the kind of entity to return, or null for all kinds
+     * @param limit the maximum number of results
+     * @return the results, best first
+     */
+    List<SearchHitDTO> search(String query, SearchHitDTO.Type type, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            if (documents.isEmpty()) {
+                return List.of();
+            }
+            double averageLength = (double) totalLength / documents.size();
+            Map<DocumentKey, Double> scores = new HashMap<>();
+            for (int i = 0; i < terms.size(); i++) {
+                String term = terms.get(i);
+                boolean last = i == terms.size() - 1;
+                if (last && term.length() >= MIN_PREFIX_LENGTH) {
+                    postings.subMap(term, true, term + Character.MAX_VALUE, false)
+                            .values().forEach(postingList -> score(postingList, type, averageLength, scores));
+                } else {
+                    Map<DocumentKey, Integer> postingList = postings.get(term);
+                    if (postingList != null) {
+                        score(postingList, type, averageLength, scores);
+                    }
+                }
+            }
+            return topResults(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the BM25 contribution of one posting list to the running scores.
+     */
+    private void score(Map<DocumentKey, Integer> postingList, SearchHitDTO.Type type,
+                       double averageLength, Map<DocumentKey, Double> scores) {
+        double documentCount = documents.size();
+        double idf = Math.log(1 + (documentCount - postingList.size() + 0.5) / (postingList.size() + 0.5));
+        postingList.forEach((key, frequency) -> {
+            if (type != null && key.type() != type) {
+                return;
+            }
+            double length = documents.get(key).length();
+            double tf = frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * length / averageLength));
+            scores.merge(key, idf * tf, Double::sum);
+        });
+    }
+
+    /**
+     * Selects the best scored documents with a bounded heap.
+     */
+    private List<SearchHitDTO> topResults(Map<DocumentKey, Double> scores, int limit) {
+        Comparator<Map.Entry<DocumentKey, Double>> byScore = Map.Entry.comparingByValue();
+        PriorityQueue<Map.Entry<DocumentKey, Double>> heap = new PriorityQueue<>(limit + 1, byScore);
+        for (Map.Entry<DocumentKey, Double> entry : scores.entrySet()) {
+            heap.offer(entry);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        List<SearchHitDTO> results = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            Map.Entry<DocumentKey, Double> entry = heap.poll();
+            DocumentKey key = entry.getKey();
+            results.add(new SearchHitDTO(key.type(), key.id(), documents.get(key).title(), entry.getValue()));
+        }
+        Collections.reverse(results);
+        return results;
+    }
+
+    /**
+     * Removes a document and its postings. Must be called with the write lock held.
+     */
+    private void removeLocked(DocumentKey key) {
+        IndexedDocument previous = documents.remove(key);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.termFrequencies().keySet()) {
+            Map<DocumentKey, Integer> postingList = postings.get(term);
+            if (postingList != null) {
+                postingList.remove(key);
+                if (postingList.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= previous.length();
+    }
+
+    /**
+     * Splits text into lower-case terms made of letters and digits.
+     *
+     * @param text the text to split, may be null
+     * @return the terms, in order of appearance
+     */
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        String lowerCase = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lowerCase.length(); i++) {
+            boolean wordChar = i < lowerCase.length() && Character.isLetterOrDigit(lowerCase.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                terms.add(lowerCase.substring(start, i));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    private record DocumentKey(SearchHitDTO.Type type, long id) {
+    }
+
+    private record IndexedDocument(String title, int length, Map<String, Integer> termFrequencies) {
+    }
+}
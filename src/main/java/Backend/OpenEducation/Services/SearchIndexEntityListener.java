@@ -0,0 +1,72 @@
+package Backend.OpenEducation.Services;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener keeping the search index in step with saved and deleted
+ * courses, modules and subjects. Index updates are applied only once the
+ * surrounding transaction commits, so rolled back changes are never searchable.
+ */
+@Component
+public class SearchIndexEntityListener {
+
+    // Resolved lazily: entity listeners are created while the persistence unit is still starting
+    private final ObjectProvider<SearchServiceImpl> searchService;
+
+    /**
+     * Constructs a new SearchIndexEntityListener.
+     *
+     * @param searchService provider of the search service owning the index
+     */
+    @Autowired
+    public SearchIndexEntityListener(ObjectProvider<SearchServiceImpl> searchService) {
+        this.searchService = searchService;
+    }
+
+    /**
+     * Indexes an entity after it was inserted or updated.
+     *
+     * @param entity the saved entity
+     */
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Object entity) {
+        SearchServiceImpl service = searchService.getIfAvailable();
+        if (service != null) {
+            afterCommit(() -> service.onSaved(entity));
+        }
+    }
+
+    /**
+     * Removes an entity from the index after it was deleted.
+     *
+     * @param entity the deleted entity
+     */
+    @PostRemove
+    public void onRemoved(Object entity) {
+        SearchServiceImpl service = searchService.getIfAvailable();
+        if (service != null) {
+            afterCommit(() -> service.onRemoved(entity));
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
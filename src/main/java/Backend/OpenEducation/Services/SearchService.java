@@ -0,0 +1,21 @@
+package Backend.OpenEducation.Services;
+
+import java.util.List;
+
+import Backend.OpenEducation.dto.SearchHitDTO;
+
+/**
+ * Service interface for full-text search over courses, modules and subjects.
+ */
+public interface SearchService {
+
+    /**
+     * Searches courses, modules and subjects by keywords.
+     *
+     * @param query the free-text query
+     * @param type the kind of entity to return, or null for all kinds
+     * @param limit the maximum number of results, or null for the default
+     * @return the matching entities, most relevant first
+     */
+    List<SearchHitDTO> search(String query, SearchHitDTO.Type type, Integer limit);
+}
@@ -0,0 +1,215 @@
+package Backend.OpenEducation.Services;
+
+import Backend.OpenEducation.dto.SearchDocument;
+import Backend.OpenEducation.dto.SearchHitDTO;
+import Backend.OpenEducation.Model.Course;
+import Backend.OpenEducation.Model.Module;
+import Backend.OpenEducation.Model.Subject;
+import Backend.OpenEducation.Repository.CourseRepository;
+import Backend.OpenEducation.Repository.ModuleRepository;
+import Backend.OpenEducation.Repository.SubjectRepository;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Service implementation for full-text search, backed by an in-process {@link SearchIndex}.
+ * <p>
+ * The index starts empty and is first filled by {@link CatalogWarmup} once the application is ready,
+ * so searches made before then find nothing. From then on {@link SearchIndexEntityListener} applies
+ * every committed save and delete incrementally.
+ */
+@Service
+@Timed("openeducation.service")
+public class SearchServiceImpl implements SearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchServiceImpl.class);
+
+    private final CourseRepository courseRepository;
+
+    private final ModuleRepository moduleRepository;
+
+    private final SubjectRepository subjectRepository;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Value("${openeducation.search.default-limit:20}")
+    private int defaultLimit;
+
+    @Value("${openeducation.search.max-limit:100}")
+    private int maxLimit;
+
+    private volatile SearchIndex index = new SearchIndex();
+
+    // Serializes updates of the live index with the swap at the end of a rebuild
+    private final Object writeLock = new Object();
+
+    // Updates received while a rebuild is loading, replayed onto the new index; null when not rebuilding
+    private List<Consumer<SearchIndex>> updatesDuringRebuild;
+
+    /**
+     * Constructs a new SearchServiceImpl.
+     *
+     * @param courseRepository the course repository
+     * @param moduleRepository the module repository
+     * @param subjectRepository the subject repository
+     * @param transactionManager the transaction manager
+     */
+    @Autowired
+    public SearchServiceImpl(CourseRepository courseRepository,
+                             ModuleRepository moduleRepository,
+                             SubjectRepository subjectRepository,
+                             PlatformTransactionManager transactionManager) {
+        this.courseRepository = courseRepository;
+        this.moduleRepository = moduleRepository;
+        this.subjectRepository = subjectRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Searches courses, modules and subjects by keywords.
+     *
+     * @param query the free-text query
+     * @param type the kind of entity to return, or null for all kinds
+     * @param limit the maximum number of results, or null for the default
+     * @return the matching entities, most relevant first
+     */
+    @Override
+    public List<SearchHitDTO> search(String query, SearchHitDTO.Type type, Integer limit) {
+        int maxResults = limit == null ? defaultLimit : Math.max(1, Math.min(limit, maxLimit));
+        logger.info("Searching {} for: {}", type == null ? "all entities" : type, query);
+        return index.search(query, type, maxResults);
+    }
+
+    /**
+     * Rebuilds the whole index from the database into a new index, then swaps it in.
+     * Scheduled every few hours, to pick up the writes the entity listener does not see, such as bulk JPQL updates.
+     */
+    @Scheduled(initialDelayString = "${openeducation.search.rebuild-interval:PT6H}",
+            fixedDelayString = "${openeducation.search.rebuild-interval:PT6H}")
+    public void rebuild() {
+        synchronized (writeLock) {
+            updatesDuringRebuild = new ArrayList<>();
+        }
+        SearchIndex rebuilt = new SearchIndex();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                // Scalar rows rather than entities: no persistence context to fill, nor eager associations to load
+                try (Stream<SearchDocument> courses = courseRepository.streamSearchDocuments()) {
+                    load(courses, SearchHitDTO.Type.COURSE, rebuilt);
+                }
+                try (Stream<SearchDocument> modules = moduleRepository.streamSearchDocuments()) {
+                    load(modules, SearchHitDTO.Type.MODULE, rebuilt);
+                }
+                try (Stream<SearchDocument> subjects = subjectRepository.streamSearchDocuments()) {
+                    load(subjects, SearchHitDTO.Type.SUBJECT, rebuilt);
+                }
+            });
+        } catch (RuntimeException ex) {
+            synchronized (writeLock) {
+                updatesDuringRebuild = null;
+            }
+            throw ex;
+        }
+        synchronized (writeLock) {
+            updatesDuringRebuild.forEach(update -> update.accept(rebuilt));
+            updatesDuringRebuild = null;
+            index = rebuilt;
+        }
+        logger.info("Rebuilt search index with {} documents", rebuilt.size());
+    }
+
+    /**
+     * Indexes a saved course, module or subject.
+     *
+     * @param entity the saved entity
+     */
+    void onSaved(Object entity) {
+        apply(indexUpdate(entity));
+    }
+
+    /**
+     * Removes a deleted course, module or subject from the index.
+     *
+     * @param entity the deleted entity
+     */
+    void onRemoved(Object entity) {
+        apply(removeUpdate(entity));
+    }
+
+    /**
+     * Applies an update to the live index, and records it if a rebuild is loading.
+     */
+    private void apply(Consumer<SearchIndex> update) {
+        synchronized (writeLock) {
+            update.accept(index);
+            if (updatesDuringRebuild != null) {
+                updatesDuringRebuild.add(update);
+            }
+        }
+    }
+
+    /**
+     * Feeds streamed documents of one kind to the index.
+     */
+    private static void load(Stream<SearchDocument> documents, SearchHitDTO.Type type, SearchIndex index) {
+        documents.forEach(document -> index.put(type, document.getId(), document.getTitle(), document.getText()));
+    }
+
+    /**
+     * Captures the searchable fields of an entity into an index update.
+     * Fields are read immediately, so later changes to the entity do not leak into the update.
+     */
+    private static Consumer<SearchIndex> indexUpdate(Object entity) {
+        if (entity instanceof Course course) {
+            long id = course.getId();
+            String title = course.getTitle();
+            String description = course.getDescription();
+            return index -> index.put(SearchHitDTO.Type.COURSE, id, title, description);
+        }
+        if (entity instanceof Module module) {
+            long id = module.getModuleId();
+            String title = module.getTitle();
+            String content = module.getContent();
+            return index -> index.put(SearchHitDTO.Type.MODULE, id, title, content);
+        }
+        if (entity instanceof Subject subject) {
+            long id = subject.getSubjectId();
+            String name = subject.getSubjectName();
+            String description = subject.getDescription();
+            return index -> index.put(SearchHitDTO.Type.SUBJECT, id, name, description);
+        }
+        return index -> { };
+    }
+
+    /**
+     * Creates the index update removing an entity.
+     */
+    private static Consumer<SearchIndex> removeUpdate(Object entity) {
+        if (entity instanceof Course course) {
+            long id = course.getId();
+            return index -> index.remove(SearchHitDTO.Type.COURSE, id);
+        }
+        if (entity instanceof Module module) {
+            long id = module.getModuleId();
+            return index -> index.remove(SearchHitDTO.Type.MODULE, id);
+        }
+        if (entity instanceof Subject subject) {
+            long id = subject.getSubjectId();
+            return index -> index.remove(SearchHitDTO.Type.SUBJECT, id);
+        }
+        return index -> { };
+    }
+}
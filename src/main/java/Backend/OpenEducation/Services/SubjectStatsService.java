@@ -0,0 +1,59 @@
+package Backend.OpenEducation.Services;
+
+import java.util.List;
+
+import Backend.OpenEducation.dto.SubjectCourseCount;
+
+/**
+ * Service interface for the number of courses per subject.
+ * Counts are kept in a materialized table updated with every course write,
+ * so reading them never aggregates the course table.
+ */
+public interface SubjectStatsService {
+
+    /**
+     * Retrieves the number of courses of every subject with at least one course.
+     *
+     * @return the course counts, ordered by subject name
+     */
+    List<SubjectCourseCount> getCourseCounts();
+
+    /**
+     * Retrieves the number of courses of a subject.
+     *
+     * @param subjectId the ID of the subject
+     * @return the course count of the subject, zero if it has no course
+     * @throws Backend.OpenEducation.Exception.SubjectNotFoundException if the subject is not found
+     */
+    SubjectCourseCount getCourseCount(Long subjectId);
+
+    /**
+     * Records that a course was added to a subject.
+     * Must be called in the transaction that saves the course.
+     *
+     * @param subjectId the ID of the subject, or null if the course has none
+     */
+    void recordCourseAdded(Long subjectId);
+
+    /**
+     * Records that a course was removed from a subject.
+     * Must be called in the transaction that deletes the course.
+     *
+     * @param subjectId the ID of the subject, or null if the course had none
+     */
+    void recordCourseRemoved(Long subjectId);
+
+    /**
+     * Records that a course moved from one subject to another.
+     * Must be called in the transaction that updates the course.
+     *
+     * @param fromSubjectId the ID of the previous subject, or null if the course had none
+     * @param toSubjectId the ID of the new subject, or null if the course has none
+     */
+    void recordCourseMoved(Long fromSubjectId, Long toSubjectId);
+
+    /**
+     * Rebuilds the materialized counts from the course table.
+     */
+    void reconcile();
+}
@@ -0,0 +1,161 @@
+package Backend.OpenEducation.Services;
+
+import java.util.List;
+import java.util.Objects;
+
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import Backend.OpenEducation.Exception.SubjectNotFoundException;
+import Backend.OpenEducation.Model.Subject;
+import Backend.OpenEducation.Model.SubjectCourseStats;
+import Backend.OpenEducation.Repository.CourseRepository;
+import Backend.OpenEducation.Repository.SubjectCourseStatsRepository;
+import Backend.OpenEducation.Repository.SubjectRepository;
+import Backend.OpenEducation.dto.SubjectCourseCount;
+
+/**
+ * Service implementation for the number of courses per subject.
+ * <p>
+ * Course writes adjust the count of their subject with a single upsert in their own
+ * transaction, so the counts commit or roll back together with the course. Reads are served
+ * from the "subject-course-counts" cache, evicted after each of those commits. The counts are
+ * periodically rebuilt from a GROUP BY over the course table, to repair any drift caused by
+ * writes that bypass the course service.
+ */
+@Service
+@Timed("openeducation.service")
+public class SubjectStatsServiceImpl implements SubjectStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubjectStatsServiceImpl.class);
+
+    private final SubjectCourseStatsRepository statsRepository;
+
+    private final SubjectRepository subjectRepository;
+
+    private final CourseRepository courseRepository;
+
+    /**
+     * Constructs a new SubjectStatsServiceImpl.
+     *
+     * @param statsRepository the repository of the materialized course counts
+     * @param subjectRepository the subject repository
+     * @param courseRepository the course repository
+     */
+    @Autowired
+    public SubjectStatsServiceImpl(SubjectCourseStatsRepository statsRepository,
+                                   SubjectRepository subjectRepository,
+                                   CourseRepository courseRepository) {
+        this.statsRepository = statsRepository;
+        this.subjectRepository = subjectRepository;
+        this.courseRepository = courseRepository;
+    }
+
+    /**
+     * Retrieves the number of courses of every subject with at least one course.
+     * Reads one row per subject, and is cached until the next course write.
+     *
+     * @return the course counts, ordered by subject name
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(value = "subject-course-counts", key = "'all'", sync = true)
+    public List<SubjectCourseCount> getCourseCounts() {
+        logger.info("Retrieving course counts of all subjects");
+        return List.copyOf(statsRepository.findCourseCounts());
+    }
+
+    /**
+     * Retrieves the number of courses of a subject.
+     *
+     * @param subjectId the ID of the subject
+     * @return the course count of the subject, zero if it has no course
+     * @throws SubjectNotFoundException if the subject is not found
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(value = "subject-course-counts", key = "#subjectId", sync = true)
+    public SubjectCourseCount getCourseCount(Long subjectId) {
+        logger.info("Retrieving course count of subject with ID: {}", subjectId);
+        Subject subject = subjectRepository.findById(subjectId)
+                .orElseThrow(() -> new SubjectNotFoundException("Subject not found with ID: " + subjectId));
+        long courseCount = statsRepository.findById(subjectId).map(SubjectCourseStats::getCourseCount).orElse(0L);
+        return new SubjectCourseCount(subject.getSubjectId(), subject.getSubjectName(), courseCount);
+    }
+
+    /**
+     * Records that a course was added to a subject.
+     *
+     * @param subjectId the ID of the subject, or null if the course has none
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    @CacheEvict(value = "subject-course-counts", allEntries = true)
+    public void recordCourseAdded(Long subjectId) {
+        adjust(subjectId, 1);
+    }
+
+    /**
+     * Records that a course was removed from a subject.
+     *
+     * @param subjectId the ID of the subject, or null if the course had none
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    @CacheEvict(value = "subject-course-counts", allEntries = true)
+    public void recordCourseRemoved(Long subjectId) {
+        adjust(subjectId, -1);
+    }
+
+    /**
+     * Records that a course moved from one subject to another.
+     * Nothing is written if the subject did not change.
+     *
+     * @param fromSubjectId the ID of the previous subject, or null if the course had none
+     * @param toSubjectId the ID of the new subject, or null if the course has none
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    @CacheEvict(value = "subject-course-counts", allEntries = true)
+    public void recordCourseMoved(Long fromSubjectId, Long toSubjectId) {
+        if (Objects.equals(fromSubjectId, toSubjectId)) {
+            return;
+        }
+        adjust(fromSubjectId, -1);
+        adjust(toSubjectId, 1);
+    }
+
+    /**
+     * Rebuilds the materialized counts from a GROUP BY over the course table.
+     * The count rows are locked first, so course writes wait for the rebuild to commit
+     * and none of their updates is lost.
+     */
+    @Override
+    @Transactional
+    @CacheEvict(value = "subject-course-counts", allEntries = true)
+    @Scheduled(initialDelayString = "${openeducation.subject-stats.reconcile-interval:PT1H}",
+            fixedDelayString = "${openeducation.subject-stats.reconcile-interval:PT1H}")
+    public void reconcile() {
+        statsRepository.lockAll();
+        List<SubjectCourseCount> counts = courseRepository.countCoursesBySubject();
+        statsRepository.deleteAllInBatch();
+        for (SubjectCourseCount count : counts) {
+            statsRepository.addToCourseCount(count.getSubjectId(), count.getCourseCount());
+        }
+        logger.info("Reconciled course counts of {} subjects", counts.size());
+    }
+
+    private void adjust(Long subjectId, long delta) {
+        if (subjectId != null) {
+            statsRepository.addToCourseCount(subjectId, delta);
+        }
+    }
+}
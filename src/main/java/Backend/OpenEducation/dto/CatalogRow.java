@@ -0,0 +1,89 @@
+package Backend.OpenEducation.dto;
+
+/**
+ * Data Transfer Object for one subject, course or module of the catalog, reduced to the
+ * columns the off-heap catalog keeps: its ID, the ID of its parent, its title and its position.
+ * Only lives while the catalog is being built.
+ */
+public class CatalogRow {
+
+    private final long id;
+    private final Long parentId;
+    private final String title;
+    private final int position;
+
+    /**
+     * Constructs a new CatalogRow for a subject.
+     * Used by the JPQL constructor expression of the subject repository.
+     *
+     * @param id the ID of the subject
+     * @param title the name of the subject
+     */
+    public CatalogRow(long id, String title) {
+        this(id, null, title, 0);
+    }
+
+    /**
+     * Constructs a new CatalogRow for a course.
+     * Used by the JPQL constructor expression of the course repository.
+     *
+     * @param id the ID of the course
+     * @param parentId the ID of the subject of the course, or null if it has none
+     * @param title the title of the course
+     */
+    public CatalogRow(long id, Long parentId, String title) {
+        this(id, parentId, title, 0);
+    }
+
+    /**
+     * Constructs a new CatalogRow for a module.
+     * Used by the JPQL constructor expression of the module repository.
+     *
+     * @param id the ID of the module
+     * @param parentId the ID of the course of the module
+     * @param title the title of the module
+     * @param position the position of the module within its course
+     */
+    public CatalogRow(long id, Long parentId, String title, int position) {
+        this.id = id;
+        this.parentId = parentId;
+        this.title = title;
+        this.position = position;
+    }
+
+    /**
+     * Gets the ID of the subject, course or module.
+     *
+     * @return the ID
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Gets the ID of the parent: the subject of a course, or the course of a module.
+     *
+     * @return the ID of the parent, or null if there is none
+     */
+    public Long getParentId() {
+        return parentId;
+    }
+
+    /**
+     * Gets the title of the course or module, or the name of the subject.
+     *
+     * @return the title
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Gets the position of the module within its course, 0 for subjects and courses.
+     *
+     * @return the position
+     */
+    public int getPosition() {
+        return position;
+    }
+}
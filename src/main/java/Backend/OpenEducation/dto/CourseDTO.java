@@ -1,9 +1,9 @@
 package Backend.OpenEducation.dto;
 
+import java.time.Instant;
 import java.util.List;
 
-import Backend.OpenEducation.Model.Material;
-import Backend.OpenEducation.Model.Module;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 /**
  * Data Transfer Object for Course.
@@ -13,8 +13,61 @@ public class CourseDTO {
     private Long id;
     private String name;
     private String description;
-    private List<Material> materials;
-    private List<Module> modules;
+    private Long subjectId;
+    private List<MaterialDTO> materials;
+    private List<ModuleDTO> modules;
+    private Long version;
+    private Instant lastModified;
+
+    /**
+     * Constructs an empty CourseDTO.
+     */
+    public CourseDTO() {
+    }
+
+    /**
+     * Constructs a CourseDTO without a subject, materials and modules.
+     *
+     * @param id the ID of the course
+     * @param name the name of the course
+     * @param description the description of the course
+     */
+    public CourseDTO(Long id, String name, String description) {
+        this(id, name, description, null);
+    }
+
+    /**
+     * Constructs a CourseDTO without its materials and modules.
+     * Used by the JPQL constructor expressions of the course repository.
+     *
+     * @param id the ID of the course
+     * @param name the name of the course
+     * @param description the description of the course
+     * @param subjectId the ID of the subject of the course, or null if it has none
+     */
+    public CourseDTO(Long id, String name, String description, Long subjectId) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.subjectId = subjectId;
+    }
+
+    /**
+     * Constructs a CourseDTO with its version, without its materials and modules.
+     * Used by the JPQL constructor expression that loads a single course.
+     *
+     * @param id the ID of the course
+     * @param name the name of the course
+     * @param description the description of the course
+     * @param subjectId the ID of the subject of the course, or null if it has none
+     * @param version the version of the course
+     * @param lastModified when the course or one of its modules was last changed
+     */
+    public CourseDTO(Long id, String name, String description, Long subjectId, long version, Instant lastModified) {
+        this(id, name, description, subjectId);
+        this.version = version;
+        this.lastModified = lastModified;
+    }
 
     /**
      * Gets the ID of the course.
@@ -70,12 +123,30 @@ public class CourseDTO {
         this.description = description;
     }
 
+    /**
+     * Gets the ID of the subject of the course.
+     *
+     * @return the ID of the subject, or null if the course has none
+     */
+    public Long getSubjectId() {
+        return subjectId;
+    }
+
+    /**
+     * Sets the ID of the subject of the course.
+     *
+     * @param subjectId the ID of the subject to set
+     */
+    public void setSubjectId(Long subjectId) {
+        this.subjectId = subjectId;
+    }
+
     /**
      * Gets the materials associated with the course.
      *
      * @return the list of materials
      */
-    public List<Material> getMaterials() {
+    public List<MaterialDTO> getMaterials() {
         return materials;
     }
 
@@ -84,7 +155,7 @@ public class CourseDTO {
      *
      * @param list the list of materials to set
      */
-    public void setMaterials(List<Material> list) {
+    public void setMaterials(List<MaterialDTO> list) {
         this.materials = list;
     }
 
@@ -93,7 +164,7 @@ public class CourseDTO {
      *
      * @return the list of modules
      */
-    public List<Module> getModules() {
+    public List<ModuleDTO> getModules() {
         return modules;
     }
 
@@ -102,7 +173,47 @@ public class CourseDTO {
      *
      * @param list the list of modules to set
      */
-    public void setModules(List<Module> list) {
+    public void setModules(List<ModuleDTO> list) {
         this.modules = list;
     }
+
+    /**
+     * Gets the version of the course this DTO was read at.
+     * Sent as the ETag header rather than in the body.
+     *
+     * @return the version of the course, or null if it was not read
+     */
+    @JsonIgnore
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * Sets the version of the course this DTO was read at.
+     *
+     * @param version the version to set
+     */
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    /**
+     * Gets when the course or one of its modules was last changed.
+     * Sent as the Last-Modified header rather than in the body.
+     *
+     * @return the time of the last change, or null if it was not read
+     */
+    @JsonIgnore
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Sets when the course or one of its modules was last changed.
+     *
+     * @param lastModified the time to set
+     */
+    public void setLastModified(Instant lastModified) {
+        this.lastModified = lastModified;
+    }
 }
@@ -0,0 +1,255 @@
+package Backend.OpenEducation.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import Backend.OpenEducation.Model.MaterialType;
+
+/**
+ * Data Transfer Object for one course of a bulk import, with its nested modules and materials.
+ */
+public class CourseImportDTO {
+
+    private String title;
+    private String description;
+    private List<ModuleRow> modules = new ArrayList<>();
+    private List<MaterialRow> materials = new ArrayList<>();
+
+    /**
+     * Gets the title of the course.
+     *
+     * @return the title of the course
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Sets the title of the course.
+     *
+     * @param title the title to set
+     */
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    /**
+     * Gets the description of the course.
+     *
+     * @return the description of the course
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Sets the description of the course.
+     *
+     * @param description the description to set
+     */
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Gets the modules of the course.
+     *
+     * @return the list of modules
+     */
+    public List<ModuleRow> getModules() {
+        return modules;
+    }
+
+    /**
+     * Sets the modules of the course.
+     *
+     * @param modules the list of modules to set
+     */
+    public void setModules(List<ModuleRow> modules) {
+        this.modules = modules == null ? new ArrayList<>() : modules;
+    }
+
+    /**
+     * Gets the materials of the course.
+     *
+     * @return the list of materials
+     */
+    public List<MaterialRow> getMaterials() {
+        return materials;
+    }
+
+    /**
+     * Sets the materials of the course.
+     *
+     * @param materials the list of materials to set
+     */
+    public void setMaterials(List<MaterialRow> materials) {
+        this.materials = materials == null ? new ArrayList<>() : materials;
+    }
+
+    /**
+     * A module nested in an imported course.
+     */
+    public static class ModuleRow {
+
+        private String title;
+        private String content;
+        private int order;
+        private String videoUrl;
+
+        /**
+         * Gets the title of the module.
+         *
+         * @return the title of the module
+         */
+        public String getTitle() {
+            return title;
+        }
+
+        /**
+         * Sets the title of the module.
+         *
+         * @param title the title to set
+         */
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+        /**
+         * Gets the content of the module.
+         *
+         * @return the content of the module
+         */
+        public String getContent() {
+            return content;
+        }
+
+        /**
+         * Sets the content of the module.
+         *
+         * @param content the content to set
+         */
+        public void setContent(String content) {
+            this.content = content;
+        }
+
+        /**
+         * Gets the order of the module within the course.
+         *
+         * @return the order of the module
+         */
+        public int getOrder() {
+            return order;
+        }
+
+        /**
+         * Sets the order of the module within the course.
+         *
+         * @param order the order to set
+         */
+        public void setOrder(int order) {
+            this.order = order;
+        }
+
+        /**
+         * Gets the URL of the module video.
+         *
+         * @return the video URL, may be null
+         */
+        public String getVideoUrl() {
+            return videoUrl;
+        }
+
+        /**
+         * Sets the URL of the module video.
+         *
+         * @param videoUrl the video URL to set
+         */
+        public void setVideoUrl(String videoUrl) {
+            this.videoUrl = videoUrl;
+        }
+    }
+
+    /**
+     * A material nested in an imported course.
+     */
+    public static class MaterialRow {
+
+        private String title;
+        private String description;
+        private String url;
+        private MaterialType type;
+
+        /**
+         * Gets the title of the material.
+         *
+         * @return the title of the material
+         */
+        public String getTitle() {
+            return title;
+        }
+
+        /**
+         * Sets the title of the material.
+         *
+         * @param title the title to set
+         */
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+        /**
+         * Gets the description of the material.
+         *
+         * @return the description of the material
+         */
+        public String getDescription() {
+            return description;
+        }
+
+        /**
+         * Sets the description of the material.
+         *
+         * @param description the description to set
+         */
+        public void setDescription(String description) {
+            this.description = description;
+        }
+
+        /**
+         * Gets the URL where the material can be accessed.
+         *
+         * @return the URL of the material
+         */
+        public String getUrl() {
+            return url;
+        }
+
+        /**
+         * Sets the URL where the material can be accessed.
+         *
+         * @param url the URL to set
+         */
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        /**
+         * Gets the type of the material.
+         *
+         * @return the material type
+         */
+        public MaterialType getType() {
+            return type;
+        }
+
+        /**
+         * Sets the type of the material.
+         *
+         * @param type the material type to set
+         */
+        public void setType(MaterialType type) {
+            this.type = type;
+        }
+    }
+}
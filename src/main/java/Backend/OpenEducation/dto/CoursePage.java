@@ -0,0 +1,41 @@
+package Backend.OpenEducation.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for one page of a keyset-paginated course listing.
+ */
+public class CoursePage {
+
+    private final List<CourseDTO> items;
+    private final String nextCursor;
+
+    /**
+     * Constructs a new CoursePage.
+     *
+     * @param items the courses of the page
+     * @param nextCursor the opaque cursor of the next page, or null if this is the last page
+     */
+    public CoursePage(List<CourseDTO> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Gets the courses of the page.
+     *
+     * @return the list of courses
+     */
+    public List<CourseDTO> getItems() {
+        return items;
+    }
+
+    /**
+     * Gets the cursor to pass to fetch the next page.
+     *
+     * @return the opaque cursor, or null if this is the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,119 @@
+package Backend.OpenEducation.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object summarizing the outcome of a bulk course import.
+ */
+public class ImportReportDTO {
+
+    private long imported;
+    private long failed;
+    private long durationMillis;
+    private double rowsPerSecond;
+    private final List<RowError> errors = new ArrayList<>();
+
+    /**
+     * Gets the number of courses imported.
+     *
+     * @return the number of imported courses
+     */
+    public long getImported() {
+        return imported;
+    }
+
+    /**
+     * Sets the number of courses imported.
+     *
+     * @param imported the number of imported courses
+     */
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    /**
+     * Gets the number of courses rejected.
+     *
+     * @return the number of rejected courses
+     */
+    public long getFailed() {
+        return failed;
+    }
+
+    /**
+     * Sets the number of courses rejected.
+     *
+     * @param failed the number of rejected courses
+     */
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    /**
+     * Gets how long the import took.
+     *
+     * @return the duration in milliseconds
+     */
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * Sets how long the import took.
+     *
+     * @param durationMillis the duration in milliseconds
+     */
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * Gets the import throughput.
+     *
+     * @return the number of courses imported per second
+     */
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    /**
+     * Sets the import throughput.
+     *
+     * @param rowsPerSecond the number of courses imported per second
+     */
+    public void setRowsPerSecond(double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    /**
+     * Gets the errors of the rejected rows.
+     *
+     * @return the list of row errors
+     */
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    /**
+     * Records a rejected row.
+     *
+     * @param row the 1-based number of the course in the payload
+     * @param title the title of the course, may be null
+     * @param message why the row was rejected
+     */
+    public void addError(long row, String title, String message) {
+        errors.add(new RowError(row, title, message));
+        failed++;
+    }
+
+    /**
+     * The reason a single row was rejected.
+     *
+     * @param row the 1-based number of the course in the payload
+     * @param title the title of the course, may be null
+     * @param message why the row was rejected
+     */
+    public record RowError(long row, String title, String message) {
+    }
+}
@@ -1,5 +1,151 @@
 package Backend.OpenEducation.dto;
 
+import Backend.OpenEducation.Model.MaterialType;
+
+/**
+ * Data Transfer Object for Material.
+ * Read model holding only the columns a course detail needs, without the entity's associations.
+ */
 public class MaterialDTO {
 
+    private Long id;
+    private Long courseId;
+    private String title;
+    private String description;
+    private String url;
+    private MaterialType type;
+
+    /**
+     * Constructs an empty MaterialDTO.
+     */
+    public MaterialDTO() {
+    }
+
+    /**
+     * Constructs a MaterialDTO with all of its fields.
+     * Used by the JPQL constructor expressions of the material repository.
+     *
+     * @param id the ID of the material
+     * @param courseId the ID of the course the material belongs to
+     * @param title the title of the material
+     * @param description the description of the material
+     * @param url the URL of the material
+     * @param type the type of the material
+     */
+    public MaterialDTO(Long id, Long courseId, String title, String description, String url, MaterialType type) {
+        this.id = id;
+        this.courseId = courseId;
+        this.title = title;
+        this.description = description;
+        this.url = url;
+        this.type = type;
+    }
+
+    /**
+     * Gets the ID of the material.
+     *
+     * @return the ID of the material
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Sets the ID of the material.
+     *
+     * @param id the ID of the material to set
+     */
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /**
+     * Gets the ID of the course the material belongs to.
+     *
+     * @return the ID of the course the material belongs to
+     */
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    /**
+     * Sets the ID of the course the material belongs to.
+     *
+     * @param courseId the ID of the course the material belongs to to set
+     */
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    /**
+     * Gets the title of the material.
+     *
+     * @return the title of the material
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Sets the title of the material.
+     *
+     * @param title the title of the material to set
+     */
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    /**
+     * Gets the description of the material.
+     *
+     * @return the description of the material
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Sets the description of the material.
+     *
+     * @param description the description of the material to set
+     */
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Gets the URL of the material.
+     *
+     * @return the URL of the material
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * Sets the URL of the material.
+     *
+     * @param url the URL of the material to set
+     */
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    /**
+     * Gets the type of the material.
+     *
+     * @return the type of the material
+     */
+    public MaterialType getType() {
+        return type;
+    }
+
+    /**
+     * Sets the type of the material.
+     *
+     * @param type the type of the material to set
+     */
+    public void setType(MaterialType type) {
+        this.type = type;
+    }
 }
@@ -0,0 +1,41 @@
+package Backend.OpenEducation.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for one page of a keyset-paginated material listing.
+ */
+public class MaterialPage {
+
+    private final List<MaterialDTO> items;
+    private final String nextCursor;
+
+    /**
+     * Constructs a new MaterialPage.
+     *
+     * @param items the materials of the page
+     * @param nextCursor the opaque cursor of the next page, or null if this is the last page
+     */
+    public MaterialPage(List<MaterialDTO> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Gets the materials of the page.
+     *
+     * @return the list of materials
+     */
+    public List<MaterialDTO> getItems() {
+        return items;
+    }
+
+    /**
+     * Gets the cursor to pass to fetch the next page.
+     *
+     * @return the opaque cursor, or null if this is the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -1,5 +1,149 @@
 package Backend.OpenEducation.dto;
 
+/**
+ * Data Transfer Object for Module.
+ * Read model holding only the columns a course detail needs, without the entity's associations.
+ */
 public class ModuleDTO {
 
+    private Long id;
+    private Long courseId;
+    private String name;
+    private String description;
+    private String videoUrl;
+    private Integer order;
+
+    /**
+     * Constructs an empty ModuleDTO.
+     */
+    public ModuleDTO() {
+    }
+
+    /**
+     * Constructs a ModuleDTO with all of its fields.
+     * Used by the JPQL constructor expressions of the module repository.
+     *
+     * @param id the ID of the module
+     * @param courseId the ID of the course the module belongs to
+     * @param name the name of the module
+     * @param description the content of the module
+     * @param videoUrl the URL of the module video
+     * @param order the position of the module in its course
+     */
+    public ModuleDTO(Long id, Long courseId, String name, String description, String videoUrl, Integer order) {
+        this.id = id;
+        this.courseId = courseId;
+        this.name = name;
+        this.description = description;
+        this.videoUrl = videoUrl;
+        this.order = order;
+    }
+
+    /**
+     * Gets the ID of the module.
+     *
+     * @return the ID of the module
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Sets the ID of the module.
+     *
+     * @param id the ID of the module to set
+     */
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /**
+     * Gets the ID of the course the module belongs to.
+     *
+     * @return the ID of the course the module belongs to
+     */
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    /**
+     * Sets the ID of the course the module belongs to.
+     *
+     * @param courseId the ID of the course the module belongs to to set
+     */
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    /**
+     * Gets the name of the module.
+     *
+     * @return the name of the module
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Sets the name of the module.
+     *
+     * @param name the name of the module to set
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets the content of the module.
+     *
+     * @return the content of the module
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Sets the content of the module.
+     *
+     * @param description the content of the module to set
+     */
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Gets the URL of the module video.
+     *
+     * @return the URL of the module video
+     */
+    public String getVideoUrl() {
+        return videoUrl;
+    }
+
+    /**
+     * Sets the URL of the module video.
+     *
+     * @param videoUrl the URL of the module video to set
+     */
+    public void setVideoUrl(String videoUrl) {
+        this.videoUrl = videoUrl;
+    }
+
+    /**
+     * Gets the position of the module in its course.
+     *
+     * @return the position of the module in its course
+     */
+    public Integer getOrder() {
+        return order;
+    }
+
+    /**
+     * Sets the position of the module in its course.
+     *
+     * @param order the position of the module in its course to set
+     */
+    public void setOrder(Integer order) {
+        this.order = order;
+    }
 }
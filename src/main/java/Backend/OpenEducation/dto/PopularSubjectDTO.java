@@ -0,0 +1,78 @@
+package Backend.OpenEducation.dto;
+
+/**
+ * Data Transfer Object for a subject of the popularity ranking.
+ */
+public class PopularSubjectDTO {
+
+    private final Long subjectId;
+    private final String subjectName;
+    private final long viewCount;
+    private final long enrollmentCount;
+    private final double score;
+
+    /**
+     * Constructs a new PopularSubjectDTO.
+     * Used by the JPQL constructor expression of the subject popularity repository,
+     * which passes the logarithm of the forward-decayed score as {@code score}.
+     *
+     * @param subjectId the ID of the subject
+     * @param subjectName the name of the subject
+     * @param viewCount the total number of views
+     * @param enrollmentCount the total number of enrollments
+     * @param score the popularity score
+     */
+    public PopularSubjectDTO(Long subjectId, String subjectName, long viewCount, long enrollmentCount, double score) {
+        this.subjectId = subjectId;
+        this.subjectName = subjectName;
+        this.viewCount = viewCount;
+        this.enrollmentCount = enrollmentCount;
+        this.score = score;
+    }
+
+    /**
+     * Gets the ID of the subject.
+     *
+     * @return the ID of the subject
+     */
+    public Long getSubjectId() {
+        return subjectId;
+    }
+
+    /**
+     * Gets the name of the subject.
+     *
+     * @return the name of the subject
+     */
+    public String getSubjectName() {
+        return subjectName;
+    }
+
+    /**
+     * Gets the total number of views of the subject and its courses.
+     *
+     * @return the number of views
+     */
+    public long getViewCount() {
+        return viewCount;
+    }
+
+    /**
+     * Gets the total number of enrollments in the courses of the subject.
+     *
+     * @return the number of enrollments
+     */
+    public long getEnrollmentCount() {
+        return enrollmentCount;
+    }
+
+    /**
+     * Gets the popularity score, decayed to the time the ranking was computed.
+     * An event of weight 1 that just happened adds 1 to the score.
+     *
+     * @return the popularity score
+     */
+    public double getScore() {
+        return score;
+    }
+}
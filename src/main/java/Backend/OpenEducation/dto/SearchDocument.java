@@ -0,0 +1,53 @@
+package Backend.OpenEducation.dto;
+
+/**
+ * Data Transfer Object for one subject, course or module as the search index reads it:
+ * its ID and its two searchable columns. Only lives while the index is being rebuilt.
+ */
+public class SearchDocument {
+
+    private final long id;
+    private final String title;
+    private final String text;
+
+    /**
+     * Constructs a new SearchDocument.
+     * Used by the JPQL constructor expressions of the subject, course and module repositories.
+     *
+     * @param id the ID of the subject, course or module
+     * @param title the title of the course or module, or the name of the subject
+     * @param text the description of the subject or course, or the content of the module
+     */
+    public SearchDocument(long id, String title, String text) {
+        this.id = id;
+        this.title = title;
+        this.text = text;
+    }
+
+    /**
+     * Gets the ID of the subject, course or module.
+     *
+     * @return the ID
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Gets the title of the course or module, or the name of the subject.
+     *
+     * @return the title
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Gets the description of the subject or course, or the content of the module.
+     *
+     * @return the searchable text
+     */
+    public String getText() {
+        return text;
+    }
+}
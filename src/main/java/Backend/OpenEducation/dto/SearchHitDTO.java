@@ -0,0 +1,75 @@
+package Backend.OpenEducation.dto;
+
+/**
+ * Data Transfer Object for a single ranked search result.
+ */
+public class SearchHitDTO {
+
+    /**
+     * The kind of entity a search result refers to.
+     */
+    public enum Type {
+        // A course, matched on its title and description
+        COURSE,
+        // A module, matched on its title and content
+        MODULE,
+        // A subject, matched on its name and description
+        SUBJECT
+    }
+
+    private final Type type;
+    private final long id;
+    private final String title;
+    private final double score;
+
+    /**
+     * Constructs a new SearchHitDTO.
+     *
+     * @param type the kind of entity found
+     * @param id the ID of the entity
+     * @param title the title (or name) of the entity
+     * @param score the relevance score, higher is better
+     */
+    public SearchHitDTO(Type type, long id, String title, double score) {
+        this.type = type;
+        this.id = id;
+        this.title = title;
+        this.score = score;
+    }
+
+    /**
+     * Gets the kind of entity found.
+     *
+     * @return the entity type
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Gets the ID of the entity found.
+     *
+     * @return the ID of the entity
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Gets the title (or name) of the entity found.
+     *
+     * @return the title of the entity
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Gets the relevance score of the result.
+     *
+     * @return the score, higher is better
+     */
+    public double getScore() {
+        return score;
+    }
+}
@@ -0,0 +1,52 @@
+package Backend.OpenEducation.dto;
+
+/**
+ * Data Transfer Object for the number of courses of a subject.
+ */
+public class SubjectCourseCount {
+
+    private final Long subjectId;
+    private final String subjectName;
+    private final long courseCount;
+
+    /**
+     * Constructs a new SubjectCourseCount.
+     * Used by the JPQL constructor expressions of the course and subject statistics repositories.
+     *
+     * @param subjectId the ID of the subject
+     * @param subjectName the name of the subject
+     * @param courseCount the number of courses of the subject
+     */
+    public SubjectCourseCount(Long subjectId, String subjectName, long courseCount) {
+        this.subjectId = subjectId;
+        this.subjectName = subjectName;
+        this.courseCount = courseCount;
+    }
+
+    /**
+     * Gets the ID of the subject.
+     *
+     * @return the ID of the subject
+     */
+    public Long getSubjectId() {
+        return subjectId;
+    }
+
+    /**
+     * Gets the name of the subject.
+     *
+     * @return the name of the subject
+     */
+    public String getSubjectName() {
+        return subjectName;
+    }
+
+    /**
+     * Gets the number of courses of the subject.
+     *
+     * @return the number of courses
+     */
+    public long getCourseCount() {
+        return courseCount;
+    }
+}
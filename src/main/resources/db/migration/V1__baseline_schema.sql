@@ -0,0 +1,77 @@
+-- Baseline schema of the OpenEducation catalog, matching the JPA entities.
+-- Column names follow Spring Boot's physical naming strategy (camelCase becomes snake_case).
+-- Foreign keys are added by V2, once the indexes they can reuse exist.
+
+-- MySQL has no sequences: Hibernate emulates the entity sequences with single-row tables
+CREATE TABLE subject_seq (next_val BIGINT);
+INSERT INTO subject_seq VALUES (1);
+CREATE TABLE course_seq (next_val BIGINT);
+INSERT INTO course_seq VALUES (1);
+CREATE TABLE module_seq (next_val BIGINT);
+INSERT INTO module_seq VALUES (1);
+CREATE TABLE material_seq (next_val BIGINT);
+INSERT INTO material_seq VALUES (1);
+
+CREATE TABLE subject (
+    subject_id   BIGINT       NOT NULL,
+    subject_name VARCHAR(255) NOT NULL,
+    description  TEXT,
+    PRIMARY KEY (subject_id),
+    CONSTRAINT uk_subject_name UNIQUE (subject_name)
+);
+
+CREATE TABLE course (
+    courseid    BIGINT        NOT NULL,
+    title       VARCHAR(255)  NOT NULL,
+    description VARCHAR(1000),
+    subject_id  BIGINT,
+    level       VARCHAR(32),
+    start_date  DATE,
+    duration    INT,
+    PRIMARY KEY (courseid),
+    CONSTRAINT uk_course_title UNIQUE (title)
+);
+
+-- module.content is declared unique by the entity, but MySQL cannot index a TEXT column in full
+CREATE TABLE module (
+    module_id    BIGINT       NOT NULL,
+    title        VARCHAR(255) NOT NULL,
+    content      TEXT,
+    video_url    VARCHAR(255),
+    module_order INT          NOT NULL,
+    courseid     BIGINT,
+    PRIMARY KEY (module_id),
+    CONSTRAINT uk_module_title UNIQUE (title)
+);
+
+CREATE TABLE material (
+    materialid  BIGINT        NOT NULL,
+    title       VARCHAR(255)  NOT NULL,
+    description VARCHAR(1000),
+    type        TINYINT,
+    url         VARCHAR(255),
+    courseid    BIGINT,
+    module_id   BIGINT,
+    PRIMARY KEY (materialid),
+    CONSTRAINT uk_material_title UNIQUE (title)
+);
+
+CREATE TABLE subject_course_stats (
+    subject_id   BIGINT NOT NULL,
+    course_count BIGINT NOT NULL,
+    PRIMARY KEY (subject_id)
+);
+
+CREATE TABLE subject_popularity (
+    subject_id       BIGINT NOT NULL,
+    view_count       BIGINT NOT NULL,
+    enrollment_count BIGINT NOT NULL,
+    score_log        DOUBLE NOT NULL,
+    PRIMARY KEY (subject_id)
+);
+
+CREATE TABLE course_view_count (
+    course_id  BIGINT NOT NULL,
+    view_count BIGINT NOT NULL,
+    PRIMARY KEY (course_id)
+);
@@ -0,0 +1,29 @@
+-- Indexes for the access paths declared by the repositories, then the foreign keys.
+-- The foreign keys are added last, so each one reuses the index led by its column
+-- instead of getting an index of its own.
+
+-- CourseRepository.findByLevel, ordered within a level by start date
+CREATE INDEX idx_course_level_start_date ON course (level, start_date);
+
+-- CourseRepository.findByStartDateBetween and findAllByOrderByStartDateAsc
+CREATE INDEX idx_course_start_date ON course (start_date);
+
+-- MaterialRepository.findBySubjectId (subject to courses) and the per-subject course counts
+CREATE INDEX idx_course_subject ON course (subject_id, courseid);
+
+-- ModuleRepository.findByCourseIdOrderBySequenceAsc and findDTOsByCourseIdIn: no sort needed within a course
+CREATE INDEX idx_module_course_order ON module (courseid, module_order, module_id);
+
+-- MaterialRepository.findBySubjectId (courses to materials) and findDTOsByCourseIdIn
+CREATE INDEX idx_material_course ON material (courseid, materialid);
+
+-- MaterialRepository.findByType
+CREATE INDEX idx_material_type ON material (type);
+
+-- SubjectPopularityRepository.findTop walks the scores from the highest
+CREATE INDEX idx_subject_popularity_score ON subject_popularity (score_log DESC);
+
+ALTER TABLE course ADD CONSTRAINT fk_course_subject FOREIGN KEY (subject_id) REFERENCES subject (subject_id);
+ALTER TABLE module ADD CONSTRAINT fk_module_course FOREIGN KEY (courseid) REFERENCES course (courseid);
+ALTER TABLE material ADD CONSTRAINT fk_material_course FOREIGN KEY (courseid) REFERENCES course (courseid);
+ALTER TABLE material ADD CONSTRAINT fk_material_module FOREIGN KEY (module_id) REFERENCES module (module_id);
@@ -0,0 +1,12 @@
+-- Copies the subject of each course to its materials, so the materials of a subject
+-- are read from one range of an index on material instead of joining course.
+
+ALTER TABLE material ADD COLUMN subject_id BIGINT;
+
+UPDATE material SET subject_id = (SELECT c.subject_id FROM course c WHERE c.courseid = material.courseid);
+
+-- MaterialRepository.findBySubjectId and findDTOsBySubjectAfter
+CREATE INDEX idx_material_subject ON material (subject_id, materialid);
+
+-- MaterialRepository.findDTOsBySubjectAndTypeAfter
+CREATE INDEX idx_material_subject_type ON material (subject_id, type, materialid);
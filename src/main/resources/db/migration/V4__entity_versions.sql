@@ -0,0 +1,10 @@
+-- Optimistic-locking versions of courses, modules and materials.
+-- The version and last change time of a course also cover its modules and materials,
+-- and serve as the ETag and Last-Modified of GET /api/v1/courses/{id}.
+
+ALTER TABLE course ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE course ADD COLUMN last_modified DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
+
+ALTER TABLE module ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE material ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
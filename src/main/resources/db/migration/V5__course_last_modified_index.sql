@@ -0,0 +1,3 @@
+-- CourseRepository.findIdsModifiedSince: the courses changed since a course snapshot was saved,
+-- read when a node restarts from its snapshot
+CREATE INDEX idx_course_last_modified ON course (last_modified);
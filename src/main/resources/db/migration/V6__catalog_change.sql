@@ -0,0 +1,15 @@
+-- Outbox of course changes, including changes to their modules and materials.
+-- A row is written in the transaction of each change, and every node polls the table to invalidate
+-- its local caches. Rows are purged once every node has had time to read them.
+
+CREATE TABLE catalog_change (
+    id          BIGINT      NOT NULL AUTO_INCREMENT,
+    course_id   BIGINT      NOT NULL,
+    change_type TINYINT     NOT NULL,
+    origin      VARCHAR(64) NOT NULL,
+    created_at  DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- CatalogChangeRepository.deleteCreatedBefore
+CREATE INDEX idx_catalog_change_created_at ON catalog_change (created_at);
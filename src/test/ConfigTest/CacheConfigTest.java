@@ -0,0 +1,67 @@
+package Backend.OpenEducation.Config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the CacheConfig class.
+ */
+public class CacheConfigTest {
+
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    public void setUp() {
+        LocalCacheProperties properties = new LocalCacheProperties();
+        properties.getDefaults().setMaximumSize(5);
+        LocalCacheProperties.CacheSpec courses = new LocalCacheProperties.CacheSpec();
+        courses.setMaximumSize(2);
+        courses.setExpireAfterWrite(Duration.ofMinutes(1));
+        properties.getCaches().put("courses", courses);
+
+        cacheManager = new CacheConfig().cacheManager(properties);
+    }
+
+    /**
+     * Tests that a configured cache uses its own size limit and records statistics.
+     */
+    @Test
+    public void testConfiguredCacheIsBounded() {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = nativeCache("courses");
+
+        assertEquals(2, nativeCache.policy().eviction().orElseThrow().getMaximum());
+        assertEquals(Duration.ofMinutes(1), nativeCache.policy().expireAfterWrite().orElseThrow().getExpiresAfter());
+        assertTrue(nativeCache.policy().isRecordingStats());
+
+        for (long id = 1; id <= 10; id++) {
+            cacheManager.getCache("courses").put(id, "course " + id);
+        }
+        nativeCache.cleanUp();
+
+        assertTrue(nativeCache.estimatedSize() <= 2);
+        assertTrue(nativeCache.stats().evictionCount() >= 8);
+    }
+
+    /**
+     * Tests that caches without their own settings fall back to the bounded defaults.
+     */
+    @Test
+    public void testUnlistedCacheUsesDefaults() {
+        assertEquals(5, nativeCache("other").policy().eviction().orElseThrow().getMaximum());
+    }
+
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache(String name) {
+        Cache cache = cacheManager.getCache(name);
+        assertInstanceOf(TransactionAwareCacheDecorator.class, cache);
+        Cache target = ((TransactionAwareCacheDecorator) cache).getTargetCache();
+        return ((CaffeineCache) target).getNativeCache();
+    }
+}
@@ -0,0 +1,117 @@
+package Backend.OpenEducation.Config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the ConcurrencyLimitedDataSource class.
+ */
+public class ConcurrencyLimitedDataSourceTest {
+
+    private static final int MAX_CONNECTIONS = 5;
+
+    @Mock
+    private DataSource targetDataSource;
+
+    @Mock
+    private Connection connection;
+
+    private ConcurrencyLimitedDataSource dataSource;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        when(targetDataSource.getConnection()).thenReturn(connection);
+        dataSource = new ConcurrencyLimitedDataSource(targetDataSource, MAX_CONNECTIONS, Duration.ofSeconds(10));
+    }
+
+    /**
+     * Tests that many virtual threads never hold more connections at once than the limit.
+     */
+    @Test
+    public void testVirtualThreadsNeverExceedLimit() throws Exception {
+        AtomicInteger inUse = new AtomicInteger();
+        AtomicInteger maxInUse = new AtomicInteger();
+        List<Future<?>> requests = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 500; i++) {
+                requests.add(executor.submit(() -> {
+                    try (Connection ignored = dataSource.getConnection()) {
+                        maxInUse.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+                        Thread.sleep(2);
+                        inUse.decrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> request : requests) {
+                request.get();
+            }
+        }
+
+        assertTrue(maxInUse.get() <= MAX_CONNECTIONS, "At most " + MAX_CONNECTIONS + " connections in use, got " + maxInUse.get());
+        verify(connection, times(500)).close();
+    }
+
+    /**
+     * Tests that a caller gives up once the acquire timeout has elapsed.
+     */
+    @Test
+    public void testAcquireTimesOut() throws Exception {
+        dataSource = new ConcurrencyLimitedDataSource(targetDataSource, 1, Duration.ofMillis(50));
+
+        try (Connection ignored = dataSource.getConnection()) {
+            assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        }
+        try (Connection ignored = dataSource.getConnection()) {
+            assertEquals(0, dataSource.getWaitingCallers());
+        }
+    }
+
+    /**
+     * Tests that closing a connection twice releases its permit only once.
+     */
+    @Test
+    public void testDoubleCloseReleasesOnce() throws Exception {
+        dataSource = new ConcurrencyLimitedDataSource(targetDataSource, 1, Duration.ofMillis(50));
+
+        Connection first = dataSource.getConnection();
+        first.close();
+        first.close();
+
+        Connection second = dataSource.getConnection();
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        second.close();
+    }
+
+    /**
+     * Tests that the permit is returned when the pool fails to hand out a connection.
+     */
+    @Test
+    public void testPermitReleasedWhenPoolFails() throws Exception {
+        dataSource = new ConcurrencyLimitedDataSource(targetDataSource, 1, Duration.ofMillis(50));
+        when(targetDataSource.getConnection())
+                .thenThrow(new SQLTransientConnectionException("pool exhausted"))
+                .thenReturn(connection);
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        assertNotNull(dataSource.getConnection());
+    }
+}
@@ -0,0 +1,72 @@
+package Backend.OpenEducation.Config;
+
+import Backend.OpenEducation.Services.CourseResponseCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.util.unit.DataSize;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the MetricsConfig class.
+ */
+public class MetricsConfigTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final MetricsConfig metricsConfig =
+            new MetricsConfig(meterRegistry, new StaticListableBeanFactory().getBeanProvider(SqlBudget.class));
+
+    private CacheManager cacheManager;
+
+    private CourseResponseCache courseResponseCache;
+
+    @BeforeEach
+    public void setUp() {
+        LocalCacheProperties properties = new LocalCacheProperties();
+        properties.getCaches().put("courses", new LocalCacheProperties.CacheSpec());
+        cacheManager = new CacheConfig().cacheManager(properties);
+        courseResponseCache = new CourseResponseCache(new ObjectMapper(), DataSize.ofMegabytes(1), DataSize.ofKilobytes(1));
+    }
+
+    /**
+     * Tests that every cache reports its hit ratio under its own name.
+     */
+    @Test
+    public void testCacheHitRatioPerCache() {
+        metricsConfig.cacheHitRatioMetrics(cacheManager, courseResponseCache).bindTo(meterRegistry);
+
+        cacheManager.getCache("courses").put(1L, "course 1");
+        cacheManager.getCache("courses").get(1L);
+        cacheManager.getCache("courses").get(1L);
+        cacheManager.getCache("courses").get(2L);
+        cacheManager.getCache("courses").get(3L);
+        courseResponseCache.getNativeCache().getIfPresent(1L);
+
+        assertEquals(0.5, meterRegistry.get(MetricsConfig.CACHE_HIT_RATIO).tag("cache", "courses").gauge().value());
+        assertEquals(0.0, meterRegistry.get(MetricsConfig.CACHE_HIT_RATIO)
+                .tag("cache", MetricsConfig.COURSE_RESPONSE_CACHE).gauge().value());
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tag("cache", MetricsConfig.COURSE_RESPONSE_CACHE).tag("result", "miss").functionCounter().count());
+    }
+
+    /**
+     * Tests that Hibernate is configured to count the statements it prepares.
+     */
+    @Test
+    public void testStatementInspectorIsRegistered() {
+        Map<String, Object> hibernateProperties = new HashMap<>();
+
+        metricsConfig.queryCountingCustomizer().customize(hibernateProperties);
+
+        assertInstanceOf(QueryCountingStatementInspector.class, hibernateProperties.get(AvailableSettings.STATEMENT_INSPECTOR));
+    }
+}
@@ -0,0 +1,143 @@
+package Backend.OpenEducation.Config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the QueryCountInterceptor and QueryCounter classes.
+ */
+public class QueryCountInterceptorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final QueryCountInterceptor interceptor = new QueryCountInterceptor(meterRegistry);
+
+    private final QueryCountingStatementInspector inspector = new QueryCountingStatementInspector();
+
+    @AfterEach
+    public void tearDown() {
+        QueryCounter.stop();
+    }
+
+    /**
+     * Tests that the statements of a request are recorded under its method and URI pattern.
+     */
+    @Test
+    public void testRecordsStatementsPerRoute() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/courses/42");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/courses/{id}");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, null);
+        for (int i = 0; i < 3; i++) {
+            assertEquals("select 1", inspector.inspect("select 1"));
+        }
+        interceptor.afterCompletion(request, response, null, null);
+
+        DistributionSummary summary = meterRegistry.get(QueryCountInterceptor.METRIC_NAME)
+                .tag("method", "GET")
+                .tag("uri", "/api/v1/courses/{id}")
+                .summary();
+        assertEquals(1, summary.count());
+        assertEquals(3.0, summary.totalAmount());
+        assertEquals(-1, QueryCounter.current());
+    }
+
+    /**
+     * Tests that unmapped requests and non-standard methods share a single series.
+     */
+    @Test
+    public void testUnboundedValuesAreCollapsed() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        for (String path : new String[] {"/a", "/b", "/c"}) {
+            MockHttpServletRequest request = new MockHttpServletRequest("PROPFIND", path);
+            interceptor.preHandle(request, response, null);
+            interceptor.afterCompletion(request, response, null, null);
+        }
+
+        assertEquals(1, meterRegistry.find(QueryCountInterceptor.METRIC_NAME).summaries().size());
+        assertEquals(3, meterRegistry.get(QueryCountInterceptor.METRIC_NAME)
+                .tag("method", "OTHER")
+                .tag("uri", "UNKNOWN")
+                .summary().count());
+    }
+
+    /**
+     * Tests that statements issued outside a request are not counted.
+     */
+    @Test
+    public void testStatementsOutsideRequestAreIgnored() {
+        inspector.inspect("select 1");
+
+        assertEquals(-1, QueryCounter.current());
+        assertTrue(meterRegistry.find(QueryCountInterceptor.METRIC_NAME).summaries().isEmpty());
+    }
+
+    /**
+     * Tests that statements of a lookup handed to another thread count towards the submitting request.
+     */
+    @Test
+    public void testPropagatedTaskCountsTowardsRequest() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            QueryCounter.start();
+            inspector.inspect("select 1");
+            executor.submit(QueryCounter.propagate(() -> inspector.inspect("select 2"))).get(5, TimeUnit.SECONDS);
+
+            assertEquals(2, QueryCounter.stop().statements());
+            // The worker thread is left without a count
+            assertEquals(-1, executor.submit(QueryCounter::current).get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Tests that requests held to a budget also record their database time.
+     */
+    @Test
+    public void testBudgetRecordsDatabaseTime() {
+        QueryCountInterceptor budgetInterceptor = new QueryCountInterceptor(meterRegistry,
+                new SqlBudget(new SqlBudgetProperties(), meterRegistry));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/courses/42");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/courses/{id}");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        budgetInterceptor.preHandle(request, response, null);
+        inspector.inspect("select 1");
+        QueryCounter.statementExecuted(TimeUnit.MILLISECONDS.toNanos(3));
+        budgetInterceptor.afterCompletion(request, response, null, null);
+
+        assertEquals(3.0, meterRegistry.get(QueryCountInterceptor.DATABASE_TIME_METRIC_NAME)
+                .tag("uri", "/api/v1/courses/{id}")
+                .timer().totalTime(TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Tests that the URI tag is capped by the meter filter of the metrics configuration.
+     */
+    @Test
+    public void testUriTagsAreCapped() {
+        meterRegistry.config().meterFilter(MetricsConfig.queryCountUriTagLimit(2));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        for (int route = 0; route < 5; route++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/route" + route);
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/route" + route);
+            interceptor.preHandle(request, response, null);
+            interceptor.afterCompletion(request, response, null, null);
+        }
+
+        assertEquals(2, meterRegistry.find(QueryCountInterceptor.METRIC_NAME).summaries().size());
+    }
+}
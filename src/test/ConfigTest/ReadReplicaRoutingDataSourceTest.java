@@ -0,0 +1,196 @@
+package Backend.OpenEducation.Config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the ReadReplicaRoutingDataSource class.
+ * Two H2 databases stand in for the primary and the replica; each one knows its own name,
+ * so a query tells which one served it.
+ */
+public class ReadReplicaRoutingDataSourceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private HikariDataSource primary;
+
+    private HikariDataSource replica;
+
+    private ReadReplicaRoutingDataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        primary = pool("primary");
+        replica = pool("replica");
+        dataSource = new ReadReplicaRoutingDataSource(primary, replica, meterRegistry);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ReadRoutingContext.clear();
+        primary.close();
+        replica.close();
+    }
+
+    /**
+     * Tests that read-only transactions are served by the replica.
+     */
+    @Test
+    public void testReadOnlyTransactionUsesReplica() {
+        assertEquals("replica", serverOf(true));
+        assertEquals(1.0, routed("replica", "replica"));
+    }
+
+    /**
+     * Tests that read-write transactions, and statements outside any transaction, use the primary.
+     */
+    @Test
+    public void testWritesUsePrimary() {
+        assertEquals("primary", serverOf(false));
+        assertEquals("primary", jdbcTemplate.queryForObject("SELECT name FROM server", String.class));
+        assertEquals(0.0, routed("replica", "replica"));
+    }
+
+    /**
+     * Tests that a thread pinned after a write reads from the primary, and from the replica again once unpinned.
+     */
+    @Test
+    public void testPinnedThreadReadsItsWrites() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                jdbcTemplate.update("INSERT INTO course_note VALUES ('written')"));
+        ReadRoutingContext.pinToPrimary();
+
+        assertEquals(1, readOnly(() -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM course_note", Integer.class)));
+        assertEquals(1.0, routed("primary", "read-your-writes"));
+
+        ReadRoutingContext.clear();
+        assertEquals(0, readOnly(() -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM course_note", Integer.class)));
+    }
+
+    /**
+     * Tests that reads fall back to the primary when the replica pool cannot hand out a connection.
+     */
+    @Test
+    public void testFallsBackToPrimaryWhenReplicaUnavailable() throws SQLException {
+        DataSource brokenReplica = mock(DataSource.class);
+        when(brokenReplica.getConnection()).thenThrow(new SQLException("replica down"));
+        dataSource = new ReadReplicaRoutingDataSource(primary, brokenReplica, meterRegistry);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+
+        assertEquals("primary", serverOf(true));
+        assertEquals(1.0, routed("primary", "replica-unavailable"));
+    }
+
+    /**
+     * Tests that JPA read-only transactions, as opened by {@code @Transactional(readOnly = true)}, reach the replica.
+     */
+    @Test
+    public void testJpaReadOnlyTransactionUsesReplica() {
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan("Backend.OpenEducation.Config.none");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(Map.of("hibernate.dialect", "org.hibernate.dialect.H2Dialect"));
+        factoryBean.afterPropertiesSet();
+        EntityManagerFactory entityManagerFactory = factoryBean.getObject();
+        try {
+            EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+            TransactionTemplate transaction = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory));
+            transaction.setReadOnly(true);
+            assertEquals("replica", transaction.execute(status ->
+                    entityManager.createNativeQuery("SELECT name FROM server").getSingleResult()));
+            transaction.setReadOnly(false);
+            assertEquals("primary", transaction.execute(status ->
+                    entityManager.createNativeQuery("SELECT name FROM server").getSingleResult()));
+        } finally {
+            factoryBean.destroy();
+        }
+    }
+
+    /**
+     * Tests that the primary and replica pools publish their metrics under their own pool name.
+     */
+    @Test
+    public void testPoolMetricsPerRoute() {
+        serverOf(true);
+        serverOf(false);
+
+        assertNotNull(meterRegistry.find("hikaricp.connections").tag("pool", "primary").gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections").tag("pool", "replica").gauge());
+    }
+
+    /**
+     * Tests that a task handed to another thread keeps the routing hint of the submitting thread.
+     */
+    @Test
+    public void testRoutingHintPropagatesToOtherThreads() throws Exception {
+        ReadRoutingContext.pinToPrimary();
+        boolean[] pinned = new boolean[1];
+        Thread thread = Thread.ofVirtual().start(ReadRoutingContext.propagate(() -> pinned[0] = ReadRoutingContext.isPinnedToPrimary()));
+        thread.join();
+
+        assertTrue(pinned[0]);
+    }
+
+    private String serverOf(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM server", String.class));
+    }
+
+    private <T> T readOnly(java.util.function.Supplier<T> query) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction.execute(status -> query.get());
+    }
+
+    private double routed(String pool, String reason) {
+        return meterRegistry.get("openeducation.datasource.read.route").tag("pool", pool).tag("reason", reason).counter().count();
+    }
+
+    private HikariDataSource pool(String name) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        pool.setPoolName(name);
+        pool.setMaximumPoolSize(2);
+        pool.setMetricRegistry(meterRegistry);
+        try (Connection connection = pool.getConnection()) {
+            connection.createStatement().execute("CREATE TABLE server (name VARCHAR(16))");
+            connection.createStatement().execute("INSERT INTO server VALUES ('" + name + "')");
+            connection.createStatement().execute("CREATE TABLE course_note (text VARCHAR(16))");
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        return pool;
+    }
+}
@@ -0,0 +1,92 @@
+package Backend.OpenEducation.Config;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ReadYourWritesInterceptor class.
+ */
+public class ReadYourWritesInterceptorTest {
+
+    private static final Instant NOW = Instant.parse("2024-03-01T10:15:30Z");
+
+    private final ReadYourWritesInterceptor interceptor =
+            new ReadYourWritesInterceptor(Duration.ofSeconds(5), Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @AfterEach
+    public void tearDown() {
+        ReadRoutingContext.clear();
+    }
+
+    /**
+     * Tests that a write request reads from the primary and sets the cookie to the end of the window.
+     */
+    @Test
+    public void testWriteRequestPinsAndSetsCookie() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(new MockHttpServletRequest("PUT", "/api/v1/courses/1"), response, null);
+
+        assertTrue(ReadRoutingContext.isPinnedToPrimary());
+        Cookie cookie = response.getCookie(ReadYourWritesInterceptor.COOKIE_NAME);
+        assertNotNull(cookie);
+        assertEquals(Long.toString(NOW.toEpochMilli() + 5_000), cookie.getValue());
+        assertEquals(5, cookie.getMaxAge());
+    }
+
+    /**
+     * Tests that a read within the window of an earlier write is pinned to the primary.
+     */
+    @Test
+    public void testReadAfterRecentWriteIsPinned() {
+        assertTrue(isPinned(NOW.toEpochMilli() + 3_000));
+    }
+
+    /**
+     * Tests that reads without the cookie, after the window, or with a forged or unreadable cookie use the replicas.
+     */
+    @Test
+    public void testOtherReadsAreNotPinned() {
+        assertFalse(isPinned(null));
+        assertFalse(isPinned(NOW.toEpochMilli() - 1));
+        assertFalse(isPinned(NOW.toEpochMilli() + 60_000));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/courses/1");
+        request.setCookies(new Cookie(ReadYourWritesInterceptor.COOKIE_NAME, "soon"));
+        interceptor.preHandle(request, new MockHttpServletResponse(), null);
+        assertFalse(ReadRoutingContext.isPinnedToPrimary());
+    }
+
+    /**
+     * Tests that the hint is cleared once the request completes.
+     */
+    @Test
+    public void testAfterCompletionClearsHint() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/courses");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, null);
+
+        interceptor.afterCompletion(request, response, null, null);
+
+        assertFalse(ReadRoutingContext.isPinnedToPrimary());
+    }
+
+    private boolean isPinned(Long cookieValue) {
+        ReadRoutingContext.clear();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/courses/1");
+        if (cookieValue != null) {
+            request.setCookies(new Cookie(ReadYourWritesInterceptor.COOKIE_NAME, cookieValue.toString()));
+        }
+        interceptor.preHandle(request, new MockHttpServletResponse(), null);
+        return ReadRoutingContext.isPinnedToPrimary();
+    }
+}
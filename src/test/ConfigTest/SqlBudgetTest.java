@@ -0,0 +1,124 @@
+package Backend.OpenEducation.Config;
+
+import Backend.OpenEducation.Exception.SqlBudgetExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the SqlBudget class.
+ */
+public class SqlBudgetTest {
+
+    private static final long ONE_MS = Duration.ofMillis(1).toNanos();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    public void tearDown() {
+        QueryCounter.stop();
+    }
+
+    /**
+     * Tests that with the FAIL action the statement crossing the budget, and every one after it, fails.
+     */
+    @Test
+    public void testFailActionFailsStatementsOverBudget() {
+        QueryCounter.start("GET /api/v1/courses", budget(SqlBudgetProperties.Action.FAIL));
+
+        QueryCounter.statementPrepared("select 1");
+        QueryCounter.statementPrepared("select 2");
+        SqlBudgetExceededException exception = assertThrows(SqlBudgetExceededException.class,
+                () -> QueryCounter.statementPrepared("select 3"));
+        assertThrows(SqlBudgetExceededException.class, () -> QueryCounter.statementPrepared("select 4"));
+
+        assertTrue(exception.getMessage().startsWith("GET /api/v1/courses went over its SQL budget: 3 statements (max 2)"));
+        assertEquals(1.0, meterRegistry.get(SqlBudget.EXCEEDED).counter().count());
+    }
+
+    /**
+     * Tests that with the LOG action requests go on, and are reported once.
+     */
+    @Test
+    public void testLogActionReportsOnce() {
+        QueryCounter.start("GET /api/v1/courses", budget(SqlBudgetProperties.Action.LOG));
+
+        for (int i = 0; i < 5; i++) {
+            QueryCounter.statementPrepared("select " + i);
+        }
+
+        assertEquals(5, QueryCounter.current());
+        assertEquals(1.0, meterRegistry.get(SqlBudget.EXCEEDED).counter().count());
+    }
+
+    /**
+     * Tests that going over the database time budget fails the next statement.
+     */
+    @Test
+    public void testDatabaseTimeOverBudgetFailsNextStatement() {
+        QueryCounter.start("GET /api/v1/courses", budget(SqlBudgetProperties.Action.FAIL));
+
+        QueryCounter.statementPrepared("select 1");
+        QueryCounter.statementExecuted(20 * ONE_MS);
+
+        assertThrows(SqlBudgetExceededException.class, () -> QueryCounter.statementPrepared("select 2"));
+    }
+
+    /**
+     * Tests that slow statements are counted under the repository method that issued them.
+     */
+    @Test
+    public void testSlowStatementsAreAttributedToRepositoryMethod() throws Exception {
+        QueryCounter.start("GET /api/v1/courses", budget(SqlBudgetProperties.Action.LOG));
+        ProxyFactory proxyFactory = new ProxyFactory((Callable<Object>) () -> {
+            QueryCounter.statementPrepared("select 1");
+            QueryCounter.statementExecuted(6 * ONE_MS);
+            QueryCounter.statementPrepared("select 2");
+            QueryCounter.statementExecuted(ONE_MS);
+            return RepositoryMethodTracker.current();
+        });
+        proxyFactory.addAdvice(new RepositoryMethodTracker(Callable.class));
+        @SuppressWarnings("unchecked")
+        Callable<Object> repository = (Callable<Object>) proxyFactory.getProxy();
+
+        Object origin = repository.call();
+
+        assertEquals(new RepositoryMethodTracker.RepositoryMethod("Callable", "call"), origin);
+        assertNull(RepositoryMethodTracker.current());
+        assertEquals(1.0, meterRegistry.get(SqlBudget.SLOW_STATEMENTS)
+                .tag("repository", "Callable")
+                .tag("method", "call")
+                .counter().count());
+        assertEquals(Duration.ofMillis(7), QueryCounter.stop().databaseTime());
+    }
+
+    /**
+     * Tests that requests counted without a budget are not timed.
+     */
+    @Test
+    public void testNoBudgetOnlyCounts() {
+        QueryCounter.start();
+
+        QueryCounter.statementPrepared("select 1");
+        QueryCounter.statementExecuted(20 * ONE_MS);
+
+        QueryCounter.Usage usage = QueryCounter.stop();
+        assertEquals(1, usage.statements());
+        assertEquals(Duration.ZERO, usage.databaseTime());
+    }
+
+    private SqlBudget budget(SqlBudgetProperties.Action action) {
+        SqlBudgetProperties properties = new SqlBudgetProperties();
+        properties.setMaxStatements(2);
+        properties.setMaxDatabaseTime(Duration.ofMillis(10));
+        properties.setSlowStatementThreshold(Duration.ofMillis(5));
+        properties.setAction(action);
+        return new SqlBudget(properties, meterRegistry);
+    }
+}
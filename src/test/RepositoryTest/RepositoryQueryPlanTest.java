@@ -0,0 +1,320 @@
+package Backend.OpenEducation.Repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.hibernate5.SpringBeanContainer;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import Backend.OpenEducation.Model.MaterialType;
+import Backend.OpenEducation.dto.SearchDocument;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Query plan regression tests for the repository access paths.
+ * The Flyway migrations are applied to H2 in MySQL mode, the entities are validated against
+ * the resulting schema, and every repository query is explained: a query whose plan scans
+ * a whole table instead of using an index fails.
+ * The queries are run through repository proxies, as in the application, so the SQL explained
+ * is the one Spring Data derives or declares for each method, and a repository with a method
+ * that cannot be derived fails the set-up.
+ */
+public class RepositoryQueryPlanTest {
+
+    private static final String URL = "jdbc:h2:mem:query-plans;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    // SQL of the last statement Hibernate prepared
+    private static final ThreadLocal<String> lastSql = new ThreadLocal<>();
+
+    private static DriverManagerDataSource dataSource;
+
+    private static LocalContainerEntityManagerFactoryBean entityManagerFactoryBean;
+
+    private static TransactionTemplate transaction;
+
+    private static CourseRepository courseRepository;
+
+    private static ModuleRepository moduleRepository;
+
+    private static MaterialRepository materialRepository;
+
+    private static SubjectRepository subjectRepository;
+
+    private static CatalogChangeRepository catalogChangeRepository;
+
+    private static SubjectPopularityRepository subjectPopularityRepository;
+
+    @BeforeAll
+    public static void setUp() {
+        dataSource = new DriverManagerDataSource(URL, "sa", "");
+        Flyway.configure().dataSource(dataSource).load().migrate();
+
+        entityManagerFactoryBean = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactoryBean.setDataSource(dataSource);
+        entityManagerFactoryBean.setPackagesToScan("Backend.OpenEducation.Model");
+        entityManagerFactoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        entityManagerFactoryBean.setJpaPropertyMap(Map.of(
+                AvailableSettings.HBM2DDL_AUTO, "validate",
+                AvailableSettings.DIALECT, MySQLDialect.class.getName(),
+                AvailableSettings.PHYSICAL_NAMING_STRATEGY, CamelCaseToUnderscoresNamingStrategy.class.getName(),
+                AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+                    lastSql.set(sql);
+                    return sql;
+                },
+                AvailableSettings.BEAN_CONTAINER, new SpringBeanContainer(new DefaultListableBeanFactory())));
+        entityManagerFactoryBean.afterPropertiesSet();
+        EntityManagerFactory entityManagerFactory = entityManagerFactoryBean.getObject();
+        transaction = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory));
+        transaction.setReadOnly(true);
+
+        JpaRepositoryFactory repositoryFactory =
+                new JpaRepositoryFactory(SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory));
+        courseRepository = repositoryFactory.getRepository(CourseRepository.class);
+        moduleRepository = repositoryFactory.getRepository(ModuleRepository.class);
+        materialRepository = repositoryFactory.getRepository(MaterialRepository.class);
+        subjectRepository = repositoryFactory.getRepository(SubjectRepository.class);
+        catalogChangeRepository = repositoryFactory.getRepository(CatalogChangeRepository.class);
+        subjectPopularityRepository = repositoryFactory.getRepository(SubjectPopularityRepository.class,
+                RepositoryFragments.just(new SubjectPopularityRepositoryImpl(new JdbcTemplate(dataSource))));
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        entityManagerFactoryBean.destroy();
+    }
+
+    /**
+     * Tests that the migrated schema matches the entities, and that every repository query can be created.
+     */
+    @Test
+    public void testSchemaMatchesEntities() {
+        // Validation runs when the entity manager factory starts, and query creation when each
+        // repository proxy is built: either fails the set-up
+        assertNotNull(courseRepository);
+        assertNotNull(subjectPopularityRepository);
+    }
+
+    /**
+     * Tests that CourseRepository.findByLevel seeks on the level index.
+     */
+    @Test
+    public void testFindByLevel() {
+        assertNoFullScan("findByLevel", () -> courseRepository.findByLevel("beginner"),
+                "idx_course_level_start_date: level = ?1");
+    }
+
+    /**
+     * Tests that CourseRepository.findByStartDateBetween seeks on the start date index.
+     */
+    @Test
+    public void testFindByStartDateBetween() {
+        assertNoFullScan("findByStartDateBetween",
+                () -> courseRepository.findByStartDateBetween(LocalDate.of(2024, 7, 1), LocalDate.of(2024, 8, 31)),
+                "idx_course_start_date: start_date >= ?1");
+    }
+
+    /**
+     * Tests that CourseRepository.findAllByOrderByStartDateAsc reads the start date index in order, without sorting.
+     */
+    @Test
+    public void testFindAllByOrderByStartDateAsc() {
+        assertNoFullScan("findAllByOrderByStartDateAsc", () -> courseRepository.findAllByOrderByStartDateAsc(),
+                "idx_course_start_date", "index sorted");
+    }
+
+    /**
+     * Tests that the keyset pagination of CourseRepository.findDTOsAfter seeks on the primary key.
+     */
+    @Test
+    public void testFindDTOsAfter() {
+        assertNoFullScan("findDTOsAfter", () -> courseRepository.findDTOsAfter(100L, Limit.of(10)),
+                "courseid > ?1", "index sorted");
+    }
+
+    /**
+     * Tests that CourseRepository.findDTOsByIdIn, which reloads the stale courses of a restored snapshot,
+     * seeks on the primary key.
+     */
+    @Test
+    public void testFindCourseDTOsByIdIn() {
+        assertNoFullScan("findDTOsByIdIn", () -> courseRepository.findDTOsByIdIn(List.of(1L, 2L)),
+                "primary_key", "courseid in(?1, ?2)");
+    }
+
+    /**
+     * Tests that CourseRepository.findIdsModifiedSince, run when a node restarts from its course snapshot,
+     * seeks on the last change index.
+     */
+    @Test
+    public void testFindIdsModifiedSince() {
+        assertNoFullScan("findIdsModifiedSince",
+                () -> courseRepository.findIdsModifiedSince(Instant.parse("2024-03-01T10:15:30Z")),
+                "idx_course_last_modified: last_modified >= ?1");
+    }
+
+    /**
+     * Tests that CatalogChangeRepository.findAfter, polled by every node, seeks on the primary key.
+     */
+    @Test
+    public void testFindCatalogChangesAfter() {
+        assertNoFullScan("findAfter", () -> catalogChangeRepository.findAfter(100L, Limit.of(10)),
+                "primary_key", "id > ?1");
+    }
+
+    /**
+     * Tests that ModuleRepository.findByCourseIdOrderBySequenceAsc seeks on the course and reads the modules in order.
+     */
+    @Test
+    public void testFindModulesByCourseIdOrderBySequence() {
+        assertNoFullScan("findByCourseIdOrderBySequenceAsc", () -> moduleRepository.findByCourseIdOrderBySequenceAsc(1L),
+                "courseid = ?1");
+    }
+
+    /**
+     * Tests that ModuleRepository.findDTOsByCourseIdIn seeks on the course of each module.
+     */
+    @Test
+    public void testFindModuleDTOsByCourseIdIn() {
+        assertNoFullScan("findDTOsByCourseIdIn", () -> moduleRepository.findDTOsByCourseIdIn(List.of(1L, 2L)),
+                "courseid in(?1, ?2)");
+    }
+
+    /**
+     * Tests that MaterialRepository.findDTOsByCourseIdIn seeks on the course of each material.
+     */
+    @Test
+    public void testFindMaterialDTOsByCourseIdIn() {
+        assertNoFullScan("findDTOsByCourseIdIn", () -> materialRepository.findDTOsByCourseIdIn(List.of(1L, 2L)),
+                "courseid in(?1, ?2)");
+    }
+
+    /**
+     * Tests that MaterialRepository.findByType seeks on the type index.
+     */
+    @Test
+    public void testFindMaterialsByType() {
+        assertNoFullScan("findByType", () -> materialRepository.findByType(MaterialType.VIDEO),
+                "idx_material_type: type = ?1");
+    }
+
+    /**
+     * Tests that MaterialRepository.findBySubjectId seeks on the subject index of the materials, without reading the courses.
+     */
+    @Test
+    public void testFindMaterialsBySubjectId() {
+        assertNoFullScan("findBySubjectId", () -> materialRepository.findBySubjectId(1L),
+                "idx_material_subject: subject_id = ?1");
+        assertFalse(lastSql.get().contains(" join "), "findBySubjectId should not join");
+    }
+
+    /**
+     * Tests that the keyset pagination of MaterialRepository.findDTOsBySubjectAfter reads one range of the subject index.
+     */
+    @Test
+    public void testFindMaterialDTOsBySubjectAfter() {
+        assertNoFullScan("findDTOsBySubjectAfter", () -> materialRepository.findDTOsBySubjectAfter(1L, 100L, Limit.of(10)),
+                "idx_material_subject: subject_id = ?1", "materialid > ?2");
+    }
+
+    /**
+     * Tests that the keyset pagination of MaterialRepository.findDTOsBySubjectAndTypeAfter seeks on one of the subject indexes.
+     * On near-empty tables H2 may prefer the narrower index, so only its name prefix is checked.
+     */
+    @Test
+    public void testFindMaterialDTOsBySubjectAndTypeAfter() {
+        assertNoFullScan("findDTOsBySubjectAndTypeAfter",
+                () -> materialRepository.findDTOsBySubjectAndTypeAfter(1L, MaterialType.VIDEO, 100L, Limit.of(10)),
+                "idx_material_subject", "subject_id = ?1");
+    }
+
+    /**
+     * Tests that SubjectPopularityRepository.findTop reads the score index from its highest entry.
+     */
+    @Test
+    public void testFindTopPopularSubjects() {
+        assertNoFullScan("findTop", () -> subjectPopularityRepository.findTop(Limit.of(10)),
+                "idx_subject_popularity_score", "index sorted");
+    }
+
+    /**
+     * Tests that the search index rebuild reads the searchable columns of courses, modules and subjects
+     * as scalar rows, each from its own table, so no eager association is loaded.
+     */
+    @Test
+    public void testStreamSearchDocumentsReadOneTable() {
+        List<Supplier<Stream<SearchDocument>>> streams = List.of(courseRepository::streamSearchDocuments,
+                moduleRepository::streamSearchDocuments, subjectRepository::streamSearchDocuments);
+        for (Supplier<Stream<SearchDocument>> stream : streams) {
+            transaction.executeWithoutResult(status -> {
+                try (Stream<SearchDocument> documents = stream.get()) {
+                    documents.forEach(document -> { });
+                }
+            });
+            assertFalse(lastSql.get().contains(" join "), () -> "Join in the SQL " + lastSql.get());
+        }
+    }
+
+    /**
+     * Tests that the deprecated native title search of ModuleRepository runs against the module table.
+     */
+    @Test
+    public void testFindModulesByTitleNative() {
+        transaction.execute(status -> moduleRepository.findModulesByTitleNative("java"));
+        assertTrue(lastSql.get().toLowerCase().contains("from module "), lastSql.get());
+    }
+
+    /**
+     * Runs a repository query, explains the SQL Hibernate generated for it, and checks that no table
+     * is scanned in full and that the plan contains each expected index lookup.
+     * Lookups are matched on their condition rather than on the index name where the name is
+     * H2's own: unlike MySQL, H2 gives each foreign key an index even when a composite one could serve.
+     */
+    private static void assertNoFullScan(String method, Supplier<?> query, String... lookups) {
+        transaction.execute(status -> query.get());
+
+        String plan = explain(lastSql.get());
+        assertFalse(plan.contains("tableScan"), () -> "Full table scan in the plan of " + method + ":\n" + plan);
+        for (String lookup : lookups) {
+            assertTrue(plan.toLowerCase().contains(lookup), () -> "No " + lookup + " in the plan of " + method + ":\n" + plan);
+        }
+    }
+
+    private static String explain(String sql) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet plan = statement.executeQuery("EXPLAIN " + sql)) {
+            assertTrue(plan.next());
+            return plan.getString(1);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot explain " + sql, e);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package Backend.OpenEducation.Services;
+
+import Backend.OpenEducation.Event.CourseChangeBatchEvent;
+import Backend.OpenEducation.Event.CourseChangedEvent;
+import Backend.OpenEducation.Model.CatalogChange;
+import Backend.OpenEducation.Repository.CatalogChangeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the CatalogChangeFeed class.
+ */
+public class CatalogChangeFeedTest {
+
+    @Mock
+    private CatalogChangeRepository catalogChangeRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager("courses");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private CatalogChangeFeed feed;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        feed = new CatalogChangeFeed(catalogChangeRepository, cacheManager, eventPublisher, meterRegistry,
+                true, 100, Duration.ofMinutes(1), Duration.ofHours(1));
+    }
+
+    /**
+     * Tests that local changes are recorded in the outbox, and changes read from the feed are not recorded again.
+     */
+    @Test
+    public void testOnlyLocalChangesAreRecorded() {
+        feed.onCourseChanged(new CourseChangedEvent(1L, CourseChangedEvent.ChangeType.UPDATED));
+        feed.onCourseChanged(new CourseChangedEvent(2L, CourseChangedEvent.ChangeType.UPDATED, CourseChangedEvent.Origin.FEED));
+
+        ArgumentCaptor<CatalogChange> recorded = ArgumentCaptor.forClass(CatalogChange.class);
+        verify(catalogChangeRepository).save(recorded.capture());
+        assertEquals(1L, recorded.getValue().getCourseId());
+        assertEquals(CourseChangedEvent.ChangeType.UPDATED, recorded.getValue().getChangeType());
+    }
+
+    /**
+     * Tests that the changes of other nodes are applied once per course, in feed order, then as one batch,
+     * and the changes of this node are skipped.
+     */
+    @Test
+    public void testPollAppliesChangesOfOtherNodes() {
+        when(catalogChangeRepository.findLastId()).thenReturn(10L);
+        feed.poll();
+        cacheManager.getCache("courses").put(1L, "cached");
+        feed.record(3L, CourseChangedEvent.ChangeType.UPDATED);
+        ArgumentCaptor<CatalogChange> own = ArgumentCaptor.forClass(CatalogChange.class);
+        verify(catalogChangeRepository).save(own.capture());
+        when(catalogChangeRepository.findAfter(eq(10L), any())).thenReturn(List.of(
+                change(11L, 1L, CourseChangedEvent.ChangeType.UPDATED, "other"),
+                change(12L, 2L, CourseChangedEvent.ChangeType.CREATED, "other"),
+                change(13L, own.getValue()),
+                change(14L, 1L, CourseChangedEvent.ChangeType.DELETED, "other")));
+
+        feed.poll();
+
+        ArgumentCaptor<CourseChangedEvent> events = ArgumentCaptor.forClass(CourseChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertEquals(List.of(2L, 1L), events.getAllValues().stream().map(CourseChangedEvent::getCourseId).toList());
+        assertEquals(CourseChangedEvent.ChangeType.DELETED, events.getAllValues().get(1).getType());
+        assertTrue(events.getAllValues().stream().allMatch(event -> event.getOrigin() == CourseChangedEvent.Origin.FEED));
+        assertNull(cacheManager.getCache("courses").get(1L));
+        assertEquals(2.0, meterRegistry.get("openeducation.change-feed.applied").counter().count());
+
+        ArgumentCaptor<CourseChangeBatchEvent> batch = ArgumentCaptor.forClass(CourseChangeBatchEvent.class);
+        verify(eventPublisher).publishEvent(batch.capture());
+        assertEquals(List.of(2L, 1L), batch.getValue().getChanges().stream().map(CourseChangedEvent::getCourseId).toList());
+    }
+
+    /**
+     * Tests that a change committed after the changes following it in the feed is still applied.
+     */
+    @Test
+    public void testSkippedPositionIsPickedUpLater() {
+        when(catalogChangeRepository.findLastId()).thenReturn(null);
+        feed.poll();
+        when(catalogChangeRepository.findAfter(eq(0L), any()))
+                .thenReturn(List.of(change(1L, 5L, CourseChangedEvent.ChangeType.UPDATED, "other"),
+                        change(3L, 6L, CourseChangedEvent.ChangeType.UPDATED, "other")));
+        feed.poll();
+        verify(eventPublisher, times(2)).publishEvent(any(CourseChangedEvent.class));
+
+        when(catalogChangeRepository.findByIdIn(Set.of(2L)))
+                .thenReturn(List.of(change(2L, 7L, CourseChangedEvent.ChangeType.UPDATED, "other")));
+        feed.poll();
+
+        ArgumentCaptor<CourseChangedEvent> events = ArgumentCaptor.forClass(CourseChangedEvent.class);
+        verify(eventPublisher, times(3)).publishEvent(events.capture());
+        assertEquals(7L, events.getValue().getCourseId());
+        verify(catalogChangeRepository).findAfter(eq(3L), any());
+
+        // Once found, the position is no longer looked for
+        feed.poll();
+        verify(catalogChangeRepository, times(1)).findByIdIn(any());
+    }
+
+    private static CatalogChange change(long id, long courseId, CourseChangedEvent.ChangeType type, String origin) {
+        return change(id, new CatalogChange(courseId, type, origin));
+    }
+
+    private static CatalogChange change(long id, CatalogChange change) {
+        ReflectionTestUtils.setField(change, "id", id);
+        return change;
+    }
+}
@@ -0,0 +1,62 @@
+package Backend.OpenEducation.Services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the CatalogWarmup class.
+ */
+public class CatalogWarmupTest {
+
+    @Mock
+    private CourseCatalogSnapshot courseCatalogSnapshot;
+
+    @Mock
+    private CourseIdFilter courseIdFilter;
+
+    @Mock
+    private OffHeapCatalogStore offHeapCatalogStore;
+
+    @Mock
+    private SearchServiceImpl searchService;
+
+    private CatalogWarmup catalogWarmup;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        catalogWarmup = new CatalogWarmup(courseCatalogSnapshot, courseIdFilter, offHeapCatalogStore, searchService);
+    }
+
+    /**
+     * Tests that the copies of the catalog are loaded one after the other, in a fixed order.
+     */
+    @Test
+    public void testLoadsInOrder() {
+        catalogWarmup.warmUp();
+
+        InOrder inOrder = inOrder(courseCatalogSnapshot, courseIdFilter, offHeapCatalogStore, searchService);
+        inOrder.verify(courseCatalogSnapshot).refresh();
+        inOrder.verify(courseIdFilter).rebuild();
+        inOrder.verify(offHeapCatalogStore).rebuild();
+        inOrder.verify(searchService).rebuild();
+    }
+
+    /**
+     * Tests that a copy failing to load does not keep the others from loading, nor fails the startup.
+     */
+    @Test
+    public void testFailureDoesNotStopTheOthers() {
+        doThrow(new IllegalStateException("Database down")).when(courseIdFilter).rebuild();
+
+        catalogWarmup.warmUp();
+
+        verify(offHeapCatalogStore).rebuild();
+        verify(searchService).rebuild();
+    }
+}
@@ -0,0 +1,214 @@
+package Backend.OpenEducation.Services;
+
+import Backend.OpenEducation.dto.CourseDTO;
+import Backend.OpenEducation.dto.MaterialDTO;
+import Backend.OpenEducation.dto.ModuleDTO;
+import Backend.OpenEducation.Model.Course;
+import Backend.OpenEducation.Model.MaterialType;
+import Backend.OpenEducation.Repository.MaterialRepository;
+import Backend.OpenEducation.Repository.ModuleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the CourseAssembler class.
+ * Acts as a query-count regression test for course listing.
+ */
+public class CourseAssemblerTest {
+
+    private static final int BATCH_SIZE = 100;
+
+    @Mock
+    private MaterialRepository materialRepository;
+
+    @Mock
+    private ModuleRepository moduleRepository;
+
+    private CourseAssembler courseAssembler;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        courseAssembler = new CourseAssembler(materialRepository, moduleRepository, BATCH_SIZE);
+    }
+
+    /**
+     * Tests that materials and modules are grouped under the course they belong to.
+     */
+    @Test
+    public void testToDTOsGroupsChildrenByCourse() {
+        List<Course> courses = createCourses(2);
+        MaterialDTO material = new MaterialDTO(10L, 2L, "Intro Video", "Welcome", "http://example.org/intro", MaterialType.VIDEO);
+        ModuleDTO module = new ModuleDTO(20L, 1L, "Basics", "Content", null, 1);
+
+        when(materialRepository.findDTOsByCourseIdIn(anyCollection())).thenReturn(List.of(material));
+        when(moduleRepository.findDTOsByCourseIdIn(anyCollection())).thenReturn(List.of(module));
+
+        List<CourseDTO> courseDTOs = courseAssembler.toDTOs(courses);
+
+        assertEquals(2, courseDTOs.size());
+        assertEquals(1L, courseDTOs.get(0).getId());
+        assertTrue(courseDTOs.get(0).getMaterials().isEmpty());
+        assertEquals(List.of(module), courseDTOs.get(0).getModules());
+        assertEquals(List.of(material), courseDTOs.get(1).getMaterials());
+        assertTrue(courseDTOs.get(1).getModules().isEmpty());
+    }
+
+    /**
+     * Tests that course projections are filled in place, without converting any entity.
+     */
+    @Test
+    public void testAssembleFillsProjectedCourses() {
+        CourseDTO course = new CourseDTO(1L, "Course 1", "Description 1");
+        ModuleDTO module = new ModuleDTO(20L, 1L, "Basics", "Content", null, 1);
+        when(materialRepository.findDTOsByCourseIdIn(anyCollection())).thenReturn(List.of());
+        when(moduleRepository.findDTOsByCourseIdIn(anyCollection())).thenReturn(List.of(module));
+
+        CourseDTO assembled = courseAssembler.assemble(course);
+
+        assertSame(course, assembled);
+        assertEquals("Course 1", assembled.getName());
+        assertTrue(assembled.getMaterials().isEmpty());
+        assertEquals(List.of(module), assembled.getModules());
+    }
+
+    /**
+     * Tests that a page of courses smaller than the batch size costs one query per child table,
+     * whatever the number of courses.
+     */
+    @Test
+    public void testQueryCountIsConstantWithinBatch() {
+        assertEquals(2, countQueries(1));
+        assertEquals(2, countQueries(10));
+        assertEquals(2, countQueries(BATCH_SIZE));
+    }
+
+    /**
+     * Tests that the number of queries grows with the number of batches only.
+     */
+    @Test
+    public void testQueryCountGrowsWithBatchesNotCourses() {
+        assertEquals(4, countQueries(BATCH_SIZE + 1));
+        assertEquals(2 * (5_000 / BATCH_SIZE), countQueries(5_000));
+    }
+
+    /**
+     * Tests that a non-positive batch size is rejected.
+     */
+    @Test
+    public void testInvalidBatchSize() {
+        assertThrows(IllegalArgumentException.class, () -> new CourseAssembler(materialRepository, moduleRepository, 0));
+    }
+
+    /**
+     * Tests that in parallel mode the material and module lookups of a chunk overlap in time.
+     */
+    @Test
+    public void testParallelLookupsRunConcurrently() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CourseAssembler parallelAssembler = new CourseAssembler(materialRepository, moduleRepository, BATCH_SIZE,
+                    executor, mock(PlatformTransactionManager.class));
+            // Each lookup waits for the other one to start, so sequential loading would time out
+            CountDownLatch bothStarted = new CountDownLatch(2);
+            when(materialRepository.findDTOsByCourseIdIn(anyCollection())).thenAnswer(invocation -> awaitBoth(bothStarted));
+            when(moduleRepository.findDTOsByCourseIdIn(anyCollection())).thenAnswer(invocation -> awaitBoth(bothStarted));
+
+            List<CourseDTO> courseDTOs = parallelAssembler.toDTOs(createCourses(3));
+
+            assertTrue(parallelAssembler.isParallel());
+            assertEquals(3, courseDTOs.size());
+            assertEquals(0, bothStarted.getCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Tests that callers inside a transaction are served sequentially on their own thread.
+     */
+    @Test
+    public void testParallelModeIsSequentialInsideTransaction() {
+        Executor executor = task -> fail("No lookup should be handed to the executor");
+        CourseAssembler parallelAssembler = new CourseAssembler(materialRepository, moduleRepository, BATCH_SIZE,
+                executor, mock(PlatformTransactionManager.class));
+        when(materialRepository.findDTOsByCourseIdIn(anyCollection())).thenReturn(List.of());
+        when(moduleRepository.findDTOsByCourseIdIn(anyCollection())).thenReturn(List.of());
+
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertEquals(2, parallelAssembler.toDTOs(createCourses(2)).size());
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+    }
+
+    /**
+     * Tests that a failed concurrent lookup surfaces as the exception thrown by the repository.
+     */
+    @Test
+    public void testParallelLookupFailureIsRethrown() {
+        CourseAssembler parallelAssembler = new CourseAssembler(materialRepository, moduleRepository, BATCH_SIZE,
+                Runnable::run, mock(PlatformTransactionManager.class));
+        when(materialRepository.findDTOsByCourseIdIn(anyCollection())).thenReturn(List.of());
+        when(moduleRepository.findDTOsByCourseIdIn(anyCollection())).thenThrow(new IllegalStateException("database unavailable"));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> parallelAssembler.toDTOs(createCourses(1)));
+        assertEquals("database unavailable", exception.getMessage());
+    }
+
+    private static List<Object> awaitBoth(CountDownLatch bothStarted) throws InterruptedException {
+        bothStarted.countDown();
+        assertTrue(bothStarted.await(5, TimeUnit.SECONDS), "Lookups did not run concurrently");
+        return List.of();
+    }
+
+    /**
+     * Assembles the given number of courses and returns how many repository round trips were issued.
+     */
+    private int countQueries(int numberOfCourses) {
+        clearInvocations(materialRepository, moduleRepository);
+        when(materialRepository.findDTOsByCourseIdIn(anyCollection())).thenReturn(List.of());
+        when(moduleRepository.findDTOsByCourseIdIn(anyCollection())).thenReturn(List.of());
+
+        List<CourseDTO> courseDTOs = courseAssembler.toDTOs(createCourses(numberOfCourses));
+
+        assertEquals(numberOfCourses, courseDTOs.size());
+        verifyNoMoreInteractionsExceptBatchLoads();
+        return mockingDetails(materialRepository).getInvocations().size()
+                + mockingDetails(moduleRepository).getInvocations().size();
+    }
+
+    private void verifyNoMoreInteractionsExceptBatchLoads() {
+        verify(materialRepository, atLeastOnce()).findDTOsByCourseIdIn(anyCollection());
+        verify(moduleRepository, atLeastOnce()).findDTOsByCourseIdIn(anyCollection());
+        verifyNoMoreInteractions(materialRepository, moduleRepository);
+    }
+
+    private List<Course> createCourses(int numberOfCourses) {
+        List<Course> courses = new ArrayList<>(numberOfCourses);
+        for (long id = 1; id <= numberOfCourses; id++) {
+            Course course = new Course("Course " + id, "Description " + id);
+            course.setId(id);
+            courses.add(course);
+        }
+        return courses;
+    }
+}
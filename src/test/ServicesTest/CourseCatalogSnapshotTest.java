@@ -0,0 +1,344 @@
+package Backend.OpenEducation.Services;
+
+import Backend.OpenEducation.dto.CourseDTO;
+import Backend.OpenEducation.Event.CourseChangeBatchEvent;
+import Backend.OpenEducation.Event.CourseChangedEvent;
+import Backend.OpenEducation.Repository.CourseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the CourseCatalogSnapshot class.
+ */
+public class CourseCatalogSnapshotTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private CourseAssembler courseAssembler;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private CourseSnapshotStore snapshotStore;
+
+    @Mock
+    private CourseSnapshotFile snapshotFile;
+
+    private CourseCatalogSnapshot snapshot;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(courseAssembler.assemble(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(courseAssembler.assemble(any(CourseDTO.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(courseAssembler.getBatchSize()).thenReturn(2);
+        snapshot = new CourseCatalogSnapshot(courseRepository, courseAssembler, transactionManager, snapshotStore,
+                Runnable::run, Duration.ofMinutes(1), 3, 0.5);
+    }
+
+    /**
+     * Tests that the first read builds the snapshot once and later reads are served from memory.
+     */
+    @Test
+    public void testGetCoursesBuildsOnce() {
+        when(courseRepository.findAllDTOs()).thenReturn(List.of(course(2, "B"), course(1, "A")));
+
+        List<CourseDTO> courses = snapshot.getCourses();
+        snapshot.getCourses();
+
+        assertEquals(List.of(1L, 2L), courses.stream().map(CourseDTO::getId).toList());
+        assertEquals(1, snapshot.getVersion());
+        verify(courseRepository, times(1)).findAllDTOs();
+    }
+
+    /**
+     * Tests that concurrent first reads wait for a single build and share it.
+     */
+    @Test
+    public void testConcurrentFirstReadsBuildOnce() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(courseRepository.findAllDTOs()).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return List.of(course(1, "A"));
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<CourseDTO>>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> snapshot.getCourses()));
+            }
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            release.countDown();
+
+            for (Future<List<CourseDTO>> result : results) {
+                assertEquals(List.of(1L), result.get(5, TimeUnit.SECONDS).stream().map(CourseDTO::getId).toList());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, snapshot.getVersion());
+        verify(courseRepository, times(1)).findAllDTOs();
+    }
+
+    /**
+     * Tests that a committed update reloads only the changed course, on the executor, and bumps the version.
+     */
+    @Test
+    public void testUpdateIsAppliedIncrementally() {
+        List<Runnable> tasks = new ArrayList<>();
+        snapshot = new CourseCatalogSnapshot(courseRepository, courseAssembler, transactionManager, snapshotStore,
+                tasks::add, Duration.ofMinutes(1), 3, 0.5);
+        when(courseRepository.findAllDTOs()).thenReturn(List.of(course(1, "A"), course(2, "B")));
+        snapshot.rebuild();
+        when(courseRepository.findDTOsByIdIn(List.of(2L))).thenReturn(List.of(course(2, "B2")));
+
+        snapshot.onCourseChanged(new CourseChangedEvent(2L, CourseChangedEvent.ChangeType.UPDATED));
+        snapshot.onCourseChanged(new CourseChangedEvent(2L, CourseChangedEvent.ChangeType.UPDATED));
+
+        // Nothing is loaded on the committing thread, and both changes share one reload
+        verify(courseRepository, never()).findDTOsByIdIn(anyCollection());
+        assertEquals(1, tasks.size());
+        tasks.get(0).run();
+
+        assertEquals(2, snapshot.getVersion());
+        assertEquals("B2", snapshot.getCourses().get(1).getName());
+        verify(courseRepository, times(1)).findAllDTOs();
+        verify(courseRepository, times(1)).findDTOsByIdIn(anyCollection());
+    }
+
+    /**
+     * Tests that created and deleted courses are added to and removed from the snapshot.
+     */
+    @Test
+    public void testCreateAndDelete() {
+        when(courseRepository.findAllDTOs()).thenReturn(List.of(course(1, "A")));
+        snapshot.rebuild();
+        when(courseRepository.findDTOsByIdIn(List.of(3L))).thenReturn(List.of(course(3, "C")));
+
+        snapshot.onCourseChanged(new CourseChangedEvent(3L, CourseChangedEvent.ChangeType.CREATED));
+        snapshot.onCourseChanged(new CourseChangedEvent(1L, CourseChangedEvent.ChangeType.DELETED));
+
+        assertEquals(List.of(3L), snapshot.getCourses().stream().map(CourseDTO::getId).toList());
+        assertEquals(3, snapshot.getVersion());
+    }
+
+    /**
+     * Tests that the changes read from the change feed are reloaded as one batch rather than one by one.
+     */
+    @Test
+    public void testFeedChangesAreAppliedInBatch() {
+        when(courseRepository.findAllDTOs()).thenReturn(List.of(course(1, "A"), course(2, "B"), course(3, "C"),
+                course(4, "D"), course(5, "E")));
+        snapshot.rebuild();
+        when(courseRepository.findDTOsByIdIn(List.of(2L))).thenReturn(List.of(course(2, "B2")));
+        CourseChangedEvent update = new CourseChangedEvent(2L, CourseChangedEvent.ChangeType.UPDATED, CourseChangedEvent.Origin.FEED);
+        CourseChangedEvent delete = new CourseChangedEvent(3L, CourseChangedEvent.ChangeType.DELETED, CourseChangedEvent.Origin.FEED);
+
+        snapshot.onCourseChanged(update);
+        snapshot.onCourseChanged(delete);
+        snapshot.onCourseChangeBatch(new CourseChangeBatchEvent(List.of(update, delete)));
+
+        List<CourseDTO> courses = snapshot.getCourses();
+        assertEquals(List.of(1L, 2L, 4L, 5L), courses.stream().map(CourseDTO::getId).toList());
+        assertEquals("B2", courses.get(1).getName());
+        assertEquals(2, snapshot.getVersion());
+        verify(courseRepository, never()).findDTOById(anyLong());
+        verify(courseRepository, times(1)).findAllDTOs();
+    }
+
+    /**
+     * Tests that a batch of the change feed changing a large share of the catalog rebuilds it instead.
+     */
+    @Test
+    public void testLargeFeedBatchRebuilds() {
+        when(courseRepository.findAllDTOs()).thenReturn(List.of(course(1, "A")), List.of(course(1, "A"), course(2, "B")));
+        snapshot.rebuild();
+
+        snapshot.onCourseChangeBatch(new CourseChangeBatchEvent(List.of(
+                new CourseChangedEvent(2L, CourseChangedEvent.ChangeType.CREATED, CourseChangedEvent.Origin.FEED))));
+
+        assertEquals(2, snapshot.getCourses().size());
+        verify(courseRepository, times(2)).findAllDTOs();
+        verify(courseRepository, never()).findDTOsByIdIn(anyCollection());
+    }
+
+    /**
+     * Tests that a rebuild started while another one runs waits for it, and that the first one still
+     * reloads the change made while it was loading.
+     */
+    @Test
+    public void testConcurrentRebuildsDoNotOverlap() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(courseRepository.findAllDTOs()).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return List.of(course(1, "A"));
+        }).thenReturn(List.of(course(1, "A"), course(2, "B")));
+        when(courseRepository.findDTOById(2L)).thenReturn(Optional.of(course(2, "B")));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(() -> snapshot.rebuild());
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            snapshot.onCourseChanged(new CourseChangedEvent(2L, CourseChangedEvent.ChangeType.CREATED));
+            Future<?> second = executor.submit(() -> snapshot.rebuild());
+            Thread.sleep(100);
+            assertFalse(second.isDone());
+            release.countDown();
+
+            first.get(5, TimeUnit.SECONDS);
+            second.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(List.of(1L, 2L), snapshot.getCourses().stream().map(CourseDTO::getId).toList());
+        verify(courseRepository, times(2)).findAllDTOs();
+        // Reloaded by the first rebuild, whose tracking the second one did not reset
+        verify(courseRepository).findDTOById(2L);
+    }
+
+    /**
+     * Tests that rebuilds requested before the queued one starts share it, and run on the executor.
+     */
+    @Test
+    public void testRequestedRebuildsAreCoalesced() {
+        List<Runnable> tasks = new ArrayList<>();
+        snapshot = new CourseCatalogSnapshot(courseRepository, courseAssembler, transactionManager, snapshotStore,
+                tasks::add, Duration.ofMinutes(1), 3, 0.5);
+        when(courseRepository.findAllDTOs()).thenReturn(List.of(course(1, "A")));
+
+        snapshot.requestRebuild();
+        snapshot.requestRebuild();
+
+        verifyNoInteractions(courseRepository);
+        assertEquals(1, tasks.size());
+        tasks.get(0).run();
+        verify(courseRepository, times(1)).findAllDTOs();
+
+        snapshot.requestRebuild();
+        assertEquals(2, tasks.size());
+    }
+
+    /**
+     * Tests that changes arriving before the first build are left to the build itself.
+     */
+    @Test
+    public void testChangeBeforeFirstBuildIsIgnored() {
+        snapshot.onCourseChanged(new CourseChangedEvent(1L, CourseChangedEvent.ChangeType.UPDATED));
+
+        assertEquals(0, snapshot.getVersion());
+        verifyNoInteractions(courseRepository);
+    }
+
+    /**
+     * Tests that a full rebuild saves the catalog for the next run and releases the restored file.
+     */
+    @Test
+    public void testRebuildSavesCatalog() {
+        when(courseRepository.findAllDTOs()).thenReturn(List.of(course(1, "A")));
+
+        snapshot.rebuild();
+
+        verify(snapshotStore).release();
+        verify(snapshotStore).save(any(Instant.class), argThat(courses -> courses.size() == 1));
+    }
+
+    /**
+     * Tests that the catalog is restored from the saved file without touching the database,
+     * then reconciled: courses modified since the watermark are reloaded in batches, deleted ones
+     * dropped and created ones added.
+     */
+    @Test
+    public void testRestoreThenReconcile() {
+        Instant watermark = Instant.parse("2024-03-01T10:15:30Z");
+        when(snapshotStore.getRestored()).thenReturn(Optional.of(snapshotFile));
+        when(snapshotFile.getWatermark()).thenReturn(watermark);
+        when(snapshotFile.readAll()).thenReturn(List.of(course(1, "A"), course(2, "B"), course(3, "C")));
+
+        assertEquals(List.of(1L, 2L, 3L), snapshot.getCourses().stream().map(CourseDTO::getId).toList());
+        verifyNoInteractions(courseRepository);
+
+        when(courseRepository.findIdsModifiedSince(watermark.minus(Duration.ofMinutes(1)))).thenReturn(List.of(2L));
+        when(courseRepository.findAllIds()).thenReturn(List.of(1L, 2L, 4L));
+        when(courseRepository.findDTOsByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return Stream.of(course(2, "B2"), course(4, "D")).filter(course -> ids.contains(course.getId())).toList();
+        });
+        snapshot.refresh();
+
+        List<CourseDTO> courses = snapshot.getCourses();
+        assertEquals(List.of(1L, 2L, 4L), courses.stream().map(CourseDTO::getId).toList());
+        assertEquals("B2", courses.get(1).getName());
+        verify(courseRepository, never()).findAllDTOs();
+        verify(courseRepository, never()).findDTOById(anyLong());
+        // Three stale courses in batches of two
+        verify(courseRepository, times(2)).findDTOsByIdIn(anyCollection());
+        verify(snapshotStore).invalidate(2L);
+        verify(snapshotStore).invalidate(3L);
+        verify(snapshotStore).invalidate(4L);
+        verify(snapshotStore, never()).invalidate(1L);
+        verify(snapshotStore, never()).release();
+        verify(snapshotStore).save(any(Instant.class), argThat(saved -> saved.size() == 3));
+
+        // The next run rebuilds in full
+        when(snapshotStore.getRestored()).thenReturn(Optional.empty());
+        when(courseRepository.findAllDTOs()).thenReturn(List.of(course(1, "A")));
+        snapshot.refresh();
+        verify(courseRepository).findAllDTOs();
+    }
+
+    /**
+     * Tests that a restored catalog with more stale courses than the threshold is rebuilt in full.
+     */
+    @Test
+    public void testReconcileFallsBackToRebuild() {
+        Instant watermark = Instant.parse("2024-03-01T10:15:30Z");
+        when(snapshotStore.getRestored()).thenReturn(Optional.of(snapshotFile));
+        when(snapshotFile.getWatermark()).thenReturn(watermark);
+        when(snapshotFile.readAll()).thenReturn(List.of(course(1, "A")));
+        snapshot.getCourses();
+
+        when(courseRepository.findIdsModifiedSince(any(Instant.class))).thenReturn(List.of(1L, 2L, 3L, 4L));
+        when(courseRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L, 4L));
+        when(courseRepository.findAllDTOs()).thenReturn(List.of(course(1, "A"), course(2, "B"), course(3, "C"), course(4, "D")));
+        snapshot.refresh();
+
+        assertEquals(4, snapshot.getCourses().size());
+        verify(courseRepository, never()).findDTOsByIdIn(anyCollection());
+        verify(snapshotStore).release();
+    }
+
+    private static CourseDTO course(long id, String title) {
+        return new CourseDTO(id, title, "Description " + title);
+    }
+}
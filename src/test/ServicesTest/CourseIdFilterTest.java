@@ -0,0 +1,131 @@
+package Backend.OpenEducation.Services;
+
+import Backend.OpenEducation.Event.CourseChangedEvent;
+import Backend.OpenEducation.Exception.CourseNotFoundException;
+import Backend.OpenEducation.Repository.CourseRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the CourseIdFilter and CourseIdBloomFilter classes.
+ */
+public class CourseIdFilterTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CourseIdFilter courseIdFilter;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        courseIdFilter = new CourseIdFilter(courseRepository, meterRegistry, true, 0.01, 1_000, Duration.ofMinutes(1));
+        when(courseRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L));
+    }
+
+    /**
+     * Tests that every ID is let through until the filter is first built.
+     */
+    @Test
+    public void testLetsEveryIdThroughBeforeBuild() {
+        assertDoesNotThrow(() -> courseIdFilter.requireMayExist(1_000L));
+    }
+
+    /**
+     * Tests that an ID missing from the filter is rejected without a stack trace, and existing ones are let through.
+     */
+    @Test
+    public void testRejectsUnknownIds() {
+        courseIdFilter.rebuild();
+
+        assertDoesNotThrow(() -> courseIdFilter.requireMayExist(2L));
+        CourseNotFoundException exception = assertThrows(CourseNotFoundException.class,
+                () -> courseIdFilter.requireMayExist(1_000L));
+
+        assertEquals("Course not found with ID: 1000", exception.getMessage());
+        assertEquals(0, exception.getStackTrace().length);
+        assertEquals(1.0, meterRegistry.get("openeducation.course-id-filter.rejected").tag("reason", "filter").counter().count());
+        verify(courseRepository, times(1)).findAllIds();
+    }
+
+    /**
+     * Tests that a course committed while the IDs are being loaded is let through as soon as the new filter is in use.
+     */
+    @Test
+    public void testKeepsCoursesAddedDuringRebuild() {
+        when(courseRepository.findAllIds()).thenAnswer(invocation -> {
+            courseIdFilter.add(5_000L);
+            return List.of(1L, 2L, 3L);
+        });
+
+        courseIdFilter.rebuild();
+
+        assertDoesNotThrow(() -> courseIdFilter.requireMayExist(5_000L));
+        assertThrows(CourseNotFoundException.class, () -> courseIdFilter.requireMayExist(6_000L));
+    }
+
+    /**
+     * Tests that a course created after the filter was built is let through.
+     */
+    @Test
+    public void testLetsCreatedCourseThrough() {
+        courseIdFilter.rebuild();
+
+        courseIdFilter.onCourseChanged(new CourseChangedEvent(1_000L, CourseChangedEvent.ChangeType.CREATED,
+                CourseChangedEvent.Origin.FEED));
+
+        assertDoesNotThrow(() -> courseIdFilter.requireMayExist(1_000L));
+    }
+
+    /**
+     * Tests that deleted courses and IDs not found by the database are rejected until created.
+     */
+    @Test
+    public void testRemembersMissingIds() {
+        courseIdFilter.rebuild();
+
+        courseIdFilter.recordMissing(2L);
+        courseIdFilter.onCourseChanged(new CourseChangedEvent(3L, CourseChangedEvent.ChangeType.DELETED));
+
+        assertThrows(CourseNotFoundException.class, () -> courseIdFilter.requireMayExist(2L));
+        assertThrows(CourseNotFoundException.class, () -> courseIdFilter.requireMayExist(3L));
+        assertEquals(2.0, meterRegistry.get("openeducation.course-id-filter.rejected").tag("reason", "negative-cache").counter().count());
+
+        courseIdFilter.onCourseChanged(new CourseChangedEvent(2L, CourseChangedEvent.ChangeType.CREATED));
+
+        assertDoesNotThrow(() -> courseIdFilter.requireMayExist(2L));
+    }
+
+    /**
+     * Tests that the Bloom filter never forgets an ID and keeps close to its false positive rate.
+     */
+    @Test
+    public void testBloomFilterFalsePositiveRate() {
+        CourseIdBloomFilter filter = CourseIdBloomFilter.create(10_000, 0.01);
+        for (long id = 1; id <= 10_000; id++) {
+            filter.add(id);
+        }
+
+        int falsePositives = 0;
+        for (long id = 1; id <= 10_000; id++) {
+            assertTrue(filter.mightContain(id));
+            if (filter.mightContain(id + 1_000_000)) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 200, "False positives: " + falsePositives);
+    }
+}
@@ -0,0 +1,174 @@
+package Backend.OpenEducation.Services;
+
+import Backend.OpenEducation.dto.ImportReportDTO;
+import Backend.OpenEducation.Event.CourseChangedEvent;
+import Backend.OpenEducation.Model.Course;
+import Backend.OpenEducation.Model.Material;
+import Backend.OpenEducation.Model.MaterialType;
+import Backend.OpenEducation.Repository.CourseRepository;
+import Backend.OpenEducation.Repository.MaterialRepository;
+import Backend.OpenEducation.Repository.ModuleRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the CourseImportServiceImpl class.
+ */
+public class CourseImportServiceImplTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private ModuleRepository moduleRepository;
+
+    @Mock
+    private MaterialRepository materialRepository;
+
+    @Mock
+    private CourseCatalogSnapshot courseCatalogSnapshot;
+
+    @Mock
+    private CatalogChangeFeed catalogChangeFeed;
+
+    @Mock
+    private CourseIdFilter courseIdFilter;
+
+    @Mock
+    private OffHeapCatalogStore offHeapCatalogStore;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CourseImportServiceImpl importService;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        importService = new CourseImportServiceImpl(courseRepository, moduleRepository, materialRepository,
+                courseCatalogSnapshot, catalogChangeFeed, courseIdFilter, offHeapCatalogStore, transactionManager, new ObjectMapper(), meterRegistry, 2);
+        when(courseRepository.save(any(Course.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    /**
+     * Tests importing a newline-delimited JSON payload in chunks.
+     */
+    @Test
+    public void testImportJsonInChunks() throws Exception {
+        String payload = """
+                {"title":"Java","description":"Learn Java","modules":[{"title":"Variables","order":1}]}
+                {"title":"Spring","description":"Learn Spring"}
+                {"title":"SQL","description":"Learn SQL"}
+                """;
+
+        ImportReportDTO report = importService.importJson(stream(payload));
+
+        assertEquals(3, report.getImported());
+        assertEquals(0, report.getFailed());
+        verify(transactionManager, times(2)).commit(any());
+        verify(courseCatalogSnapshot).requestRebuild();
+        verify(courseCatalogSnapshot, never()).rebuild();
+        verify(offHeapCatalogStore).markStale();
+        verify(catalogChangeFeed, times(3)).record(anyLong(), eq(CourseChangedEvent.ChangeType.CREATED));
+        verify(courseIdFilter, times(3)).add(anyLong());
+        assertEquals(3.0, meterRegistry.get("openeducation.import.rows").tag("outcome", "imported").counter().count());
+    }
+
+    /**
+     * Tests that a row failing in the database is reported without aborting its chunk or the import.
+     */
+    @Test
+    public void testFailingRowIsIsolated() throws Exception {
+        when(courseRepository.save(argThatTitle("Duplicate")))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry 'Duplicate'"));
+        String payload = "[{\"title\":\"Java\",\"description\":\"a\"},"
+                + "{\"title\":\"Duplicate\",\"description\":\"b\"},"
+                + "{\"title\":\"SQL\",\"description\":\"c\"}]";
+
+        ImportReportDTO report = importService.importJson(stream(payload));
+
+        assertEquals(2, report.getImported());
+        assertEquals(1, report.getFailed());
+        assertEquals(2, report.getErrors().get(0).row());
+        assertEquals("Duplicate", report.getErrors().get(0).title());
+        assertTrue(report.getErrors().get(0).message().contains("Duplicate entry"));
+    }
+
+    /**
+     * Tests importing a CSV payload with nested modules and materials and invalid rows.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testImportCsv() throws Exception {
+        String payload = """
+                record,title,description,order,url,type
+                COURSE,"Java, the basics",Learn Java,,,
+                MODULE,Variables,"Say \"\"hello\"\"",1,https://video.example/1,
+                MATERIAL,Cheat sheet,Syntax,,https://files.example/1.pdf,pdf
+                COURSE,,Missing title,,,
+                COURSE,Broken,Bad material,,,
+                MATERIAL,Clip,Video,,https://files.example/2,GIF
+                """;
+
+        ImportReportDTO report = importService.importCsv(stream(payload));
+
+        assertEquals(1, report.getImported());
+        assertEquals(2, report.getFailed());
+        assertEquals("Course title is required", report.getErrors().get(0).message());
+        assertTrue(report.getErrors().get(1).message().startsWith("Line 7"));
+
+        ArgumentCaptor<List<Material>> materials = ArgumentCaptor.forClass(List.class);
+        verify(materialRepository).saveAll(materials.capture());
+        assertEquals(MaterialType.PDF, materials.getValue().get(0).getType());
+        verify(moduleRepository).saveAll(anyList());
+    }
+
+    /**
+     * Tests that malformed JSON stops the import but keeps the rows read before it.
+     */
+    @Test
+    public void testMalformedJsonStopsImport() throws Exception {
+        String payload = "{\"title\":\"Java\",\"description\":\"a\"}\n{\"title\":";
+
+        ImportReportDTO report = importService.importJson(stream(payload));
+
+        assertEquals(1, report.getImported());
+        assertEquals(1, report.getFailed());
+        assertEquals(2, report.getErrors().get(0).row());
+    }
+
+    /**
+     * Tests splitting quoted CSV fields.
+     */
+    @Test
+    public void testCsvSplit() {
+        assertEquals(List.of("a", "b, c", "d \"e\"", ""), CourseImportCsvReader.split("a,\"b, c\",\"d \"\"e\"\"\","));
+    }
+
+    private static Course argThatTitle(String title) {
+        return org.mockito.ArgumentMatchers.argThat(course -> course != null && title.equals(course.getTitle()));
+    }
+
+    private static ByteArrayInputStream stream(String payload) {
+        return new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,173 @@
+package Backend.OpenEducation.Services;
+
+import Backend.OpenEducation.Config.CacheConfig;
+import Backend.OpenEducation.Config.LocalCacheProperties;
+import Backend.OpenEducation.Exception.CourseNotFoundException;
+import Backend.OpenEducation.dto.CourseDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the CourseLookupCache class.
+ */
+public class CourseLookupCacheTest {
+
+    private CacheManager cacheManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    // Background reloads, run by the tests when they choose to
+    private List<Runnable> reloads;
+
+    private AtomicInteger loads;
+
+    @BeforeEach
+    public void setUp() {
+        LocalCacheProperties.CacheSpec courses = new LocalCacheProperties.CacheSpec();
+        courses.setMaximumSize(100);
+        courses.setExpireAfterWrite(Duration.ofMinutes(30));
+        LocalCacheProperties properties = new LocalCacheProperties();
+        properties.getCaches().put("courses", courses);
+        cacheManager = new CacheConfig().cacheManager(properties);
+        meterRegistry = new SimpleMeterRegistry();
+        reloads = new ArrayList<>();
+        loads = new AtomicInteger();
+    }
+
+    /**
+     * Tests that concurrent misses of a course wait for a single load and share its result.
+     */
+    @Test
+    public void testCoalescesConcurrentLoads() throws Exception {
+        CourseLookupCache cache = lookupCache(Duration.ofMinutes(25), 0);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Function<Long, CourseDTO> loader = id -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new CourseDTO(id, "Course " + id, "Description");
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<CourseDTO>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> cache.get(1L, loader)));
+            }
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            release.countDown();
+
+            CourseDTO first = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<CourseDTO> result : results) {
+                assertSame(first, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+    }
+
+    /**
+     * Tests that a failed load is not cached, so the next caller loads the course again.
+     */
+    @Test
+    public void testFailedLoadIsNotCached() {
+        CourseLookupCache cache = lookupCache(Duration.ofMinutes(25), 0);
+
+        assertThrows(CourseNotFoundException.class, () -> cache.get(1L, id -> {
+            loads.incrementAndGet();
+            throw new CourseNotFoundException("Course not found with ID: " + id);
+        }));
+        CourseDTO course = cache.get(1L, loader("Found"));
+
+        assertEquals("Found", course.getName());
+        assertEquals(2, loads.get());
+    }
+
+    /**
+     * Tests that a stale course is served as it is while a single reload runs in the background.
+     */
+    @Test
+    public void testServesStaleCourseWhileReloading() {
+        CourseLookupCache cache = lookupCache(Duration.ZERO, 0);
+        cache.get(1L, loader("Before"));
+
+        assertEquals("Before", cache.get(1L, loader("After")).getName());
+        assertEquals("Before", cache.get(1L, loader("After")).getName());
+        assertEquals(1, reloads.size());
+        assertEquals(1.0, meterRegistry.get("openeducation.course-lookup.refreshes").tag("reason", "stale").counter().count());
+
+        reloads.get(0).run();
+
+        assertEquals("After", cache.get(1L, loader("Later")).getName());
+        assertEquals(2, loads.get());
+    }
+
+    /**
+     * Tests that a reload finishing after the course was evicted does not put it back.
+     */
+    @Test
+    public void testReloadDoesNotRestoreEvictedCourse() {
+        CourseLookupCache cache = lookupCache(Duration.ZERO, 0);
+        cache.get(1L, loader("Before"));
+        cache.get(1L, loader("After"));
+
+        cacheManager.getCache("courses").evict(1L);
+        reloads.get(0).run();
+
+        assertNull(cacheManager.getCache("courses").get(1L));
+    }
+
+    /**
+     * Tests that a fresh course is reloaded early when its reload is due with certainty.
+     */
+    @Test
+    public void testReloadsEarlyBeforeStale() {
+        CourseLookupCache cache = lookupCache(Duration.ofMinutes(25), Double.MAX_VALUE);
+        cache.get(1L, id -> {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new CourseDTO(id, "Before", "Description");
+        });
+
+        assertEquals("Before", cache.get(1L, loader("After")).getName());
+        assertEquals(1.0, meterRegistry.get("openeducation.course-lookup.refreshes").tag("reason", "early").counter().count());
+        reloads.get(0).run();
+
+        assertEquals("After", cache.get(1L, loader("Later")).getName());
+    }
+
+    private CourseLookupCache lookupCache(Duration freshFor, double earlyRefreshBeta) {
+        return new CourseLookupCache(cacheManager, reloads::add, meterRegistry, freshFor, earlyRefreshBeta);
+    }
+
+    private Function<Long, CourseDTO> loader(String name) {
+        return id -> {
+            loads.incrementAndGet();
+            return new CourseDTO(id, name, "Description");
+        };
+    }
+}
@@ -0,0 +1,133 @@
+package Backend.OpenEducation.Services;
+
+import Backend.OpenEducation.Event.CourseChangedEvent;
+import Backend.OpenEducation.dto.CourseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the CourseResponseCache class.
+ */
+public class CourseResponseCacheTest {
+
+    private static final Instant LAST_MODIFIED = Instant.parse("2024-03-01T10:15:30Z");
+
+    private CourseResponseCache courseResponseCache;
+
+    private AtomicInteger loads;
+
+    @BeforeEach
+    public void setUp() {
+        courseResponseCache = new CourseResponseCache(new ObjectMapper(), DataSize.ofMegabytes(1), DataSize.ofBytes(256));
+        loads = new AtomicInteger();
+    }
+
+    /**
+     * Tests that a course is serialized once, and cached with the validators of the version it was read at.
+     */
+    @Test
+    public void testServesFromCache() {
+        CourseResponseCache.Payload first = courseResponseCache.get(1L, loader(course(4L, "Short")));
+        CourseResponseCache.Payload second = courseResponseCache.get(1L, loader(course(4L, "Short")));
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(4L, first.version());
+        assertEquals(LAST_MODIFIED, first.lastModified());
+        assertEquals(3L, first.subjectId());
+    }
+
+    /**
+     * Tests that a committed change drops the cached payload of the course, and the next read serializes the new version.
+     */
+    @Test
+    public void testCourseChangeInvalidates() {
+        courseResponseCache.get(1L, loader(course(4L, "Before")));
+
+        courseResponseCache.onCourseChanged(new CourseChangedEvent(1L, CourseChangedEvent.ChangeType.UPDATED));
+        CourseResponseCache.Payload payload = courseResponseCache.get(1L, loader(course(5L, "After")));
+
+        assertEquals(2, loads.get());
+        assertEquals(5L, payload.version());
+        assertTrue(new String(payload.json()).contains("After"));
+    }
+
+    /**
+     * Tests that a course loaded while a change was committed is served but not cached, as it may predate the change.
+     */
+    @Test
+    public void testCourseLoadedDuringChangeIsNotCached() {
+        CourseResponseCache.Payload payload = courseResponseCache.get(1L, () -> {
+            loads.incrementAndGet();
+            courseResponseCache.onCourseChanged(new CourseChangedEvent(1L, CourseChangedEvent.ChangeType.UPDATED));
+            return course(4L, "Before");
+        });
+        courseResponseCache.get(1L, loader(course(5L, "After")));
+
+        assertEquals(4L, payload.version());
+        assertEquals(2, loads.get());
+    }
+
+    /**
+     * Tests that only payloads from the configured size are kept compressed, and that
+     * the compressed bytes decode to the JSON bytes.
+     */
+    @Test
+    public void testCompressesLargePayloadsOnly() throws IOException {
+        CourseResponseCache.Payload small = courseResponseCache.get(1L, loader(course(1L, "Short")));
+        CourseResponseCache.Payload large = courseResponseCache.get(2L, loader(course(1L, "Long text ".repeat(100))));
+
+        assertNull(small.gzip());
+        assertNotNull(large.gzip());
+        assertTrue(large.gzip().length < large.json().length);
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(large.gzip()))) {
+            assertArrayEquals(large.json(), gzip.readAllBytes());
+        }
+    }
+
+    /**
+     * Tests that the version and last change time are not written into the JSON body.
+     */
+    @Test
+    public void testValidatorsAreNotSerialized() {
+        String json = new String(courseResponseCache.get(1L, loader(course(4L, "Short"))).json());
+
+        assertFalse(json.contains("version"));
+        assertFalse(json.contains("lastModified"));
+    }
+
+    /**
+     * Tests that a course read without its version is served but not cached.
+     */
+    @Test
+    public void testUnversionedCourseIsNotCached() {
+        CourseDTO unversioned = new CourseDTO(1L, "Course", "Short", 3L);
+
+        courseResponseCache.get(1L, loader(unversioned));
+        courseResponseCache.get(1L, loader(unversioned));
+
+        assertEquals(2, loads.get());
+    }
+
+    private static CourseDTO course(long version, String description) {
+        return new CourseDTO(1L, "Course", description, 3L, version, LAST_MODIFIED);
+    }
+
+    private Supplier<CourseDTO> loader(CourseDTO courseDTO) {
+        return () -> {
+            loads.incrementAndGet();
+            return courseDTO;
+        };
+    }
+}
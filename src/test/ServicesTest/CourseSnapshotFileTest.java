@@ -0,0 +1,85 @@
+package Backend.OpenEducation.Services;
+
+import Backend.OpenEducation.dto.CourseDTO;
+import Backend.OpenEducation.dto.ModuleDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the CourseSnapshotFile class.
+ */
+public class CourseSnapshotFileTest {
+
+    private static final Instant WATERMARK = Instant.parse("2024-03-01T10:15:30.123456Z");
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @TempDir
+    private Path directory;
+
+    /**
+     * Tests that a saved catalog is read back by ID and in full, with the versions of the courses.
+     */
+    @Test
+    public void testWriteAndOpen() throws IOException {
+        Path file = directory.resolve("snapshot/courses.bin");
+        CourseDTO withModules = new CourseDTO(3L, "Algèbre", "Groups and rings", 10L, 4L, WATERMARK);
+        withModules.setModules(List.of(new ModuleDTO(30L, 3L, "Groups", "Definitions", null, 1)));
+        CourseSnapshotFile.write(file, WATERMARK, List.of(withModules, new CourseDTO(1L, "Analysis", "Limits")), objectMapper);
+
+        CourseSnapshotFile snapshot = CourseSnapshotFile.open(file, objectMapper).orElseThrow();
+
+        assertEquals(WATERMARK, snapshot.getWatermark());
+        assertEquals(2, snapshot.courseCount());
+        CourseDTO course = snapshot.find(3L).orElseThrow();
+        assertEquals("Algèbre", course.getName());
+        assertEquals(10L, course.getSubjectId());
+        assertEquals(4L, course.getVersion());
+        assertEquals(WATERMARK, course.getLastModified());
+        assertEquals(1, course.getModules().size());
+        assertNull(snapshot.find(1L).orElseThrow().getVersion());
+        assertTrue(snapshot.find(2L).isEmpty());
+        assertEquals(List.of(1L, 3L), snapshot.readAll().stream().map(CourseDTO::getId).toList());
+    }
+
+    /**
+     * Tests that a missing file is reported as empty, and a corrupt one is rejected.
+     */
+    @Test
+    public void testMissingAndCorruptFiles() throws IOException {
+        Path file = directory.resolve("courses.bin");
+        assertTrue(CourseSnapshotFile.open(file, objectMapper).isEmpty());
+
+        CourseSnapshotFile.write(file, WATERMARK, List.of(new CourseDTO(1L, "Analysis", "Limits")), objectMapper);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 2] ^= 1;
+        Files.write(file, bytes);
+
+        IOException exception = assertThrows(IOException.class, () -> CourseSnapshotFile.open(file, objectMapper));
+        assertTrue(exception.getMessage().endsWith("is corrupt"));
+    }
+
+    /**
+     * Tests that a file written by another format version is rejected.
+     */
+    @Test
+    public void testOtherFormatVersionIsRejected() throws IOException {
+        Path file = directory.resolve("courses.bin");
+        CourseSnapshotFile.write(file, WATERMARK, List.of(), objectMapper);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[7] = (byte) (CourseSnapshotFile.FORMAT_VERSION + 1);
+        Files.write(file, bytes);
+
+        assertThrows(IOException.class, () -> CourseSnapshotFile.open(file, objectMapper));
+    }
+}
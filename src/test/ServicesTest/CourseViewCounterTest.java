@@ -0,0 +1,172 @@
+package Backend.OpenEducation.Services;
+
+import Backend.OpenEducation.Repository.CourseViewCountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the CourseViewCounter class.
+ */
+public class CourseViewCounterTest {
+
+    @Mock
+    private CourseViewCountRepository viewCountRepository;
+
+    @TempDir
+    private Path directory;
+
+    private Path journalPath;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        journalPath = directory.resolve("views.journal");
+    }
+
+    /**
+     * Tests that the views of a course are flushed as one aggregated upsert.
+     */
+    @Test
+    public void testFlushAggregatesViewsPerCourse() throws IOException {
+        CourseViewCounter counter = newCounter();
+        IntStream.range(0, 3).forEach(i -> counter.recordView(1L));
+        counter.recordView(2L);
+
+        counter.flush();
+
+        assertEquals(Map.of(1L, 3L, 2L, 1L), captureFlushes().getValue());
+        assertEquals(0, counter.getPendingViews(1L));
+    }
+
+    /**
+     * Tests that views whose write failed are written by the next flush.
+     */
+    @Test
+    public void testFailedFlushIsRetried() throws IOException {
+        CourseViewCounter counter = newCounter();
+        counter.recordView(1L);
+        doThrow(new IllegalStateException("database unavailable")).doNothing().when(viewCountRepository).addViews(anyMap());
+
+        counter.flush();
+        counter.recordView(1L);
+        counter.flush();
+
+        ArgumentCaptor<Map<Long, Long>> captor = flushesCaptor();
+        verify(viewCountRepository, times(2)).addViews(captor.capture());
+        assertEquals(Map.of(1L, 2L), captor.getAllValues().get(1));
+    }
+
+    /**
+     * Tests that journaled views survive a crash and are flushed after the restart.
+     */
+    @Test
+    public void testJournaledViewsAreReplayedAfterCrash() throws IOException {
+        CourseViewCounter crashed = newCounter();
+        crashed.recordView(1L);
+        crashed.recordView(1L);
+        crashed.checkpoint();
+        crashed.recordView(2L);
+        crashed.checkpoint();
+        // Recorded after the last checkpoint: lost by the crash
+        crashed.recordView(3L);
+
+        CourseViewCounter restarted = newCounter();
+        assertEquals(2, restarted.getPendingViews(1L));
+        restarted.flush();
+
+        assertEquals(Map.of(1L, 2L, 2L, 1L), captureFlushes().getValue());
+    }
+
+    /**
+     * Tests that a checkpoint only journals the views recorded since the previous one.
+     */
+    @Test
+    public void testCheckpointsAreIncremental() throws IOException {
+        CourseViewCounter counter = newCounter();
+        counter.recordView(1L);
+        counter.checkpoint();
+        counter.checkpoint();
+        counter.recordView(1L);
+        counter.checkpoint();
+
+        assertEquals(2 * 16, Files.size(journalPath));
+        assertEquals(Map.of(1L, 2L), new CourseViewJournal(journalPath).replay());
+    }
+
+    /**
+     * Tests that the journal is emptied once its views are written to the database.
+     */
+    @Test
+    public void testFlushEmptiesJournal() throws IOException {
+        CourseViewCounter counter = newCounter();
+        counter.recordView(1L);
+        counter.checkpoint();
+
+        counter.flush();
+
+        assertEquals(0, Files.size(journalPath));
+        assertEquals(0, newCounter().getPendingViews(1L));
+    }
+
+    /**
+     * Tests that a record torn by a crash is ignored and overwritten.
+     */
+    @Test
+    public void testTornRecordIsIgnored() throws IOException {
+        CourseViewCounter counter = newCounter();
+        counter.recordView(1L);
+        counter.checkpoint();
+        Files.write(journalPath, new byte[]{0, 0, 0}, StandardOpenOption.APPEND);
+
+        CourseViewCounter restarted = newCounter();
+        restarted.recordView(2L);
+        restarted.checkpoint();
+
+        assertEquals(Map.of(1L, 1L, 2L, 1L), new CourseViewJournal(journalPath).replay());
+    }
+
+    /**
+     * Tests that pending views are written when the application stops.
+     */
+    @Test
+    public void testCloseFlushesPendingViews() throws IOException {
+        CourseViewCounter counter = newCounter();
+        counter.recordView(5L);
+
+        counter.close();
+
+        assertEquals(Map.of(5L, 1L), captureFlushes().getValue());
+    }
+
+    private CourseViewCounter newCounter() throws IOException {
+        return new CourseViewCounter(viewCountRepository, mock(PlatformTransactionManager.class),
+                new CourseViewJournal(journalPath));
+    }
+
+    private ArgumentCaptor<Map<Long, Long>> captureFlushes() {
+        ArgumentCaptor<Map<Long, Long>> captor = flushesCaptor();
+        verify(viewCountRepository).addViews(captor.capture());
+        return captor;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<Map<Long, Long>> flushesCaptor() {
+        return ArgumentCaptor.forClass(Map.class);
+    }
+}
@@ -0,0 +1,167 @@
+package Backend.OpenEducation.Services;
+
+import Backend.OpenEducation.Event.CourseChangedEvent;
+import Backend.OpenEducation.Exception.SubjectNotFoundException;
+import Backend.OpenEducation.Model.Course;
+import Backend.OpenEducation.Model.MaterialType;
+import Backend.OpenEducation.Repository.CourseRepository;
+import Backend.OpenEducation.Repository.MaterialRepository;
+import Backend.OpenEducation.Repository.SubjectRepository;
+import Backend.OpenEducation.dto.MaterialDTO;
+import Backend.OpenEducation.dto.MaterialPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the MaterialServiceImpl class.
+ */
+public class MaterialServiceImplTest {
+
+    @Mock
+    private MaterialRepository materialRepository;
+
+    @Mock
+    private SubjectRepository subjectRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private MaterialServiceImpl materialService;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        materialService = new MaterialServiceImpl(materialRepository, subjectRepository, courseRepository, cacheManager,
+                eventPublisher, 2, 3);
+    }
+
+    /**
+     * Tests that a full page fetches one extra row and returns the cursor of its last material.
+     */
+    @Test
+    public void testGetMaterialsBySubjectReturnsNextCursor() {
+        when(materialRepository.findDTOsBySubjectAfter(1L, 0L, Limit.of(3))).thenReturn(createMaterials(1, 3));
+
+        MaterialPage page = materialService.getMaterialsBySubject(1L, null, null, null);
+
+        assertEquals(List.of(1L, 2L), page.getItems().stream().map(MaterialDTO::getId).toList());
+        assertEquals(2L, CourseCursor.decode(page.getNextCursor()));
+        verifyNoInteractions(subjectRepository);
+    }
+
+    /**
+     * Tests that the cursor is resumed after, and that the last page has no next cursor.
+     */
+    @Test
+    public void testGetMaterialsBySubjectLastPage() {
+        when(materialRepository.findDTOsBySubjectAfter(1L, 2L, Limit.of(3))).thenReturn(createMaterials(3, 1));
+
+        MaterialPage page = materialService.getMaterialsBySubject(1L, null, CourseCursor.encode(2L), null);
+
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    /**
+     * Tests that a type filter is served by the typed query and that the page size is capped.
+     */
+    @Test
+    public void testGetMaterialsBySubjectAndTypeCapsLimit() {
+        when(materialRepository.findDTOsBySubjectAndTypeAfter(1L, MaterialType.VIDEO, 0L, Limit.of(4)))
+                .thenReturn(createMaterials(1, 2));
+
+        MaterialPage page = materialService.getMaterialsBySubject(1L, MaterialType.VIDEO, null, 50);
+
+        assertEquals(2, page.getItems().size());
+        verify(materialRepository, never()).findDTOsBySubjectAfter(anyLong(), anyLong(), any());
+    }
+
+    /**
+     * Tests that an empty first page of an unknown subject is reported as not found.
+     */
+    @Test
+    public void testGetMaterialsBySubjectNotFound() {
+        when(materialRepository.findDTOsBySubjectAfter(eq(9L), eq(0L), any())).thenReturn(List.of());
+        when(subjectRepository.existsById(9L)).thenReturn(false);
+
+        assertThrows(SubjectNotFoundException.class, () -> materialService.getMaterialsBySubject(9L, null, null, null));
+    }
+
+    /**
+     * Tests that a known subject without materials yields an empty last page.
+     */
+    @Test
+    public void testGetMaterialsBySubjectEmpty() {
+        when(materialRepository.findDTOsBySubjectAfter(eq(1L), eq(0L), any())).thenReturn(List.of());
+        when(subjectRepository.existsById(1L)).thenReturn(true);
+
+        MaterialPage page = materialService.getMaterialsBySubject(1L, null, null, null);
+
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNextCursor());
+    }
+
+    /**
+     * Tests that moving a course copies its new subject to its materials, and counts as a change to the
+     * course: the course is marked modified, its cached copy is evicted and a course change event is published.
+     */
+    @Test
+    public void testUpdateSubjectOfCourse() {
+        Course course = new Course("Java Basics", "Learn Java");
+        course.setId(5L);
+        Cache courses = mock(Cache.class);
+        when(materialRepository.updateSubjectIdByCourseId(5L, 2L)).thenReturn(3);
+        when(courseRepository.findById(5L)).thenReturn(Optional.of(course));
+        when(cacheManager.getCache("courses")).thenReturn(courses);
+
+        materialService.updateSubjectOfCourse(5L, 2L);
+
+        verify(materialRepository).updateSubjectIdByCourseId(5L, 2L);
+        assertNotNull(course.getLastModified());
+        verify(courses).evict(5L);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof CourseChangedEvent changed
+                && changed.getCourseId() == 5L && changed.getType() == CourseChangedEvent.ChangeType.UPDATED));
+    }
+
+    /**
+     * Tests that a course without materials is not marked modified by a move.
+     */
+    @Test
+    public void testUpdateSubjectOfCourseWithoutMaterials() {
+        when(materialRepository.updateSubjectIdByCourseId(5L, 2L)).thenReturn(0);
+
+        materialService.updateSubjectOfCourse(5L, 2L);
+
+        verifyNoInteractions(courseRepository, cacheManager, eventPublisher);
+    }
+
+    private static List<MaterialDTO> createMaterials(long firstId, int count) {
+        List<MaterialDTO> materials = new ArrayList<>(count);
+        for (long id = firstId; id < firstId + count; id++) {
+            materials.add(new MaterialDTO(id, 1L, "Material " + id, "Description", "http://example.org/" + id, MaterialType.VIDEO));
+        }
+        return materials;
+    }
+}
@@ -1,6 +1,8 @@
 package Backend.OpenEducation.Services;
 
 import Backend.OpenEducation.dto.ModuleDTO;
+import Backend.OpenEducation.Event.CourseChangedEvent;
+import Backend.OpenEducation.Model.Course;
 import Backend.OpenEducation.Model.Module;
 import Backend.OpenEducation.Repository.ModuleRepository;
 import Backend.OpenEducation.Exception.ModuleNotFoundException;
@@ -9,6 +11,9 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
 import java.util.List;
@@ -23,6 +28,12 @@ public class ModuleServiceImplTest {
     @Mock
     private ModuleRepository moduleRepository;
 
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ModuleServiceImpl moduleService;
 
@@ -115,7 +126,7 @@ public class ModuleServiceImplTest {
         module.setName("Updated Module");
         module.setDescription("Updated Description");
 
-        when(moduleRepository.existsById(anyLong())).thenReturn(true);
+        when(moduleRepository.findById(anyLong())).thenReturn(Optional.of(module));
         when(moduleRepository.save(any(Module.class))).thenReturn(module);
 
         ModuleDTO moduleDTO = new ModuleDTO();
@@ -134,7 +145,7 @@ public class ModuleServiceImplTest {
      */
     @Test
     public void testUpdateModuleNotFound() {
-        when(moduleRepository.existsById(anyLong())).thenReturn(false);
+        when(moduleRepository.findById(anyLong())).thenReturn(Optional.empty());
 
         ModuleDTO moduleDTO = new ModuleDTO();
         moduleDTO.setName("Updated Module");
@@ -148,11 +159,38 @@ public class ModuleServiceImplTest {
      */
     @Test
     public void testDeleteModule() {
-        when(moduleRepository.existsById(anyLong())).thenReturn(true);
-        doNothing().when(moduleRepository).deleteById(anyLong());
+        Module module = new Module();
+        module.setId(1L);
+        when(moduleRepository.findById(anyLong())).thenReturn(Optional.of(module));
 
         assertDoesNotThrow(() -> moduleService.deleteModule(1L));
-        verify(moduleRepository, times(1)).deleteById(1L);
+        verify(moduleRepository, times(1)).delete(module);
+    }
+
+    /**
+     * Tests that updating a module counts as a change to its course: the course is marked
+     * modified, its cached copy is evicted and a course change event is published.
+     */
+    @Test
+    public void testUpdateModuleMarksCourseModified() {
+        Course course = new Course("Java Basics", "Learn Java");
+        course.setId(7L);
+        Module module = new Module("Intro", "Content", 1, course, List.of(), null);
+        module.setId(1L);
+        Cache courses = mock(Cache.class);
+        when(moduleRepository.findById(1L)).thenReturn(Optional.of(module));
+        when(moduleRepository.save(module)).thenReturn(module);
+        when(cacheManager.getCache("courses")).thenReturn(courses);
+
+        ModuleDTO moduleDTO = new ModuleDTO();
+        moduleDTO.setName("Introduction");
+        moduleDTO.setDescription("New content");
+        moduleService.updateModule(1L, moduleDTO);
+
+        assertNotNull(course.getLastModified());
+        verify(courses).evict(7L);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof CourseChangedEvent changed
+                && changed.getCourseId() == 7L && changed.getType() == CourseChangedEvent.ChangeType.UPDATED));
     }
 
     /**
@@ -160,7 +198,7 @@ public class ModuleServiceImplTest {
      */
     @Test
     public void testDeleteModuleNotFound() {
-        when(moduleRepository.existsById(anyLong())).thenReturn(false);
+        when(moduleRepository.findById(anyLong())).thenReturn(Optional.empty());
 
         assertThrows(ModuleNotFoundException.class, () -> moduleService.deleteModule(1L));
     }
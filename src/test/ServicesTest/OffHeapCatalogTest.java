@@ -0,0 +1,158 @@
+package Backend.OpenEducation.Services;
+
+import Backend.OpenEducation.dto.CatalogRow;
+import Backend.OpenEducation.Event.CourseChangedEvent;
+import Backend.OpenEducation.Repository.CourseRepository;
+import Backend.OpenEducation.Repository.ModuleRepository;
+import Backend.OpenEducation.Repository.SubjectRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the OffHeapCatalog and OffHeapCatalogStore classes.
+ */
+public class OffHeapCatalogTest {
+
+    private static final List<CatalogRow> SUBJECTS = List.of(
+            new CatalogRow(20L, "Physics"),
+            new CatalogRow(10L, "Mathématiques"));
+
+    private static final List<CatalogRow> COURSES = List.of(
+            new CatalogRow(3L, 10L, "Algebra"),
+            new CatalogRow(1L, 10L, "Analysis"),
+            new CatalogRow(2L, 20L, "Mechanics"),
+            new CatalogRow(4L, null, "Orphan course"),
+            new CatalogRow(5L, 99L, null));
+
+    private static final List<CatalogRow> MODULES = List.of(
+            new CatalogRow(31L, 3L, "Groups", 2),
+            new CatalogRow(30L, 3L, "Vectors", 1),
+            new CatalogRow(32L, 3L, "Rings", 3),
+            new CatalogRow(10L, 1L, "Limits", 1),
+            new CatalogRow(50L, 42L, "Dropped", 1));
+
+    /**
+     * Tests that subjects and courses are found by ID, with their titles decoded.
+     */
+    @Test
+    public void testFindById() {
+        OffHeapCatalog catalog = OffHeapCatalog.build(7L, SUBJECTS, COURSES, MODULES);
+
+        assertEquals(7L, catalog.getVersion());
+        assertEquals(Optional.of(new OffHeapCatalog.SubjectEntry(10L, "Mathématiques")), catalog.findSubject(10L));
+        assertEquals(Optional.of(new OffHeapCatalog.CourseEntry(2L, 20L, "Mechanics")), catalog.findCourse(2L));
+        assertEquals(Optional.of(new OffHeapCatalog.CourseEntry(4L, null, "Orphan course")), catalog.findCourse(4L));
+        assertEquals(Optional.of(new OffHeapCatalog.CourseEntry(5L, 99L, null)), catalog.findCourse(5L));
+        assertTrue(catalog.findSubject(11L).isEmpty());
+        assertTrue(catalog.findCourse(6L).isEmpty());
+    }
+
+    /**
+     * Tests that the courses of a subject are listed by ID and the modules of a course in their order.
+     */
+    @Test
+    public void testTraversal() {
+        OffHeapCatalog catalog = OffHeapCatalog.build(1L, SUBJECTS, COURSES, MODULES);
+
+        assertEquals(List.of(1L, 3L), catalog.coursesOfSubject(10L).stream().map(OffHeapCatalog.CourseEntry::id).toList());
+        assertEquals(List.of("Vectors", "Groups", "Rings"),
+                catalog.modulesOfCourse(3L).stream().map(OffHeapCatalog.ModuleEntry::title).toList());
+        assertTrue(catalog.modulesOfCourse(2L).isEmpty());
+        assertTrue(catalog.coursesOfSubject(99L).isEmpty());
+        assertTrue(catalog.modulesOfCourse(42L).isEmpty());
+        assertEquals(4, catalog.moduleCount());
+    }
+
+    /**
+     * Tests that an empty catalog can be built and searched.
+     */
+    @Test
+    public void testEmptyCatalog() {
+        OffHeapCatalog catalog = OffHeapCatalog.build(1L, List.of(), List.of(), List.of());
+
+        assertEquals(0, catalog.courseCount());
+        assertTrue(catalog.findCourse(1L).isEmpty());
+        assertTrue(catalog.coursesOfSubject(1L).isEmpty());
+    }
+
+    /**
+     * Tests that the store swaps in a new version only after a committed change is refreshed,
+     * and that readers of the previous version can keep using it.
+     */
+    @Test
+    public void testStoreRebuildsWhenStale() {
+        SubjectRepository subjectRepository = mock(SubjectRepository.class);
+        CourseRepository courseRepository = mock(CourseRepository.class);
+        ModuleRepository moduleRepository = mock(ModuleRepository.class);
+        when(subjectRepository.findCatalogRows()).thenReturn(SUBJECTS);
+        when(courseRepository.findCatalogRows()).thenReturn(COURSES, List.of(new CatalogRow(1L, 10L, "Analysis I")));
+        when(moduleRepository.findCatalogRows()).thenReturn(MODULES);
+        OffHeapCatalogStore store = new OffHeapCatalogStore(subjectRepository, courseRepository, moduleRepository,
+                mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+
+        OffHeapCatalog first = store.getCatalog();
+        store.refreshIfStale();
+        assertSame(first, store.getCatalog());
+
+        store.onCourseChanged(new CourseChangedEvent(1L, CourseChangedEvent.ChangeType.UPDATED));
+        store.refreshIfStale();
+
+        OffHeapCatalog second = store.getCatalog();
+        assertEquals(2L, second.getVersion());
+        assertEquals("Analysis I", second.findCourse(1L).orElseThrow().title());
+        assertEquals("Algebra", first.findCourse(3L).orElseThrow().title());
+        verify(courseRepository, times(2)).findCatalogRows();
+    }
+
+    /**
+     * Tests that concurrent callers of a store not built yet wait for a single build.
+     */
+    @Test
+    public void testConcurrentFirstReadsBuildOnce() throws Exception {
+        SubjectRepository subjectRepository = mock(SubjectRepository.class);
+        CourseRepository courseRepository = mock(CourseRepository.class);
+        ModuleRepository moduleRepository = mock(ModuleRepository.class);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(subjectRepository.findCatalogRows()).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return SUBJECTS;
+        });
+        when(courseRepository.findCatalogRows()).thenReturn(COURSES);
+        when(moduleRepository.findCatalogRows()).thenReturn(MODULES);
+        OffHeapCatalogStore store = new OffHeapCatalogStore(subjectRepository, courseRepository, moduleRepository,
+                mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<OffHeapCatalog>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(store::getCatalog));
+            }
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            release.countDown();
+
+            OffHeapCatalog first = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<OffHeapCatalog> result : results) {
+                assertSame(first, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(subjectRepository, times(1)).findCatalogRows();
+    }
+}
@@ -0,0 +1,142 @@
+package Backend.OpenEducation.Services;
+
+import Backend.OpenEducation.dto.PopularSubjectDTO;
+import Backend.OpenEducation.Repository.SubjectPopularityRepository;
+import Backend.OpenEducation.Repository.SubjectPopularityRepositoryCustom.PopularityDelta;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the PopularityServiceImpl class.
+ */
+public class PopularityServiceImplTest {
+
+    private static final Duration HALF_LIFE = Duration.ofDays(7);
+
+    // Exactly 10 half-lives after the epoch of the forward decay
+    private static final Instant NOW = PopularityServiceImpl.EPOCH.plus(HALF_LIFE.multipliedBy(10));
+
+    @Mock
+    private SubjectPopularityRepository popularityRepository;
+
+    private PopularityServiceImpl popularityService;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        popularityService = new PopularityServiceImpl(popularityRepository, mock(PlatformTransactionManager.class),
+                Clock.fixed(NOW, ZoneOffset.UTC), HALF_LIFE, 1, 5, 3, 2);
+    }
+
+    /**
+     * Tests that the events of a subject are flushed as one aggregated, forward-decayed delta.
+     */
+    @Test
+    public void testFlushAggregatesEventsPerSubject() {
+        IntStream.range(0, 3).forEach(i -> popularityService.recordView(1L));
+        popularityService.recordEnrollment(1L);
+        popularityService.recordView(null);
+
+        popularityService.flush();
+
+        List<PopularityDelta> deltas = captureDeltas();
+        assertEquals(1, deltas.size());
+        PopularityDelta delta = deltas.get(0);
+        assertEquals(1L, delta.subjectId());
+        assertEquals(3, delta.views());
+        assertEquals(1, delta.enrollments());
+        // Weight 3 * 1 + 1 * 5, scaled by 2^10 for the 10 half-lives since the epoch
+        assertEquals(Math.log(8) + 10 * Math.log(2), delta.scoreLog(), 1e-9);
+    }
+
+    /**
+     * Tests that flushed events are not written again by the next flush.
+     */
+    @Test
+    public void testFlushResetsCounters() {
+        popularityService.recordView(1L);
+        popularityService.flush();
+        popularityService.flush();
+
+        verify(popularityRepository, times(1)).addDeltas(anyList());
+    }
+
+    /**
+     * Tests that events whose write failed are written by the next flush.
+     */
+    @Test
+    public void testFailedFlushIsRetried() {
+        popularityService.recordView(1L);
+        doThrow(new IllegalStateException("database unavailable")).doNothing().when(popularityRepository).addDeltas(anyList());
+
+        popularityService.flush();
+        popularityService.flush();
+
+        ArgumentCaptor<List<PopularityDelta>> captor = deltasCaptor();
+        verify(popularityRepository, times(2)).addDeltas(captor.capture());
+        assertEquals(1, captor.getAllValues().get(1).get(0).views());
+    }
+
+    /**
+     * Tests that the ranking is served from memory, with scores decayed to the current time.
+     */
+    @Test
+    public void testPopularSubjectsAreServedFromMemory() {
+        when(popularityRepository.findTop(any(Limit.class))).thenReturn(List.of(
+                new PopularSubjectDTO(1L, "Physics", 10, 2, Math.log(40) + 10 * Math.log(2)),
+                new PopularSubjectDTO(2L, "History", 4, 0, Math.log(4) + 9 * Math.log(2)),
+                new PopularSubjectDTO(3L, "Biology", 1, 0, 0)));
+
+        List<PopularSubjectDTO> popular = popularityService.findPopularSubjects(null);
+        popularityService.findPopularSubjects(3);
+
+        verify(popularityRepository, times(1)).findTop(Limit.of(3));
+        assertEquals(2, popular.size());
+        assertEquals("Physics", popular.get(0).getSubjectName());
+        assertEquals(40, popular.get(0).getScore(), 1e-9);
+        // Events one half-life old weigh half as much
+        assertEquals(2, popular.get(1).getScore(), 1e-9);
+        assertEquals(3, popularityService.findPopularSubjects(50).size());
+    }
+
+    /**
+     * Tests that pending events are written when the application stops.
+     */
+    @Test
+    public void testShutdownFlushesPendingEvents() {
+        popularityService.recordEnrollment(4L);
+
+        popularityService.flushOnShutdown();
+
+        assertEquals(1, captureDeltas().get(0).enrollments());
+        verify(popularityRepository, never()).findTop(any(Limit.class));
+    }
+
+    private List<PopularityDelta> captureDeltas() {
+        ArgumentCaptor<List<PopularityDelta>> captor = deltasCaptor();
+        verify(popularityRepository).addDeltas(captor.capture());
+        return captor.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<PopularityDelta>> deltasCaptor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+}
@@ -0,0 +1,98 @@
+package Backend.OpenEducation.Services;
+
+import Backend.OpenEducation.dto.SearchHitDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the SearchIndex class.
+ */
+public class SearchIndexTest {
+
+    private SearchIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new SearchIndex();
+        index.put(SearchHitDTO.Type.COURSE, 1, "Java Basics", "Learn the fundamentals of Java programming");
+        index.put(SearchHitDTO.Type.COURSE, 2, "Spring Boot", "Building web applications with Spring Boot and Java");
+        index.put(SearchHitDTO.Type.MODULE, 10, "Collections", "Lists, sets and maps in Java");
+        index.put(SearchHitDTO.Type.SUBJECT, 100, "Data Science", "Statistics and machine learning");
+    }
+
+    /**
+     * Tests that title matches rank above body matches.
+     */
+    @Test
+    public void testTitleMatchesRankFirst() {
+        List<SearchHitDTO> hits = index.search("java", null, 10);
+
+        assertEquals(3, hits.size());
+        assertEquals(1L, hits.get(0).getId());
+        assertTrue(hits.get(0).getScore() > hits.get(1).getScore());
+    }
+
+    /**
+     * Tests filtering by entity type and limiting the number of results.
+     */
+    @Test
+    public void testTypeFilterAndLimit() {
+        List<SearchHitDTO> modules = index.search("java", SearchHitDTO.Type.MODULE, 10);
+        List<SearchHitDTO> top = index.search("java", null, 1);
+
+        assertEquals(1, modules.size());
+        assertEquals(10L, modules.get(0).getId());
+        assertEquals(1, top.size());
+    }
+
+    /**
+     * Tests that the last query term also matches as a prefix, and that documents
+     * matching more terms rank first.
+     */
+    @Test
+    public void testLastTermMatchesPrefix() {
+        List<SearchHitDTO> hits = index.search("statistics learn", null, 10);
+
+        assertEquals(2, hits.size());
+        assertEquals(SearchHitDTO.Type.SUBJECT, hits.get(0).getType());
+        assertEquals("Data Science", hits.get(0).getTitle());
+        assertEquals(1L, hits.get(1).getId());
+        assertEquals(1, index.search("collect", null, 10).size());
+    }
+
+    /**
+     * Tests that re-indexing a document replaces its previous terms.
+     */
+    @Test
+    public void testPutReplacesDocument() {
+        index.put(SearchHitDTO.Type.COURSE, 2, "Kotlin Coroutines", "Asynchronous programming");
+
+        assertTrue(index.search("spring", null, 10).isEmpty());
+        assertEquals(2L, index.search("kotlin", null, 10).get(0).getId());
+        assertEquals(4, index.size());
+    }
+
+    /**
+     * Tests that removed documents are no longer found.
+     */
+    @Test
+    public void testRemove() {
+        index.remove(SearchHitDTO.Type.COURSE, 1);
+
+        assertTrue(index.search("fundamentals", null, 10).isEmpty());
+        assertEquals(3, index.size());
+    }
+
+    /**
+     * Tests that blank queries return nothing.
+     */
+    @Test
+    public void testBlankQuery() {
+        assertTrue(index.search("  ", null, 10).isEmpty());
+        assertTrue(index.search(null, null, 10).isEmpty());
+    }
+}
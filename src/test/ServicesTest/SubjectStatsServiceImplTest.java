@@ -0,0 +1,149 @@
+package Backend.OpenEducation.Services;
+
+import Backend.OpenEducation.dto.SubjectCourseCount;
+import Backend.OpenEducation.Model.Subject;
+import Backend.OpenEducation.Model.SubjectCourseStats;
+import Backend.OpenEducation.Repository.CourseRepository;
+import Backend.OpenEducation.Repository.SubjectCourseStatsRepository;
+import Backend.OpenEducation.Repository.SubjectRepository;
+import Backend.OpenEducation.Exception.SubjectNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the SubjectStatsServiceImpl class.
+ */
+public class SubjectStatsServiceImplTest {
+
+    @Mock
+    private SubjectCourseStatsRepository statsRepository;
+
+    @Mock
+    private SubjectRepository subjectRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @InjectMocks
+    private SubjectStatsServiceImpl subjectStatsService;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    /**
+     * Tests that the counts of all subjects are read from the materialized table,
+     * without aggregating the course table.
+     */
+    @Test
+    public void testGetCourseCountsReadsMaterializedCounts() {
+        List<SubjectCourseCount> counts = List.of(new SubjectCourseCount(1L, "Physics", 3));
+        when(statsRepository.findCourseCounts()).thenReturn(counts);
+
+        assertEquals(counts, subjectStatsService.getCourseCounts());
+        verifyNoInteractions(courseRepository);
+    }
+
+    /**
+     * Tests retrieving the course count of a subject.
+     */
+    @Test
+    public void testGetCourseCount() {
+        when(subjectRepository.findById(7L)).thenReturn(Optional.of(new Subject(7L, "Physics", "Mechanics", List.of())));
+        when(statsRepository.findById(7L)).thenReturn(Optional.of(new SubjectCourseStats(7L, 4)));
+
+        SubjectCourseCount count = subjectStatsService.getCourseCount(7L);
+
+        assertEquals(7L, count.getSubjectId());
+        assertEquals("Physics", count.getSubjectName());
+        assertEquals(4, count.getCourseCount());
+    }
+
+    /**
+     * Tests that a subject without any course has a count of zero.
+     */
+    @Test
+    public void testGetCourseCountOfSubjectWithoutCourses() {
+        when(subjectRepository.findById(7L)).thenReturn(Optional.of(new Subject(7L, "Physics", "Mechanics", List.of())));
+        when(statsRepository.findById(7L)).thenReturn(Optional.empty());
+
+        assertEquals(0, subjectStatsService.getCourseCount(7L).getCourseCount());
+    }
+
+    /**
+     * Tests retrieving the course count of a subject that does not exist.
+     */
+    @Test
+    public void testGetCourseCountSubjectNotFound() {
+        when(subjectRepository.findById(7L)).thenReturn(Optional.empty());
+
+        assertThrows(SubjectNotFoundException.class, () -> subjectStatsService.getCourseCount(7L));
+    }
+
+    /**
+     * Tests that adding and removing courses adjusts the count of their subject by one.
+     */
+    @Test
+    public void testRecordCourseAddedAndRemoved() {
+        subjectStatsService.recordCourseAdded(1L);
+        subjectStatsService.recordCourseRemoved(2L);
+
+        verify(statsRepository).addToCourseCount(1L, 1);
+        verify(statsRepository).addToCourseCount(2L, -1);
+    }
+
+    /**
+     * Tests that courses without a subject are not counted.
+     */
+    @Test
+    public void testCourseWithoutSubjectIsIgnored() {
+        subjectStatsService.recordCourseAdded(null);
+        subjectStatsService.recordCourseRemoved(null);
+
+        verify(statsRepository, never()).addToCourseCount(anyLong(), anyLong());
+    }
+
+    /**
+     * Tests that moving a course moves one unit of count between its subjects.
+     */
+    @Test
+    public void testRecordCourseMoved() {
+        subjectStatsService.recordCourseMoved(1L, 2L);
+        subjectStatsService.recordCourseMoved(3L, 3L);
+
+        verify(statsRepository).addToCourseCount(1L, -1);
+        verify(statsRepository).addToCourseCount(2L, 1);
+        verify(statsRepository, never()).addToCourseCount(eq(3L), anyLong());
+    }
+
+    /**
+     * Tests that reconciling locks the counts before replacing them with the GROUP BY result.
+     */
+    @Test
+    public void testReconcileRebuildsCountsFromCourses() {
+        when(courseRepository.countCoursesBySubject()).thenReturn(List.of(
+                new SubjectCourseCount(1L, "Physics", 3),
+                new SubjectCourseCount(2L, "History", 5)));
+
+        subjectStatsService.reconcile();
+
+        InOrder inOrder = inOrder(statsRepository, courseRepository);
+        inOrder.verify(statsRepository).lockAll();
+        inOrder.verify(courseRepository).countCoursesBySubject();
+        inOrder.verify(statsRepository).deleteAllInBatch();
+        inOrder.verify(statsRepository).addToCourseCount(1L, 3);
+        inOrder.verify(statsRepository).addToCourseCount(2L, 5);
+    }
+}
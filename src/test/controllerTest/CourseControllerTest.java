@@ -1,19 +1,46 @@
 package Backend.OpenEducation.Controllers;
 
+import Backend.OpenEducation.Services.CatalogService;
+import Backend.OpenEducation.Services.CourseResponseCache;
 import Backend.OpenEducation.Services.CourseService;
+import Backend.OpenEducation.Services.CourseViewCounter;
+import Backend.OpenEducation.Services.OffHeapCatalog;
+import Backend.OpenEducation.Services.PopularityService;
 import Backend.OpenEducation.dto.CourseDTO;
+import Backend.OpenEducation.dto.CoursePage;
 import Backend.OpenEducation.Exception.CourseNotFoundException;
+import Backend.OpenEducation.Exception.GlobalExceptionHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -23,11 +50,29 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  */
 public class CourseControllerTest {
 
+    private static final Instant LAST_MODIFIED = Instant.parse("2024-03-01T10:15:30Z");
+
     private MockMvc mockMvc;
 
     @Mock
     private CourseService courseService;
 
+    @Mock
+    private PopularityService popularityService;
+
+    @Mock
+    private CourseViewCounter courseViewCounter;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private CourseResponseCache courseResponseCache =
+            new CourseResponseCache(new ObjectMapper(), DataSize.ofMegabytes(1), DataSize.ofBytes(64));
+
+    @Mock
+    private CatalogService catalogService;
+
     @InjectMocks
     private CourseController courseController;
 
@@ -37,7 +82,9 @@ public class CourseControllerTest {
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
-        mockMvc = MockMvcBuilders.standaloneSetup(courseController).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(courseController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
     }
 
     /**
@@ -71,6 +118,7 @@ public class CourseControllerTest {
         CourseDTO courseDTO = new CourseDTO();
         courseDTO.setName("Test Course");
         courseDTO.setDescription("Test Description");
+        courseDTO.setSubjectId(3L);
 
         when(courseService.getCourseById(anyLong())).thenReturn(courseDTO);
 
@@ -79,6 +127,100 @@ public class CourseControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.name").value("Test Course"))
                 .andExpect(jsonPath("$.description").value("Test Description"));
+        verify(courseViewCounter).recordView(1L);
+        verify(popularityService).recordView(3L);
+    }
+
+    /**
+     * Tests that a course is sent with the ETag and Last-Modified of the version it was read at.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    public void testGetCourseByIdSetsValidators() throws Exception {
+        CourseDTO courseDTO = new CourseDTO(1L, "Test Course", "Test Description", 3L, 4L, LAST_MODIFIED);
+        when(courseService.getCourseById(1L)).thenReturn(courseDTO);
+
+        mockMvc.perform(get("/api/v1/courses/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-4\""))
+                .andExpect(header().dateValue("Last-Modified", LAST_MODIFIED.toEpochMilli()))
+                .andExpect(jsonPath("$.version").doesNotExist());
+    }
+
+    /**
+     * Tests that a matching If-None-Match on a cached course is answered with 304 without loading
+     * the course again or counting a view.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    public void testGetCourseByIdNotModified() throws Exception {
+        CourseDTO courseDTO = new CourseDTO(1L, "Test Course", "Test Description", 3L, 4L, LAST_MODIFIED);
+        when(courseService.getCourseById(1L)).thenReturn(courseDTO);
+        mockMvc.perform(get("/api/v1/courses/1"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/courses/1").header("If-None-Match", "\"1-4\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"1-4\""))
+                .andExpect(content().string(""));
+        verify(courseService, times(1)).getCourseById(1L);
+        verify(courseViewCounter, times(1)).recordView(1L);
+    }
+
+    /**
+     * Tests that an outdated If-None-Match gets the current course.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    public void testGetCourseByIdModifiedSinceETag() throws Exception {
+        CourseDTO courseDTO = new CourseDTO(1L, "Test Course", "Test Description", 3L, 5L, LAST_MODIFIED);
+        when(courseService.getCourseById(1L)).thenReturn(courseDTO);
+
+        mockMvc.perform(get("/api/v1/courses/1").header("If-None-Match", "\"1-4\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-5\""))
+                .andExpect(jsonPath("$.name").value("Test Course"));
+    }
+
+    /**
+     * Tests that a client accepting gzip gets the cached compressed payload, and that the
+     * course is serialized only once for repeated reads.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    public void testGetCourseByIdServesCachedGzip() throws Exception {
+        CourseDTO courseDTO = new CourseDTO(1L, "Test Course", "A long description ".repeat(20), 3L, 4L, LAST_MODIFIED);
+        when(courseService.getCourseById(1L)).thenReturn(courseDTO);
+
+        for (int i = 0; i < 2; i++) {
+            byte[] body = mockMvc.perform(get("/api/v1/courses/1").header("Accept-Encoding", "gzip, deflate"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Content-Encoding", "gzip"))
+                    .andExpect(header().string("Vary", "Accept-Encoding"))
+                    .andReturn().getResponse().getContentAsByteArray();
+            assertTrue(gunzip(body).contains("\"name\":\"Test Course\""));
+        }
+        verify(courseService, times(1)).getCourseById(1L);
+        verify(courseViewCounter, times(2)).recordView(1L);
+    }
+
+    /**
+     * Tests the parsing of the Accept-Encoding header.
+     */
+    @Test
+    public void testAcceptsGzip() {
+        assertTrue(CourseController.acceptsGzip("gzip"));
+        assertTrue(CourseController.acceptsGzip("deflate, GZIP;q=0.5"));
+        assertTrue(CourseController.acceptsGzip("*"));
+        assertFalse(CourseController.acceptsGzip(null));
+        assertFalse(CourseController.acceptsGzip("br, deflate"));
+        assertFalse(CourseController.acceptsGzip("gzip;q=0"));
+        assertFalse(CourseController.acceptsGzip("*, gzip;q=0"));
+        assertFalse(CourseController.acceptsGzip("gzip;q=oops"));
     }
 
     /**
@@ -110,7 +252,7 @@ public class CourseControllerTest {
         course2.setName("Course 2");
         course2.setDescription("Description 2");
 
-        when(courseService.getAllCourses()).thenReturn(List.of(course1, course2));
+        when(courseService.getCoursePage(isNull(), isNull())).thenReturn(new CoursePage(List.of(course1, course2), null));
 
         mockMvc.perform(get("/api/v1/courses")
                 .contentType(MediaType.APPLICATION_JSON))
@@ -118,7 +260,61 @@ public class CourseControllerTest {
                 .andExpect(jsonPath("$[0].name").value("Course 1"))
                 .andExpect(jsonPath("$[0].description").value("Description 1"))
                 .andExpect(jsonPath("$[1].name").value("Course 2"))
-                .andExpect(jsonPath("$[1].description").value("Description 2"));
+                .andExpect(jsonPath("$[1].description").value("Description 2"))
+                .andExpect(header().doesNotExist(CourseController.NEXT_CURSOR_HEADER));
+    }
+
+    /**
+     * Tests that the cursor of the next page is returned in a response header.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    public void testGetCoursesReturnsNextCursor() throws Exception {
+        CourseDTO course = new CourseDTO();
+        course.setName("Course 3");
+
+        when(courseService.getCoursePage(eq("abc"), eq(1))).thenReturn(new CoursePage(List.of(course), "def"));
+
+        mockMvc.perform(get("/api/v1/courses")
+                .param("cursor", "abc")
+                .param("limit", "1")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Course 3"))
+                .andExpect(header().string(CourseController.NEXT_CURSOR_HEADER, "def"));
+    }
+
+    /**
+     * Tests streaming all courses as newline-delimited JSON.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testStreamCourses() throws Exception {
+        CourseDTO course1 = new CourseDTO();
+        course1.setName("Course 1");
+        CourseDTO course2 = new CourseDTO();
+        course2.setName("Course 2");
+
+        doAnswer(invocation -> {
+            Consumer<CourseDTO> consumer = invocation.getArgument(0);
+            consumer.accept(course1);
+            consumer.accept(course2);
+            return null;
+        }).when(courseService).streamAllCourses(any(Consumer.class));
+
+        String body = mockMvc.perform(get("/api/v1/courses")
+                .accept(CourseController.APPLICATION_NDJSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(CourseController.APPLICATION_NDJSON_VALUE))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"name\":\"Course 1\""));
+        assertTrue(lines[1].contains("\"name\":\"Course 2\""));
     }
 
     /**
@@ -153,4 +349,30 @@ public class CourseControllerTest {
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNoContent());
     }
+
+    /**
+     * Tests listing the modules of a course from the catalog, without counting a view.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    public void testGetModules() throws Exception {
+        when(catalogService.getModulesOfCourse(1L)).thenReturn(List.of(
+                new OffHeapCatalog.ModuleEntry(7L, "Introduction", 1),
+                new OffHeapCatalog.ModuleEntry(3L, "Basics", 2)));
+
+        mockMvc.perform(get("/api/v1/courses/1/modules"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(7))
+                .andExpect(jsonPath("$[0].title").value("Introduction"))
+                .andExpect(jsonPath("$[1].position").value(2));
+
+        verify(courseViewCounter, never()).recordView(anyLong());
+    }
+
+    private static String gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
 }